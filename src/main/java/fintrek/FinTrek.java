@@ -1,5 +1,9 @@
 package fintrek;
 
+import fintrek.misc.MessageDisplayer;
+import fintrek.ui.ApiServer;
+import fintrek.ui.BatchRunner;
+import fintrek.ui.CommandServer;
 import fintrek.ui.FinTrekUi;
 
 import java.util.logging.Level;
@@ -12,9 +16,31 @@ import java.util.logging.Logger;
 public class FinTrek {
     private static final Logger logger = Logger.getLogger(FinTrek.class.getName());
 
+    /**
+     * Starts the interactive UI, runs a script of commands when started with
+     * {@code --batch [FILE]} (reading standard input if no file is given), or serves
+     * several clients when started with {@code --serve [PORT|SOCKET_PATH]}, or serves a JSON API
+     * when started with {@code --http [PORT]}.
+     * @param args the command-line arguments
+     */
     public static void main(String[] args) {
         logger.log(Level.FINE, "FinTrek application started." );
 
+        if (args.length > 0 && args[0].equals(MessageDisplayer.BATCH_FLAG)) {
+            int failureCount = BatchRunner.launch(args.length > 1 ? args[1] : null);
+            System.exit(failureCount == 0 ? 0 : 1);
+        }
+
+        if (args.length > 0 && args[0].equals(MessageDisplayer.SERVE_FLAG)) {
+            CommandServer.launch(args.length > 1 ? args[1] : null);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals(MessageDisplayer.HTTP_FLAG)) {
+            ApiServer.launch(args.length > 1 ? args[1] : null);
+            return;
+        }
+
         FinTrekUi ui = new FinTrekUi();
         ui.start();
 
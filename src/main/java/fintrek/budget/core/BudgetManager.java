@@ -1,32 +1,47 @@
 package fintrek.budget.core;
 
+import fintrek.ledger.LedgerContext;
+import fintrek.util.StampedLocks;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Holds the monthly budget of one ledger. Safe to use from several threads: the budget is read optimistically
+ * and replaced under an exclusive lock.
+ */
 public class BudgetManager {
-    // Singleton Instance
-    private static final BudgetManager instance = new BudgetManager();
+    private final StampedLock lock = new StampedLock();
     private double monthlyBudget;
 
-    private BudgetManager() {
+    public BudgetManager() {
         this.monthlyBudget = 0.0; // Default budget is 0
     }
 
+    /**
+     * Returns the budget of the current ledger.
+     *
+     * @return the {@code BudgetManager} of {@link LedgerContext#current()}
+     */
     public static BudgetManager getInstance() {
-        return instance;
+        return LedgerContext.current().getBudgetManager();
     }
 
     public double getBudget() {
-        return monthlyBudget;
+        return StampedLocks.read(lock, () -> monthlyBudget);
     }
 
     public void setBudget(double amount) {
-        this.monthlyBudget = amount;
+        StampedLocks.write(lock, () -> {
+            this.monthlyBudget = amount;
+        });
     }
 
     public boolean isBudgetSet() {
-        return monthlyBudget > 0;
+        return getBudget() > 0;
     }
 
     @Override
     public String toString() {
-        return "Monthly Budget: $" + monthlyBudget;
+        return "Monthly Budget: $" + getBudget();
     }
 }
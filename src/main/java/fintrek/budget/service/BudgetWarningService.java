@@ -2,12 +2,27 @@ package fintrek.budget.service;
 
 import fintrek.budget.core.BudgetManager;
 import fintrek.expense.service.AppServices;
+import fintrek.expense.service.DailySpendingWindow;
 import fintrek.misc.MessageDisplayer;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 public class BudgetWarningService {
     public static final double NINETY_PERCENT = 0.9;
+    public static final int SHORT_AVERAGE_DAYS = 7;
+    public static final int LONG_AVERAGE_DAYS = 30;
+
+    private static boolean isDeferringWarnings = false;
+
+    /**
+     * Suppresses (or re-enables) the warnings returned to individual commands, e.g. while a batch of
+     * commands runs and a single warning is shown at the end instead.
+     * @param isDeferring true to return no warnings until this is called again with false
+     */
+    public static void setDeferringWarnings(boolean isDeferring) {
+        isDeferringWarnings = isDeferring;
+    }
 
     /**
      * This function will generate warnings if the total regular expenses of the current month
@@ -18,12 +33,12 @@ public class BudgetWarningService {
      */
     public static String generateBudgetWarnings(LocalDate date) {
         BudgetManager budgetManager = BudgetManager.getInstance();
-        if (!budgetManager.isBudgetSet()) {
+        if (!budgetManager.isBudgetSet() || isDeferringWarnings) {
             return ""; // No budget set, no warning needed
         }
 
         double budget = budgetManager.getBudget();
-        double totalExpenses = AppServices.REGULAR_REPORTER.getTotalByMonthOfYear(date.getYear(), date.getMonthValue());
+        double totalExpenses = AppServices.regularService().getMonthlyRollup().getMonthTotal(YearMonth.from(date));
 
         if (totalExpenses >= budget) {
             return String.format(MessageDisplayer.EXCEEDED_BUDGET_MESSAGE, budget, totalExpenses-budget);
@@ -32,4 +47,56 @@ public class BudgetWarningService {
         }
         return "";
     }
+
+    /**
+     * This function will generate a warning if the current pace of regular spending is projected
+     * to exceed the monthly budget by the end of the month, before the budget is actually reached.
+     * @param date the date today, which will be used to generate the current year and month
+     * @return a warning with the projected total, or an empty string if the pace stays within budget.
+     */
+    public static String generateProjectionWarning(LocalDate date) {
+        BudgetManager budgetManager = BudgetManager.getInstance();
+        if (!budgetManager.isBudgetSet() || isDeferringWarnings) {
+            return "";
+        }
+
+        double budget = budgetManager.getBudget();
+        double totalExpenses = AppServices.regularService().getMonthlyRollup().getMonthTotal(YearMonth.from(date));
+        if (totalExpenses >= budget * NINETY_PERCENT) {
+            return ""; // Already covered by generateBudgetWarnings
+        }
+
+        double dailyVelocity = getDailyVelocity(date);
+        double projectedTotal = projectMonthTotal(totalExpenses, dailyVelocity, date);
+        if (projectedTotal >= budget) {
+            return String.format(MessageDisplayer.PROJECTED_TO_EXCEED_BUDGET_MESSAGE,
+                    dailyVelocity, projectedTotal, budget);
+        }
+        return "";
+    }
+
+    /**
+     * Returns the current daily spending pace of regular expenses, taken as the higher of the
+     * 7-day and 30-day moving averages so that a recent spike is not smoothed away.
+     * @param date the date today
+     * @return the average amount spent per day
+     */
+    public static double getDailyVelocity(LocalDate date) {
+        DailySpendingWindow window = AppServices.regularService().getSpendingWindow();
+        return Math.max(window.getDailyAverage(date, SHORT_AVERAGE_DAYS),
+                window.getDailyAverage(date, LONG_AVERAGE_DAYS));
+    }
+
+    /**
+     * Projects the total spent by the end of the month, assuming the remaining days after
+     * {@code date} are spent at the given daily pace.
+     * @param monthToDate the total spent so far this month, including {@code date}
+     * @param dailyVelocity the expected amount spent per day
+     * @param date the date today
+     * @return the projected total for the month
+     */
+    public static double projectMonthTotal(double monthToDate, double dailyVelocity, LocalDate date) {
+        int daysRemaining = date.lengthOfMonth() - date.getDayOfMonth();
+        return monthToDate + dailyVelocity * daysRemaining;
+    }
 }
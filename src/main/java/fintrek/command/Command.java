@@ -13,7 +13,8 @@ import fintrek.parser.CommandParser;
  *
  * <p>Each {@code Command} subclass represents a specific action the user can take,
  * such as adding, editing, or deleting expenses. Commands may operate on either
- * regular or recurring expenses, which determines the backing service and reporter used.</p>
+ * regular or recurring expenses of the current ledger, which determines the backing service and
+ * reporter used.</p>
  *
  * <p>Commands can support either free-form string execution or structured parsing
  * via {@link CommandParser}. Subclasses may override the relevant methods to support
@@ -24,34 +25,36 @@ import fintrek.parser.CommandParser;
  */
 public abstract class Command {
     /**
-     * The service layer used to manipulate expense data (regular or recurring).
+     * Whether the command operates on recurring expenses.
      */
-    protected final ExpenseService service;
+    protected final boolean isRecurringExpense;
 
     /**
-     * The reporter used to generate summaries, totals, and other views.
+     * Constructs a command working on regular or recurring expenses.
+     *
+     * @param isRecurring whether the command operates on recurring expenses
      */
-    protected final ExpenseReporter reporter;
+    public Command(boolean isRecurring) {
+        this.isRecurringExpense = isRecurring;
+    }
 
     /**
-     * The reporter used to generate summaries, totals, and other views.
+     * Returns the service layer used to manipulate expense data (regular or recurring) of the
+     * current ledger. It is looked up on each call, as the current ledger can change between commands.
+     *
+     * @return the service of the current ledger
      */
-    protected final boolean isRecurringExpense;
+    protected ExpenseService service() {
+        return isRecurringExpense ? AppServices.recurringService() : AppServices.regularService();
+    }
 
     /**
-     * Constructs a command and assigns the appropriate service and reporter based on recurrence mode.
+     * Returns the reporter used to generate summaries, totals, and other views of the current ledger.
      *
-     * @param isRecurring whether the command operates on recurring expenses
+     * @return the reporter of the current ledger
      */
-    public Command(boolean isRecurring) {
-        if (isRecurring) {
-            this.service = AppServices.RECURRING_SERVICE;
-            this.reporter = AppServices.RECURRING_REPORTER;
-        } else {
-            this.service = AppServices.REGULAR_SERVICE;
-            this.reporter = AppServices.REGULAR_REPORTER;
-        }
-        this.isRecurringExpense = isRecurring;
+    protected ExpenseReporter reporter() {
+        return isRecurringExpense ? AppServices.recurringReporter() : AppServices.regularReporter();
     }
 
     /**
@@ -13,17 +13,21 @@ import fintrek.parser.ParseResult;
 import java.time.LocalDate;
 
 @CommandInfo(
-        recurringFormat = "Format: /add-recurring <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>]",
+        recurringFormat = "Format: /add-recurring <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>] [/r <RULE>]",
         regularFormat = "Format: /add <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>]",
         description = """
                 AMOUNT must be a positive number greater than 0.
                 CATEGORY is an optional argument.
                 DATE is an optional argument which must be in the form dd-MM-yyyy.
+                RULE is an optional argument for recurring expenses, which repeat monthly by default.
+                It has the form FREQ=<DAILY|WEEKLY|MONTHLY|YEARLY>[;INTERVAL=<N>][;UNTIL=<DATE>|;COUNT=<N>].
                 """,
         recurringExample = """
                 Example: /add-recurring concert tickets $35.80 /c LEISURE /dt 03-05-2025 -
                          adds a recurring expense with description 'concert tickets' with the amount $35.80,
-                         category 'LEISURE' and date '03-05-2025'.""",
+                         category 'LEISURE' and date '03-05-2025'.
+                Example: /add-recurring gym $20 /dt 06-01-2025 /r FREQ=WEEKLY;INTERVAL=2;COUNT=10 -
+                         adds a recurring expense 'gym' of $20.00 every two weeks, ten times.""",
         regularExample = """
                 Example: /add concert tickets $35.80 /c LEISURE /dt 03-05-2025 -
                          adds a regular expense with description 'concert tickets' with the amount $35.80,
@@ -60,14 +64,17 @@ public class AddCommand extends Command {
             return new CommandResult(false, result.getError());
         }
         AddParseResult args = result.getResult();
+        if (args.recurrence() != null && !isRecurringExpense) {
+            return new CommandResult(false, MessageDisplayer.RECURRENCE_RULE_NOT_RECURRING_MESSAGE);
+        }
 
         String description = args.desc();
         double amount = args.amount();
         String category = args.category();
         LocalDate date = args.date();
 
-        Expense newExpense = new Expense(description, amount, category, date);
-        service.addExpense(newExpense);
+        Expense newExpense = new Expense(description, amount, category, date, args.recurrence());
+        service().addExpense(newExpense);
         return getCommandResult(newExpense);
     }
 
@@ -80,6 +87,9 @@ public class AddCommand extends Command {
      */
     private CommandResult getCommandResult(Expense newExpense) {
         String budgetWarning = BudgetWarningService.generateBudgetWarnings(LocalDate.now());
+        if (budgetWarning.equals("") && !isRecurringExpense) {
+            budgetWarning = BudgetWarningService.generateProjectionWarning(LocalDate.now());
+        }
         String successMessage = (isRecurringExpense) ?
                 String.format(MessageDisplayer.ADD_RECURRING_SUCCESS_MESSAGE_TEMPLATE, newExpense):
                 String.format(MessageDisplayer.ADD_SUCCESS_MESSAGE_TEMPLATE, newExpense);
@@ -1,6 +1,12 @@
 package fintrek.command.add;
 
+import fintrek.expense.core.RecurrenceRule;
+
 import java.time.LocalDate;
 
-public record AddParseResult(String desc, double amount, String category, LocalDate date) {
+/**
+ * The arguments of {@code /add}; the recurrence rule is null when none was given.
+ */
+public record AddParseResult(String desc, double amount, String category, LocalDate date,
+        RecurrenceRule recurrence) {
 }
@@ -49,10 +49,10 @@ public class BudgetCommand extends Command {
         }
 
         String amountStr = matcher.group(1);
-        if (!InputValidator.isValidPositiveDouble(amountStr)) {
+        double amount = InputValidator.parseAmount(amountStr);
+        if (amount <= 0) {
             return new CommandResult(false, MessageDisplayer.INVALID_AMT_MESSAGE);
         }
-        double amount = Double.parseDouble(amountStr);
 
         if(amount > MessageDisplayer.MAX_AMOUNT) {
             return new CommandResult(false, MessageDisplayer.BUDGET_EXCEEDS_LIMIT_MSG);
@@ -38,7 +38,7 @@ public class BudgetLeftCommand extends Command {
     @Override
     public CommandResult execute(String arguments) {
         double budgetNow = BudgetManager.getInstance().getBudget();
-        double total = reporter.getTotal();
+        double total = reporter().getTotal();
         double budgetLeft = budgetNow - total;
         double leftPercentage = budgetLeft / budgetNow * 100.0;
 
@@ -4,10 +4,15 @@ import fintrek.expense.core.Expense;
 import fintrek.command.Command;
 import fintrek.command.registry.CommandInfo;
 import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.ExpenseSelection;
 import fintrek.misc.MessageDisplayer;
 
+import fintrek.parser.ParseResult;
+import fintrek.parser.SelectionParser;
 import fintrek.util.InputValidator;
 
+import java.util.List;
+
 /**
  * Handles the deletion of a specified expense from the list.
  *
@@ -17,6 +22,9 @@ import fintrek.util.InputValidator;
  *
  * <p>The index is 1-based (i.e., the first expense has index 1).</p>
  *
+ * <p>Several expenses can be deleted at once by giving a list of ranges or a filter instead of an
+ * index (see {@link SelectionParser}). They are all removed in a single pass over the list.</p>
+ *
  * <p>Supports both normal and recurring expenses depending on the value of {@code isRecurring}
  * passed to the constructor.</p>
  *
@@ -24,7 +32,12 @@ import fintrek.util.InputValidator;
  * <pre>
  * /delete 2
  * </pre>
- * Deletes the expense at index 2 from the list.</p>
+ * Deletes the expense at index 2 from the list.
+ * <pre>
+ * /delete 3-50
+ * /delete /in food /from 01-03-2025 /to 31-03-2025
+ * </pre>
+ * Deletes the expenses at indices 3 to 50, then every FOOD expense dated in March 2025.</p>
  *
  * @see Command
  * @see fintrek.expense.service.ExpenseService
@@ -34,19 +47,22 @@ import fintrek.util.InputValidator;
         regularFormat = "Format: /delete <EXPENSE_NUMBER>",
         description = """
             INDEX must be a positive integer > 0.
+            INDEX may also be a list of ranges such as 1,3-5, or a filter made of
+            /in <CATEGORY>, /from <DATE>, /to <DATE> and /has <TEXT> to delete every matching expense.
             """,
         recurringExample = "Example: /delete-recurring 2 - deletes the recurring expense with index 2 on the list.",
         regularExample = "Example: /delete 2 - deletes the regular expense with index 2 on the list."
 )
 public class DeleteCommand extends Command {
+    private final SelectionParser parser = new SelectionParser();
 
     public DeleteCommand(boolean isRecurring) {
         super(isRecurring);
     }
 
     /**
-     * Delete a recurring or general expense of a valid index
-     * @param arguments is the index of the expense to be removed from the list
+     * Delete the recurring or general expenses chosen by an index, a list of ranges or a filter
+     * @param arguments is the index, ranges or filter of the expenses to be removed from the list
      * @return a {@code CommandResult} object telling whether
      *      the execution is successful or not, and an error/success message
      */
@@ -55,21 +71,28 @@ public class DeleteCommand extends Command {
         if (InputValidator.isNullOrBlank(arguments)) {
             return new CommandResult(false, MessageDisplayer.IDX_EMPTY_MESSAGE);
         }
-        if (!InputValidator.isValidPositiveInteger(arguments)) {
-            return new CommandResult(false, MessageDisplayer.INVALID_IDX_FORMAT_MESSAGE);
+        ParseResult<ExpenseSelection> result = parser.parse(arguments);
+        if (!result.isSuccess()) {
+            return new CommandResult(false, result.getError());
         }
 
-        int expenseIndex = Integer.parseInt(arguments.trim());
-        int smallestValidIndex = 1;
-        int upperBound = service.countExpenses();
-        if (!InputValidator.isInValidIntRange(expenseIndex, smallestValidIndex, upperBound)) {
+        ExpenseSelection selection = result.getResult();
+        int[] indices = selection.resolve(service());
+        if (indices == null) {
             return new CommandResult(false, MessageDisplayer.IDX_OUT_OF_BOUND_MESSAGE);
         }
+        if (indices.length == 0) {
+            return new CommandResult(false, MessageDisplayer.NO_MATCHING_EXPENSES_MESSAGE);
+        }
 
-        int zeroBaseExpenseIndex = expenseIndex - 1;
-        Expense removedExpense = service.popExpense(zeroBaseExpenseIndex);
-        int remaining = service.countExpenses();
-        String expenseStr = '"' + removedExpense.toString() + '"';
+        List<Expense> removedExpenses = service().removeExpenses(indices);
+        int remaining = service().countExpenses();
+        if (!selection.isSingleIndex()) {
+            return new CommandResult(true, String.format((isRecurringExpense)
+                    ? MessageDisplayer.BULK_DELETE_RECURRING_SUCCESS_MESSAGE_TEMPLATE
+                    : MessageDisplayer.BULK_DELETE_SUCCESS_MESSAGE_TEMPLATE, removedExpenses.size(), remaining));
+        }
+        String expenseStr = '"' + removedExpenses.get(0).toString() + '"';
         String message = (isRecurringExpense)?
                 String.format(MessageDisplayer.DELETE_RECURRING_SUCCESS_MESSAGE_TEMPLATE, expenseStr, remaining):
                 String.format(MessageDisplayer.DELETE_SUCCESS_MESSAGE_TEMPLATE, expenseStr, remaining);
@@ -10,21 +10,27 @@ import fintrek.parser.EditArgumentParser;
 import fintrek.parser.ParseResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
-import static fintrek.util.InputValidator.isInValidIntRange;
 /**
  * Handles the editing of an existing expense entry.
  *
  * <p>This command allows partial or full updates to an expense's description, amount,
  * category, and date using optional flags. It parses the input using
  * {@link EditArgumentParser}, performs index validation, and updates the specified
- * expense in-place within the expense list.</p>
+ * expenses in-place within the expense list.</p>
+ *
+ * <p>Several expenses can be edited at once by giving a list of ranges or a filter instead of an index.
+ * Every selected expense is replaced where it stands, so the list is never shifted.</p>
  *
  * <p>Example usage:
  * <pre>
  * /edit 2 /d dinner /$ 25 /c Dining /dt 25-12-2024
+ * /edit /in misc /has grab /c transport
  * </pre>
- * Edits the expense at index 2 with the provided updates.</p>
+ * Edits the expense at index 2 with the provided updates, then moves every MISC expense
+ * whose description contains "grab" to TRANSPORT.</p>
  *
  * <p>Supports both normal and recurring expenses depending on the constructor flag {@code isRecurring}.</p>
  *
@@ -38,6 +44,8 @@ import static fintrek.util.InputValidator.isInValidIntRange;
         regularFormat = "Format: /edit <INDEX> [/d <DESCRIPTION>] [/$ <AMOUNT>] [/c <CATEGORY>] [/dt <DATE>]",
         description = """
                 INDEX is the position of the expense in the list (from /list or /list-recurring).
+                INDEX may also be a list of ranges such as 1,3-5, or a filter made of
+                /in <CATEGORY>, /from <DATE>, /to <DATE> and /has <TEXT> to edit every matching expense.
                 DESCRIPTION, AMOUNT, CATEGORY, DATE are optional arguments, but at least one field is required.
                 """,
         recurringExample = """
@@ -50,8 +58,6 @@ import static fintrek.util.InputValidator.isInValidIntRange;
                          category 'DINING' and date '25-12-2024'."""
 )
 public class EditCommand extends Command {
-    private static final int INDEX_LOWER_BOUND = 0;
-
     private final EditArgumentParser parser = new EditArgumentParser();
 
     /**
@@ -84,9 +90,9 @@ public class EditCommand extends Command {
     }
 
     /**
-     * Executes the edit operation on an existing expense.
+     * Executes the edit operation on the selected expenses.
      *
-     * @param arguments the user input string containing the index and optional update fields
+     * @param arguments the user input string containing the index, ranges or filter and optional update fields
      * @return a CommandResult indicating success or failure with a message
      */
     @Override
@@ -98,28 +104,35 @@ public class EditCommand extends Command {
         }
 
         EditParseResult args = result.getResult();
-        int index = args.zeroBaseIndex();
-
-        if (!isInValidIntRange(index, INDEX_LOWER_BOUND, service.countExpenses() - 1)) {
+        int[] indices = args.selection().resolve(service());
+        if (indices == null) {
             return new CommandResult(false, MessageDisplayer.IDX_OUT_OF_BOUND_MESSAGE);
         }
+        if (indices.length == 0) {
+            return new CommandResult(false, MessageDisplayer.NO_MATCHING_EXPENSES_MESSAGE);
+        }
 
-        Expense original = service.getExpense(index);
-        Expense updated = buildUpdatedExpense(original, args.descriptor());
-
-        service.popExpense(index);
-        service.insertExpenseAt(index, updated);
+        List<Expense> updated = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            updated.add(buildUpdatedExpense(service().getExpense(index), args.descriptor()));
+        }
+        service().replaceExpenses(indices, updated);
 
-        return new CommandResult(
-                true,
-                String.format(MessageDisplayer.EDIT_SUCCESS_MESSAGE_FORMAT, index + 1, updated)
-        );
+        if (args.selection().isSingleIndex()) {
+            return new CommandResult(
+                    true,
+                    String.format(MessageDisplayer.EDIT_SUCCESS_MESSAGE_FORMAT, indices[0] + 1, updated.get(0))
+            );
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.BULK_EDIT_SUCCESS_MESSAGE_TEMPLATE,
+                indices.length));
     }
 
     /**
      * Builds a new Expense object using the original values and the provided descriptor fields.
      *
-     * <p>Fields in the descriptor that are null will retain the original values.</p>
+     * <p>Fields in the descriptor that are null will retain the original values. The id, the recurrence
+     * rule of a recurring expense and the occurrence an inserted expense stands for are always kept.</p>
      *
      * @param original the original Expense to update
      * @param descriptor an EditExpenseDescriptor containing updated fields (nullable)
@@ -138,7 +151,7 @@ public class EditCommand extends Command {
         LocalDate date = descriptor.getDate() != null
                 ? descriptor.getDate() : original.getDate();
 
-        return new Expense(description, amount, category, date);
+        return original.withValues(description, amount, category, date);
     }
 
 }
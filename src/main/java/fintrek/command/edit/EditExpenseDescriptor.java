@@ -1,7 +1,6 @@
 package fintrek.command.edit;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * A mutable descriptor class that holds optional updated fields for an
@@ -11,8 +10,8 @@ import java.time.format.DateTimeFormatter;
  * updates to an expense. Each field may be {@code null}, which indicates that the
  * corresponding property should remain unchanged.</p>
  *
- * <p>Supports trimming and parsing of user input values into their appropriate types,
- * such as {@code double} and {@code LocalDate}.</p>
+ * <p>Supports trimming of user input strings; amounts and dates are expected to have been
+ * parsed already, e.g. with {@link fintrek.util.InputValidator}.</p>
  */
 public class EditExpenseDescriptor {
     private String description;
@@ -57,13 +56,12 @@ public class EditExpenseDescriptor {
     }
 
     /**
-     * Sets the updated amount by parsing the given string as a double.
+     * Sets the updated amount.
      *
-     * @param amountStr the new amount as a string
-     * @throws NumberFormatException if the string is not a valid double
+     * @param amount the new amount
      */
-    public void setAmount(String amountStr) {
-        this.amount = Double.parseDouble(amountStr);
+    public void setAmount(double amount) {
+        this.amount = amount;
     }
 
     /**
@@ -94,12 +92,11 @@ public class EditExpenseDescriptor {
     }
 
     /**
-     * Sets the updated date by parsing the given string using the format "dd-MM-yyyy".
+     * Sets the updated date.
      *
-     * @param dateStr the new date as a string
-     * @throws java.time.format.DateTimeParseException if the string is not a valid date
+     * @param date the new date
      */
-    public void setDate(String dateStr) {
-        this.date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+    public void setDate(LocalDate date) {
+        this.date = date;
     }
 }
@@ -0,0 +1,73 @@
+package fintrek.command.find;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.ExpenseQuery;
+import fintrek.expense.service.QueryResult;
+import fintrek.misc.MessageDisplayer;
+import fintrek.parser.ParseResult;
+import fintrek.parser.QueryParser;
+
+/**
+ * Lists the expenses that match a query, with their count and total.
+ *
+ * <p>The query is parsed by {@link QueryParser} and run by {@link ExpenseQuery}, which reads the
+ * list once. Each matching expense is shown with its index in the full list, so that it can be
+ * passed to /edit or /delete afterwards.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * /find category=FOOD amount>20 date>=01-03-2025 desc~coffee sort=amount:dsc limit=20
+ * </pre>
+ * Lists the 20 most expensive FOOD expenses over $20 since 1 March 2025 whose description contains "coffee".</p>
+ */
+@CommandInfo(
+        recurringFormat = "Format: /find-recurring [QUERY]",
+        regularFormat = "Format: /find [QUERY]",
+        description = """
+            QUERY is made of terms such as category=FOOD, amount>20, date>=01-03-2025 and desc~coffee,
+            all of which must match. amount and date accept =, >, >=, < and <=; desc= matches the whole
+            description and desc~ a part of it. Add sort=amount:dsc (keys amount, date, category, desc,
+            comma-separated) and limit=N to order and shorten the result.
+            """,
+        recurringExample = "Example: /find-recurring amount>=50 sort=date - recurring expenses of $50 or more by date.",
+        regularExample = "Example: /find category=FOOD sort=amount:dsc limit=5 - the 5 largest FOOD expenses."
+)
+public class FindCommand extends Command {
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    private final QueryParser parser = new QueryParser();
+
+    public FindCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Runs a query over the recurring or general expenses and lists the matches
+     * @param arguments the query terms, possibly empty
+     * @return a {@code CommandResult} object telling whether
+     *      the execution is successful or not, and an error/success message
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        ParseResult<ExpenseQuery> result = parser.parse(arguments);
+        if (!result.isSuccess()) {
+            return new CommandResult(false, result.getError());
+        }
+
+        QueryResult found = result.getResult().execute(service());
+        if (found.matchCount() == 0) {
+            return new CommandResult(true, MessageDisplayer.NO_QUERY_MATCHES_MESSAGE);
+        }
+        StringBuilder message = new StringBuilder(String.format(MessageDisplayer.FIND_SUCCESS_MESSAGE_TEMPLATE,
+                found.matchCount(), found.totalCents() / CENTS_PER_DOLLAR));
+        for (ExpenseQuery.Match match : found.rows()) {
+            message.append(String.format(MessageDisplayer.LIST_EXPENSE_FORMAT, match.position() + 1, match.expense()));
+        }
+        if (found.rows().size() < found.matchCount()) {
+            message.append(String.format(MessageDisplayer.FIND_LIMITED_MESSAGE_TEMPLATE, found.rows().size()));
+        }
+        return new CommandResult(true, message.toString());
+    }
+}
@@ -0,0 +1,91 @@
+package fintrek.command.find;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.Expense;
+import fintrek.expense.service.DescriptionIndex;
+import fintrek.expense.service.TrigramIndex;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+/**
+ * Lists the expenses whose description contains every given word, a given text, or a given text
+ * with a few typos.
+ *
+ * <p>Words are looked up in the {@link DescriptionIndex} of the list, so the descriptions
+ * themselves are not read. Words match whole words of a description, ignoring case. With
+ * {@code /sub} or {@code /fuzzy}, candidates are taken from the {@link TrigramIndex} and only
+ * their descriptions are checked.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * /search netflix
+ * /search /sub grab*ri
+ * /search /fuzzy netflx
+ * </pre>
+ * Each lists the expenses with "Netflix" or "GRAB*RIDE" in their description.</p>
+ */
+@CommandInfo(
+        recurringFormat = "Format: /search-recurring [/sub|/fuzzy] <WORDS>",
+        regularFormat = "Format: /search [/sub|/fuzzy] <WORDS>",
+        description = """
+            Lists the expenses whose description contains every one of the WORDS as a whole word,
+            ignoring case. With /sub, the WORDS may appear anywhere, even inside a word. With /fuzzy,
+            they may also contain typos: one from 4 characters, two from 8 characters.
+            """,
+        recurringExample = "Example: /search-recurring spotify - lists recurring expenses mentioning spotify.",
+        regularExample = "Example: /search chicken rice - lists expenses mentioning both chicken and rice."
+)
+public class SearchCommand extends Command {
+    private static final String COMMAND_NAME = "search";
+    private static final String SUBSTRING_FLAG = "/sub";
+    private static final String FUZZY_FLAG = "/fuzzy";
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    public SearchCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Searches the recurring or general expenses for the given words or text and lists the matches
+     * @param arguments the words to search for, optionally preceded by /sub or /fuzzy
+     * @return a {@code CommandResult} object telling whether
+     *      the execution is successful or not, and an error/success message
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        if (InputValidator.isNullOrBlank(arguments)) {
+            return new CommandResult(false, String.format(MessageDisplayer.ARG_EMPTY_MESSAGE_TEMPLATE, COMMAND_NAME));
+        }
+        String[] parts = arguments.trim().split("\\s+", 2);
+        boolean isSubstring = parts[0].equals(SUBSTRING_FLAG);
+        boolean isFuzzy = parts[0].equals(FUZZY_FLAG);
+        if ((isSubstring || isFuzzy) && parts.length == 1) {
+            return new CommandResult(false, String.format(MessageDisplayer.ARG_EMPTY_MESSAGE_TEMPLATE, COMMAND_NAME));
+        }
+        String query = (isSubstring || isFuzzy) ? parts[1] : arguments.trim();
+        int[] positions;
+        if (isSubstring) {
+            positions = service().getTrigramIndex().searchSubstring(query, service());
+        } else if (isFuzzy) {
+            positions = service().getTrigramIndex().searchFuzzy(query, service());
+        } else {
+            positions = service().getDescriptionIndex().search(query);
+        }
+        if (positions.length == 0) {
+            return new CommandResult(true, String.format(MessageDisplayer.NO_SEARCH_MATCHES_MESSAGE_TEMPLATE, query));
+        }
+
+        StringBuilder rows = new StringBuilder();
+        long totalCents = 0;
+        for (int position : positions) {
+            Expense expense = service().getExpense(position);
+            totalCents += expense.getAmountCents();
+            rows.append(String.format(MessageDisplayer.LIST_EXPENSE_FORMAT, position + 1, expense));
+        }
+        String header = String.format(MessageDisplayer.FIND_SUCCESS_MESSAGE_TEMPLATE,
+                positions.length, totalCents / CENTS_PER_DOLLAR);
+        return new CommandResult(true, header + rows);
+    }
+}
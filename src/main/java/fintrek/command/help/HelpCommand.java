@@ -1,10 +1,6 @@
 //@@author Charly2312
 package fintrek.command.help;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
-
 import fintrek.command.Command;
 import fintrek.command.registry.CommandInfo;
 import fintrek.command.registry.CommandRegistry;
@@ -23,14 +19,6 @@ import fintrek.misc.MessageDisplayer;
 
 //@@author venicephua
 public class HelpCommand extends Command {
-    // List of commands
-    private static final Set<String> COMMANDS = new HashSet<>(Arrays.asList(
-            "add", "add-category", "average", "budget", "budget-left", "delete", "edit", "help", "list",
-            "list-category", "list-sort", "summary", "total", "add-recurring", "average-recurring",
-            "delete-recurring", "edit-recurring", "list-sort-recurring", "list-recurring",
-            "summary-recurring", "total-recurring"
-    ));
-
     public HelpCommand(boolean isRecurring) {
         super(isRecurring);
     }
@@ -51,8 +39,8 @@ public class HelpCommand extends Command {
             message = CommandRegistry.getAllCommandDescriptions();
             return new CommandResult(true, message);
         }
-        if (COMMANDS.contains(keyword)) {
-            message = CommandRegistry.getCommand(keyword).getDescription();
+        message = CommandRegistry.getCommandHelp(keyword);
+        if (message != null) {
             return new CommandResult(true, message);
         }
 
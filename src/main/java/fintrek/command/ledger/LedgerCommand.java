@@ -0,0 +1,77 @@
+package fintrek.command.ledger;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.data.FileLedgerStore;
+import fintrek.expense.service.TransactionManager;
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerCache;
+import fintrek.ledger.LedgerContext;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+@CommandInfo(
+        recurringFormat = "Format: /ledger [switch NAME | stats]",
+        regularFormat = "Format: /ledger [switch NAME | stats]",
+        description = """
+            Shows the current ledger and the ledgers held in memory, switches to another ledger, or shows
+            how well the ledgers held in memory are reused. Each ledger has its own expenses, recurring
+            expenses, budget, categories and undo history, and is saved to its own file. A ledger that is
+            not in memory is loaded from its file, or created if there is none. Ledgers left unused for a
+            while are saved and let go. The default ledger is the one in data.txt.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /ledger switch trip works on the ledger saved in ledgers/trip.txt."
+)
+public class LedgerCommand extends Command {
+    private static final String SWITCH_ACTION = "switch";
+    private static final String STATS_ACTION = "stats";
+    private static final double BYTES_PER_KILOBYTE = 1024;
+
+    public LedgerCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Shows the ledgers, switches to the named ledger, or shows the ledger cache statistics.
+     * @param arguments empty, {@code switch} followed by a ledger name, or {@code stats}
+     * @return a {@code CommandResult} describing the ledgers or the switch
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        if (InputValidator.isNullOrBlank(arguments)) {
+            return new CommandResult(true, String.format(MessageDisplayer.LEDGER_LIST_MESSAGE_TEMPLATE,
+                    LedgerContext.current().getName(), String.join(", ", LedgerContext.getOpenNames())));
+        }
+        String[] parts = arguments.trim().split("\\s+");
+        if (parts.length == 1 && parts[0].equalsIgnoreCase(STATS_ACTION)) {
+            return new CommandResult(true, formatStats(LedgerContext.getCacheStats()));
+        }
+        if (parts.length != 2 || !parts[0].equalsIgnoreCase(SWITCH_ACTION)) {
+            return new CommandResult(false, MessageDisplayer.INVALID_LEDGER_ARGUMENTS_MESSAGE);
+        }
+        String name = parts[1].toLowerCase();
+        if (!Ledger.isValidName(name)) {
+            return new CommandResult(false, MessageDisplayer.INVALID_LEDGER_NAME_MESSAGE);
+        }
+        if (TransactionManager.getInstance().isActive()) {
+            return new CommandResult(false, MessageDisplayer.LEDGER_SWITCH_IN_TRANSACTION_MESSAGE);
+        }
+        boolean isOpened = LedgerContext.switchTo(name, new FileLedgerStore());
+        Ledger ledger = LedgerContext.current();
+        if (isOpened) {
+            return new CommandResult(true, String.format(MessageDisplayer.LEDGER_OPEN_SUCCESS_MESSAGE_TEMPLATE,
+                    ledger.getName(), ledger.getDataFile()));
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.LEDGER_SWITCH_SUCCESS_MESSAGE_TEMPLATE,
+                ledger.getName()));
+    }
+
+    private static String formatStats(LedgerCache.Stats stats) {
+        return String.format(MessageDisplayer.LEDGER_STATS_MESSAGE_TEMPLATE, stats.size(),
+                stats.estimatedBytes() / BYTES_PER_KILOBYTE, stats.hitRate() * 100, stats.hitCount(),
+                stats.missCount(), stats.evictionCount(), stats.loadCount(), stats.averageLoadMillis(),
+                stats.maxLoadMillis());
+    }
+}
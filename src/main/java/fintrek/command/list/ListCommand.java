@@ -29,7 +29,7 @@ public class ListCommand extends Command {
         String template = (isRecurringExpense) ? MessageDisplayer.LIST_RECURRING_SUCCESS_MESSAGE_TEMPLATE :
                 MessageDisplayer.LIST_SUCCESS_MESSAGE_TEMPLATE;
         String message = String.format(template,
-                reporter.listExpenses());
+                reporter().listExpenses());
         return new CommandResult(true, message);
     }
 }
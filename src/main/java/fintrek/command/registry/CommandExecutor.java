@@ -27,11 +27,11 @@ public class CommandExecutor {
      * @return a {@link CommandResult} indicating the success or failure of the command
      */
     public static CommandResult dispatch(String commandName, String arguments) {
-        if (!CommandRegistry.hasCommand(commandName)) {
+        Command command = CommandRegistry.getCommand(commandName);
+        if (command == null) {
             return new CommandResult(false, MessageDisplayer.INVALID_COMMAND_MESSAGE);
         }
 
-        Command command = CommandRegistry.getCommand(commandName);
         logger.log(Level.FINE, MessageDisplayer.EXECUTING_COMMAND_MESSAGE + commandName);
         return command.execute(arguments);
     }
@@ -8,12 +8,23 @@ import fintrek.command.budget.BudgetLeftCommand;
 import fintrek.command.list.ListCategoryCommand;
 import fintrek.command.delete.DeleteCommand;
 import fintrek.command.edit.EditCommand;
+import fintrek.command.find.FindCommand;
+import fintrek.command.find.SearchCommand;
 import fintrek.command.help.HelpCommand;
+import fintrek.command.ledger.LedgerCommand;
 import fintrek.command.list.ListCommand;
 import fintrek.command.sort.ListSortCommand;
 import fintrek.command.summary.AverageCommand;
+import fintrek.command.summary.ForecastCommand;
+import fintrek.command.summary.StatsCommand;
 import fintrek.command.summary.SummaryCommand;
 import fintrek.command.summary.TotalCommand;
+import fintrek.command.summary.TrendCommand;
+import fintrek.command.transaction.BeginCommand;
+import fintrek.command.transaction.CommitCommand;
+import fintrek.command.transaction.RollbackCommand;
+import fintrek.command.undo.RedoCommand;
+import fintrek.command.undo.UndoCommand;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,9 +44,11 @@ public class CommandRegistrar {
      * <p>The following categories are registered:</p>
      * <ul>
      *     <li>Regular commands: {@code add}, {@code delete}, {@code edit}, {@code list}, {@code total},
-     *     {@code average}, {@code summary}, {@code budget}</li>
+     *     {@code average}, {@code summary}, {@code budget}, {@code find},
+     *     {@code search}</li>
      *     <li>Recurring commands: {@code recurring}, {@code delete-recurring}, {@code edit-recurring}, etc.</li>
-     *     <li>Misc commands: {@code help}</li>
+     *     <li>Misc commands: {@code help}, {@code begin}, {@code commit}, {@code rollback},
+     *     {@code undo}, {@code redo}</li>
      * </ul>
      *
      * @return a map from command names to {@link Command} instances
@@ -56,6 +69,11 @@ public class CommandRegistrar {
         commands.put("list-sort", new ListSortCommand(false));
         commands.put("add-category", new AddCategoryCommand(false));
         commands.put("list-category", new ListCategoryCommand(false));
+        commands.put("stats", new StatsCommand(false));
+        commands.put("trend", new TrendCommand(false));
+        commands.put("forecast", new ForecastCommand(false));
+        commands.put("find", new FindCommand(false));
+        commands.put("search", new SearchCommand(false));
 
         // Recurring commands
         commands.put("add-recurring", new AddCommand(true));
@@ -66,9 +84,18 @@ public class CommandRegistrar {
         commands.put("average-recurring", new AverageCommand(true));
         commands.put("summary-recurring", new SummaryCommand(true));
         commands.put("list-sort-recurring", new ListSortCommand(true));
+        commands.put("stats-recurring", new StatsCommand(true));
+        commands.put("find-recurring", new FindCommand(true));
+        commands.put("search-recurring", new SearchCommand(true));
 
         // Misc
         commands.put("help", new HelpCommand(false));
+        commands.put("begin", new BeginCommand(false));
+        commands.put("commit", new CommitCommand(false));
+        commands.put("rollback", new RollbackCommand(false));
+        commands.put("undo", new UndoCommand(false));
+        commands.put("redo", new RedoCommand(false));
+        commands.put("ledger", new LedgerCommand(false));
 
         return commands;
     }
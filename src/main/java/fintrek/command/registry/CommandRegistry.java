@@ -3,19 +3,22 @@ package fintrek.command.registry;
 import fintrek.command.Command;
 import fintrek.misc.MessageDisplayer;
 
-import java.util.Map;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Map;
 
 /**
  * Central registry for all available commands in the system.
  *
  * <p>This class maintains a mapping of command names (strings) to their corresponding
  * {@link Command} instances. It provides utilities for retrieving, checking, and listing
- * registered commands. All commands are registered via {@link CommandRegistrar} on initialization.</p>
+ * registered commands. All commands are registered via {@link CommandRegistrar} on initialization,
+ * and their help is rendered into a {@link HelpIndex} and their names into a {@link CommandTrie}
+ * at the same time.</p>
  */
 public class CommandRegistry {
     private static final Map<String, Command> commands = CommandRegistrar.registerAll();
+    private static final HelpIndex helpIndex = HelpIndex.of(commands);
+    private static final CommandTrie commandTrie = new CommandTrie(commands.keySet());
 
     /**
      * Retrieves the {@link Command} instance associated with the given name.
@@ -44,16 +47,44 @@ public class CommandRegistry {
     /**
      * Returns a formatted string containing all registered command names and their descriptions.
      *
-     * <p>This is used primarily for generating help text.</p>
+     * <p>This is used primarily for generating help text. The text is rendered once at startup
+     * by {@link HelpIndex}.</p>
      *
      * @return a newline-separated list of command descriptions
      */
     public static String getAllCommandDescriptions() {
-        List<String> descriptions = new ArrayList<>();
-        for (Map.Entry<String, Command> entry : commands.entrySet()) {
-            descriptions.add("/" + entry.getKey() + ": \n" + entry.getValue().getDescription() + "\n");
-        }
-        descriptions.sort(String::compareTo);
-        return String.join("\n", descriptions);
+        return helpIndex.getAllHelp();
+    }
+
+    /**
+     * Returns the pre-rendered help of a command registered at startup.
+     *
+     * @param name the lower-case name of the command
+     * @return the help text, or {@code null} if there is no such command
+     */
+    public static String getCommandHelp(String name) {
+        return helpIndex.getCommandHelp(name);
+    }
+
+    /**
+     * Scans and resolves the command word that starts at {@code from}, accepting the abbreviations
+     * described in {@link CommandTrie}.
+     *
+     * @param input the user input
+     * @param from the index of the first character of the command word
+     * @return the resolved command name, or the candidates if the word is ambiguous, and the end of the word
+     */
+    public static CommandTrie.Match matchCommand(String input, int from) {
+        return commandTrie.match(input, from);
+    }
+
+    /**
+     * Returns the command names starting with the given prefix, for completion.
+     *
+     * @param prefix the typed beginning of a command name
+     * @return the matching names in alphabetical order
+     */
+    public static List<String> completeCommand(String prefix) {
+        return commandTrie.complete(prefix);
     }
 }
@@ -0,0 +1,215 @@
+package fintrek.command.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A trie of command names that resolves a typed command word, possibly abbreviated, in one scan.
+ *
+ * <p>Besides its full name, a command can be typed as any prefix that no other command shares,
+ * e.g. {@code /bud} for {@code /budget}, or, if its name has several hyphen-separated parts, as
+ * the initials of those parts, e.g. {@code /ls} for {@code /list-sort}. A full name always
+ * resolves to its own command even when it is also the prefix of others, such as {@code /add}, and
+ * initials resolve ahead of prefixes. Words that fit several commands are reported as ambiguous
+ * together with the names they could complete to.</p>
+ *
+ * <p>Each node keeps its children in two parallel arrays searched linearly, as command names use
+ * few distinct characters, and records the only command reachable below it, if there is one.</p>
+ */
+public final class CommandTrie {
+    private static final char PART_SEPARATOR = '-';
+
+    private final Node root = new Node();
+
+    /**
+     * The outcome of resolving a command word.
+     *
+     * @param name the full name of the resolved command, or {@code null} if none was resolved
+     * @param end the index just after the command word in the scanned input
+     * @param candidates the names the word could complete to if it is ambiguous, otherwise empty
+     */
+    public record Match(String name, int end, List<String> candidates) {
+    }
+
+    /**
+     * Builds a trie of the given command names.
+     *
+     * @param names the lower-case command names
+     */
+    public CommandTrie(Collection<String> names) {
+        for (String name : names) {
+            insert(name).exactName = name;
+        }
+        for (String name : names) {
+            if (name.indexOf(PART_SEPARATOR) >= 0) {
+                insert(initials(name)).initialsNames.add(name);
+            }
+        }
+        root.computeOnlyName();
+    }
+
+    /**
+     * Scans a command word starting at {@code from}, up to the next whitespace or the end of the
+     * input, and resolves it, ignoring case.
+     *
+     * @param input the text containing the command word
+     * @param from the index of the first character of the word
+     * @return the resolved command and the end of the word
+     */
+    public Match match(String input, int from) {
+        Node node = root;
+        int end = from;
+        while (end < input.length() && !Character.isWhitespace(input.charAt(end))) {
+            if (node != null) {
+                node = node.child(Character.toLowerCase(input.charAt(end)));
+            }
+            end++;
+        }
+        if (node == null || end == from) {
+            return new Match(null, end, List.of());
+        }
+        String name = node.resolve();
+        return new Match(name, end, (name == null) ? node.completions() : List.of());
+    }
+
+    /**
+     * Returns the full command names starting with the given prefix, for completion.
+     *
+     * @param prefix the typed beginning of a command name
+     * @return the matching names in alphabetical order
+     */
+    public List<String> complete(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(Character.toLowerCase(prefix.charAt(i)));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        node.collectExactNames(names);
+        names.sort(String::compareTo);
+        return names;
+    }
+
+    private Node insert(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static String initials(String name) {
+        StringBuilder initials = new StringBuilder();
+        initials.append(name.charAt(0));
+        for (int i = name.indexOf(PART_SEPARATOR); i >= 0 && i + 1 < name.length();
+                i = name.indexOf(PART_SEPARATOR, i + 1)) {
+            initials.append(name.charAt(i + 1));
+        }
+        return initials.toString();
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private String exactName;
+        private final List<String> initialsNames = new ArrayList<>(1);
+        private String onlyName;
+        private boolean isAmbiguous;
+
+        Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        /**
+         * Returns the command this node resolves to: its full name, then its initials, then the only
+         * command below it, or {@code null} if it is ambiguous.
+         */
+        String resolve() {
+            if (exactName != null) {
+                return exactName;
+            }
+            if (initialsNames.size() == 1) {
+                return initialsNames.get(0);
+            }
+            return isAmbiguous ? null : onlyName;
+        }
+
+        /**
+         * Records, for this node and every node below it, the command reachable from there if there is only one.
+         */
+        void computeOnlyName() {
+            onlyName = exactName;
+            isAmbiguous = false;
+            initialsNames.forEach(this::offer);
+            for (Node child : children) {
+                child.computeOnlyName();
+                if (child.isAmbiguous) {
+                    isAmbiguous = true;
+                } else {
+                    offer(child.onlyName);
+                }
+            }
+            if (isAmbiguous) {
+                onlyName = null;
+            }
+        }
+
+        private void offer(String name) {
+            if (onlyName == null) {
+                onlyName = name;
+            } else if (!onlyName.equals(name)) {
+                isAmbiguous = true;
+            }
+        }
+
+        /**
+         * Returns the full names of the commands reachable below this node, in alphabetical order.
+         */
+        List<String> completions() {
+            TreeSet<String> names = new TreeSet<>();
+            collectNames(names);
+            return List.copyOf(names);
+        }
+
+        private void collectNames(Collection<String> names) {
+            if (exactName != null) {
+                names.add(exactName);
+            }
+            names.addAll(initialsNames);
+            for (Node child : children) {
+                child.collectNames(names);
+            }
+        }
+
+        void collectExactNames(List<String> names) {
+            if (exactName != null) {
+                names.add(exactName);
+            }
+            for (Node child : children) {
+                child.collectExactNames(names);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fintrek.command.registry;
+
+import fintrek.command.Command;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-rendered help text for a set of commands.
+ *
+ * <p>The help of each command is read from its {@link CommandInfo} annotation once, when the
+ * index is built, and the combined listing shown by {@code /help} is assembled and sorted at the
+ * same time. Serving help afterwards is a map lookup or a field read.</p>
+ */
+public final class HelpIndex {
+    private final Map<String, String> commandHelp;
+    private final String allHelp;
+
+    private HelpIndex(Map<String, String> commandHelp, String allHelp) {
+        this.commandHelp = commandHelp;
+        this.allHelp = allHelp;
+    }
+
+    /**
+     * Renders the help of the given commands.
+     *
+     * @param commands the commands by their lower-case names
+     * @return the help index
+     */
+    public static HelpIndex of(Map<String, Command> commands) {
+        Map<String, String> commandHelp = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        for (Map.Entry<String, Command> entry : commands.entrySet()) {
+            String help = entry.getValue().getDescription();
+            commandHelp.put(entry.getKey(), help);
+            entries.add("/" + entry.getKey() + ": \n" + help + "\n");
+        }
+        entries.sort(String::compareTo);
+        return new HelpIndex(Map.copyOf(commandHelp), String.join("\n", entries));
+    }
+
+    /**
+     * Returns the help of one command.
+     *
+     * @param name the lower-case name of the command
+     * @return the help text, or {@code null} if there is no such command
+     */
+    public String getCommandHelp(String name) {
+        return commandHelp.get(name);
+    }
+
+    /**
+     * Returns the help of every command, sorted by command name.
+     *
+     * @return the combined help text
+     */
+    public String getAllHelp() {
+        return allHelp;
+    }
+}
@@ -4,12 +4,16 @@ package fintrek.command.sort;
 import fintrek.command.Command;
 import fintrek.command.registry.CommandInfo;
 import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.CategoryManager;
 import fintrek.expense.core.Expense;
+import fintrek.expense.core.ExpenseCursor;
 import fintrek.misc.MessageDisplayer;
 import fintrek.parser.CommandParser;
 import fintrek.parser.ParseResult;
 import fintrek.parser.ListSortArgumentParser;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -32,7 +36,7 @@ public class ListSortCommand extends Command {
     private static final Comparator<Expense> CATEGORY_ASC = Comparator.comparing(Expense::getCategory);
     private static final Comparator<Expense> DATE_ASC = Comparator.comparing(Expense::getDate);
     private static final Comparator<Expense> NAME_ASC =
-            Comparator.comparing(expense -> expense.getDescription().toLowerCase());
+            Comparator.comparing(Expense::getDescription, String.CASE_INSENSITIVE_ORDER);
 
     private final ListSortArgumentParser parser = new ListSortArgumentParser();
 
@@ -69,8 +73,7 @@ public class ListSortCommand extends Command {
         String sortBy = args.sortBy();
         String sortDir = args.sortDir();
 
-        List<Expense> expenses = service.getAllExpenses();
-        if (expenses.isEmpty()) {
+        if (service().countExpenses() == 0) {
             return new CommandResult(false, MessageDisplayer.EMPTY_LIST_MESSAGE);
         }
 
@@ -84,7 +87,87 @@ public class ListSortCommand extends Command {
             return new CommandResult(false, MessageDisplayer.INVALID_SORT_DIRECTION);
         }
 
-        return getCommandResult(expenses, comparator, sortBy, sortDir, isRecurringExpense);
+        if (!sortBy.equals("NAME")) {
+            List<Expense> sorted = sortByPrimitiveKey(sortBy, sortDir.equals("DSC"));
+            if (sorted != null) {
+                return getCommandResult(sorted, sortBy, sortDir, isRecurringExpense);
+            }
+        }
+        List<Expense> expenses = service().getAllExpenses();
+        expenses.sort(comparator);
+        return getCommandResult(expenses, sortBy, sortDir, isRecurringExpense);
+    }
+
+    /**
+     * Sorts the expenses by a numeric key read through a cursor, so that no key objects are created.
+     *
+     * <p>Each key is packed together with its row position into a single {@code long}, and the packed
+     * values are sorted as primitives. The position breaks ties, so rows with equal keys keep their list
+     * order in both directions, as with a stable comparator sort.</p>
+     *
+     * @param sortBy the sort field, one of AMOUNT, CATEGORY or DATE
+     * @param isDescending whether to sort from the largest key
+     * @return the sorted expenses, or null if the keys are too wide to be packed
+     */
+    private List<Expense> sortByPrimitiveKey(String sortBy, boolean isDescending) {
+        int[] categoryRanks = sortBy.equals("CATEGORY") ? rankCategoriesByName() : null;
+        return service().read(cursor -> sortByPrimitiveKey(cursor, sortBy, categoryRanks, isDescending));
+    }
+
+    private static List<Expense> sortByPrimitiveKey(ExpenseCursor cursor, String sortBy, int[] categoryRanks,
+            boolean isDescending) {
+        int size = cursor.size();
+        long[] keys = new long[size];
+        Expense[] rows = new Expense[size];
+        long minKey = Long.MAX_VALUE;
+        long maxKey = Long.MIN_VALUE;
+        while (cursor.next()) {
+            long key = switch (sortBy) {
+            case "AMOUNT" -> cursor.amountCents();
+            case "DATE" -> cursor.epochDay();
+            default -> categoryRanks[cursor.categoryId()];
+            };
+            keys[cursor.position()] = key;
+            rows[cursor.position()] = cursor.expense();
+            minKey = Math.min(minKey, key);
+            maxKey = Math.max(maxKey, key);
+        }
+
+        int positionBits = Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(1, size - 1));
+        if (maxKey - minKey >= (1L << (Long.SIZE - 1 - positionBits))) {
+            return null;
+        }
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            int tieBreaker = isDescending ? size - 1 - i : i;
+            packed[i] = ((keys[i] - minKey) << positionBits) | tieBreaker;
+        }
+        Arrays.sort(packed);
+
+        long positionMask = (1L << positionBits) - 1;
+        List<Expense> sorted = new ArrayList<>(size);
+        for (int j = 0; j < size; j++) {
+            int tieBreaker = (int) (packed[isDescending ? size - 1 - j : j] & positionMask);
+            sorted.add(rows[isDescending ? size - 1 - tieBreaker : tieBreaker]);
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns the alphabetical rank of every category name, indexed by category id.
+     */
+    private static int[] rankCategoriesByName() {
+        String[] names = new String[CategoryManager.getCategoryIdCount()];
+        for (int id = 0; id < names.length; id++) {
+            names[id] = CategoryManager.getCategoryName(id);
+        }
+        String[] sortedNames = names.clone();
+        Arrays.sort(sortedNames);
+        int[] ranks = new int[names.length];
+        for (int id = 0; id < names.length; id++) {
+            ranks[id] = Arrays.binarySearch(sortedNames, names[id]);
+        }
+        return ranks;
     }
 
     /**
@@ -106,18 +189,16 @@ public class ListSortCommand extends Command {
 
     /**
      * This function returns the CommandResult after validating all the inputs
-     * @param expenses the list to be sorted
-     * @param comparator the comparator used for the list
+     * @param expenses the sorted list
      * @param sortBy the type on how the expenses are sorted
      * @param sortDir the direction on how the expenses are sorted
      * @return a {@code CommandResult} object telling whether the
      *      execution is successful or not, and an error/success message
      */
     //@@Charly2312
-    private CommandResult getCommandResult(List<Expense> expenses, Comparator<Expense> comparator,
-                                           String sortBy, String sortDir, boolean isRecurringExpense) {
-        expenses.sort(comparator);
-        String sortedExpenses = reporter.listExpenseBuilder(expenses);
+    private CommandResult getCommandResult(List<Expense> expenses, String sortBy, String sortDir,
+                                           boolean isRecurringExpense) {
+        String sortedExpenses = reporter().listExpenseBuilder(expenses);
         String message = (isRecurringExpense)?
                 String.format(MessageDisplayer.SORT_RECUR_SUCCESS_MESSAGE_TEMPLATE, sortBy, sortDir, sortedExpenses):
                 String.format(MessageDisplayer.SORT_SUCCESS_MESSAGE_TEMPLATE, sortBy, sortDir, sortedExpenses);
@@ -32,7 +32,7 @@ public class AverageCommand extends Command {
     @Override
     public CommandResult execute(String arguments) {
         try {
-            double average = reporter.getAverage();
+            double average = reporter().getAverage();
             String message = (isRecurringExpense) ?
                     String.format(MessageDisplayer.AVERAGE_RECURRING_SUCCESS_MESSAGE_TEMPLATE, average):
                     String.format(MessageDisplayer.AVERAGE_SUCCESS_MESSAGE_TEMPLATE, average);
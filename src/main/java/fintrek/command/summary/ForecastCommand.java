@@ -0,0 +1,88 @@
+package fintrek.command.summary;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.AppServices;
+import fintrek.expense.service.CashFlowForecast;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+@CommandInfo(
+        recurringFormat = "Format: /forecast <MONTHS>",
+        regularFormat = "Format: /forecast <MONTHS>",
+        description = """
+            Projects the spending the recurring expenses commit to from tomorrow on: in the rest of this
+            month, then in each of the next MONTHS months, broken down by category. With a monthly budget
+            set, also shows how much of the budget each full month leaves for other spending. MONTHS must
+            be from 1 to 120.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /forecast 6 - shows the recurring spending of each of the next six months."
+)
+public class ForecastCommand extends Command {
+    private static final String COMMAND_NAME = "forecast";
+    private static final int MAX_MONTHS = 120;
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MM-yyyy");
+
+    public ForecastCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Lists the projected spending of the recurring expenses in each of the coming months
+     * @param arguments is the number of months to project
+     * @return a {@code CommandResult} object telling whether the
+     *      execution is successful or not, and an error/success message
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        if (InputValidator.isNullOrBlank(arguments)) {
+            return new CommandResult(false,
+                    String.format(MessageDisplayer.ARG_EMPTY_MESSAGE_TEMPLATE, COMMAND_NAME));
+        }
+        String monthsStr = arguments.trim();
+        if (monthsStr.length() > 3 || !monthsStr.chars().allMatch(Character::isDigit)
+                || Integer.parseInt(monthsStr) < 1 || Integer.parseInt(monthsStr) > MAX_MONTHS) {
+            return new CommandResult(false, String.format(MessageDisplayer.INVALID_FORECAST_MONTHS_MESSAGE,
+                    MAX_MONTHS));
+        }
+        int monthCount = Integer.parseInt(monthsStr);
+
+        LocalDate from = LocalDate.now().plusDays(1);
+        YearMonth firstMonth = YearMonth.from(from);
+        int bucketCount = (int) firstMonth.until(YearMonth.now().plusMonths(monthCount), ChronoUnit.MONTHS) + 1;
+        CashFlowForecast forecast = CashFlowForecast.project(AppServices.recurringService(), from, bucketCount);
+        BudgetManager budgetManager = BudgetManager.getInstance();
+        StringBuilder lines = new StringBuilder();
+        for (YearMonth month : forecast.getMonths()) {
+            double total = forecast.getMonthTotal(month);
+            boolean isPartial = month.equals(firstMonth) && from.getDayOfMonth() != 1;
+            String label = isPartial
+                    ? String.format(MessageDisplayer.FORECAST_REST_OF_MONTH_LABEL, month.format(MONTH_FORMATTER))
+                    : month.format(MONTH_FORMATTER);
+            lines.append(String.format(MessageDisplayer.FORECAST_MONTH_FORMAT, label, total));
+            // Only part of this month is projected, so it is not set against the whole monthly budget
+            if (budgetManager.isBudgetSet() && !isPartial) {
+                double left = budgetManager.getBudget() - total;
+                lines.append((left < 0)
+                        ? String.format(MessageDisplayer.FORECAST_OVER_BUDGET_FORMAT, -left)
+                        : String.format(MessageDisplayer.FORECAST_BUDGET_LEFT_FORMAT, left));
+            }
+            for (Map.Entry<String, Double> entry : forecast.getCategoryTotals(month).entrySet()) {
+                lines.append(String.format(MessageDisplayer.FORECAST_CATEGORY_FORMAT,
+                        entry.getKey(), entry.getValue()));
+            }
+        }
+        lines.append(String.format(MessageDisplayer.FORECAST_TOTAL_FORMAT, forecast.getTotal()));
+        return new CommandResult(true,
+                String.format(MessageDisplayer.FORECAST_SUCCESS_MESSAGE_TEMPLATE, monthCount, lines));
+    }
+}
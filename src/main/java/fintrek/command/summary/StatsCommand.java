@@ -0,0 +1,76 @@
+package fintrek.command.summary;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.AmountStatistics;
+import fintrek.expense.service.ExpenseStatistics;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+import java.util.Map;
+
+@CommandInfo(
+        recurringFormat = "Format: /stats-recurring [CATEGORY]",
+        regularFormat = "Format: /stats [CATEGORY]",
+        description = """
+            Returns the count, minimum, median, 90th and 99th percentile and maximum amount,
+            overall and for each category. Optionally pass a category to show only that category.
+            Figures for very large categories are estimates and are marked (approx.).
+            """,
+        recurringExample = "Example: /stats-recurring food - shows statistics of recurring FOOD expenses.",
+        regularExample = "Example: /stats food - shows statistics of FOOD expenses."
+)
+public class StatsCommand extends Command {
+
+    public StatsCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Reports the distribution of regular or recurring expense amounts
+     * @param arguments is the category to report on,
+     *                  but can be empty to report on all categories
+     * @return a {@code CommandResult} object telling whether the
+     *      execution is successful or not, and an error/success message
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        ExpenseStatistics statistics = service().getStatistics();
+        Map<String, AmountStatistics> categoryStatistics = statistics.getCategoryStatistics();
+        String body;
+
+        if (InputValidator.isNullOrBlank(arguments)) {
+            if (categoryStatistics.isEmpty()) {
+                body = (isRecurringExpense)
+                        ? MessageDisplayer.EMPTY_RECURRING_LIST_MESSAGE
+                        : MessageDisplayer.EMPTY_LIST_MESSAGE;
+            } else {
+                StringBuilder lines = new StringBuilder();
+                lines.append(formatLine(MessageDisplayer.STATS_OVERALL, statistics.getOverallStatistics()));
+                for (Map.Entry<String, AmountStatistics> entry : categoryStatistics.entrySet()) {
+                    lines.append(formatLine(entry.getKey(), entry.getValue()));
+                }
+                body = lines.toString();
+            }
+        } else {
+            String category = arguments.trim().toUpperCase();
+            if (!categoryStatistics.containsKey(category)) {
+                return new CommandResult(false,
+                        MessageDisplayer.ERROR_LOADING_STATS + MessageDisplayer.CATEGORY_NOT_FOUND);
+            }
+            body = formatLine(category, categoryStatistics.get(category));
+        }
+
+        String message = (isRecurringExpense)
+                ? String.format(MessageDisplayer.STATS_RECURRING_SUCCESS_MESSAGE_TEMPLATE, body)
+                : String.format(MessageDisplayer.STATS_SUCCESS_MESSAGE_TEMPLATE, body);
+        return new CommandResult(true, message);
+    }
+
+    private static String formatLine(String label, AmountStatistics stats) {
+        String suffix = stats.isExact() ? "" : MessageDisplayer.STATS_APPROXIMATE_SUFFIX;
+        return String.format(MessageDisplayer.STATS_LINE_FORMAT, label, stats.count(), stats.min(),
+                stats.median(), stats.p90(), stats.p99(), stats.max(), suffix);
+    }
+}
@@ -35,13 +35,13 @@ public class SummaryCommand extends Command {
     public CommandResult execute(String arguments) {
         String message;
         String categorySummary;
-        Map<String, Double> categoryTotals = reporter.getTotalByCategory();
+        Map<String, Double> categoryTotals = reporter().getTotalByCategory();
 
         if (InputValidator.isNullOrBlank(arguments)) {
             if (categoryTotals.isEmpty()) {
                 categorySummary = MessageDisplayer.EMPTY_LIST_MESSAGE;
             } else {
-                categorySummary = reporter.listAllCategoryTotals(categoryTotals);
+                categorySummary = reporter().listAllCategoryTotals(categoryTotals);
             }
         } else {
             String category = arguments.trim().toUpperCase();
@@ -50,7 +50,7 @@ public class SummaryCommand extends Command {
                         + MessageDisplayer.CATEGORY_NOT_FOUND;
                 return new CommandResult(false, errorMessage);
             } else {
-                categorySummary = reporter.listSingleCategoryTotal(categoryTotals, category);
+                categorySummary = reporter().listSingleCategoryTotal(categoryTotals, category);
             }
         }
         message = (isRecurringExpense)?
@@ -29,7 +29,7 @@ public class TotalCommand extends Command {
      */
     @Override
     public CommandResult execute(String arguments) {
-        double total = reporter.getTotal();
+        double total = reporter().getTotal();
         if (total == -1) {
             String errorMessage = MessageDisplayer.ERROR_CALCULATING_TOTAL_EXPENSES +
                     MessageDisplayer.TOTAL_EXCEEDS_LIMIT_MSG;
@@ -0,0 +1,67 @@
+package fintrek.command.summary;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.MonthlyRollup;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+@CommandInfo(
+        recurringFormat = "Format: /trend [CATEGORY]",
+        regularFormat = "Format: /trend [CATEGORY]",
+        description = """
+            Returns the total spending of every month with expenses, across all years,
+            broken down by category. Optionally pass a category to show only that category.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /trend food - shows the monthly spending on FOOD."
+)
+public class TrendCommand extends Command {
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MM-yyyy");
+
+    public TrendCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Lists the spending of each month from the monthly roll-up table, without scanning the expenses
+     * @param arguments is the category to report on,
+     *                  but can be empty to report on all categories
+     * @return a {@code CommandResult} object telling whether the
+     *      execution is successful or not, and an error/success message
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        MonthlyRollup rollup = service().getMonthlyRollup();
+        if (rollup.getMonths().isEmpty()) {
+            return new CommandResult(true,
+                    String.format(MessageDisplayer.TREND_SUCCESS_MESSAGE_TEMPLATE, MessageDisplayer.EMPTY_LIST_MESSAGE));
+        }
+
+        String category = InputValidator.isNullOrBlank(arguments) ? null : arguments.trim().toUpperCase();
+        StringBuilder lines = new StringBuilder();
+        for (YearMonth month : rollup.getMonths()) {
+            Map<String, Double> categoryTotals = rollup.getCategoryTotals(month);
+            String label = month.format(MONTH_FORMATTER);
+            if (category == null) {
+                lines.append(String.format(MessageDisplayer.TREND_MONTH_FORMAT, label, rollup.getMonthTotal(month)));
+                for (Map.Entry<String, Double> entry : categoryTotals.entrySet()) {
+                    lines.append(String.format(MessageDisplayer.TREND_CATEGORY_FORMAT,
+                            entry.getKey(), entry.getValue()));
+                }
+            } else if (categoryTotals.containsKey(category)) {
+                lines.append(String.format(MessageDisplayer.TREND_MONTH_FORMAT, label, categoryTotals.get(category)));
+            }
+        }
+
+        if (lines.length() == 0) {
+            return new CommandResult(false, MessageDisplayer.ERROR_LOADING_TREND + MessageDisplayer.CATEGORY_NOT_FOUND);
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.TREND_SUCCESS_MESSAGE_TEMPLATE, lines));
+    }
+}
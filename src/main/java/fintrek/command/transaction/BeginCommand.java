@@ -0,0 +1,38 @@
+package fintrek.command.transaction;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.TransactionManager;
+import fintrek.misc.MessageDisplayer;
+
+@CommandInfo(
+        recurringFormat = "Format: /begin",
+        regularFormat = "Format: /begin",
+        description = """
+            Starts a transaction. Changes to regular and recurring expenses and to the monthly budget
+            are not saved until /commit, and can be discarded as a whole with /rollback.
+            """,
+        recurringExample = "",
+        regularExample = """
+            Example: /begin, then /add lunch $12, /add dinner $20, then /commit
+            saves both expenses together."""
+)
+public class BeginCommand extends Command {
+    public BeginCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Opens a transaction, unless one is already open.
+     * @param arguments raw user input passed to the command (ignored)
+     * @return a {@code CommandResult} telling whether the transaction was started
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        if (!TransactionManager.getInstance().begin()) {
+            return new CommandResult(false, MessageDisplayer.TRANSACTION_ALREADY_OPEN_MESSAGE);
+        }
+        return new CommandResult(true, MessageDisplayer.BEGIN_SUCCESS_MESSAGE);
+    }
+}
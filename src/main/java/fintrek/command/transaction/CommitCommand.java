@@ -0,0 +1,37 @@
+package fintrek.command.transaction;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.TransactionManager;
+import fintrek.misc.MessageDisplayer;
+
+@CommandInfo(
+        recurringFormat = "Format: /commit",
+        regularFormat = "Format: /commit",
+        description = """
+            Ends the transaction started with /begin and saves all of its changes at once.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /commit"
+)
+public class CommitCommand extends Command {
+    public CommitCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Closes the open transaction, keeping its changes so that they are saved together.
+     * @param arguments raw user input passed to the command (ignored)
+     * @return a {@code CommandResult} with the number of committed changes,
+     *      or an error if no transaction is open
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        int count = TransactionManager.getInstance().commit();
+        if (count < 0) {
+            return new CommandResult(false, MessageDisplayer.NO_TRANSACTION_MESSAGE);
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.COMMIT_SUCCESS_MESSAGE_TEMPLATE, count));
+    }
+}
@@ -0,0 +1,38 @@
+package fintrek.command.transaction;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.TransactionManager;
+import fintrek.misc.MessageDisplayer;
+
+@CommandInfo(
+        recurringFormat = "Format: /rollback",
+        regularFormat = "Format: /rollback",
+        description = """
+            Ends the transaction started with /begin and discards all of its changes,
+            restoring the expenses and monthly budget as they were at /begin.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /rollback"
+)
+public class RollbackCommand extends Command {
+    public RollbackCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Closes the open transaction, reverting its changes.
+     * @param arguments raw user input passed to the command (ignored)
+     * @return a {@code CommandResult} with the number of discarded changes,
+     *      or an error if no transaction is open
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        int count = TransactionManager.getInstance().rollback();
+        if (count < 0) {
+            return new CommandResult(false, MessageDisplayer.NO_TRANSACTION_MESSAGE);
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.ROLLBACK_SUCCESS_MESSAGE_TEMPLATE, count));
+    }
+}
@@ -0,0 +1,37 @@
+package fintrek.command.undo;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.UndoHistory;
+import fintrek.misc.MessageDisplayer;
+
+@CommandInfo(
+        recurringFormat = "Format: /redo",
+        regularFormat = "Format: /redo",
+        description = """
+            Applies again the changes most recently reverted with /undo.
+            Redo is no longer possible once another command changes the expenses.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /redo after '/undo' deletes the expense again."
+)
+public class RedoCommand extends Command {
+    public RedoCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Applies the most recently undone step again.
+     * @param arguments raw user input passed to the command (ignored)
+     * @return a {@code CommandResult} naming the redone command, or an error if there is nothing to redo
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        String label = UndoHistory.getInstance().redo();
+        if (label == null) {
+            return new CommandResult(false, MessageDisplayer.NOTHING_TO_REDO_MESSAGE);
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.REDO_SUCCESS_MESSAGE_TEMPLATE, label));
+    }
+}
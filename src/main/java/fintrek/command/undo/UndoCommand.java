@@ -0,0 +1,37 @@
+package fintrek.command.undo;
+
+import fintrek.command.Command;
+import fintrek.command.registry.CommandInfo;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.UndoHistory;
+import fintrek.misc.MessageDisplayer;
+
+@CommandInfo(
+        recurringFormat = "Format: /undo",
+        regularFormat = "Format: /undo",
+        description = """
+            Reverts the changes to regular and recurring expenses made by the most recent command
+            that changed them. By default, up to 20 commands can be undone.
+            """,
+        recurringExample = "",
+        regularExample = "Example: /undo after '/delete 2' puts the deleted expense back at index 2."
+)
+public class UndoCommand extends Command {
+    public UndoCommand(boolean isRecurring) {
+        super(isRecurring);
+    }
+
+    /**
+     * Reverts the newest step of the undo history.
+     * @param arguments raw user input passed to the command (ignored)
+     * @return a {@code CommandResult} naming the undone command, or an error if there is nothing to undo
+     */
+    @Override
+    public CommandResult execute(String arguments) {
+        String label = UndoHistory.getInstance().undo();
+        if (label == null) {
+            return new CommandResult(false, MessageDisplayer.NOTHING_TO_UNDO_MESSAGE);
+        }
+        return new CommandResult(true, String.format(MessageDisplayer.UNDO_SUCCESS_MESSAGE_TEMPLATE, label));
+    }
+}
@@ -1,17 +1,25 @@
 package fintrek.data;
 import fintrek.budget.core.BudgetManager;
-import fintrek.expense.core.CategoryManager;
-import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.CustomCategories;
 import fintrek.misc.MessageDisplayer;
 import fintrek.expense.core.Expense;
+import fintrek.expense.core.Occurrence;
 import fintrek.parser.ParseResult;
 import fintrek.parser.FileDataParser;
-import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.AppServices;
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerContext;
 
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Scanner;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.FileWriter;
+import java.io.Writer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,54 +28,90 @@ import java.util.logging.Logger;
  * are saved and loaded correctly.
  * It creates a new save file if none is found, loads the expenses from the save file
  * and saves the expenses properly in the save file.
+ * It always works on the current ledger and its files, see {@link LedgerContext}.
  */
 public class DataHandler {
     private static final Logger logger = Logger.getLogger(DataHandler.class.getName());
-    private static final String FILE_PATH = "data.txt";
     private static final String RECURRING_EXPENSE_SEPARATOR = " | R";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
 
     /**
-     * Saves each expense in data.txt in the following format:
-     * "DESCRIPTION | $AMOUNT | CATEGORY | DATE"
-     * Prints our an error message if there is an error saving data
-      */
+     * Saves the current ledger, see {@link #saveData(Ledger)}.
+     */
     public static void saveData() {
-        try {
-            FileWriter fw = new FileWriter(FILE_PATH);
-            if(BudgetManager.getInstance().isBudgetSet()) {
-                fw.write(BudgetManager.getInstance() + MessageDisplayer.LINE_SEPARATOR);
+        saveData(LedgerContext.current());
+    }
+
+    /**
+     * Saves each expense of a ledger in its save file in the following format:
+     * "DESCRIPTION | $AMOUNT | CATEGORY | DATE", followed by "| FROM=ID@DATE" for an expense inserted
+     * for an occurrence of a recurring expense, and by "| ID=ID | R" for a recurring expense
+     * Prints our an error message if there is an error saving data, in which case the ledger stays dirty
+     * @param ledger the ledger to save, which need not be the current one
+     */
+    public static void saveData(Ledger ledger) {
+        String version = ledger.getVersion();
+        File saveFile = createParentDirectory(ledger.getDataFile());
+        try (Writer fw = new BufferedWriter(new FileWriter(saveFile))) {
+            BudgetManager budgetManager = ledger.getBudgetManager();
+            if(budgetManager.isBudgetSet()) {
+                fw.write(budgetManager + MessageDisplayer.LINE_SEPARATOR);
             }
 
-            if(CategoryManager.hasCustomCategories()) {
-                String categoryList = "Custom Categories: " + CategoryManager.getCustomCategoriesAsString();
+            CustomCategories customCategories = ledger.getCustomCategories();
+            if(!customCategories.isEmpty()) {
+                String categoryList = "Custom Categories: " + customCategories.toSortedString();
                 fw.write( categoryList + MessageDisplayer.LINE_SEPARATOR);
             }
 
-            for(int i = 0; i < RegularExpenseManager.getInstance().getLength(); i++) {
-                Expense expense = RegularExpenseManager.getInstance().get(i);;
-                fw.write(expense.toString() + MessageDisplayer.LINE_SEPARATOR);
+            LocalDate lastRecurringRun = ledger.getRecurringScheduler().getLastRun();
+            if (lastRecurringRun != null) {
+                fw.write(FileDataParser.RECURRING_CHECKED_PREFIX + lastRecurringRun.format(DATE_FORMATTER)
+                        + MessageDisplayer.LINE_SEPARATOR);
+            }
+
+            for (Expense expense : ledger.getRegularManager().getAll()) {
+                Occurrence source = expense.getSource();
+                String mark = (source == null) ? "" : " | " + FileDataParser.SOURCE_PREFIX
+                        + Long.toHexString(source.sourceId()) + "@" + source.date().format(DATE_FORMATTER);
+                fw.write(expense + mark + MessageDisplayer.LINE_SEPARATOR);
             }
 
-            for(int i = 0; i < RecurringExpenseManager.getInstance().getLength(); i++) {
-                Expense expense = RecurringExpenseManager.getInstance().get(i);;
-                fw.write(expense.toString() + RECURRING_EXPENSE_SEPARATOR +
-                        MessageDisplayer.LINE_SEPARATOR);
+            for (Expense expense : ledger.getRecurringManager().getAll()) {
+                fw.write(expense + " | " + FileDataParser.ID_PREFIX + Long.toHexString(expense.getId())
+                        + RECURRING_EXPENSE_SEPARATOR + MessageDisplayer.LINE_SEPARATOR);
             }
-            fw.close();
         } catch(IOException e) {
             System.out.println(MessageDisplayer.ERROR_SAVING_DATA_MESSAGE + e.getMessage());
+            return;
         }
+        ledger.markSaved(version);
+        try {
+            saveRollup(ledger);
+        } catch(IOException e) {
+            System.out.println(MessageDisplayer.ERROR_SAVING_DATA_MESSAGE + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the monthly roll-up table of regular expenses next to the save file.
+     * It is written after the save file so that it is never older than the data it summarises.
+     */
+    private static void saveRollup(Ledger ledger) throws IOException {
+        List<String> lines = ledger.getRegularService().getMonthlyRollup().toLines();
+        Files.write(new File(ledger.getRollupFile()).toPath(), lines);
     }
 
     /**
      * Loads the current list of expenses upon startup
-     * Creates a new save file if the desired 'data.txt' file is not found
+     * Creates a new save file if the save file of the current ledger is not found
      * Prints an error message if there is a problem while loading data
      */
     public static void loadData() {
         logger.log(Level.FINE, "Loading data...");
-        File f = new File(FILE_PATH);
+        String path = LedgerContext.current().getDataFile();
+        File f = new File(path);
         if(f.exists() && !f.isDirectory()) {
             try(Scanner s = new Scanner(f)) {
                 while(s.hasNext()) {
@@ -76,29 +120,77 @@ public class DataHandler {
                     printPotentialErrorMessage(result);
                 }
             } catch (IOException e) {
-                System.out.println(String.format(MessageDisplayer.FILE_LOAD_ERROR_MESSAGE, FILE_PATH) +
+                System.out.println(String.format(MessageDisplayer.FILE_LOAD_ERROR_MESSAGE, path) +
                         e.getMessage());
             }
+            loadRollup(f);
+            buildSearchIndexes();
         } else {
             createNewSaveFile();
         }
+        LedgerContext.current().markSaved(LedgerContext.current().getVersion());
     }
 
     /**
-     * Creates a new 'data.txt' save file if none is found
+     * Builds the description indexes of the loaded expenses now, so that the first search does not have to.
+     */
+    private static void buildSearchIndexes() {
+        AppServices.regularService().getDescriptionIndex();
+        AppServices.regularService().getTrigramIndex();
+        AppServices.recurringService().getDescriptionIndex();
+        AppServices.recurringService().getTrigramIndex();
+    }
+
+    /**
+     * Restores the monthly roll-up table if it was saved no earlier than the save file.
+     * A missing, outdated or unreadable roll-up file is ignored and the table is rebuilt on first use.
+     * @param dataFile the save file that has just been loaded
+     */
+    private static void loadRollup(File dataFile) {
+        File rollupFile = new File(LedgerContext.current().getRollupFile());
+        if (!rollupFile.isFile() || rollupFile.lastModified() < dataFile.lastModified()) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(rollupFile.toPath());
+            if (!AppServices.regularService().restoreMonthlyRollup(lines)) {
+                logger.log(Level.FINE, "Roll-up file does not match the save file, it will be rebuilt.");
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Could not read roll-up file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a new save file for the current ledger if none is found
      * Prints an error message if problems are encountered while creating the file
      */
     public static void createNewSaveFile() {
+        String path = LedgerContext.current().getDataFile();
         try {
             logger.log(Level.FINE, "Creating new save file...");
-            File f = new File(FILE_PATH);
+            File f = createParentDirectory(path);
             f.createNewFile();
         } catch(IOException e) {
-            System.out.println(String.format(MessageDisplayer.FILE_CREATION_ERROR_MESSAGE, FILE_PATH) +
+            System.out.println(String.format(MessageDisplayer.FILE_CREATION_ERROR_MESSAGE, path) +
                     e.getMessage());
         }
     }
 
+    /**
+     * Creates the directory a file is to be written to, e.g. the directory holding the named ledgers.
+     * @param path the path of the file
+     * @return the file
+     */
+    private static File createParentDirectory(String path) {
+        File f = new File(path);
+        File parent = f.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return f;
+    }
+
     public static void printPotentialErrorMessage(ParseResult result) {
         if(!result.isSuccess()) {
             System.out.println(result.getError());
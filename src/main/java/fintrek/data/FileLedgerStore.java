@@ -0,0 +1,19 @@
+package fintrek.data;
+
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerStore;
+
+/**
+ * Loads and saves ledgers in their save files through {@link DataHandler}.
+ */
+public class FileLedgerStore implements LedgerStore {
+    @Override
+    public void load(Ledger ledger) {
+        DataHandler.loadData();
+    }
+
+    @Override
+    public void save(Ledger ledger) {
+        DataHandler.saveData(ledger);
+    }
+}
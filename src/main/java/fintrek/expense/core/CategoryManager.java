@@ -1,32 +1,46 @@
 package fintrek.expense.core;
 
+import fintrek.ledger.LedgerContext;
+
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+/**
+ * Keeps the known category names and the dense ids assigned to them.
+ *
+ * <p>The default categories and the ids are shared by every ledger, while custom categories belong to
+ * the current ledger, see {@link LedgerContext}. Safe to use from several threads: custom categories
+ * are guarded as described in {@link CustomCategories}, and ids are assigned at most once per name.</p>
+ */
 public class CategoryManager {
     private static final Set<String> defaultCategories = new HashSet<>(Arrays.asList(
             "FOOD", "TRANSPORT", "HEALTH", "ENTERTAINMENT", "UTILITIES", "GIFTS", "UNCATEGORIZED"
     ));
 
-    private static final Set<String> customCategories = new HashSet<>();
+    /** Dense ids for every category name seen by an expense, used to index primitive accumulators. */
+    private static final Map<String, Integer> categoryIds = new ConcurrentHashMap<>();
+    private static final List<String> categoryNames = new CopyOnWriteArrayList<>();
 
     public static boolean isValid(String input) {
-        String inputUp = input.toUpperCase();
-        return defaultCategories.contains(inputUp) || customCategories.contains(inputUp);
+        return defaultCategories.contains(input.toUpperCase()) || customCategories().contains(input);
     }
 
     public static void addCustomCategory(String newCategory) {
-        customCategories.add(newCategory.toUpperCase());
+        customCategories().add(newCategory);
     }
 
     public static boolean hasCustomCategories() {
-        return !customCategories.isEmpty();
+        return !customCategories().isEmpty();
     }
 
     public static void clearCustomCategories() {
-        customCategories.clear();
+        customCategories().clear();
     }
 
     public static String getCategoriesString(Set<String> categories) {
@@ -36,10 +50,65 @@ public class CategoryManager {
     }
 
     public static String getCustomCategoriesAsString() {
-        return getCategoriesString(customCategories);
+        return customCategories().toSortedString();
     }
 
     public static String getDefaultCategoriesAsString() {
         return getCategoriesString(defaultCategories);
     }
+
+    private static CustomCategories customCategories() {
+        return LedgerContext.current().getCustomCategories();
+    }
+
+    /**
+     * Returns the dense id of a category, assigning the next free id the first time a name is seen.
+     * Ids are never reused or removed, so they stay valid for the lifetime of the application.
+     *
+     * @param category the category name (case-insensitive)
+     * @return a non-negative id that is unique to the upper-cased category name
+     */
+    public static int getCategoryId(String category) {
+        String key = category.toUpperCase();
+        Integer id = categoryIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (categoryNames) {
+            return categoryIds.computeIfAbsent(key, name -> {
+                categoryNames.add(name);
+                return categoryNames.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Looks up the id of an upper-cased category name without assigning a new one.
+     *
+     * @param category the upper-cased category name
+     * @return the id of the category, or -1 if no expense has used it yet
+     */
+    public static int findCategoryId(String category) {
+        Integer id = categoryIds.get(category);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * Returns the upper-cased category name that was assigned the given id.
+     *
+     * @param id an id previously returned by {@link #getCategoryId(String)}
+     * @return the category name
+     */
+    public static String getCategoryName(int id) {
+        return categoryNames.get(id);
+    }
+
+    /**
+     * Returns the number of category ids assigned so far. Every assigned id is below this value.
+     *
+     * @return the number of distinct category names seen
+     */
+    public static int getCategoryIdCount() {
+        return categoryNames.size();
+    }
 }
@@ -0,0 +1,64 @@
+package fintrek.expense.core;
+
+import fintrek.util.StampedLocks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The custom category names added to one ledger, stored upper-cased.
+ *
+ * <p>Safe to use from several threads: the names are read optimistically and changed under an
+ * exclusive lock.</p>
+ */
+public class CustomCategories {
+    private final Set<String> categories = new HashSet<>();
+    private final StampedLock lock = new StampedLock();
+    private int modificationCount = 0;
+
+    public boolean contains(String category) {
+        String key = category.toUpperCase();
+        return StampedLocks.read(lock, () -> categories.contains(key));
+    }
+
+    public void add(String category) {
+        String key = category.toUpperCase();
+        StampedLocks.write(lock, () -> {
+            if (categories.add(key)) {
+                modificationCount++;
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return StampedLocks.read(lock, categories::isEmpty);
+    }
+
+    public void clear() {
+        StampedLocks.write(lock, () -> {
+            if (!categories.isEmpty()) {
+                categories.clear();
+                modificationCount++;
+            }
+        });
+    }
+
+    /**
+     * Returns a counter that changes whenever a name is added or the names are cleared.
+     *
+     * @return the number of changes so far
+     */
+    public int getModificationCount() {
+        return StampedLocks.read(lock, () -> modificationCount);
+    }
+
+    /**
+     * Returns the names sorted and separated by commas.
+     *
+     * @return the names, or an empty string if there are none
+     */
+    public String toSortedString() {
+        return StampedLocks.read(lock, () -> CategoryManager.getCategoriesString(categories));
+    }
+}
@@ -4,12 +4,29 @@ import fintrek.misc.MessageDisplayer;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * An amount spent on a day, with a description and a category.
+ *
+ * <p>Each expense has a random {@link #getId() id} that stays the same when it is edited. The id of a
+ * recurring expense is saved with it, and the regular expenses inserted for its occurrences carry it
+ * in their {@link Occurrence}, so an occurrence is recognised even after it was edited.</p>
+ */
 public class Expense {
+    private static final double CENTS_PER_DOLLAR = 100.0;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
     private final String description;
     private final double amount;
+    private final long amountCents;
     private final String category;
-    private LocalDate date;
+    private final int categoryId;
+    private final LocalDate date;
+    private final RecurrenceRule recurrence;
+    private final long id;
+    private final Occurrence source;
 
     /**
      * This function constructs an expense object based on the parameters below
@@ -19,22 +36,97 @@ public class Expense {
      * @param date is when the expense is made
      */
     public Expense(String description, double amount, String category, LocalDate date) {
+        this(description, amount, category, date, RecurrenceRule.MONTHLY);
+    }
+
+    /**
+     * This function constructs an expense that repeats by the given rule when it is recurring
+     * @param description is the description of the expense
+     * @param amount is the amount spent in this expense
+     * @param category is the category of the expense
+     * @param date is when the expense is made, and the first occurrence of a recurring expense
+     * @param recurrence is when a recurring expense repeats, or null to repeat monthly
+     */
+    public Expense(String description, double amount, String category, LocalDate date, RecurrenceRule recurrence) {
+        this(description, amount, category, date, recurrence, ThreadLocalRandom.current().nextLong(), null);
+    }
+
+    /**
+     * This function constructs an expense with a known id, e.g. one read back from the save file
+     * @param description is the description of the expense
+     * @param amount is the amount spent in this expense
+     * @param category is the category of the expense
+     * @param date is when the expense is made, and the first occurrence of a recurring expense
+     * @param recurrence is when a recurring expense repeats, or null to repeat monthly
+     * @param id is the id of the expense
+     * @param source is the occurrence this expense was inserted for, or null if it was not
+     */
+    public Expense(String description, double amount, String category, LocalDate date, RecurrenceRule recurrence,
+            long id, Occurrence source) {
         if (amount <= 0) {
             throw new IllegalArgumentException(MessageDisplayer.INVALID_AMOUNT);
         }
         assert amount > 0 : MessageDisplayer.INVALID_AMOUNT;
         this.description = description;
         this.amount = amount;
+        this.amountCents = Math.round(amount * CENTS_PER_DOLLAR);
         this.category = category;
+        this.categoryId = CategoryManager.getCategoryId(category);
         this.date = date;
+        this.recurrence = (recurrence == null) ? RecurrenceRule.MONTHLY : recurrence;
+        this.id = id;
+        this.source = source;
+    }
+
+    /**
+     * Returns the regular expense inserted for an occurrence of a recurring expense.
+     *
+     * @param recurring the recurring expense
+     * @param date the day the occurrence falls due
+     * @return a new expense with the values of {@code recurring} on that day, marked with its occurrence
+     */
+    public static Expense occurrenceOf(Expense recurring, LocalDate date) {
+        return new Expense(recurring.description, recurring.amount, recurring.category, date, null,
+                ThreadLocalRandom.current().nextLong(), new Occurrence(recurring.id, date));
+    }
+
+    /**
+     * Returns this expense with new values, keeping its id, recurrence rule and occurrence.
+     *
+     * @param description the new description
+     * @param amount the new amount
+     * @param category the new category
+     * @param date the new date
+     * @return the edited expense
+     */
+    public Expense withValues(String description, double amount, String category, LocalDate date) {
+        return new Expense(description, amount, category, date, recurrence, id, source);
     }
 
     public LocalDate getDate() {
         return date;
     }
 
-    public void updateDate(LocalDate date) {
-        this.date = date;
+    /**
+     * Returns when this expense repeats if it is a recurring expense; monthly unless given otherwise.
+     */
+    public RecurrenceRule getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns the id of this expense, which stays the same when it is edited.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the occurrence of a recurring expense this expense was inserted for, or null if it was
+     * not inserted for one.
+     */
+    public Occurrence getSource() {
+        return source;
     }
 
     public String getDescription() {
@@ -45,15 +137,57 @@ public class Expense {
         return category.toUpperCase();
     }
 
+    /**
+     * Returns the dense id of this expense's category, as assigned by {@link CategoryManager}.
+     */
+    public int getCategoryId() {
+        return categoryId;
+    }
+
     public double getAmount() {
         assert amount > 0 : MessageDisplayer.INVALID_AMOUNT;
         return amount;
     }
 
+    /**
+     * Returns the amount rounded to whole cents, for exact integer arithmetic over many expenses.
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    /**
+     * Returns whether another expense has the same description, amount in cents, category, date and
+     * recurrence rule.
+     * Expenses are values: an expense read back from the save file equals the one that was saved.
+     * The id and occurrence only keep track of an expense, and are not compared.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Expense expense)) {
+            return false;
+        }
+        return amountCents == expense.amountCents && description.equals(expense.description)
+                && category.equalsIgnoreCase(expense.category) && Objects.equals(date, expense.date)
+                && recurrence.equals(expense.recurrence);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(description, amountCents, category.toUpperCase(), date, recurrence);
+    }
+
+    /**
+     * Returns the expense as shown to the user and saved, with its recurrence rule at the end unless
+     * it is the default monthly rule.
+     */
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        return description + " | $" + String.format("%.2f", amount) + " | "
-                + category.toUpperCase() + " | " + date.format(formatter);
+        String text = description + " | $" + String.format("%.2f", amount) + " | "
+                + category.toUpperCase() + " | " + date.format(DATE_FORMATTER);
+        return recurrence.equals(RecurrenceRule.MONTHLY) ? text : text + " | " + recurrence;
     }
 }
@@ -0,0 +1,93 @@
+package fintrek.expense.core;
+
+import java.util.List;
+
+/**
+ * A read-only cursor over the rows of an expense collection.
+ *
+ * <p>The cursor reads the stored rows in place: it does not copy the collection and creates no
+ * objects while moving, and each accessor returns a primitive or an existing reference for the
+ * row it is positioned on. Scans that only need amounts, dates or categories therefore produce
+ * no garbage. A cursor is only valid until its collection is next modified.</p>
+ */
+public class ExpenseCursor {
+    private final List<Expense> rows;
+    private int position = -1;
+    private Expense current;
+
+    /**
+     * Creates a cursor positioned before the first of the given rows.
+     *
+     * @param rows the backing rows, read without copying
+     */
+    ExpenseCursor(List<Expense> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Moves to the next row.
+     *
+     * @return true if the cursor is now on a row, false if it has passed the last one
+     */
+    public boolean next() {
+        if (position + 1 >= rows.size()) {
+            position = rows.size();
+            current = null;
+            return false;
+        }
+        position++;
+        current = rows.get(position);
+        return true;
+    }
+
+    /**
+     * Moves the cursor back before the first row so that it can be reused for another scan.
+     */
+    public void reset() {
+        position = -1;
+        current = null;
+    }
+
+    /**
+     * Returns the number of rows in the collection.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns the 0-based index of the current row in the collection.
+     *
+     * @return the current position
+     */
+    public int position() {
+        return position;
+    }
+
+    public long amountCents() {
+        return current.getAmountCents();
+    }
+
+    public long epochDay() {
+        return current.getDate().toEpochDay();
+    }
+
+    public int categoryId() {
+        return current.getCategoryId();
+    }
+
+    public String description() {
+        return current.getDescription();
+    }
+
+    /**
+     * Returns the stored expense of the current row, for callers that need to keep a reference to it.
+     *
+     * @return the current expense
+     */
+    public Expense expense() {
+        return current;
+    }
+}
@@ -1,6 +1,7 @@
 package fintrek.expense.core;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Defines the basic operations supported by an expense collection.
@@ -9,6 +10,19 @@ import java.util.List;
  * allowing command logic to interact with them uniformly. Implementations may vary
  * in how data is stored or persisted, but must support core CRUD operations,
  * indexing, and retrieval.</p>
+ *
+ * <p>Implementations are safe to share between threads, with the following consistency model:
+ * <ul>
+ *   <li>Each method is atomic. Changes take an exclusive lock, and every change made before a
+ *       read returns is visible to it.</li>
+ *   <li>Reads do not block one another and, when no change is in progress, take no lock at all:
+ *       they run optimistically and are repeated under a shared lock if a change overlapped them.</li>
+ *   <li>A scan passed to {@link #read(Function)} sees the whole collection as it was at one point
+ *       in time. A bare {@link #cursor()} has no such guarantee and is only for the thread that
+ *       makes the changes.</li>
+ *   <li>Separate calls are not atomic together: a position found by one read may name a different
+ *       expense by the next call if another thread changed the collection in between.</li>
+ * </ul></p>
  */
 public interface ExpenseOperation {
 
@@ -37,6 +51,26 @@ public interface ExpenseOperation {
      */
     Expense remove(int index);
 
+    /**
+     * Removes the expenses at the given positions in a single pass over the collection,
+     * moving every remaining expense at most once.
+     *
+     * @param indices zero-based positions in ascending order, without duplicates
+     * @return the removed expenses, in the order of {@code indices}
+     * @throws IndexOutOfBoundsException if an index is invalid
+     */
+    List<Expense> removeAt(int[] indices);
+
+    /**
+     * Replaces the expense at the specified index without shifting any other expense.
+     *
+     * @param index the zero-based index of the expense
+     * @param expense the new expense
+     * @return the expense that was replaced
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    Expense replace(int index, Expense expense);
+
     /**
      * Returns the number of expenses currently in the collection.
      *
@@ -51,6 +85,26 @@ public interface ExpenseOperation {
      */
     List<Expense> getAll();
 
+    /**
+     * Returns a cursor over the expenses in list order that reads them without copying the collection.
+     * The cursor must not be used after the collection is modified, and should only be used by the
+     * thread that modifies it; other threads use {@link #read(Function)}.
+     *
+     * @return a new cursor positioned before the first expense
+     */
+    ExpenseCursor cursor();
+
+    /**
+     * Runs a read-only scan over a cursor and returns its result, which reflects the collection as
+     * it was at a single point in time. The scan may be run more than once, so it must not change
+     * any shared state, and it must not keep the cursor.
+     *
+     * @param scan the scan to run
+     * @param <T> the type of the result
+     * @return the result of the scan
+     */
+    <T> T read(Function<ExpenseCursor, T> scan);
+
     /**
      * Removes all expenses from the collection.
      */
@@ -65,6 +119,14 @@ public interface ExpenseOperation {
      */
     void insertAt(int index, Expense expense);
 
+    /**
+     * Returns a counter that changes every time the collection is structurally modified
+     * (add, remove, insert, replace or clear). Derived views compare it to detect that they are stale.
+     *
+     * @return the current modification count
+     */
+    int getModificationCount();
+
     /**
      * Indicates whether this operation instance is for recurring expenses.
      *
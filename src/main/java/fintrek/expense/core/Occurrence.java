@@ -0,0 +1,14 @@
+package fintrek.expense.core;
+
+import java.time.LocalDate;
+
+/**
+ * Marks a regular expense that was inserted for a recurring expense: the {@link Expense#getId() id}
+ * of the recurring expense and the day the occurrence fell due. The mark stays when the expense is
+ * edited, so it still names the occurrence it was inserted for.
+ *
+ * @param sourceId the id of the recurring expense
+ * @param date the day the occurrence fell due
+ */
+public record Occurrence(long sourceId, LocalDate date) {
+}
@@ -0,0 +1,225 @@
+package fintrek.expense.core;
+
+import fintrek.util.InputValidator;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * When a recurring expense repeats: every {@code interval} days, weeks, months or years from the date
+ * of the expense, optionally ending on a day or after a number of occurrences.
+ *
+ * <p>Rules are written in the style of an iCalendar RRULE, e.g. {@code FREQ=WEEKLY;INTERVAL=2} or
+ * {@code FREQ=MONTHLY;UNTIL=31-12-2025}, with dates in the form dd-MM-yyyy.</p>
+ *
+ * <p>Occurrence {@code k} is the date of the expense plus {@code k * interval} units, always counted
+ * from the date of the expense rather than from the previous occurrence. An expense on the 31st thus
+ * falls on the last day of shorter months and returns to the 31st afterwards, and one on 29 February
+ * falls on 28 February in other years. Any occurrence is found in constant time, without stepping
+ * through the days in between.</p>
+ *
+ * @param frequency the unit the rule repeats in
+ * @param interval the number of units between occurrences, at least 1
+ * @param until the last day an occurrence may fall on, or null for no such end
+ * @param count the number of occurrences, or 0 for no such end
+ */
+public record RecurrenceRule(Frequency frequency, int interval, LocalDate until, int count) {
+    /** The rule of recurring expenses that do not give one. */
+    public static final RecurrenceRule MONTHLY = new RecurrenceRule(Frequency.MONTHLY, 1, null, 0);
+
+    private static final int MAX_INTERVAL = 1000;
+    private static final String FREQUENCY_KEY = "FREQ";
+    private static final String INTERVAL_KEY = "INTERVAL";
+    private static final String UNTIL_KEY = "UNTIL";
+    private static final String COUNT_KEY = "COUNT";
+
+    /**
+     * The unit a rule repeats in.
+     */
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS), WEEKLY(ChronoUnit.WEEKS), MONTHLY(ChronoUnit.MONTHS), YEARLY(ChronoUnit.YEARS);
+
+        private final ChronoUnit unit;
+
+        Frequency(ChronoUnit unit) {
+            this.unit = unit;
+        }
+    }
+
+    /**
+     * Checks the parts of a rule.
+     *
+     * @throws IllegalArgumentException if the frequency is missing, or the interval or count is out of range
+     */
+    public RecurrenceRule {
+        if (frequency == null || interval < 1 || interval > MAX_INTERVAL || count < 0) {
+            throw new IllegalArgumentException("Invalid recurrence rule");
+        }
+    }
+
+    /**
+     * Reads a rule such as {@code FREQ=WEEKLY;INTERVAL=2;COUNT=10}, ignoring case. {@code FREQ} is
+     * required; {@code INTERVAL}, and one of {@code UNTIL} and {@code COUNT}, are optional.
+     *
+     * @param text the rule
+     * @return the rule, or null if the text is not a valid rule
+     */
+    public static RecurrenceRule parse(String text) {
+        Frequency frequency = null;
+        int interval = 0;
+        LocalDate until = null;
+        int count = 0;
+        for (String part : text.split(";", -1)) {
+            int equals = part.indexOf('=');
+            if (equals < 0) {
+                return null;
+            }
+            String key = part.substring(0, equals).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(equals + 1).trim();
+            switch (key) {
+            case FREQUENCY_KEY -> {
+                if (frequency != null) {
+                    return null;
+                }
+                frequency = parseFrequency(value);
+                if (frequency == null) {
+                    return null;
+                }
+            }
+            case INTERVAL_KEY -> {
+                if (interval != 0) {
+                    return null;
+                }
+                interval = parsePositive(value);
+            }
+            case UNTIL_KEY -> {
+                if (until != null) {
+                    return null;
+                }
+                until = InputValidator.parseDate(value);
+                if (until == null) {
+                    return null;
+                }
+            }
+            case COUNT_KEY -> {
+                if (count != 0) {
+                    return null;
+                }
+                count = parsePositive(value);
+            }
+            default -> {
+                return null;
+            }
+            }
+            if (interval < 0 || count < 0) {
+                return null;
+            }
+        }
+        if (frequency == null || interval > MAX_INTERVAL || (until != null && count != 0)) {
+            return null;
+        }
+        return new RecurrenceRule(frequency, (interval == 0) ? 1 : interval, until, count);
+    }
+
+    private static Frequency parseFrequency(String value) {
+        for (Frequency frequency : Frequency.values()) {
+            if (frequency.name().equalsIgnoreCase(value)) {
+                return frequency;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value as a positive number, or -1 if it is not one.
+     */
+    private static int parsePositive(String value) {
+        if (value.isEmpty() || value.length() > 6 || !value.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        int number = Integer.parseInt(value);
+        return (number == 0) ? -1 : number;
+    }
+
+    /**
+     * Returns occurrence {@code index} of an expense, whether or not the rule has ended by then.
+     *
+     * @param start the date of the expense, which is occurrence 0
+     * @param index the 0-based number of the occurrence
+     * @return the date of the occurrence
+     */
+    public LocalDate occurrence(LocalDate start, long index) {
+        return start.plus(index * interval, frequency.unit);
+    }
+
+    /**
+     * Returns the first occurrence of an expense after the given day.
+     *
+     * @param start the date of the expense, which is its first occurrence
+     * @param day the day after which to look
+     * @return the first occurrence after {@code day}, or null if the rule ends before it
+     */
+    public LocalDate nextOccurrenceAfter(LocalDate start, LocalDate day) {
+        long index = firstIndexAfter(start, day);
+        LocalDate occurrence = occurrence(start, index);
+        return hasOccurrence(index, occurrence) ? occurrence : null;
+    }
+
+    /**
+     * Returns the occurrences of an expense from {@code from} to {@code to}, both inclusive, in order.
+     * The occurrences are computed as the stream is read.
+     *
+     * @param start the date of the expense, which is its first occurrence
+     * @param from the first day of the window
+     * @param to the last day of the window
+     * @return the occurrences in the window
+     */
+    public Stream<LocalDate> occurrencesBetween(LocalDate start, LocalDate from, LocalDate to) {
+        LocalDate last = (until != null && until.isBefore(to)) ? until : to;
+        return LongStream.iterate(firstIndexAfter(start, from.minusDays(1)), index -> index + 1)
+                .takeWhile(index -> count == 0 || index < count)
+                .mapToObj(index -> occurrence(start, index))
+                .takeWhile(occurrence -> !occurrence.isAfter(last));
+    }
+
+    /**
+     * Returns the index of the first occurrence after the given day, ignoring the end of the rule.
+     * The estimate from the number of whole units in between is off by at most a couple of
+     * occurrences, so the loop runs at most a few times.
+     */
+    private long firstIndexAfter(LocalDate start, LocalDate day) {
+        if (day.isBefore(start)) {
+            return 0;
+        }
+        long index = frequency.unit.between(start, day) / interval;
+        while (!occurrence(start, index).isAfter(day)) {
+            index++;
+        }
+        return index;
+    }
+
+    private boolean hasOccurrence(long index, LocalDate occurrence) {
+        return (count == 0 || index < count) && (until == null || !occurrence.isAfter(until));
+    }
+
+    /**
+     * Returns the rule in the form {@link #parse} reads, leaving out parts that have their default value.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(FREQUENCY_KEY).append('=').append(frequency);
+        if (interval != 1) {
+            text.append(';').append(INTERVAL_KEY).append('=').append(interval);
+        }
+        if (until != null) {
+            text.append(';').append(UNTIL_KEY).append('=').append(until.format(InputValidator.DATE_FORMATTER));
+        }
+        if (count != 0) {
+            text.append(';').append(COUNT_KEY).append('=').append(count);
+        }
+        return text.toString();
+    }
+}
@@ -1,28 +1,37 @@
 package fintrek.expense.core;
 
+import fintrek.ledger.LedgerContext;
 import fintrek.misc.MessageDisplayer;
 import fintrek.util.InputValidator;
+import fintrek.util.StampedLocks;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Manages recurring expenses only.
+ * Manages the recurring expenses of one ledger.
+ * Safe to use from several threads, as described in {@link ExpenseOperation}.
  */
 public class RecurringExpenseManager implements ExpenseOperation {
     private static final Logger logger = Logger.getLogger(RecurringExpenseManager.class.getName());
 
-    // Singleton instance
-    private static final RecurringExpenseManager instance = new RecurringExpenseManager();
-
     private final List<Expense> recurringExpenses = new ArrayList<>();
+    private int modificationCount = 0;
+    private final StampedLock lock = new StampedLock();
 
-    private RecurringExpenseManager() {}
+    public RecurringExpenseManager() {}
 
+    /**
+     * Returns the manager of the current ledger.
+     *
+     * @return the {@code RecurringExpenseManager} of {@link LedgerContext#current()}
+     */
     public static RecurringExpenseManager getInstance() {
-        return instance;
+        return LedgerContext.current().getRecurringManager();
     }
 
     @Override
@@ -34,46 +43,115 @@ public class RecurringExpenseManager implements ExpenseOperation {
     public void add(Expense expense) {
         assert expense != null : MessageDisplayer.NULL_EXPENSE_ERROR;
         logger.log(Level.FINE, MessageDisplayer.ADDING_REGULAR_EXPENSE_MESSAGE + expense);
-        recurringExpenses.add(expense);
+        StampedLocks.write(lock, () -> {
+            recurringExpenses.add(expense);
+            modificationCount++;
+        });
     }
 
     @Override
     public Expense get(int index) {
-        assert InputValidator.isInValidIntRange(index, 0, recurringExpenses.size() - 1)
+        assert InputValidator.isInValidIntRange(index, 0, getLength() - 1)
                 : MessageDisplayer.INVALID_IDX_MESSAGE;
-        return recurringExpenses.get(index);
+        return StampedLocks.read(lock, () -> recurringExpenses.get(index));
     }
 
     @Override
     public Expense remove(int index) {
-        assert InputValidator.isInValidIntRange(index, 0, recurringExpenses.size() - 1)
-                : MessageDisplayer.INVALID_IDX_MESSAGE;
-        Expense removed = recurringExpenses.remove(index);
+        Expense removed = StampedLocks.write(lock, () -> {
+            assert InputValidator.isInValidIntRange(index, 0, recurringExpenses.size() - 1)
+                    : MessageDisplayer.INVALID_IDX_MESSAGE;
+            Expense expense = recurringExpenses.remove(index);
+            modificationCount++;
+            return expense;
+        });
         logger.log(Level.FINE, String.format(MessageDisplayer.REMOVED_EXPENSE_MESSAGE_TEMPLATE, index, removed));
         return removed;
     }
 
+    @Override
+    public List<Expense> removeAt(int[] indices) {
+        List<Expense> removed = new ArrayList<>(indices.length);
+        if (indices.length == 0) {
+            return removed;
+        }
+        StampedLocks.write(lock, () -> compact(indices, removed));
+        logger.log(Level.FINE, String.format(MessageDisplayer.REMOVED_EXPENSES_MESSAGE_TEMPLATE, removed.size()));
+        return removed;
+    }
+
+    private void compact(int[] indices, List<Expense> removed) {
+        assert InputValidator.isInValidIntRange(indices[0], 0, recurringExpenses.size() - 1)
+                && indices[indices.length - 1] < recurringExpenses.size() : MessageDisplayer.INVALID_IDX_MESSAGE;
+        int next = 0;
+        int kept = indices[0];
+        for (int i = indices[0]; i < recurringExpenses.size(); i++) {
+            Expense expense = recurringExpenses.get(i);
+            if (next < indices.length && indices[next] == i) {
+                removed.add(expense);
+                next++;
+            } else {
+                recurringExpenses.set(kept++, expense);
+            }
+        }
+        recurringExpenses.subList(kept, recurringExpenses.size()).clear();
+        modificationCount++;
+    }
+
+    @Override
+    public Expense replace(int index, Expense expense) {
+        assert expense != null : MessageDisplayer.NULL_EXPENSE_ERROR;
+        return StampedLocks.write(lock, () -> {
+            assert InputValidator.isInValidIntRange(index, 0, recurringExpenses.size() - 1)
+                    : MessageDisplayer.INVALID_IDX_MESSAGE;
+            Expense replaced = recurringExpenses.set(index, expense);
+            modificationCount++;
+            return replaced;
+        });
+    }
+
     @Override
     public int getLength() {
-        return recurringExpenses.size();
+        return StampedLocks.read(lock, recurringExpenses::size);
     }
 
     @Override
     public List<Expense> getAll() {
-        return new ArrayList<>(recurringExpenses); // defensive copy
+        return StampedLocks.read(lock, () -> new ArrayList<>(recurringExpenses)); // defensive copy
+    }
+
+    @Override
+    public ExpenseCursor cursor() {
+        return new ExpenseCursor(recurringExpenses);
+    }
+
+    @Override
+    public <T> T read(Function<ExpenseCursor, T> scan) {
+        return StampedLocks.read(lock, () -> scan.apply(new ExpenseCursor(recurringExpenses)));
+    }
+
+    @Override
+    public int getModificationCount() {
+        return StampedLocks.read(lock, () -> modificationCount);
     }
 
     @Override
     public void clear() {
-        recurringExpenses.clear();
+        StampedLocks.write(lock, () -> {
+            recurringExpenses.clear();
+            modificationCount++;
+        });
         logger.log(Level.FINE, MessageDisplayer.CLEARED_ALL_REGULAR_EXPENSES_MESSAGE);
     }
 
     @Override
     public void insertAt(int index, Expense expense) {
-        assert InputValidator.isInValidIntRange(index, 0, recurringExpenses.size())
-                : MessageDisplayer.INVALID_IDX_MESSAGE;
         logger.log(Level.FINE, String.format(MessageDisplayer.INSERTING_EXPENSE_MESSAGE_TEMPLATE, index, expense));
-        recurringExpenses.add(index, expense);
+        StampedLocks.write(lock, () -> {
+            assert InputValidator.isInValidIntRange(index, 0, recurringExpenses.size())
+                    : MessageDisplayer.INVALID_IDX_MESSAGE;
+            recurringExpenses.add(index, expense);
+            modificationCount++;
+        });
     }
 }
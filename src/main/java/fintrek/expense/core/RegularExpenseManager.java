@@ -1,19 +1,25 @@
 package fintrek.expense.core;
 
+import fintrek.ledger.LedgerContext;
 import fintrek.misc.MessageDisplayer;
 import fintrek.util.InputValidator;
+import fintrek.util.StampedLocks;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Singleton manager for handling regular (non-recurring) expenses.
+ * Manager for handling the regular (non-recurring) expenses of one ledger.
  *
  * <p>This class implements the {@link ExpenseOperation} interface and stores
  * expenses in-memory using a dynamic list. It provides operations to add, remove,
  * retrieve, and clear expenses, while logging all state-changing actions.</p>
+ *
+ * <p>The manager is safe to use from several threads, as described in {@link ExpenseOperation}.</p>
  */
 public class RegularExpenseManager implements ExpenseOperation {
     private static final Logger logger = Logger.getLogger(RegularExpenseManager.class.getName());
@@ -21,22 +27,25 @@ public class RegularExpenseManager implements ExpenseOperation {
     /** The smallest valid index for accessing the list. */
     private static final int INDEX_LOWER_BOUND = 0;
 
-    /** The singleton instance of this manager. */
-    private static final RegularExpenseManager instance = new RegularExpenseManager();
-
     /** The internal list storing regular expenses. */
     private final List<Expense> expenses = new ArrayList<>();
 
-    /** Private constructor to enforce singleton pattern. */
-    private RegularExpenseManager() {}
+    /** Incremented on every structural change to {@link #expenses}. */
+    private int modificationCount = 0;
+
+    /** Guards {@link #expenses} and {@link #modificationCount}. */
+    private final StampedLock lock = new StampedLock();
+
+    /** Creates an empty manager, normally owned by a {@link fintrek.ledger.Ledger}. */
+    public RegularExpenseManager() {}
 
     /**
-     * Returns the singleton instance of this manager.
+     * Returns the manager of the current ledger.
      *
-     * @return the shared instance of {@code RegularExpenseManager}
+     * @return the {@code RegularExpenseManager} of {@link LedgerContext#current()}
      */
     public static RegularExpenseManager getInstance() {
-        return instance;
+        return LedgerContext.current().getRegularManager();
     }
 
     /**
@@ -58,7 +67,10 @@ public class RegularExpenseManager implements ExpenseOperation {
     public void add(Expense expense) {
         assert expense != null : MessageDisplayer.NULL_EXPENSE_ERROR;
         logger.log(Level.FINE, MessageDisplayer.ADDING_REGULAR_EXPENSE_MESSAGE + expense);
-        expenses.add(expense);
+        StampedLocks.write(lock, () -> {
+            expenses.add(expense);
+            modificationCount++;
+        });
     }
 
     /**
@@ -70,9 +82,9 @@ public class RegularExpenseManager implements ExpenseOperation {
      */
     @Override
     public Expense get(int index) {
-        assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, expenses.size() - 1)
+        assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, getLength() - 1)
                 : MessageDisplayer.INVALID_IDX_MESSAGE;
-        return expenses.get(index);
+        return StampedLocks.read(lock, () -> expenses.get(index));
     }
 
     /**
@@ -84,13 +96,72 @@ public class RegularExpenseManager implements ExpenseOperation {
      */
     @Override
     public Expense remove(int index) {
-        assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, expenses.size() - 1)
-                : MessageDisplayer.INVALID_IDX_MESSAGE;
-        Expense removed = expenses.remove(index);
+        Expense removed = StampedLocks.write(lock, () -> {
+            assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, expenses.size() - 1)
+                    : MessageDisplayer.INVALID_IDX_MESSAGE;
+            Expense expense = expenses.remove(index);
+            modificationCount++;
+            return expense;
+        });
         logger.log(Level.FINE, String.format(MessageDisplayer.REMOVED_EXPENSE_MESSAGE_TEMPLATE, index, removed));
         return removed;
     }
 
+    /**
+     * Removes the expenses at the given positions, compacting the list in one pass.
+     *
+     * @param indices the indices of the expenses to remove (0-based, ascending, without duplicates)
+     * @return the removed expenses, in the order of {@code indices}
+     */
+    @Override
+    public List<Expense> removeAt(int[] indices) {
+        List<Expense> removed = new ArrayList<>(indices.length);
+        if (indices.length == 0) {
+            return removed;
+        }
+        StampedLocks.write(lock, () -> compact(indices, removed));
+        logger.log(Level.FINE, String.format(MessageDisplayer.REMOVED_EXPENSES_MESSAGE_TEMPLATE, removed.size()));
+        return removed;
+    }
+
+    private void compact(int[] indices, List<Expense> removed) {
+        assert InputValidator.isInValidIntRange(indices[0], INDEX_LOWER_BOUND, expenses.size() - 1)
+                && indices[indices.length - 1] < expenses.size() : MessageDisplayer.INVALID_IDX_MESSAGE;
+        int next = 0;
+        int kept = indices[0];
+        for (int i = indices[0]; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            if (next < indices.length && indices[next] == i) {
+                removed.add(expense);
+                next++;
+            } else {
+                expenses.set(kept++, expense);
+            }
+        }
+        expenses.subList(kept, expenses.size()).clear();
+        modificationCount++;
+    }
+
+    /**
+     * Replaces the expense at the given index in place.
+     *
+     * @param index the index of the expense to replace (0-based)
+     * @param expense the new expense (must not be null)
+     * @return the replaced expense
+     * @throws AssertionError if the index is out of bounds
+     */
+    @Override
+    public Expense replace(int index, Expense expense) {
+        assert expense != null : MessageDisplayer.NULL_EXPENSE_ERROR;
+        return StampedLocks.write(lock, () -> {
+            assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, expenses.size() - 1)
+                    : MessageDisplayer.INVALID_IDX_MESSAGE;
+            Expense replaced = expenses.set(index, expense);
+            modificationCount++;
+            return replaced;
+        });
+    }
+
     /**
      * Returns the number of expenses currently stored.
      *
@@ -98,7 +169,7 @@ public class RegularExpenseManager implements ExpenseOperation {
      */
     @Override
     public int getLength() {
-        return expenses.size();
+        return StampedLocks.read(lock, expenses::size);
     }
 
     /**
@@ -108,7 +179,40 @@ public class RegularExpenseManager implements ExpenseOperation {
      */
     @Override
     public List<Expense> getAll() {
-        return new ArrayList<>(expenses);
+        return StampedLocks.read(lock, () -> new ArrayList<>(expenses));
+    }
+
+    /**
+     * Returns a cursor that reads the list in place.
+     *
+     * @return a new cursor over the expenses
+     */
+    @Override
+    public ExpenseCursor cursor() {
+        return new ExpenseCursor(expenses);
+    }
+
+    /**
+     * Runs a scan over a cursor that reads the list in place, repeating it under the read lock if
+     * the list was changed while it ran.
+     *
+     * @param scan the read-only scan
+     * @param <T> the type of the result
+     * @return the result of the scan
+     */
+    @Override
+    public <T> T read(Function<ExpenseCursor, T> scan) {
+        return StampedLocks.read(lock, () -> scan.apply(new ExpenseCursor(expenses)));
+    }
+
+    /**
+     * Returns the number of structural changes made to the list so far.
+     *
+     * @return the modification count
+     */
+    @Override
+    public int getModificationCount() {
+        return StampedLocks.read(lock, () -> modificationCount);
     }
 
     /**
@@ -116,7 +220,10 @@ public class RegularExpenseManager implements ExpenseOperation {
      */
     @Override
     public void clear() {
-        expenses.clear();
+        StampedLocks.write(lock, () -> {
+            expenses.clear();
+            modificationCount++;
+        });
         logger.log(Level.FINE, MessageDisplayer.CLEARED_ALL_REGULAR_EXPENSES_MESSAGE);
     }
 
@@ -129,10 +236,13 @@ public class RegularExpenseManager implements ExpenseOperation {
      */
     @Override
     public void insertAt(int index, Expense expense) {
-        assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, expenses.size())
-                : MessageDisplayer.INVALID_IDX_MESSAGE;
         logger.log(Level.FINE, String.format(MessageDisplayer.INSERTING_EXPENSE_MESSAGE_TEMPLATE, index, expense));
-        expenses.add(index, expense);
+        StampedLocks.write(lock, () -> {
+            assert InputValidator.isInValidIntRange(index, INDEX_LOWER_BOUND, expenses.size())
+                    : MessageDisplayer.INVALID_IDX_MESSAGE;
+            expenses.add(index, expense);
+            modificationCount++;
+        });
     }
 
 }
@@ -0,0 +1,16 @@
+package fintrek.expense.service;
+
+/**
+ * Distribution summary of a group of expense amounts.
+ *
+ * @param count the number of expenses in the group
+ * @param min the smallest amount
+ * @param median the 50th percentile amount
+ * @param p90 the 90th percentile amount
+ * @param p99 the 99th percentile amount
+ * @param max the largest amount
+ * @param isExact {@code true} if the percentiles are exact rather than sketch estimates
+ */
+public record AmountStatistics(long count, double min, double median, double p90, double p99, double max,
+                               boolean isExact) {
+}
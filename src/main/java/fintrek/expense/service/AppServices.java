@@ -1,22 +1,30 @@
 package fintrek.expense.service;
 
-import fintrek.expense.core.RegularExpenseManager;
-import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.ledger.LedgerContext;
 
+/**
+ * Resolves the services and reporters of the current ledger, see {@link LedgerContext}.
+ * Callers should look them up for each use rather than keep them, as the current ledger can change
+ * between commands.
+ */
 public class AppServices {
-    public static final ExpenseService REGULAR_SERVICE =
-            new ExpenseService(RegularExpenseManager.getInstance());
+    private AppServices() {
+        // Prevent instantiation
+    }
 
-    public static final ExpenseService RECURRING_SERVICE =
-            new ExpenseService(RecurringExpenseManager.getInstance());
+    public static ExpenseService regularService() {
+        return LedgerContext.current().getRegularService();
+    }
 
-    public static final ExpenseReporter REGULAR_REPORTER =
-            new ExpenseReporter(RegularExpenseManager.getInstance());
+    public static ExpenseService recurringService() {
+        return LedgerContext.current().getRecurringService();
+    }
 
-    public static final ExpenseReporter RECURRING_REPORTER =
-            new ExpenseReporter(RecurringExpenseManager.getInstance());
+    public static ExpenseReporter regularReporter() {
+        return LedgerContext.current().getRegularReporter();
+    }
 
-    private AppServices() {
-        // Prevent instantiation
+    public static ExpenseReporter recurringReporter() {
+        return LedgerContext.current().getRecurringReporter();
     }
 }
@@ -0,0 +1,134 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.core.Expense;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The spending the recurring expenses commit to over a range of months, per month and category. The
+ * range may start in the middle of its first month, e.g. tomorrow, in which case that month only counts
+ * the occurrences from then on.
+ *
+ * <p>The recurring expenses are read once. The occurrences of each expense inside the range are
+ * streamed from its {@link fintrek.expense.core.RecurrenceRule} and added straight into a table of
+ * cents indexed by month and category id, so no occurrence becomes an {@link Expense} and the memory
+ * used depends only on the number of months and categories. A projection over ten years of hundreds
+ * of recurring expenses is a single pass over their occurrence dates.</p>
+ */
+public class CashFlowForecast {
+    private static final double CENTS_PER_DOLLAR = 100.0;
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final YearMonth firstMonth;
+    private final long[] monthCents;
+    private final long[][] categoryCents;
+
+    private CashFlowForecast(YearMonth firstMonth, int monthCount, int categoryCount) {
+        this.firstMonth = firstMonth;
+        this.monthCents = new long[monthCount];
+        this.categoryCents = new long[monthCount][categoryCount];
+    }
+
+    /**
+     * Projects the occurrences of the recurring expenses from a day to the end of a later month.
+     *
+     * @param recurring the recurring expenses
+     * @param from the first day of the range
+     * @param monthCount the number of months in the range, counting the month of {@code from}, at least 1
+     * @return the spending of every month in the range
+     */
+    public static CashFlowForecast project(ExpenseService recurring, LocalDate from, int monthCount) {
+        assert monthCount > 0 : "A forecast covers at least one month";
+        YearMonth firstMonth = YearMonth.from(from);
+        LocalDate to = firstMonth.plusMonths(monthCount - 1).atEndOfMonth();
+        return recurring.read(cursor -> {
+            CashFlowForecast forecast = new CashFlowForecast(firstMonth, monthCount,
+                    CategoryManager.getCategoryIdCount());
+            while (cursor.next()) {
+                Expense expense = cursor.expense();
+                int categoryId = cursor.categoryId();
+                long cents = cursor.amountCents();
+                expense.getRecurrence().occurrencesBetween(expense.getDate(), from, to)
+                        .forEach(date -> forecast.add(date, categoryId, cents));
+            }
+            return forecast;
+        });
+    }
+
+    private void add(LocalDate date, int categoryId, long cents) {
+        int month = (date.getYear() - firstMonth.getYear()) * MONTHS_PER_YEAR
+                + date.getMonthValue() - firstMonth.getMonthValue();
+        monthCents[month] += cents;
+        categoryCents[month][categoryId] += cents;
+    }
+
+    /**
+     * Returns every month of the range, in chronological order.
+     *
+     * @return the months of the forecast
+     */
+    public List<YearMonth> getMonths() {
+        List<YearMonth> months = new ArrayList<>(monthCents.length);
+        for (int i = 0; i < monthCents.length; i++) {
+            months.add(firstMonth.plusMonths(i));
+        }
+        return months;
+    }
+
+    /**
+     * Returns the projected spending of a month of the range.
+     *
+     * @param month the month to look up
+     * @return the total, or 0 if the month is outside the range
+     */
+    public double getMonthTotal(YearMonth month) {
+        int index = indexOf(month);
+        return (index < 0) ? 0 : monthCents[index] / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Returns the projected spending per category in a month of the range.
+     *
+     * @param month the month to look up
+     * @return a map from upper-cased category names to totals, sorted by name, without empty categories
+     */
+    public Map<String, Double> getCategoryTotals(YearMonth month) {
+        Map<String, Double> totals = new TreeMap<>();
+        int index = indexOf(month);
+        if (index < 0) {
+            return totals;
+        }
+        long[] cents = categoryCents[index];
+        for (int id = 0; id < cents.length; id++) {
+            if (cents[id] > 0) {
+                totals.put(CategoryManager.getCategoryName(id), cents[id] / CENTS_PER_DOLLAR);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the projected spending of the whole range.
+     *
+     * @return the total
+     */
+    public double getTotal() {
+        long total = 0;
+        for (long cents : monthCents) {
+            total += cents;
+        }
+        return total / CENTS_PER_DOLLAR;
+    }
+
+    private int indexOf(YearMonth month) {
+        long index = firstMonth.until(month, ChronoUnit.MONTHS);
+        return (index < 0 || index >= monthCents.length) ? -1 : (int) index;
+    }
+}
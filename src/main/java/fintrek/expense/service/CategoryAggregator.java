@@ -0,0 +1,133 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.core.Expense;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sums expense amounts per category with primitive accumulators.
+ *
+ * <p>Amounts are added up as whole cents in {@code long[]} buckets indexed by
+ * {@link Expense#getCategoryId()}. Integer addition does not depend on order, so the
+ * sequential and parallel paths produce exactly the same totals. Ledgers with at least
+ * {@link #PARALLEL_THRESHOLD} expenses are split across the common fork-join pool, and the
+ * per-task buckets are merged once the scan is done.</p>
+ */
+class CategoryAggregator {
+    /** Smallest ledger size for which the scan is split across worker threads. */
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    /** Number of expenses a single fork-join task scans without splitting further. */
+    private static final int LEAF_SIZE = 8_192;
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    /**
+     * Returns the total amount spent per category.
+     *
+     * @param expenses a snapshot of the expenses to aggregate
+     * @return a map from upper-cased category names to totals, containing only categories that occur
+     */
+    static Map<String, Double> totalByCategory(Expense[] expenses) {
+        return totalByCategory(expenses, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Returns the total amount spent per category, going parallel once {@code parallelThreshold}
+     * expenses are reached.
+     *
+     * @param expenses a snapshot of the expenses to aggregate
+     * @param parallelThreshold the smallest number of expenses scanned in parallel
+     * @return a map from upper-cased category names to totals, containing only categories that occur
+     */
+    static Map<String, Double> totalByCategory(Expense[] expenses, int parallelThreshold) {
+        // Every expense in the snapshot was constructed already, so its id is below this count.
+        int categoryCount = CategoryManager.getCategoryIdCount();
+        Buckets buckets;
+        if (expenses.length < parallelThreshold) {
+            buckets = new Buckets(categoryCount);
+            buckets.accumulate(expenses, 0, expenses.length);
+        } else {
+            buckets = ForkJoinPool.commonPool().invoke(
+                    new AggregateTask(expenses, 0, expenses.length, categoryCount));
+        }
+        return buckets.toTotals();
+    }
+
+    /**
+     * Per-task accumulators: summed cents and expense count for each category id.
+     */
+    private static class Buckets {
+        private final long[] cents;
+        private final int[] counts;
+
+        Buckets(int categoryCount) {
+            this.cents = new long[categoryCount];
+            this.counts = new int[categoryCount];
+        }
+
+        void accumulate(Expense[] expenses, int from, int to) {
+            for (int i = from; i < to; i++) {
+                Expense expense = expenses[i];
+                int id = expense.getCategoryId();
+                cents[id] += expense.getAmountCents();
+                counts[id]++;
+            }
+        }
+
+        Buckets mergeFrom(Buckets other) {
+            for (int id = 0; id < cents.length; id++) {
+                cents[id] += other.cents[id];
+                counts[id] += other.counts[id];
+            }
+            return this;
+        }
+
+        Map<String, Double> toTotals() {
+            Map<String, Double> totals = new HashMap<>();
+            for (int id = 0; id < cents.length; id++) {
+                if (counts[id] > 0) {
+                    totals.put(CategoryManager.getCategoryName(id), cents[id] / CENTS_PER_DOLLAR);
+                }
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Splits the index range in halves until it is small enough to scan directly.
+     */
+    private static class AggregateTask extends RecursiveTask<Buckets> {
+        private static final long serialVersionUID = 1L;
+
+        private final Expense[] expenses;
+        private final int from;
+        private final int to;
+        private final int categoryCount;
+
+        AggregateTask(Expense[] expenses, int from, int to, int categoryCount) {
+            this.expenses = expenses;
+            this.from = from;
+            this.to = to;
+            this.categoryCount = categoryCount;
+        }
+
+        @Override
+        protected Buckets compute() {
+            if (to - from <= LEAF_SIZE) {
+                Buckets buckets = new Buckets(categoryCount);
+                buckets.accumulate(expenses, from, to);
+                return buckets;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(expenses, from, mid, categoryCount);
+            AggregateTask right = new AggregateTask(expenses, mid, to, categoryCount);
+            left.fork();
+            Buckets rightResult = right.compute();
+            return left.join().mergeFrom(rightResult);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Daily spending totals over the most recent {@link #CAPACITY} days, kept in a ring buffer.
+ *
+ * <p>Slot {@code day % CAPACITY} holds the cents spent on {@code day} while that day lies in the
+ * window ending at the newest day seen so far. Insertions and removals touch a single slot, and
+ * moving the window forward only clears the slots of the days that were skipped, so keeping the
+ * buffer current costs constant time per change. Expenses dated after the end of the window are
+ * held back until a query moves the window up to their date; expenses older than the window are
+ * ignored.</p>
+ */
+public class DailySpendingWindow implements ExpenseIndex {
+    /** Number of days covered by the window, which is also the longest supported average. */
+    public static final int CAPACITY = 30;
+
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    private final long[] dailyCents = new long[CAPACITY];
+    private final NavigableMap<Long, Long> pendingCents = new TreeMap<>();
+    private long lastDay;
+
+    /**
+     * Creates an empty window ending today.
+     */
+    public DailySpendingWindow() {
+        this.lastDay = LocalDate.now().toEpochDay();
+    }
+
+    @Override
+    public void rebuild(List<Expense> expenses) {
+        Arrays.fill(dailyCents, 0);
+        pendingCents.clear();
+        lastDay = LocalDate.now().toEpochDay();
+        for (Expense expense : expenses) {
+            apply(expense, 1);
+        }
+    }
+
+    @Override
+    public boolean onInsert(int index, Expense expense) {
+        apply(expense, 1);
+        return true;
+    }
+
+    @Override
+    public boolean onRemove(int index, Expense expense) {
+        apply(expense, -1);
+        return true;
+    }
+
+    /**
+     * Returns the total spent over the given number of days ending on {@code today} (inclusive).
+     *
+     * @param today the last day of the period
+     * @param days the length of the period, between 1 and {@link #CAPACITY}
+     * @return the total spent in the period
+     */
+    public double getTotal(LocalDate today, int days) {
+        assert days >= 1 && days <= CAPACITY : "Period must fit in the window";
+        long end = today.toEpochDay();
+        advanceTo(end);
+        long oldestKept = lastDay - CAPACITY + 1;
+        long cents = 0;
+        for (long day = Math.max(end - days + 1, oldestKept); day <= Math.min(end, lastDay); day++) {
+            cents += dailyCents[slot(day)];
+        }
+        return cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Returns the average amount spent per day over the given number of days ending on {@code today}.
+     *
+     * @param today the last day of the period
+     * @param days the length of the period, between 1 and {@link #CAPACITY}
+     * @return the moving average of daily spending
+     */
+    public double getDailyAverage(LocalDate today, int days) {
+        return getTotal(today, days) / days;
+    }
+
+    private void apply(Expense expense, int sign) {
+        long day = expense.getDate().toEpochDay();
+        long cents = sign * expense.getAmountCents();
+        if (day > lastDay) {
+            pendingCents.merge(day, cents, Long::sum);
+            pendingCents.remove(day, 0L);
+        } else if (day > lastDay - CAPACITY) {
+            dailyCents[slot(day)] += cents;
+        }
+    }
+
+    /**
+     * Moves the end of the window forward to {@code day}, clearing the slots of the days that enter
+     * the window and folding in any held-back amounts that now fall inside it.
+     */
+    private void advanceTo(long day) {
+        if (day <= lastDay) {
+            return;
+        }
+        long firstNewDay = Math.max(lastDay + 1, day - CAPACITY + 1);
+        for (long d = firstNewDay; d <= day; d++) {
+            dailyCents[slot(d)] = 0;
+        }
+        lastDay = day;
+        NavigableMap<Long, Long> arrived = pendingCents.headMap(day, true);
+        for (Map.Entry<Long, Long> entry : arrived.entrySet()) {
+            if (entry.getKey() > lastDay - CAPACITY) {
+                dailyCents[slot(entry.getKey())] += entry.getValue();
+            }
+        }
+        arrived.clear();
+    }
+
+    private static int slot(long day) {
+        return (int) Math.floorMod(day, (long) CAPACITY);
+    }
+}
@@ -0,0 +1,58 @@
+package fintrek.expense.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inverted index from the words of expense descriptions to the positions of the expenses using them.
+ *
+ * <p>A word is a maximal run of letters and digits, compared without regard to case. A search for
+ * several words intersects their posting lists instead of reading any description. See
+ * {@link PostingIndex} for how the index follows changes to the collection.</p>
+ */
+public class DescriptionIndex extends PostingIndex {
+
+    @Override
+    protected List<String> keys(String description) {
+        return words(description);
+    }
+
+    /**
+     * Finds the expenses whose description contains every word of the query.
+     *
+     * @param query the words to look for, separated by spaces or punctuation
+     * @return the matching positions in ascending order, empty if the query has no words
+     */
+    public int[] search(String query) {
+        List<String> words = words(query);
+        List<PostingList> lists = postingsOf(words);
+        if (words.isEmpty() || lists.size() < words.size()) {
+            return new int[0];
+        }
+        return PostingList.intersect(lists);
+    }
+
+    /**
+     * Splits text into its distinct lower-case words.
+     *
+     * @param text the text to split
+     * @return the words in order of first appearance
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                String word = text.substring(start, i).toLowerCase();
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
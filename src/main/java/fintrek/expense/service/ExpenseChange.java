@@ -0,0 +1,39 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+
+/**
+ * A single insertion into or removal from the collection behind an {@link ExpenseService}.
+ *
+ * <p>A change records only the position and the expense involved, which is all that is needed
+ * to revert it or apply it again. An edit is recorded as a removal followed by an insertion.</p>
+ *
+ * @param service the service whose collection was changed
+ * @param isInsert true for an insertion, false for a removal
+ * @param index the position the expense was inserted at or removed from (0-based)
+ * @param expense the inserted or removed expense
+ */
+public record ExpenseChange(ExpenseService service, boolean isInsert, int index, Expense expense) {
+
+    /**
+     * Undoes the change on its service.
+     */
+    public void revert() {
+        if (isInsert) {
+            service.removeExpense(index);
+        } else {
+            service.insertExpenseAt(index, expense);
+        }
+    }
+
+    /**
+     * Applies the change to its service again after it was reverted.
+     */
+    public void reapply() {
+        if (isInsert) {
+            service.insertExpenseAt(index, expense);
+        } else {
+            service.removeExpense(index);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+
+import java.util.List;
+
+/**
+ * A view derived from an expense collection, such as statistics or a lookup structure.
+ *
+ * <p>Indexes are registered with an {@link ExpenseService}, which forwards every insertion and
+ * removal it performs. An index that cannot apply a change incrementally returns {@code false};
+ * the service then rebuilds it from the full collection before it is next used. The same happens
+ * when the collection is modified without going through the service (e.g. while loading the
+ * save file).</p>
+ */
+public interface ExpenseIndex {
+
+    /**
+     * Discards the current state and rebuilds the index from the given expenses.
+     *
+     * @param expenses all expenses currently in the collection, in list order
+     */
+    void rebuild(List<Expense> expenses);
+
+    /**
+     * Applies the insertion of an expense at the given position.
+     *
+     * @param index the position the expense was inserted at (0-based)
+     * @param expense the inserted expense
+     * @return true if the change was applied, false if the index must be rebuilt
+     */
+    boolean onInsert(int index, Expense expense);
+
+    /**
+     * Applies the removal of the expense that was at the given position.
+     *
+     * @param index the position the expense was removed from (0-based)
+     * @param expense the removed expense
+     * @return true if the change was applied, false if the index must be rebuilt
+     */
+    boolean onRemove(int index, Expense expense);
+}
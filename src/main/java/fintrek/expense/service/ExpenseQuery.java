@@ -0,0 +1,212 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.ExpenseCursor;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A query over an expense collection: a conjunction of conditions, an optional sort order and an
+ * optional limit on the number of rows returned.
+ *
+ * <p>Conditions are compiled into primitive bounds as they are added: amount and date conditions
+ * narrow an inclusive range of cents or epoch days, and a category condition becomes a category id.
+ * Running the query first asks the {@link MonthlyRollup} whether any expense of the category falls
+ * in the months of the date range, and returns at once if none does. Otherwise the collection is
+ * read once through an {@link ExpenseCursor}, testing the cheap primitive bounds before the
+ * description. With both a sort order and a limit, only the best {@code limit} rows are kept in a
+ * bounded heap instead of sorting every match. The count and total always cover every match.</p>
+ */
+public class ExpenseQuery {
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private static final int ANY_CATEGORY = -1;
+
+    private int categoryId = ANY_CATEGORY;
+    private long minCents = Long.MIN_VALUE;
+    private long maxCents = Long.MAX_VALUE;
+    private long fromDay = Long.MIN_VALUE;
+    private long toDay = Long.MAX_VALUE;
+    private final List<String> descriptionParts = new ArrayList<>();
+    private String descriptionEquals = null;
+    private Comparator<Match> order = null;
+    private int limit = NO_LIMIT;
+
+    /**
+     * A sort key of a query.
+     */
+    public enum SortKey {
+        AMOUNT, DATE, CATEGORY, DESC
+    }
+
+    /**
+     * A matching expense together with its 0-based position in the collection.
+     *
+     * @param position the position of the expense
+     * @param expense the expense
+     */
+    public record Match(int position, Expense expense) {
+    }
+
+    /**
+     * Restricts the query to one category.
+     *
+     * @param categoryId the id of the category
+     */
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Narrows the inclusive range of amounts, in cents, that match.
+     *
+     * @param min the smallest matching amount
+     * @param max the largest matching amount
+     */
+    public void restrictAmountCents(long min, long max) {
+        minCents = Math.max(minCents, min);
+        maxCents = Math.min(maxCents, max);
+    }
+
+    /**
+     * Narrows the inclusive range of epoch days that match.
+     *
+     * @param from the earliest matching day
+     * @param to the latest matching day
+     */
+    public void restrictEpochDays(long from, long to) {
+        fromDay = Math.max(fromDay, from);
+        toDay = Math.min(toDay, to);
+    }
+
+    /**
+     * Requires the description to contain the given text, ignoring case.
+     *
+     * @param part the text to look for
+     */
+    public void addDescriptionPart(String part) {
+        descriptionParts.add(part.toLowerCase());
+    }
+
+    /**
+     * Requires the description to equal the given text, ignoring case.
+     *
+     * @param description the exact description
+     */
+    public void setDescriptionEquals(String description) {
+        descriptionEquals = description;
+    }
+
+    /**
+     * Appends a key to the sort order. Rows that tie on every key keep their list order.
+     *
+     * @param key the key to sort by
+     * @param isDescending whether larger keys come first
+     */
+    public void addSortKey(SortKey key, boolean isDescending) {
+        Comparator<Match> comparator = switch (key) {
+        case AMOUNT -> Comparator.comparingLong(match -> match.expense().getAmountCents());
+        case DATE -> Comparator.comparingLong(match -> match.expense().getDate().toEpochDay());
+        case CATEGORY -> Comparator.comparing(match -> match.expense().getCategory());
+        case DESC -> Comparator.comparing(match -> match.expense().getDescription(), String.CASE_INSENSITIVE_ORDER);
+        };
+        if (isDescending) {
+            comparator = comparator.reversed();
+        }
+        order = (order == null) ? comparator : order.thenComparing(comparator);
+    }
+
+    /**
+     * Limits the number of rows returned.
+     *
+     * @param limit the largest number of rows to return
+     */
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Runs the query against the collection of a service.
+     *
+     * @param service the service to query
+     * @return the returned rows in order, and the number and total amount of all matches
+     */
+    public QueryResult execute(ExpenseService service) {
+        if (minCents > maxCents || fromDay > toDay || !mayMatch(service.getMonthlyRollup())) {
+            return new QueryResult(List.of(), 0, 0);
+        }
+        return service.read(this::scan);
+    }
+
+    private QueryResult scan(ExpenseCursor cursor) {
+        Comparator<Match> rowOrder = (order == null) ? null : order.thenComparingInt(Match::position);
+        PriorityQueue<Match> best = (rowOrder != null && limit != NO_LIMIT)
+                ? new PriorityQueue<>(rowOrder.reversed()) : null;
+        List<Match> rows = new ArrayList<>();
+        int matchCount = 0;
+        long totalCents = 0;
+        while (cursor.next()) {
+            if (!matches(cursor)) {
+                continue;
+            }
+            matchCount++;
+            totalCents += cursor.amountCents();
+            if (best != null) {
+                best.add(new Match(cursor.position(), cursor.expense()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            } else if (rows.size() < limit) {
+                rows.add(new Match(cursor.position(), cursor.expense()));
+            }
+        }
+        if (best != null) {
+            rows.addAll(best);
+        }
+        if (rowOrder != null) {
+            rows.sort(rowOrder);
+        }
+        return new QueryResult(rows, matchCount, totalCents);
+    }
+
+    /**
+     * Returns false if the roll-up table shows that no expense of the category lies in the date range.
+     */
+    private boolean mayMatch(MonthlyRollup rollup) {
+        if (categoryId == ANY_CATEGORY && fromDay == Long.MIN_VALUE && toDay == Long.MAX_VALUE) {
+            return true;
+        }
+        YearMonth from = (fromDay == Long.MIN_VALUE) ? null : YearMonth.from(LocalDate.ofEpochDay(fromDay));
+        YearMonth to = (toDay == Long.MAX_VALUE) ? null : YearMonth.from(LocalDate.ofEpochDay(toDay));
+        return rollup.getExpenseCount(from, to, categoryId) > 0;
+    }
+
+    private boolean matches(ExpenseCursor cursor) {
+        if (categoryId != ANY_CATEGORY && cursor.categoryId() != categoryId) {
+            return false;
+        }
+        long day = cursor.epochDay();
+        long cents = cursor.amountCents();
+        if (day < fromDay || day > toDay || cents < minCents || cents > maxCents) {
+            return false;
+        }
+        if (descriptionEquals != null && !cursor.description().equalsIgnoreCase(descriptionEquals)) {
+            return false;
+        }
+        if (descriptionParts.isEmpty()) {
+            return true;
+        }
+        String description = cursor.description().toLowerCase();
+        for (String part : descriptionParts) {
+            if (!description.contains(part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,13 +1,14 @@
 package fintrek.expense.service;
 
+import fintrek.expense.core.CategoryManager;
 import fintrek.expense.core.Expense;
 import fintrek.expense.core.ExpenseOperation;
 import fintrek.misc.MessageDisplayer;
 
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * This class holds all the functions that will report a result to the user
@@ -15,6 +16,10 @@ import java.util.stream.Collectors;
  * Some examples include total, average and get highest
  */
 public class ExpenseReporter {
+    private static final double CENTS_PER_DOLLAR = 100.0;
+    private static final int FIRST_MONTH = 1;
+    private static final int LAST_MONTH = 12;
+
     private final ExpenseOperation manager;
 
     public ExpenseReporter(ExpenseOperation manager) {
@@ -26,9 +31,14 @@ public class ExpenseReporter {
 
     //@@author venicephua
     public double getTotal() {
-        double total = manager.getAll().stream()
-                .mapToDouble(Expense::getAmount)
-                .sum();
+        long totalCents = manager.read(cursor -> {
+            long sum = 0;
+            while (cursor.next()) {
+                sum += cursor.amountCents();
+            }
+            return sum;
+        });
+        double total = totalCents / CENTS_PER_DOLLAR;
         if (total > MessageDisplayer.MAX_AMOUNT) {
             return -1;
         }
@@ -44,10 +54,23 @@ public class ExpenseReporter {
      * @return the total expense in a particular month of a year
      */
     public double getTotalByMonthOfYear(int year, int month) {
-        return manager.getAll().stream()
-                .filter(expense -> expense.getDate().getYear() == year
-                        && expense.getDate().getMonthValue() == month) // Filter by year and month
-                .collect(Collectors.summingDouble(Expense::getAmount)); // Sum the amounts of the filtered expenses
+        if (month < FIRST_MONTH || month > LAST_MONTH) {
+            return 0;
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        long firstDay = yearMonth.atDay(1).toEpochDay();
+        long lastDay = yearMonth.atEndOfMonth().toEpochDay();
+        long totalCents = manager.read(cursor -> {
+            long sum = 0;
+            while (cursor.next()) {
+                long day = cursor.epochDay();
+                if (day >= firstDay && day <= lastDay) { // Filter by year and month
+                    sum += cursor.amountCents();
+                }
+            }
+            return sum;
+        });
+        return totalCents / CENTS_PER_DOLLAR;
     }
 
     public double getAverage() {
@@ -80,14 +103,12 @@ public class ExpenseReporter {
     /**
      * Retrieves the total amount spent for each expense category.
      *
+     * <p>Large ledgers are aggregated in parallel; see {@link CategoryAggregator}.</p>
+     *
      * @return A map where keys are category names and values are the total amounts spent.
      * */
     public Map<String, Double> getTotalByCategory() {
-        return manager.getAll().stream()
-                .collect(Collectors.groupingBy(
-                        Expense::getCategory,
-                        Collectors.summingDouble(Expense::getAmount)
-                ));
+        return CategoryAggregator.totalByCategory(manager.getAll().toArray(new Expense[0]));
     }
 
     /**
@@ -102,9 +123,19 @@ public class ExpenseReporter {
             String message = String.format(MessageDisplayer.CANNOT_BE_NULL_MESSAGE_TEMPLATE, "Category");
             throw new IllegalArgumentException(message);
         }
-        return manager.getAll().stream()
-                .filter(e -> e.getCategory().equals(category))
-                .collect(Collectors.toList());
+        int categoryId = CategoryManager.findCategoryId(category);
+        if (categoryId < 0) {
+            return new ArrayList<>();
+        }
+        return manager.read(cursor -> {
+            List<Expense> matching = new ArrayList<>();
+            while (cursor.next()) {
+                if (cursor.categoryId() == categoryId) {
+                    matching.add(cursor.expense());
+                }
+            }
+            return matching;
+        });
     }
 
     /**
@@ -0,0 +1,123 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.ExpenseCursor;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A set of expenses chosen either by position or by filter, used by bulk delete and edit.
+ *
+ * <p>Positions are given as 1-based inclusive ranges, a single index being a range of length one.
+ * Filters match on category, on a date range and on a case-insensitive substring of the
+ * description; every filter that is set must match. Filters are evaluated in a single scan of
+ * the collection through an {@link ExpenseCursor}, without copying it.</p>
+ */
+public class ExpenseSelection {
+    private static final int ANY_CATEGORY = -1;
+
+    private final int[] ranges;
+    private final int categoryId;
+    private final long fromDay;
+    private final long toDay;
+    private final String descriptionPart;
+
+    private ExpenseSelection(int[] ranges, int categoryId, long fromDay, long toDay, String descriptionPart) {
+        this.ranges = ranges;
+        this.categoryId = categoryId;
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.descriptionPart = descriptionPart;
+    }
+
+    /**
+     * Creates a selection of positions.
+     *
+     * @param ranges consecutive pairs of 1-based inclusive start and end positions,
+     *      each start being no greater than its end
+     * @return the selection
+     */
+    public static ExpenseSelection ofRanges(int... ranges) {
+        assert ranges.length > 0 && ranges.length % 2 == 0 : "Ranges must come in start/end pairs";
+        return new ExpenseSelection(ranges.clone(), ANY_CATEGORY, Long.MIN_VALUE, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a selection by filter.
+     *
+     * @param categoryId the category id to match, or -1 for any category
+     * @param fromDay the first epoch day to match, or {@link Long#MIN_VALUE}
+     * @param toDay the last epoch day to match, or {@link Long#MAX_VALUE}
+     * @param descriptionPart text the description must contain (case-insensitive), or null
+     * @return the selection
+     */
+    public static ExpenseSelection ofFilter(int categoryId, long fromDay, long toDay, String descriptionPart) {
+        String part = (descriptionPart == null) ? null : descriptionPart.toLowerCase();
+        return new ExpenseSelection(null, categoryId, fromDay, toDay, part);
+    }
+
+    /**
+     * Returns whether the selection names exactly one position, as the single-index form of a command does.
+     *
+     * @return true for a single index
+     */
+    public boolean isSingleIndex() {
+        return ranges != null && ranges.length == 2 && ranges[0] == ranges[1];
+    }
+
+    /**
+     * Returns whether the selection is made by filter rather than by position.
+     *
+     * @return true for a filter
+     */
+    public boolean isFilter() {
+        return ranges == null;
+    }
+
+    /**
+     * Resolves the selection against the collection of a service.
+     *
+     * @param service the service whose collection is selected from
+     * @return the selected 0-based positions in ascending order without duplicates,
+     *      or null if a position lies outside the collection
+     */
+    public int[] resolve(ExpenseService service) {
+        if (ranges != null) {
+            return resolveRanges(service.countExpenses());
+        }
+        return service.read(this::resolveFilter);
+    }
+
+    private int[] resolveFilter(ExpenseCursor cursor) {
+        int[] matches = new int[cursor.size()];
+        int matchCount = 0;
+        while (cursor.next()) {
+            if (matches(cursor)) {
+                matches[matchCount++] = cursor.position();
+            }
+        }
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    private int[] resolveRanges(int count) {
+        BitSet selected = new BitSet(count);
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i + 1] > count) {
+                return null;
+            }
+            selected.set(ranges[i] - 1, ranges[i + 1]);
+        }
+        return selected.stream().toArray();
+    }
+
+    private boolean matches(ExpenseCursor cursor) {
+        if (categoryId != ANY_CATEGORY && cursor.categoryId() != categoryId) {
+            return false;
+        }
+        long day = cursor.epochDay();
+        if (day < fromDay || day > toDay) {
+            return false;
+        }
+        return descriptionPart == null || cursor.description().toLowerCase().contains(descriptionPart);
+    }
+}
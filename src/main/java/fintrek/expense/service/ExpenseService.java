@@ -1,10 +1,14 @@
 package fintrek.expense.service;
 
 import fintrek.expense.core.Expense;
+import fintrek.expense.core.ExpenseCursor;
 import fintrek.expense.core.ExpenseOperation;
 import fintrek.misc.MessageDisplayer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,10 +18,26 @@ import java.util.logging.Logger;
  * <p>This class provides high-level methods for manipulating expense data, abstracting away
  * the internal details of whether the data is regular or recurring. It includes utility methods
  * for adding, removing, retrieving, and counting expenses, and logs relevant operations.</p>
+ *
+ * <p>Registered {@link ExpenseIndex} views are kept in step with every mutation made through
+ * this service, and rebuilt lazily when the collection was changed by other means. Change listeners
+ * are told about each of those mutations as an {@link ExpenseChange}.</p>
+ *
+ * <p>Reads are passed straight to the manager, whose consistency model is described in
+ * {@link ExpenseOperation}. Mutations, together with the index and listener updates that follow them,
+ * and index refreshes are serialized on the service, so that an index never sees a change twice or
+ * misses one. The index views themselves are not locked and are read by the thread running commands.</p>
  */
 public class ExpenseService {
     private static final Logger logger = Logger.getLogger(ExpenseService.class.getName());
     private final ExpenseOperation manager;
+    private final List<IndexSlot> indexes = new ArrayList<>();
+    private final List<Consumer<ExpenseChange>> changeListeners = new ArrayList<>();
+    private final ExpenseStatistics statistics;
+    private final MonthlyRollup monthlyRollup;
+    private final DailySpendingWindow spendingWindow;
+    private final DescriptionIndex descriptionIndex;
+    private final TrigramIndex trigramIndex;
 
     /**
      * Constructs an {@code ExpenseService} backed by the given manager.
@@ -30,6 +50,114 @@ public class ExpenseService {
             throw new IllegalArgumentException(MessageDisplayer.NULL_EXPENSE_ERROR);
         }
         this.manager = manager;
+        this.statistics = registerIndex(new ExpenseStatistics());
+        this.monthlyRollup = registerIndex(new MonthlyRollup());
+        this.spendingWindow = registerIndex(new DailySpendingWindow());
+        this.descriptionIndex = registerIndex(new DescriptionIndex());
+        this.trigramIndex = registerIndex(new TrigramIndex());
+    }
+
+    /**
+     * Registers a derived index that will be kept up to date with this service's collection.
+     *
+     * @param index the index to register
+     * @param <T> the concrete index type
+     * @return the registered index, for convenient field initialisation
+     */
+    public synchronized <T extends ExpenseIndex> T registerIndex(T index) {
+        indexes.add(new IndexSlot(index));
+        return index;
+    }
+
+    /**
+     * Registers a listener that is called after every insertion and removal made through this service.
+     *
+     * @param listener the listener to call with each change
+     */
+    public synchronized void addChangeListener(Consumer<ExpenseChange> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Returns the amount statistics of the collection, rebuilding them first if they are stale.
+     *
+     * @return up-to-date statistics
+     */
+    public ExpenseStatistics getStatistics() {
+        return refresh(statistics);
+    }
+
+    /**
+     * Returns the monthly roll-up table of the collection, rebuilding it first if it is stale.
+     *
+     * @return an up-to-date roll-up table
+     */
+    public MonthlyRollup getMonthlyRollup() {
+        return refresh(monthlyRollup);
+    }
+
+    /**
+     * Returns the daily spending totals of the last {@link DailySpendingWindow#CAPACITY} days,
+     * rebuilding them first if they are stale.
+     *
+     * @return an up-to-date spending window
+     */
+    public DailySpendingWindow getSpendingWindow() {
+        return refresh(spendingWindow);
+    }
+
+    /**
+     * Returns the word index of the expense descriptions, rebuilding it first if it is stale.
+     *
+     * @return an up-to-date description index
+     */
+    public DescriptionIndex getDescriptionIndex() {
+        return refresh(descriptionIndex);
+    }
+
+    /**
+     * Returns the trigram index of the expense descriptions, rebuilding it first if it is stale.
+     *
+     * @return an up-to-date trigram index
+     */
+    public TrigramIndex getTrigramIndex() {
+        return refresh(trigramIndex);
+    }
+
+    /**
+     * Restores the monthly roll-up table from persisted lines so that it does not have to be rebuilt.
+     *
+     * <p>The restored table is trusted only if it covers exactly as many expenses as the collection
+     * currently holds; otherwise it stays stale and is rebuilt on first use.</p>
+     *
+     * @param lines lines previously produced by {@link MonthlyRollup#toLines()}
+     * @return true if the table was restored and is now considered up to date
+     */
+    public synchronized boolean restoreMonthlyRollup(List<String> lines) {
+        boolean isRestored = monthlyRollup.load(lines) && monthlyRollup.getExpenseCount() == manager.getLength();
+        for (IndexSlot slot : indexes) {
+            if (slot.index == monthlyRollup) {
+                slot.syncedModificationCount = isRestored ? manager.getModificationCount() : IndexSlot.STALE;
+            }
+        }
+        return isRestored;
+    }
+
+    /**
+     * Rebuilds the given registered index if it has missed any change to the collection.
+     *
+     * @param index a registered index
+     * @param <T> the concrete index type
+     * @return the same index, now up to date
+     */
+    public synchronized <T extends ExpenseIndex> T refresh(T index) {
+        for (IndexSlot slot : indexes) {
+            if (slot.index == index && slot.syncedModificationCount != manager.getModificationCount()) {
+                index.rebuild(manager.getAll());
+                slot.syncedModificationCount = manager.getModificationCount();
+            }
+        }
+        return index;
     }
 
     /**
@@ -37,8 +165,10 @@ public class ExpenseService {
      *
      * @param expense the expense to add
      */
-    public void addExpense(Expense expense) {
+    public synchronized void addExpense(Expense expense) {
+        int before = manager.getModificationCount();
         manager.add(expense);
+        notifyInsert(before, manager.getLength() - 1, expense);
     }
 
     /**
@@ -47,8 +177,10 @@ public class ExpenseService {
      * @param index the position to insert the expense at (0-based)
      * @param expense the expense to insert
      */
-    public void insertExpenseAt(int index, Expense expense) {
+    public synchronized void insertExpenseAt(int index, Expense expense) {
+        int before = manager.getModificationCount();
         manager.insertAt(index, expense);
+        notifyInsert(before, index, expense);
     }
 
     /**
@@ -67,9 +199,48 @@ public class ExpenseService {
      * @param index the index of the expense to remove (0-based)
      * @return the removed expense
      */
-    public Expense removeExpense(int index) {
+    public synchronized Expense removeExpense(int index) {
         logger.log(Level.FINE, MessageDisplayer.POPPING_EXPENSE_AT_INDEX_MESSAGE + index);
-        return manager.remove(index);
+        int before = manager.getModificationCount();
+        Expense removed = manager.remove(index);
+        notifyRemove(before, index, removed);
+        return removed;
+    }
+
+    /**
+     * Removes the expenses at the given indices in one pass over the collection.
+     *
+     * @param indices the indices to remove (0-based, ascending, without duplicates)
+     * @return the removed expenses, in the order of {@code indices}
+     */
+    public synchronized List<Expense> removeExpenses(int[] indices) {
+        int before = manager.getModificationCount();
+        List<Expense> removed = manager.removeAt(indices);
+        List<ExpenseChange> changes = new ArrayList<>(removed.size());
+        for (int k = indices.length - 1; k >= 0; k--) {
+            changes.add(new ExpenseChange(this, false, indices[k], removed.get(k)));
+        }
+        notifyChanges(before, changes);
+        return removed;
+    }
+
+    /**
+     * Replaces the expenses at the given indices in place, without shifting the collection.
+     * Each replacement is reported as the removal of the old expense followed by the insertion of the new one.
+     *
+     * @param indices the indices to replace (0-based)
+     * @param replacements the new expenses, one for each index
+     */
+    public synchronized void replaceExpenses(int[] indices, List<Expense> replacements) {
+        assert indices.length == replacements.size() : "Each index needs one replacement";
+        int before = manager.getModificationCount();
+        List<ExpenseChange> changes = new ArrayList<>(2 * indices.length);
+        for (int k = 0; k < indices.length; k++) {
+            Expense replaced = manager.replace(indices[k], replacements.get(k));
+            changes.add(new ExpenseChange(this, false, indices[k], replaced));
+            changes.add(new ExpenseChange(this, true, indices[k], replacements.get(k)));
+        }
+        notifyChanges(before, changes);
     }
 
     /**
@@ -79,8 +250,7 @@ public class ExpenseService {
      * @return the removed expense
      */
     public Expense popExpense(int index) {
-        logger.log(Level.FINE, MessageDisplayer.POPPING_EXPENSE_AT_INDEX_MESSAGE + index);
-        return manager.remove(index);
+        return removeExpense(index);
     }
 
     /**
@@ -92,10 +262,32 @@ public class ExpenseService {
         return manager.getAll();
     }
 
+    /**
+     * Returns a cursor that scans the collection without copying it.
+     * Threads other than the one changing the collection should use {@link #read(Function)} instead.
+     *
+     * @return a new cursor positioned before the first expense
+     */
+    public ExpenseCursor cursor() {
+        return manager.cursor();
+    }
+
+    /**
+     * Runs a read-only scan of the collection as it was at a single point in time.
+     *
+     * @param scan the scan, which may be run more than once
+     * @param <T> the type of the result
+     * @return the result of the scan
+     * @see ExpenseOperation#read(Function)
+     */
+    public <T> T read(Function<ExpenseCursor, T> scan) {
+        return manager.read(scan);
+    }
+
     /**
      * Clears all expenses from the collection.
      */
-    public void clearExpenses() {
+    public synchronized void clearExpenses() {
         manager.clear();
     }
 
@@ -107,4 +299,61 @@ public class ExpenseService {
     public int countExpenses() {
         return manager.getLength();
     }
+
+    private void notifyInsert(int modificationCountBefore, int index, Expense expense) {
+        notifyChanges(modificationCountBefore, List.of(new ExpenseChange(this, true, index, expense)));
+    }
+
+    private void notifyRemove(int modificationCountBefore, int index, Expense expense) {
+        notifyChanges(modificationCountBefore, List.of(new ExpenseChange(this, false, index, expense)));
+    }
+
+    /**
+     * Forwards changes, given in the order they could have been made one by one, to every index that
+     * was up to date before them, and then to the change listeners. An index that cannot apply all
+     * of them is left stale.
+     */
+    private void notifyChanges(int modificationCountBefore, List<ExpenseChange> changes) {
+        for (IndexSlot slot : indexes) {
+            if (slot.syncedModificationCount == modificationCountBefore && applyAll(slot.index, changes)) {
+                slot.syncedModificationCount = manager.getModificationCount();
+            }
+        }
+        for (ExpenseChange change : changes) {
+            publish(change);
+        }
+    }
+
+    private static boolean applyAll(ExpenseIndex index, List<ExpenseChange> changes) {
+        for (ExpenseChange change : changes) {
+            boolean isApplied = change.isInsert()
+                    ? index.onInsert(change.index(), change.expense())
+                    : index.onRemove(change.index(), change.expense());
+            if (!isApplied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void publish(ExpenseChange change) {
+        for (Consumer<ExpenseChange> listener : changeListeners) {
+            listener.accept(change);
+        }
+    }
+
+    /**
+     * A registered index together with the modification count it last reflected.
+     * A fresh slot starts out stale so that the first use triggers a full build.
+     */
+    private static class IndexSlot {
+        private static final int STALE = -1;
+
+        private final ExpenseIndex index;
+        private int syncedModificationCount = STALE;
+
+        IndexSlot(ExpenseIndex index) {
+            this.index = index;
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.util.QuantileSketch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streaming amount statistics (min, max and percentiles), overall and per category.
+ *
+ * <p>Each category keeps its own {@link QuantileSketch}, updated in constant amortised time as
+ * expenses are added. The overall figures are obtained by merging the category sketches at query
+ * time, so nothing ever has to sort the ledger. Sketches cannot forget values, so a removal asks
+ * {@link ExpenseService} to rebuild this index before its next use.</p>
+ */
+public class ExpenseStatistics implements ExpenseIndex {
+    private static final double MEDIAN = 0.5;
+    private static final double P90 = 0.9;
+    private static final double P99 = 0.99;
+
+    private final Map<String, QuantileSketch> sketchesByCategory = new TreeMap<>();
+
+    @Override
+    public void rebuild(List<Expense> expenses) {
+        sketchesByCategory.clear();
+        for (Expense expense : expenses) {
+            record(expense);
+        }
+    }
+
+    @Override
+    public boolean onInsert(int index, Expense expense) {
+        record(expense);
+        return true;
+    }
+
+    @Override
+    public boolean onRemove(int index, Expense expense) {
+        return false;
+    }
+
+    /**
+     * Returns statistics over every expense, or {@code null} if there are none.
+     *
+     * @return the overall statistics
+     */
+    public AmountStatistics getOverallStatistics() {
+        QuantileSketch overall = new QuantileSketch();
+        for (QuantileSketch sketch : sketchesByCategory.values()) {
+            overall.merge(sketch);
+        }
+        return summarize(overall);
+    }
+
+    /**
+     * Returns statistics for each category that has at least one expense, sorted by category name.
+     *
+     * @return a map from upper-cased category names to their statistics
+     */
+    public Map<String, AmountStatistics> getCategoryStatistics() {
+        Map<String, AmountStatistics> result = new TreeMap<>();
+        for (Map.Entry<String, QuantileSketch> entry : sketchesByCategory.entrySet()) {
+            result.put(entry.getKey(), summarize(entry.getValue()));
+        }
+        return result;
+    }
+
+    private void record(Expense expense) {
+        sketchesByCategory.computeIfAbsent(expense.getCategory(), category -> new QuantileSketch())
+                .update(expense.getAmount());
+    }
+
+    private static AmountStatistics summarize(QuantileSketch sketch) {
+        if (sketch.getCount() == 0) {
+            return null;
+        }
+        return new AmountStatistics(sketch.getCount(), sketch.getMin(), sketch.getQuantile(MEDIAN),
+                sketch.getQuantile(P90), sketch.getQuantile(P99), sketch.getMax(), sketch.isExact());
+    }
+}
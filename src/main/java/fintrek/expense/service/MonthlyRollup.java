@@ -0,0 +1,219 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.core.Expense;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running totals of expense amounts keyed by (year-month, category id).
+ *
+ * <p>The table is updated in constant time on every insertion and removal, so month-by-month
+ * reports never have to scan the ledger. Amounts are kept as whole cents to stay exact under
+ * repeated additions and subtractions. The table can be written to and restored from a list of
+ * lines, allowing it to be persisted next to the save file instead of being rebuilt on startup.</p>
+ */
+public class MonthlyRollup implements ExpenseIndex {
+    private static final String HEADER_PREFIX = "Expenses: ";
+    private static final String SEPARATOR = " | ";
+    private static final String SEPARATOR_REGEX = " \\| ";
+    private static final int FIELD_COUNT = 4;
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    private final NavigableMap<YearMonth, MonthBucket> months = new TreeMap<>();
+    private int expenseCount = 0;
+
+    @Override
+    public void rebuild(List<Expense> expenses) {
+        months.clear();
+        expenseCount = 0;
+        for (Expense expense : expenses) {
+            apply(expense, 1);
+        }
+    }
+
+    @Override
+    public boolean onInsert(int index, Expense expense) {
+        apply(expense, 1);
+        return true;
+    }
+
+    @Override
+    public boolean onRemove(int index, Expense expense) {
+        apply(expense, -1);
+        return true;
+    }
+
+    /**
+     * Returns the number of expenses reflected in the table.
+     *
+     * @return the expense count
+     */
+    public int getExpenseCount() {
+        return expenseCount;
+    }
+
+    /**
+     * Returns every month that has at least one expense, in chronological order.
+     *
+     * @return the months with spending
+     */
+    public List<YearMonth> getMonths() {
+        return new ArrayList<>(months.keySet());
+    }
+
+    /**
+     * Returns the total spent in the given month.
+     *
+     * @param month the month to look up
+     * @return the total, or 0 if there is no expense in that month
+     */
+    public double getMonthTotal(YearMonth month) {
+        MonthBucket bucket = months.get(month);
+        return (bucket == null) ? 0 : bucket.totalCents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Returns the number of expenses of a category dated within a range of months.
+     *
+     * @param from the first month to count, or null to start from the earliest month
+     * @param to the last month to count, or null to end at the latest month
+     * @param categoryId the category id to count, or a negative value for every category
+     * @return the number of such expenses
+     */
+    public int getExpenseCount(YearMonth from, YearMonth to, int categoryId) {
+        NavigableMap<YearMonth, MonthBucket> range = months;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+        int count = 0;
+        for (MonthBucket bucket : range.values()) {
+            if (categoryId < 0) {
+                count += bucket.totalCount;
+            } else if (categoryId < bucket.counts.length) {
+                count += bucket.counts[categoryId];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total spent per category in the given month.
+     *
+     * @param month the month to look up
+     * @return a map from upper-cased category names to totals, sorted by name
+     */
+    public Map<String, Double> getCategoryTotals(YearMonth month) {
+        Map<String, Double> totals = new TreeMap<>();
+        MonthBucket bucket = months.get(month);
+        if (bucket == null) {
+            return totals;
+        }
+        for (int id = 0; id < bucket.counts.length; id++) {
+            if (bucket.counts[id] > 0) {
+                totals.put(CategoryManager.getCategoryName(id), bucket.cents[id] / CENTS_PER_DOLLAR);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Serialises the table, one line per non-empty (month, category) cell after a header line.
+     *
+     * @return the lines to persist
+     */
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER_PREFIX + expenseCount);
+        for (Map.Entry<YearMonth, MonthBucket> entry : months.entrySet()) {
+            MonthBucket bucket = entry.getValue();
+            for (int id = 0; id < bucket.counts.length; id++) {
+                if (bucket.counts[id] > 0) {
+                    lines.add(entry.getKey() + SEPARATOR + CategoryManager.getCategoryName(id)
+                            + SEPARATOR + bucket.cents[id] + SEPARATOR + bucket.counts[id]);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Replaces the table with one previously produced by {@link #toLines()}.
+     * On malformed input the table is left empty.
+     *
+     * @param lines the persisted lines
+     * @return true if every line was read successfully
+     */
+    public boolean load(List<String> lines) {
+        months.clear();
+        expenseCount = 0;
+        if (lines.isEmpty() || !lines.get(0).startsWith(HEADER_PREFIX)) {
+            return false;
+        }
+        try {
+            int declaredCount = Integer.parseInt(lines.get(0).substring(HEADER_PREFIX.length()).trim());
+            for (String line : lines.subList(1, lines.size())) {
+                String[] fields = line.split(SEPARATOR_REGEX);
+                if (fields.length != FIELD_COUNT) {
+                    throw new IllegalArgumentException(line);
+                }
+                YearMonth month = YearMonth.parse(fields[0]);
+                int categoryId = CategoryManager.getCategoryId(fields[1]);
+                long cents = Long.parseLong(fields[2]);
+                int count = Integer.parseInt(fields[3]);
+                months.computeIfAbsent(month, key -> new MonthBucket()).add(categoryId, cents, count);
+                expenseCount += count;
+            }
+            if (declaredCount != expenseCount) {
+                throw new IllegalArgumentException(lines.get(0));
+            }
+            return true;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            months.clear();
+            expenseCount = 0;
+            return false;
+        }
+    }
+
+    private void apply(Expense expense, int sign) {
+        YearMonth month = YearMonth.from(expense.getDate());
+        MonthBucket bucket = months.computeIfAbsent(month, key -> new MonthBucket());
+        bucket.add(expense.getCategoryId(), sign * expense.getAmountCents(), sign);
+        if (bucket.totalCount == 0) {
+            months.remove(month);
+        }
+        expenseCount += sign;
+    }
+
+    /**
+     * Cent totals and expense counts of one month, indexed by category id.
+     */
+    private static class MonthBucket {
+        private long[] cents = new long[0];
+        private int[] counts = new int[0];
+        private long totalCents = 0;
+        private int totalCount = 0;
+
+        void add(int categoryId, long centsDelta, int countDelta) {
+            if (categoryId >= counts.length) {
+                int size = Math.max(categoryId + 1, CategoryManager.getCategoryIdCount());
+                cents = Arrays.copyOf(cents, size);
+                counts = Arrays.copyOf(counts, size);
+            }
+            cents[categoryId] += centsDelta;
+            counts[categoryId] += countDelta;
+            totalCents += centsDelta;
+            totalCount += countDelta;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An inverted index from keys derived from expense descriptions to the positions of the expenses
+ * having them, with each key mapping to a {@link PostingList} in ascending order.
+ *
+ * <p>Adding an expense at the end of the collection, or removing the last one, only touches the
+ * posting lists of its own keys. Changes elsewhere move the positions of every later expense,
+ * which costs one pass over the posting lists. A removal immediately followed by an insertion at
+ * the same position, as made by an edit, needs no such pass. When the passes since the last
+ * rebuild add up to more than {@value #REBUILD_WORK_FACTOR} times the size of the index, the
+ * index asks to be rebuilt instead.</p>
+ */
+public abstract class PostingIndex implements ExpenseIndex {
+    private static final int REBUILD_WORK_FACTOR = 4;
+    private static final int NO_PENDING_REMOVAL = -1;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int expenseCount = 0;
+    private long postingCount = 0;
+    private long shiftWork = 0;
+    private int pendingRemoval = NO_PENDING_REMOVAL;
+
+    /**
+     * Returns the distinct keys under which an expense with the given description is indexed.
+     *
+     * @param description the description of the expense
+     * @return the keys, without duplicates
+     */
+    protected abstract List<String> keys(String description);
+
+    @Override
+    public void rebuild(List<Expense> expenses) {
+        postings.clear();
+        postingCount = 0;
+        shiftWork = 0;
+        pendingRemoval = NO_PENDING_REMOVAL;
+        for (int i = 0; i < expenses.size(); i++) {
+            addPostings(i, expenses.get(i));
+        }
+        expenseCount = expenses.size();
+    }
+
+    @Override
+    public boolean onInsert(int index, Expense expense) {
+        if (index == pendingRemoval) {
+            pendingRemoval = NO_PENDING_REMOVAL;
+        } else if (!applyPendingRemoval() || (index < expenseCount && !shift(index, 1))) {
+            return false;
+        }
+        addPostings(index, expense);
+        expenseCount++;
+        return true;
+    }
+
+    @Override
+    public boolean onRemove(int index, Expense expense) {
+        if (!applyPendingRemoval()) {
+            return false;
+        }
+        for (String key : keys(expense.getDescription())) {
+            PostingList list = postings.get(key);
+            list.remove(index);
+            postingCount--;
+            if (list.size() == 0) {
+                postings.remove(key);
+            }
+        }
+        expenseCount--;
+        if (index < expenseCount) {
+            pendingRemoval = index;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of expenses in the indexed collection.
+     *
+     * @return the expense count
+     */
+    protected int getExpenseCount() {
+        return expenseCount;
+    }
+
+    /**
+     * Looks up the posting lists of the given keys, bringing all positions up to date first.
+     *
+     * @param keys the keys to look up
+     * @return the posting list of each key that is present, in the order of {@code keys}
+     */
+    protected List<PostingList> postingsOf(List<String> keys) {
+        applyPendingRemoval();
+        List<PostingList> lists = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            PostingList list = postings.get(key);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        return lists;
+    }
+
+    private void addPostings(int index, Expense expense) {
+        for (String key : keys(expense.getDescription())) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(index);
+            postingCount++;
+        }
+    }
+
+    /**
+     * Moves the positions after a deferred removal down by one.
+     *
+     * @return false if the index has spent more on such passes than a rebuild would cost
+     */
+    private boolean applyPendingRemoval() {
+        if (pendingRemoval == NO_PENDING_REMOVAL) {
+            return true;
+        }
+        int removed = pendingRemoval;
+        pendingRemoval = NO_PENDING_REMOVAL;
+        return shift(removed + 1, -1);
+    }
+
+    private boolean shift(int from, int delta) {
+        shiftWork += postings.size();
+        for (PostingList list : postings.values()) {
+            shiftWork += list.shift(from, delta);
+        }
+        return shiftWork <= REBUILD_WORK_FACTOR * Math.max(postingCount, expenseCount);
+    }
+}
@@ -0,0 +1,144 @@
+package fintrek.expense.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A sorted list of distinct expense positions, stored in a growable {@code int} array.
+ *
+ * <p>Used as the posting list of one key in a {@link PostingIndex}. Positions are usually
+ * added in ascending order, which appends in constant time.</p>
+ */
+class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a position that is not yet in the list.
+     */
+    void add(int position) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, 2 * size);
+        }
+        int at = (size == 0 || positions[size - 1] < position) ? size : lowerBound(0, size, position);
+        System.arraycopy(positions, at, positions, at + 1, size - at);
+        positions[at] = position;
+        size++;
+    }
+
+    /**
+     * Removes a position if it is in the list.
+     */
+    void remove(int position) {
+        int at = lowerBound(0, size, position);
+        if (at < size && positions[at] == position) {
+            System.arraycopy(positions, at + 1, positions, at, size - at - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Adds {@code delta} to every position from {@code from} onwards.
+     *
+     * @return the number of positions changed
+     */
+    int shift(int from, int delta) {
+        int start = lowerBound(0, size, from);
+        for (int i = start; i < size; i++) {
+            positions[i] += delta;
+        }
+        return size - start;
+    }
+
+    /**
+     * Returns the positions found in every list, in ascending order.
+     *
+     * <p>The shortest list supplies the candidates, and each other list is searched forward from the
+     * previous candidate by galloping, so the cost grows with the shortest list and only
+     * logarithmically with the gaps skipped in the longer ones.</p>
+     */
+    static int[] intersect(List<PostingList> lists) {
+        PostingList[] ordered = lists.toArray(new PostingList[0]);
+        Arrays.sort(ordered, Comparator.comparingInt(PostingList::size));
+        int[] result = Arrays.copyOf(ordered[0].positions, ordered[0].size);
+        int resultSize = result.length;
+        for (int k = 1; k < ordered.length && resultSize > 0; k++) {
+            PostingList other = ordered[k];
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < resultSize && from < other.size; i++) {
+                from = other.gallop(from, result[i]);
+                if (from < other.size && other.positions[from] == result[i]) {
+                    result[kept++] = result[i];
+                }
+            }
+            resultSize = kept;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Returns the positions found in at least {@code threshold} of the lists, in ascending order.
+     *
+     * <p>Occurrences are counted in an array indexed by position, so every list is read once.</p>
+     *
+     * @param positionCount one more than the largest position that can occur
+     */
+    static int[] atLeast(List<PostingList> lists, int threshold, int positionCount) {
+        if (threshold >= lists.size()) {
+            return (threshold == lists.size()) ? intersect(lists) : new int[0];
+        }
+        int[] counts = new int[positionCount];
+        int matchCount = 0;
+        for (PostingList list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                if (++counts[list.positions[i]] == threshold) {
+                    matchCount++;
+                }
+            }
+        }
+        int[] result = new int[matchCount];
+        int found = 0;
+        for (int position = 0; found < matchCount; position++) {
+            if (counts[position] >= threshold) {
+                result[found++] = position;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first index at or after {@code from} whose position is not less than {@code position},
+     * probing at doubling distances from {@code from} before searching between the last two probes.
+     */
+    private int gallop(int from, int position) {
+        int step = 1;
+        while (from + step < size && positions[from + step] < position) {
+            step *= 2;
+        }
+        return lowerBound(from + step / 2, Math.min(from + step + 1, size), position);
+    }
+
+    /**
+     * Returns the first index in {@code [low, high)} whose position is not less than {@code position},
+     * or {@code high} if there is none.
+     */
+    private int lowerBound(int low, int high, int position) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions[mid] < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,13 @@
+package fintrek.expense.service;
+
+import java.util.List;
+
+/**
+ * The outcome of running an {@link ExpenseQuery}.
+ *
+ * @param rows the returned rows, sorted and limited as the query asked
+ * @param matchCount the number of expenses that matched, before the limit was applied
+ * @param totalCents the total amount of every matching expense, in cents
+ */
+public record QueryResult(List<ExpenseQuery.Match> rows, int matchCount, long totalCents) {
+}
@@ -0,0 +1,173 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.ExpenseOperation;
+import fintrek.expense.core.Occurrence;
+import fintrek.expense.core.RecurrenceRule;
+import fintrek.ledger.LedgerContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Inserts the occurrences of recurring expenses into the regular expenses as they fall due.
+ *
+ * <p>A recurring expense falls due as its {@link RecurrenceRule} says, monthly on the day of its date
+ * unless given otherwise. Each run inserts every occurrence after the previous run up to and including the given day,
+ * so months missed while the application was closed are caught up; the day of the previous run is
+ * saved with the ledger. Before the first run of a ledger, only the occurrences of the day itself are
+ * inserted, so an old save file is not flooded with past occurrences.</p>
+ *
+ * <p>The recurring expenses are kept in a min-heap by their next occurrence, so a run only looks at
+ * the expenses that are due, and computes each next occurrence directly from the expense's date.
+ * An expense whose rule has ended leaves the heap.
+ * The heap is rebuilt when the recurring expenses change. Occurrences are added to the regular
+ * manager directly, like loaded expenses, so they are not part of the undo history or a
+ * transaction.</p>
+ *
+ * <p>An occurrence is identified by the {@link Expense#getId() id} of its recurring expense and the
+ * day it falls due, which the inserted expense carries as its {@link Occurrence}. Before inserting, a
+ * run collects the occurrences of the days it covers that the regular expenses already carry in a hash
+ * set, and skips each due occurrence that is already there. As ids and occurrences are saved, this
+ * holds across restarts, and no occurrence is inserted twice even if the day of the previous run was
+ * lost or the inserted expense was edited since. An expense the user added by hand is never taken
+ * for an occurrence.</p>
+ */
+public class RecurringScheduler {
+    /** How often applications that stay open check for due occurrences. */
+    public static final long CHECK_INTERVAL_MINUTES = 60;
+
+    private static final Logger logger = Logger.getLogger(RecurringScheduler.class.getName());
+
+    private final ExpenseOperation recurringManager;
+    private final ExpenseOperation regularManager;
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::nextDate));
+    private LocalDate lastRun = null;
+    private int queuedModificationCount = -1;
+
+    /**
+     * A recurring expense and the next day it falls due.
+     */
+    private record Entry(Expense expense, LocalDate nextDate) {
+    }
+
+    /**
+     * Creates a scheduler that has not run yet.
+     *
+     * @param recurringManager the recurring expenses
+     * @param regularManager receives the occurrences
+     */
+    public RecurringScheduler(ExpenseOperation recurringManager, ExpenseOperation regularManager) {
+        this.recurringManager = recurringManager;
+        this.regularManager = regularManager;
+    }
+
+    /**
+     * Returns the scheduler of the current ledger.
+     *
+     * @return the {@code RecurringScheduler} of {@link LedgerContext#current()}
+     */
+    public static RecurringScheduler getInstance() {
+        return LedgerContext.current().getRecurringScheduler();
+    }
+
+    /**
+     * Returns the day of the previous run.
+     *
+     * @return the day, or null if the scheduler has not run yet
+     */
+    public synchronized LocalDate getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Restores the day of the previous run, e.g. from a save file.
+     *
+     * @param lastRun the day, or null if the scheduler has not run yet
+     */
+    public synchronized void setLastRun(LocalDate lastRun) {
+        this.lastRun = lastRun;
+        queuedModificationCount = -1;
+    }
+
+    /**
+     * Inserts every occurrence after the previous run up to and including the given day.
+     *
+     * @param today the last day to insert occurrences for
+     * @return the number of occurrences inserted
+     */
+    public synchronized int runDue(LocalDate today) {
+        LocalDate from = (lastRun == null) ? today.minusDays(1) : lastRun;
+        if (!today.isAfter(from)) {
+            return 0;
+        }
+        if (queuedModificationCount != recurringManager.getModificationCount()) {
+            fillQueue(from);
+        }
+        List<Expense> occurrences = new ArrayList<>();
+        Set<Occurrence> existing = null;
+        while (!queue.isEmpty() && !queue.peek().nextDate().isAfter(today)) {
+            Entry entry = queue.poll();
+            Expense expense = entry.expense();
+            if (existing == null) {
+                existing = collectExisting(from, today);
+            }
+            if (!existing.contains(new Occurrence(expense.getId(), entry.nextDate()))) {
+                occurrences.add(Expense.occurrenceOf(expense, entry.nextDate()));
+            }
+            LocalDate next = expense.getRecurrence().nextOccurrenceAfter(expense.getDate(), entry.nextDate());
+            if (next != null) {
+                queue.add(new Entry(expense, next));
+            }
+        }
+        occurrences.sort(Comparator.comparing(Expense::getDate));
+        for (Expense occurrence : occurrences) {
+            logger.log(Level.FINE, "Recurring expense is due: " + occurrence);
+            regularManager.add(occurrence);
+        }
+        lastRun = today;
+        return occurrences.size();
+    }
+
+    /**
+     * Collects the occurrences after {@code from} up to and including {@code today} that regular
+     * expenses were inserted for, by the day they fell due rather than the date of the expense.
+     */
+    private Set<Occurrence> collectExisting(LocalDate from, LocalDate today) {
+        return regularManager.read(cursor -> {
+            Set<Occurrence> occurrences = new HashSet<>();
+            while (cursor.next()) {
+                Occurrence source = cursor.expense().getSource();
+                if (source != null && source.date().isAfter(from) && !source.date().isAfter(today)) {
+                    occurrences.add(source);
+                }
+            }
+            return occurrences;
+        });
+    }
+
+    private void fillQueue(LocalDate from) {
+        queue.clear();
+        int modificationCount = recurringManager.getModificationCount();
+        List<Entry> entries = recurringManager.read(cursor -> {
+            List<Entry> due = new ArrayList<>();
+            while (cursor.next()) {
+                Expense expense = cursor.expense();
+                LocalDate next = expense.getRecurrence().nextOccurrenceAfter(expense.getDate(), from);
+                if (next != null) {
+                    due.add(new Entry(expense, next));
+                }
+            }
+            return due;
+        });
+        queue.addAll(entries);
+        queuedModificationCount = modificationCount;
+    }
+}
@@ -0,0 +1,114 @@
+package fintrek.expense.service;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.ledger.LedgerContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Groups the changes made to the regular and recurring expense collections into a transaction
+ * that is either kept as a whole or discarded as a whole.
+ *
+ * <p>Each ledger has its own transactions. While a transaction is open, every change made through
+ * the ledger's regular or recurring {@link ExpenseService} is recorded as an {@link ExpenseChange}, and callers
+ * are expected not to save; committing simply forgets the recorded changes so that the next save
+ * persists them all at once. Rolling back reverts the recorded changes in reverse order and
+ * restores the monthly budget that was set when the transaction began, leaving the collections
+ * exactly as they were and in line with the save file.</p>
+ */
+public class TransactionManager {
+    private final BudgetManager budgetManager;
+    private List<ExpenseChange> changes = null;
+    private double budgetAtBegin;
+    private boolean isReverting = false;
+
+    /**
+     * Creates a manager for the changes made through the given services and to the given budget.
+     *
+     * @param regularService the service of the regular expenses
+     * @param recurringService the service of the recurring expenses
+     * @param budgetManager the monthly budget restored on rollback
+     */
+    public TransactionManager(ExpenseService regularService, ExpenseService recurringService,
+            BudgetManager budgetManager) {
+        this.budgetManager = budgetManager;
+        regularService.addChangeListener(this::record);
+        recurringService.addChangeListener(this::record);
+    }
+
+    /**
+     * Returns the transaction manager of the current ledger.
+     *
+     * @return the {@code TransactionManager} of {@link LedgerContext#current()}
+     */
+    public static TransactionManager getInstance() {
+        return LedgerContext.current().getTransactionManager();
+    }
+
+    /**
+     * Returns whether a transaction is open, in which case changes should not be saved yet.
+     *
+     * @return true between {@link #begin()} and the matching commit or rollback
+     */
+    public boolean isActive() {
+        return changes != null;
+    }
+
+    /**
+     * Opens a transaction.
+     *
+     * @return false if a transaction is already open
+     */
+    public boolean begin() {
+        if (isActive()) {
+            return false;
+        }
+        changes = new ArrayList<>();
+        budgetAtBegin = budgetManager.getBudget();
+        return true;
+    }
+
+    /**
+     * Closes the open transaction, keeping its changes.
+     *
+     * @return the number of recorded insertions and removals, or -1 if no transaction is open
+     */
+    public int commit() {
+        if (!isActive()) {
+            return -1;
+        }
+        int count = changes.size();
+        changes = null;
+        return count;
+    }
+
+    /**
+     * Closes the open transaction, reverting its changes and the monthly budget.
+     *
+     * @return the number of reverted insertions and removals, or -1 if no transaction is open
+     */
+    public int rollback() {
+        if (!isActive()) {
+            return -1;
+        }
+        List<ExpenseChange> reverted = changes;
+        changes = null;
+        isReverting = true;
+        try {
+            for (int i = reverted.size() - 1; i >= 0; i--) {
+                reverted.get(i).revert();
+            }
+        } finally {
+            isReverting = false;
+        }
+        budgetManager.setBudget(budgetAtBegin);
+        return reverted.size();
+    }
+
+    private void record(ExpenseChange change) {
+        if (isActive() && !isReverting) {
+            changes.add(change);
+        }
+    }
+}
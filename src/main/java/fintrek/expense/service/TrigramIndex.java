@@ -0,0 +1,238 @@
+package fintrek.expense.service;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An inverted index from the trigrams (runs of three characters) of lower-cased expense descriptions
+ * to the positions of the expenses containing them, used for substring and typo-tolerant search.
+ *
+ * <p>A description containing a text contains every trigram of it, so a substring search only
+ * verifies the expenses found in all of the text's posting lists. A description within {@code k}
+ * edits of a text of {@code t} distinct trigrams still shares at least {@code t - 3k} of them,
+ * since one edit breaks at most three; a typo-tolerant search verifies only the expenses reaching
+ * that count. Where the bound gives nothing, and for texts shorter than a trigram, the index cannot
+ * rule out any expense, and the collection is read once instead.</p>
+ *
+ * <p>The number of typos tolerated grows with the length of the text: none below
+ * {@value #ONE_TYPO_LENGTH} characters, one below {@value #TWO_TYPO_LENGTH}, and two from then on.
+ * See {@link PostingIndex} for how the index follows changes to the collection.</p>
+ */
+public class TrigramIndex extends PostingIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int EDITS_PER_BROKEN_GRAMS = 3;
+    private static final int ONE_TYPO_LENGTH = 4;
+    private static final int TWO_TYPO_LENGTH = 8;
+
+    @Override
+    protected List<String> keys(String description) {
+        return trigrams(description.toLowerCase());
+    }
+
+    /**
+     * Finds the expenses whose description contains the text, ignoring case.
+     *
+     * @param text the text to look for
+     * @param service the service whose collection this index covers, to verify candidates against
+     * @return the matching positions in ascending order
+     */
+    public int[] searchSubstring(String text, ExpenseService service) {
+        String part = text.toLowerCase();
+        List<String> grams = trigrams(part);
+        if (grams.isEmpty()) {
+            return scan(description -> description.toLowerCase().contains(part), service);
+        }
+        List<PostingList> lists = postingsOf(grams);
+        if (lists.size() < grams.size()) {
+            return new int[0];
+        }
+        return verify(PostingList.intersect(lists), description -> description.toLowerCase().contains(part), service);
+    }
+
+    /**
+     * Finds the expenses whose description contains the text with at most {@link #maxTypos(int)} typos,
+     * ignoring case. A typo is an inserted, deleted or replaced character.
+     *
+     * @param text the text to look for
+     * @param service the service whose collection this index covers, to verify candidates against
+     * @return the matching positions in ascending order
+     */
+    public int[] searchFuzzy(String text, ExpenseService service) {
+        String part = text.toLowerCase();
+        int typos = maxTypos(part.length());
+        if (typos == 0) {
+            return searchSubstring(text, service);
+        }
+        List<String> grams = trigrams(part);
+        FuzzyPattern pattern = new FuzzyPattern(part, typos);
+        int threshold = grams.size() - EDITS_PER_BROKEN_GRAMS * typos;
+        if (threshold <= 0) {
+            // Every trigram of a match may be broken by its typos, so the index cannot rule out any row
+            return scan(pattern::matches, service);
+        }
+        int[] candidates = PostingList.atLeast(postingsOf(grams), threshold, getExpenseCount());
+        return verify(candidates, pattern::matches, service);
+    }
+
+    /**
+     * Returns the number of typos tolerated in a text of the given length.
+     *
+     * @param length the length of the text
+     * @return 0, 1 or 2
+     */
+    public static int maxTypos(int length) {
+        if (length < ONE_TYPO_LENGTH) {
+            return 0;
+        }
+        return (length < TWO_TYPO_LENGTH) ? 1 : 2;
+    }
+
+    /**
+     * Returns whether some substring of {@code text}, compared in lower case, is within {@code maxDistance}
+     * edits of the lower-case {@code pattern}.
+     */
+    static boolean isWithinDistance(String pattern, String text, int maxDistance) {
+        return new FuzzyPattern(pattern, maxDistance).matches(text);
+    }
+
+    /**
+     * Returns the distinct trigrams of a text, in order of first appearance.
+     */
+    static List<String> trigrams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM_LENGTH);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    private static int[] verify(int[] candidates, Predicate<String> matcher, ExpenseService service) {
+        int found = 0;
+        for (int position : candidates) {
+            if (matcher.test(service.getExpense(position).getDescription())) {
+                candidates[found++] = position;
+            }
+        }
+        return Arrays.copyOf(candidates, found);
+    }
+
+    private static int[] scan(Predicate<String> matcher, ExpenseService service) {
+        return service.read(cursor -> {
+            int[] found = new int[cursor.size()];
+            int foundCount = 0;
+            while (cursor.next()) {
+                if (matcher.test(cursor.description())) {
+                    found[foundCount++] = cursor.position();
+                }
+            }
+            return Arrays.copyOf(found, foundCount);
+        });
+    }
+
+    /**
+     * A lower-case pattern prepared for finding approximate occurrences in many texts.
+     *
+     * <p>Follows the edit distance table one column per character of the text, where starting a
+     * match at any character is free. Patterns of up to {@value #BITS_PER_WORD} characters keep a
+     * column as bit vectors of the differences between neighbouring cells (Myers' algorithm), so
+     * that each character of the text costs a few word operations; longer ones keep the column itself.</p>
+     */
+    private static class FuzzyPattern {
+        private static final int BITS_PER_WORD = Long.SIZE;
+        private static final int ASCII_SIZE = 128;
+
+        private final String pattern;
+        private final int maxDistance;
+        private final long[] asciiMasks = new long[ASCII_SIZE];
+
+        FuzzyPattern(String pattern, int maxDistance) {
+            this.pattern = pattern;
+            this.maxDistance = maxDistance;
+            for (int i = 0; i < Math.min(pattern.length(), BITS_PER_WORD); i++) {
+                char c = pattern.charAt(i);
+                if (c < ASCII_SIZE) {
+                    asciiMasks[c] |= 1L << i;
+                }
+            }
+        }
+
+        /**
+         * Returns whether some substring of the text, compared in lower case, is within the maximum distance.
+         */
+        boolean matches(String text) {
+            int length = pattern.length();
+            if (length <= maxDistance) {
+                return true;
+            }
+            if (length > BITS_PER_WORD) {
+                return matchesByTable(text);
+            }
+            long lastRow = 1L << (length - 1);
+            long positive = -1L;
+            long negative = 0L;
+            int score = length;
+            for (int j = 0; j < text.length(); j++) {
+                long equal = matchMask(Character.toLowerCase(text.charAt(j)));
+                long verticalChange = equal | negative;
+                long horizontalChange = (((equal & positive) + positive) ^ positive) | equal;
+                long horizontalPositive = negative | ~(horizontalChange | positive);
+                long horizontalNegative = positive & horizontalChange;
+                if ((horizontalPositive & lastRow) != 0) {
+                    score++;
+                } else if ((horizontalNegative & lastRow) != 0) {
+                    score--;
+                }
+                if (score <= maxDistance) {
+                    return true;
+                }
+                horizontalPositive <<= 1;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(verticalChange | horizontalPositive);
+                negative = horizontalPositive & verticalChange;
+            }
+            return false;
+        }
+
+        /**
+         * Returns a bit mask with bit {@code i} set where the pattern has the character {@code c}.
+         */
+        private long matchMask(char c) {
+            if (c < ASCII_SIZE) {
+                return asciiMasks[c];
+            }
+            long mask = 0L;
+            for (int i = pattern.indexOf(c); i >= 0; i = pattern.indexOf(c, i + 1)) {
+                mask |= 1L << i;
+            }
+            return mask;
+        }
+
+        private boolean matchesByTable(String text) {
+            int length = pattern.length();
+            int[] column = new int[length + 1];
+            for (int i = 0; i <= length; i++) {
+                column[i] = i;
+            }
+            for (int j = 0; j < text.length(); j++) {
+                char c = Character.toLowerCase(text.charAt(j));
+                int diagonal = 0;
+                for (int i = 1; i <= length; i++) {
+                    int left = column[i];
+                    int cost = (pattern.charAt(i - 1) == c) ? 0 : 1;
+                    column[i] = Math.min(diagonal + cost, Math.min(left, column[i - 1]) + 1);
+                    diagonal = left;
+                }
+                if (column[length] <= maxDistance) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
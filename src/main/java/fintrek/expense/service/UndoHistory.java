@@ -0,0 +1,158 @@
+package fintrek.expense.service;
+
+import fintrek.ledger.LedgerContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A bounded history of the changes made by recent commands, allowing them to be undone and redone.
+ *
+ * <p>Each ledger has its own history. Every change made through the ledger's regular or recurring
+ * {@link ExpenseService} is collected as an {@link ExpenseChange}, and the changes
+ * collected since the previous command are closed into one step by {@link #endStep(String)}. A step
+ * therefore holds a single removal for a delete, an insertion for an add, and a removal plus an
+ * insertion for an edit, never a copy of the expense lists. Undoing a step reverts its changes in
+ * reverse order, and redoing it applies them again, each in constant time.</p>
+ *
+ * <p>Only the newest {@link #getDepth()} steps are kept. The depth defaults to {@link #DEFAULT_DEPTH}
+ * and can be set with the {@value #DEPTH_PROPERTY} system property.</p>
+ */
+public class UndoHistory {
+    public static final String DEPTH_PROPERTY = "fintrek.undoDepth";
+    public static final int DEFAULT_DEPTH = 20;
+
+    private static final String UNLABELLED_STEP = "unlabelled changes";
+
+    private final Deque<Step> undoSteps = new ArrayDeque<>();
+    private final Deque<Step> redoSteps = new ArrayDeque<>();
+    private List<ExpenseChange> pendingChanges = new ArrayList<>();
+    private int depth;
+    private boolean isReplaying = false;
+
+    /**
+     * Creates an empty history of the changes made through the given services, with the depth set by
+     * the {@value #DEPTH_PROPERTY} system property.
+     *
+     * @param regularService the service of the regular expenses
+     * @param recurringService the service of the recurring expenses
+     */
+    public UndoHistory(ExpenseService regularService, ExpenseService recurringService) {
+        setDepth(Integer.getInteger(DEPTH_PROPERTY, DEFAULT_DEPTH));
+        regularService.addChangeListener(this::record);
+        recurringService.addChangeListener(this::record);
+    }
+
+    /**
+     * Returns the history of the current ledger.
+     *
+     * @return the {@code UndoHistory} of {@link LedgerContext#current()}
+     */
+    public static UndoHistory getInstance() {
+        return LedgerContext.current().getUndoHistory();
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Sets the number of steps that can be undone, dropping the oldest steps beyond it.
+     *
+     * @param depth the new depth, at least 0
+     */
+    public void setDepth(int depth) {
+        this.depth = Math.max(0, depth);
+        trim(undoSteps);
+        trim(redoSteps);
+    }
+
+    /**
+     * Closes the changes made since the previous call into one undoable step.
+     * Does nothing if there were no changes, e.g. after a read-only or failed command.
+     *
+     * @param label a description of the step, such as the command that made the changes
+     */
+    public void endStep(String label) {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        undoSteps.push(new Step(label, pendingChanges));
+        trim(undoSteps);
+        redoSteps.clear();
+        pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Reverts the newest step.
+     *
+     * @return the label of the reverted step, or null if there is nothing to undo
+     */
+    public String undo() {
+        endStep(UNLABELLED_STEP);
+        Step step = undoSteps.poll();
+        if (step == null) {
+            return null;
+        }
+        replay(() -> {
+            for (int i = step.changes.size() - 1; i >= 0; i--) {
+                step.changes.get(i).revert();
+            }
+        });
+        redoSteps.push(step);
+        return step.label;
+    }
+
+    /**
+     * Applies the most recently undone step again.
+     *
+     * @return the label of the reapplied step, or null if there is nothing to redo
+     */
+    public String redo() {
+        Step step = redoSteps.poll();
+        if (step == null) {
+            return null;
+        }
+        replay(() -> step.changes.forEach(ExpenseChange::reapply));
+        undoSteps.push(step);
+        return step.label;
+    }
+
+    /**
+     * Forgets all steps, e.g. after the collections were replaced by other means.
+     */
+    public void clear() {
+        undoSteps.clear();
+        redoSteps.clear();
+        pendingChanges = new ArrayList<>();
+    }
+
+    private void record(ExpenseChange change) {
+        if (!isReplaying) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private void replay(Runnable action) {
+        isReplaying = true;
+        try {
+            action.run();
+        } finally {
+            isReplaying = false;
+        }
+    }
+
+    private void trim(Deque<Step> steps) {
+        while (steps.size() > depth) {
+            steps.removeLast();
+        }
+    }
+
+    /**
+     * The changes made by one command, in the order they were made.
+     */
+    private record Step(String label, List<ExpenseChange> changes) {
+    }
+}
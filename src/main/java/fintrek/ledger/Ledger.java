@@ -0,0 +1,201 @@
+package fintrek.ledger;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.expense.core.CustomCategories;
+import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.ExpenseReporter;
+import fintrek.expense.service.ExpenseService;
+import fintrek.expense.service.RecurringScheduler;
+import fintrek.expense.service.TransactionManager;
+import fintrek.expense.service.UndoHistory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One set of books: its regular and recurring expenses, with the services and reporters built on
+ * them, its monthly budget, custom categories, undo history and transactions, the scheduler that
+ * inserts its recurring expenses as they fall due, and the files it is saved to.
+ *
+ * <p>Ledgers share nothing, so changing one never shows in another. The {@link #DEFAULT_NAME default}
+ * ledger is saved to {@value #DEFAULT_DATA_FILE}, as before ledgers existed, and every other ledger
+ * to a file named after it in the {@value #LEDGER_DIRECTORY} directory.</p>
+ *
+ * <p>A ledger remembers the {@link #getVersion() version} it was last saved or loaded at, so that
+ * it is only written back when something changed since.</p>
+ */
+public class Ledger {
+    public static final String DEFAULT_NAME = "default";
+    public static final String DEFAULT_DATA_FILE = "data.txt";
+    public static final String DEFAULT_ROLLUP_FILE = "rollup.txt";
+    public static final String LEDGER_DIRECTORY = "ledgers";
+
+    private static final String NAME_PATTERN = "[a-z0-9][a-z0-9_-]{0,31}";
+
+    /** Rough heap cost of an empty ledger: its managers, services, indexes and history. */
+    private static final long BASE_HEAP_BYTES = 16 * 1024;
+    /** Rough heap cost of one expense: the object, its description and date, and its index entries. */
+    private static final long EXPENSE_HEAP_BYTES = 512;
+    private static final AtomicLong createdCount = new AtomicLong();
+
+    private final String name;
+    private final long instanceNumber = createdCount.incrementAndGet();
+    private final RegularExpenseManager regularManager = new RegularExpenseManager();
+    private final RecurringExpenseManager recurringManager = new RecurringExpenseManager();
+    private final ExpenseService regularService = new ExpenseService(regularManager);
+    private final ExpenseService recurringService = new ExpenseService(recurringManager);
+    private final ExpenseReporter regularReporter = new ExpenseReporter(regularManager);
+    private final ExpenseReporter recurringReporter = new ExpenseReporter(recurringManager);
+    private final BudgetManager budgetManager = new BudgetManager();
+    private final CustomCategories customCategories = new CustomCategories();
+    private final UndoHistory undoHistory = new UndoHistory(regularService, recurringService);
+    private final TransactionManager transactionManager =
+            new TransactionManager(regularService, recurringService, budgetManager);
+    private final RecurringScheduler recurringScheduler = new RecurringScheduler(recurringManager, regularManager);
+    private volatile String savedVersion = null;
+
+    /**
+     * Creates an empty ledger.
+     *
+     * @param name a name accepted by {@link #isValidName(String)}
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    public Ledger(String name) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("Invalid ledger name: " + name);
+        }
+        this.name = name;
+    }
+
+    /**
+     * Returns whether a name can be used for a ledger: 1 to 32 lower-case letters, digits, hyphens
+     * and underscores, starting with a letter or digit, so that it is also a safe file name.
+     *
+     * @param name the name to check
+     * @return true if the name is valid
+     */
+    public static boolean isValidName(String name) {
+        return name != null && name.matches(NAME_PATTERN);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDefault() {
+        return name.equals(DEFAULT_NAME);
+    }
+
+    /**
+     * Returns the path of the file this ledger is saved to.
+     *
+     * @return the save file path, relative to the working directory
+     */
+    public String getDataFile() {
+        return isDefault() ? DEFAULT_DATA_FILE : LEDGER_DIRECTORY + "/" + name + ".txt";
+    }
+
+    /**
+     * Returns the path of the file the monthly roll-up table of this ledger is saved to.
+     *
+     * @return the roll-up file path, relative to the working directory
+     */
+    public String getRollupFile() {
+        return isDefault() ? DEFAULT_ROLLUP_FILE : LEDGER_DIRECTORY + "/" + name + ".rollup.txt";
+    }
+
+    /**
+     * Returns a token that changes whenever an expense, the budget, the custom categories or the day
+     * recurring expenses were last inserted change.
+     *
+     * @return the current version
+     */
+    public String getVersion() {
+        return regularManager.getModificationCount() + "."
+                + recurringManager.getModificationCount() + "."
+                + Long.toHexString(Double.doubleToLongBits(budgetManager.getBudget())) + "."
+                + customCategories.getModificationCount() + "."
+                + recurringScheduler.getLastRun();
+    }
+
+    /**
+     * Returns a number that tells this ledger object apart from every other one created in this process,
+     * such as the same ledger loaded again after it was evicted. Its version starts over with each object.
+     *
+     * @return the number of ledgers created in this process when this one was
+     */
+    public long getInstanceNumber() {
+        return instanceNumber;
+    }
+
+    /**
+     * Records that the ledger was saved or loaded as it was at the given version.
+     *
+     * @param version the version taken before saving or after loading
+     */
+    public void markSaved(String version) {
+        savedVersion = version;
+    }
+
+    /**
+     * Returns whether the ledger changed since it was last saved or loaded.
+     *
+     * @return true if the ledger has unsaved changes
+     */
+    public boolean isDirty() {
+        return !getVersion().equals(savedVersion);
+    }
+
+    /**
+     * Estimates the heap used by the ledger from the number of expenses it holds.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateHeapBytes() {
+        return BASE_HEAP_BYTES + EXPENSE_HEAP_BYTES * (regularManager.getLength() + recurringManager.getLength());
+    }
+
+    public RegularExpenseManager getRegularManager() {
+        return regularManager;
+    }
+
+    public RecurringExpenseManager getRecurringManager() {
+        return recurringManager;
+    }
+
+    public ExpenseService getRegularService() {
+        return regularService;
+    }
+
+    public ExpenseService getRecurringService() {
+        return recurringService;
+    }
+
+    public ExpenseReporter getRegularReporter() {
+        return regularReporter;
+    }
+
+    public ExpenseReporter getRecurringReporter() {
+        return recurringReporter;
+    }
+
+    public BudgetManager getBudgetManager() {
+        return budgetManager;
+    }
+
+    public CustomCategories getCustomCategories() {
+        return customCategories;
+    }
+
+    public UndoHistory getUndoHistory() {
+        return undoHistory;
+    }
+
+    public TransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    public RecurringScheduler getRecurringScheduler() {
+        return recurringScheduler;
+    }
+}
@@ -0,0 +1,235 @@
+package fintrek.ledger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The ledgers held in memory, from least to most recently used, with the limits that decide when
+ * one is evicted.
+ *
+ * <p>A ledger is evicted when it has not been used for longer than the idle limit, or, least
+ * recently used first, while the estimated heap of all held ledgers is above the size limit. A
+ * dirty ledger is saved before it is evicted and kept if saving fails, so no change is lost; an
+ * evicted ledger is loaded again on its next use. A ledger with an open transaction is kept until
+ * the transaction ends, as saving it would persist changes that may still be rolled back. The limits default to
+ * {@value #DEFAULT_MAX_MEGABYTES} MB and {@value #DEFAULT_MAX_IDLE_MINUTES} minutes, and can be set
+ * with the {@value #MAX_MEGABYTES_PROPERTY} and {@value #MAX_IDLE_MINUTES_PROPERTY} system
+ * properties.</p>
+ *
+ * <p>The cache counts hits, misses, evictions and the time taken by loads, see {@link Stats}. It
+ * is not thread-safe; {@link LedgerContext} serializes access to it.</p>
+ */
+public class LedgerCache {
+    public static final String MAX_MEGABYTES_PROPERTY = "fintrek.ledgerCacheMegabytes";
+    public static final String MAX_IDLE_MINUTES_PROPERTY = "fintrek.ledgerIdleMinutes";
+    public static final int DEFAULT_MAX_MEGABYTES = 64;
+    public static final int DEFAULT_MAX_IDLE_MINUTES = 30;
+
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private final long maxIdleNanos;
+    private final LongSupplier clock;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long loadCount = 0;
+    private long totalLoadNanos = 0;
+    private long maxLoadNanos = 0;
+
+    /**
+     * Counters of a cache since it was created.
+     *
+     * @param size the number of ledgers held
+     * @param estimatedBytes the estimated heap of the ledgers held
+     * @param hitCount the number of lookups that found their ledger in memory
+     * @param missCount the number of lookups that had to load their ledger
+     * @param evictionCount the number of ledgers evicted
+     * @param loadCount the number of ledgers loaded
+     * @param totalLoadNanos the time taken by all loads
+     * @param maxLoadNanos the time taken by the slowest load
+     */
+    public record Stats(int size, long estimatedBytes, long hitCount, long missCount, long evictionCount,
+            long loadCount, long totalLoadNanos, long maxLoadNanos) {
+        /**
+         * Returns the share of lookups that found their ledger in memory.
+         *
+         * @return the hit rate from 0 to 1, or 0 if there were no lookups
+         */
+        public double hitRate() {
+            long lookups = hitCount + missCount;
+            return (lookups == 0) ? 0 : (double) hitCount / lookups;
+        }
+
+        /**
+         * Returns the average time taken to load a ledger.
+         *
+         * @return the average load time in milliseconds, or 0 if nothing was loaded
+         */
+        public double averageLoadMillis() {
+            return (loadCount == 0) ? 0 : totalLoadNanos / (double) loadCount / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public double maxLoadMillis() {
+            return maxLoadNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private static class Entry {
+        private final Ledger ledger;
+        private long lastUsedNanos;
+
+        Entry(Ledger ledger, long lastUsedNanos) {
+            this.ledger = ledger;
+            this.lastUsedNanos = lastUsedNanos;
+        }
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxBytes the estimated heap above which least recently used ledgers are evicted
+     * @param maxIdleNanos how long a ledger may go unused before it is evicted
+     * @param clock returns the current time in nanoseconds, e.g. {@link System#nanoTime()}
+     */
+    public LedgerCache(long maxBytes, long maxIdleNanos, LongSupplier clock) {
+        this.maxBytes = maxBytes;
+        this.maxIdleNanos = maxIdleNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates an empty cache with the limits set by the system properties, or the default limits.
+     *
+     * @return the cache
+     */
+    public static LedgerCache fromSystemProperties() {
+        long maxBytes = Long.getLong(MAX_MEGABYTES_PROPERTY, DEFAULT_MAX_MEGABYTES) * BYTES_PER_MEGABYTE;
+        long maxIdleNanos = TimeUnit.MINUTES.toNanos(Long.getLong(MAX_IDLE_MINUTES_PROPERTY, DEFAULT_MAX_IDLE_MINUTES));
+        return new LedgerCache(maxBytes, maxIdleNanos, System::nanoTime);
+    }
+
+    /**
+     * Looks up a ledger, marking it as just used.
+     *
+     * @param name the name of the ledger
+     * @return the ledger, or null if it is not held and must be loaded
+     */
+    public Ledger get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        entry.lastUsedNanos = clock.getAsLong();
+        return entry.ledger;
+    }
+
+    /**
+     * Holds a ledger as the most recently used one.
+     *
+     * @param ledger the ledger, whose name is not held yet
+     */
+    public void put(Ledger ledger) {
+        entries.put(ledger.getName(), new Entry(ledger, clock.getAsLong()));
+    }
+
+    /**
+     * Counts a load of a ledger that was missing from the cache.
+     *
+     * @param nanos the time taken by the load
+     */
+    public void recordLoad(long nanos) {
+        loadCount++;
+        totalLoadNanos += nanos;
+        maxLoadNanos = Math.max(maxLoadNanos, nanos);
+    }
+
+    /**
+     * Evicts idle ledgers, and then least recently used ledgers while the cache is above its size
+     * limit, saving dirty ones first.
+     *
+     * @param pinned a ledger that must stay, such as the current one
+     * @param store saves dirty ledgers before they are evicted
+     * @return the names of the evicted ledgers
+     */
+    public List<String> evict(Ledger pinned, LedgerStore store) {
+        List<String> evicted = new ArrayList<>();
+        long now = clock.getAsLong();
+        long totalBytes = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (isEvictable(entry.ledger, pinned) && now - entry.lastUsedNanos > maxIdleNanos
+                    && flush(entry.ledger, store)) {
+                it.remove();
+                evicted.add(entry.ledger.getName());
+            } else {
+                totalBytes += entry.ledger.estimateHeapBytes();
+            }
+        }
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && totalBytes > maxBytes; ) {
+            Entry entry = it.next();
+            if (isEvictable(entry.ledger, pinned) && flush(entry.ledger, store)) {
+                it.remove();
+                evicted.add(entry.ledger.getName());
+                totalBytes -= entry.ledger.estimateHeapBytes();
+            }
+        }
+        evictionCount += evicted.size();
+        return evicted;
+    }
+
+    /**
+     * Saves every held ledger that is dirty and has no open transaction.
+     *
+     * @param store saves the ledgers
+     */
+    public void saveDirty(LedgerStore store) {
+        for (Entry entry : entries.values()) {
+            if (!entry.ledger.getTransactionManager().isActive()) {
+                flush(entry.ledger, store);
+            }
+        }
+    }
+
+    private static boolean isEvictable(Ledger ledger, Ledger pinned) {
+        return ledger != pinned && !ledger.getTransactionManager().isActive();
+    }
+
+    /**
+     * Saves a ledger if it is dirty.
+     *
+     * @return whether the ledger is clean and may be evicted
+     */
+    private static boolean flush(Ledger ledger, LedgerStore store) {
+        if (ledger.isDirty()) {
+            store.save(ledger);
+        }
+        return !ledger.isDirty();
+    }
+
+    /**
+     * Returns the names of the held ledgers.
+     *
+     * @return the names, from least to most recently used
+     */
+    public List<String> getNames() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    public Stats getStats() {
+        long estimatedBytes = 0;
+        for (Entry entry : entries.values()) {
+            estimatedBytes += entry.ledger.estimateHeapBytes();
+        }
+        return new Stats(entries.size(), estimatedBytes, hitCount, missCount, evictionCount,
+                loadCount, totalLoadNanos, maxLoadNanos);
+    }
+}
@@ -0,0 +1,148 @@
+package fintrek.ledger;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tracks the ledgers held in memory and which of them commands currently work on.
+ *
+ * <p>The singleton accessors of the managers and services, such as
+ * {@link fintrek.expense.core.RegularExpenseManager#getInstance()} and
+ * {@link fintrek.expense.service.AppServices#regularService()}, resolve to the current ledger, so
+ * commands need not know that there is more than one. The {@link Ledger#DEFAULT_NAME default} ledger
+ * is current at startup. Switching is expected to happen on the thread that runs commands, between
+ * two commands; other threads always see either the old or the new ledger as a whole, as a ledger being
+ * loaded is current only on the thread loading it until the load has succeeded. A server whose
+ * clients each work on their own ledger {@link #use uses} the ledger of a client before running its
+ * command.</p>
+ *
+ * <p>Ledgers are held in a {@link LedgerCache}. Each switch saves the ledger being left if it is
+ * dirty, loads the target if it is not held, inserts the recurring expenses of the target that fell
+ * due while it was not current, and then evicts ledgers that went idle or no longer fit.
+ * The current ledger and ledgers with an open transaction are never evicted.</p>
+ */
+public final class LedgerContext {
+    private static final LedgerCache cache = LedgerCache.fromSystemProperties();
+    private static final ThreadLocal<Ledger> loading = new ThreadLocal<>();
+    private static volatile Ledger current;
+
+    static {
+        current = new Ledger(Ledger.DEFAULT_NAME);
+        cache.put(current);
+    }
+
+    private LedgerContext() {}
+
+    /**
+     * Returns the ledger that commands currently work on.
+     *
+     * @return the current ledger
+     */
+    public static Ledger current() {
+        Ledger ledger = loading.get();
+        return (ledger != null) ? ledger : current;
+    }
+
+    /**
+     * Makes the named ledger current, loading it first if it is not held in memory.
+     *
+     * @param name a name accepted by {@link Ledger#isValidName(String)}
+     * @param store saves the ledger being left and evicted ledgers, and loads the target if needed
+     * @return true if the ledger was loaded
+     * @throws IllegalArgumentException if the name is not valid
+     * @throws RuntimeException if loading fails, in which case the current ledger stays as it was
+     */
+    public static synchronized boolean switchTo(String name, LedgerStore store) {
+        if (!name.equals(current.getName()) && current.isDirty()) {
+            store.save(current);
+        }
+        boolean isLoaded = open(name, store);
+        cache.evict(current, store);
+        return isLoaded;
+    }
+
+    /**
+     * Makes the named ledger current without saving the one being left or evicting any, e.g. before
+     * running a command of a server client that works on that ledger. Loads it first if it is not held.
+     *
+     * @param name a name accepted by {@link Ledger#isValidName(String)}
+     * @param store loads the ledger if needed
+     * @return true if the ledger was loaded
+     * @throws IllegalArgumentException if the name is not valid
+     * @throws RuntimeException if loading fails, in which case the current ledger stays as it was
+     */
+    public static synchronized boolean use(String name, LedgerStore store) {
+        return !name.equals(current.getName()) && open(name, store);
+    }
+
+    private static boolean open(String name, LedgerStore store) {
+        Ledger ledger = cache.get(name);
+        boolean isLoaded = (ledger == null);
+        if (isLoaded) {
+            ledger = load(name, store);
+            cache.put(ledger);
+        }
+        runDueRecurringExpenses(ledger);
+        current = ledger;
+        return isLoaded;
+    }
+
+    /**
+     * Inserts the recurring expenses of a ledger that fell due since they were last inserted. A ledger
+     * that was saved stays so if nothing fell due, as the day of the last run alone need not be written.
+     */
+    private static void runDueRecurringExpenses(Ledger ledger) {
+        boolean wasSaved = !ledger.isDirty();
+        if (ledger.getRecurringScheduler().runDue(LocalDate.now()) == 0 && wasSaved) {
+            ledger.markSaved(ledger.getVersion());
+        }
+    }
+
+    /**
+     * Creates and fills a ledger, which is current only on this thread while the store fills it.
+     */
+    private static Ledger load(String name, LedgerStore store) {
+        Ledger ledger = new Ledger(name);
+        loading.set(ledger);
+        try {
+            long start = System.nanoTime();
+            store.load(ledger);
+            cache.recordLoad(System.nanoTime() - start);
+        } finally {
+            loading.remove();
+        }
+        return ledger;
+    }
+
+    /**
+     * Saves every ledger held in memory that has unsaved changes and no open transaction.
+     *
+     * @param store saves the ledgers
+     */
+    public static synchronized void saveAll(LedgerStore store) {
+        cache.saveDirty(store);
+    }
+
+    /**
+     * Evicts the ledgers that went idle or no longer fit, e.g. from a periodic task of a server.
+     *
+     * @param store saves dirty ledgers before they are evicted
+     * @return the names of the evicted ledgers
+     */
+    public static synchronized List<String> evict(LedgerStore store) {
+        return cache.evict(current, store);
+    }
+
+    /**
+     * Returns the names of the ledgers held in memory.
+     *
+     * @return the names, from least to most recently used
+     */
+    public static synchronized List<String> getOpenNames() {
+        return cache.getNames();
+    }
+
+    public static synchronized LedgerCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+}
@@ -0,0 +1,23 @@
+package fintrek.ledger;
+
+/**
+ * Where ledgers are loaded from and saved to.
+ */
+public interface LedgerStore {
+    /**
+     * Fills a newly created ledger. The ledger is current on the calling thread while this runs, so
+     * it can be filled through the usual singleton accessors; other threads see it only once this
+     * returns, and never if this throws.
+     *
+     * @param ledger the empty ledger
+     */
+    void load(Ledger ledger);
+
+    /**
+     * Saves a ledger, which need not be the current one. A ledger that is still
+     * {@link Ledger#isDirty() dirty} afterwards is taken to have failed to save.
+     *
+     * @param ledger the ledger to save
+     */
+    void save(Ledger ledger);
+}
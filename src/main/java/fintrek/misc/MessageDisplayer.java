@@ -29,6 +29,26 @@ public class MessageDisplayer {
             "Found no recurring expenses.";
     public static final String LINE_SEPARATOR = "\n";
     public static final String BYE_MESSAGE = "Bye now! See you soon!";
+    public static final String BATCH_FLAG = "--batch";
+    public static final String BATCH_LINE_ERROR_FORMAT = "Line %d: %s";
+    public static final String BATCH_CHECKPOINT_MESSAGE = "Saved after %d commands.";
+    public static final String BATCH_SUMMARY_FORMAT = "Batch complete: %d succeeded, %d failed.";
+    public static final String BATCH_READ_ERROR_MESSAGE = "Error reading batch input: ";
+    public static final String SERVE_FLAG = "--serve";
+    public static final String SERVER_LISTENING_MESSAGE = "FinTrek is serving on %s. Press Ctrl+C to stop.";
+    public static final String SERVER_WELCOME_MESSAGE = "Connected to FinTrek. Type bye to disconnect.";
+    public static final String SERVER_ERROR_MESSAGE = "Error running the server: ";
+    public static final String HTTP_FLAG = "--http";
+    public static final String API_LISTENING_MESSAGE =
+            "FinTrek API is serving on http://localhost:%d/api/. Press Ctrl+C to stop.";
+    public static final String API_NOT_FOUND_MESSAGE = "No such resource: %s %s";
+    public static final String API_INVALID_BODY_MESSAGE =
+            "The request body must be a JSON object of text and number fields on a single line each.";
+    public static final String API_MISSING_FIELD_MESSAGE = "Missing field: %s";
+    public static final String API_INVALID_INDEX_MESSAGE = "Invalid index: %s is not a single positive number";
+    public static final String API_INVALID_FIELD_MESSAGE =
+            "Invalid field: %s cannot contain words starting with / or the symbol $";
+    public static final String API_INTERNAL_ERROR_MESSAGE = "The request could not be completed.";
 
     // Error Messages
     public static final String INVALID_AMOUNT = "Amount must be positive";
@@ -38,6 +58,16 @@ public class MessageDisplayer {
             "Invalid format. Please key in '/help %s' for more information";
     public static final String INVALID_DATE_MESSAGE =
             "Invalid date format. Please enter a valid date in the form \"dd-MM-yyyy\"";
+    public static final String INVALID_RECURRENCE_RULE_MESSAGE = "Invalid recurrence rule. Please enter a rule "
+            + "such as FREQ=WEEKLY;INTERVAL=2, with an optional UNTIL=dd-MM-yyyy or COUNT=<N>";
+    public static final String RECURRENCE_RULE_NOT_RECURRING_MESSAGE =
+            "Only recurring expenses can have a recurrence rule. Use /add-recurring instead.";
+    public static final String INVALID_RECURRENCE_RULE_DATA_MESSAGE =
+            "Invalid data. The given recurrence rule is not in the correct format.";
+    public static final String INVALID_FORECAST_MONTHS_MESSAGE =
+            "Invalid number of months. Please enter a whole number from 1 to %d.";
+    public static final String INVALID_EXPENSE_ID_DATA_MESSAGE =
+            "Invalid data. The given expense id or occurrence is not in the correct format.";
     public static final String INVALID_DATE_DATA_MESSAGE =
             "Invalid data. The given date is not in the correct format.";
     public static final String INVALID_DATA_FORMAT_MESSAGE =
@@ -56,6 +86,7 @@ public class MessageDisplayer {
             "Please enter a command starting with '/'. Type '/help' for more information.";
     public static final String INVALID_COMMAND_MESSAGE =
             "Please enter a valid command. Type '/help' for more information.";
+    public static final String AMBIGUOUS_COMMAND_MESSAGE_TEMPLATE = "Ambiguous command '%s'. Did you mean: %s?";
     public static final String ARG_EMPTY_MESSAGE_TEMPLATE = "Argument of '/%s' command cannot be empty";
     public static final String ARG_MUST_BE_EMPTY_MESSAGE_TEMPLATE = "Argument of '/%s' must be empty";
     public static final String FILE_LOAD_ERROR_MESSAGE = "Error loading file %s: ";
@@ -68,7 +99,15 @@ public class MessageDisplayer {
             "Invalid Category. Use '/add-category %s' to add as new category to be used.";
 
     public static final String EDIT_FORMAT_HINT =
-            "Invalid format. Usage: /edit [INDEX] [/d DESC] [/$ AMOUNT] [/c CATEGORY] [/dt DATE in DD-MM-YYYY]";
+            "Invalid format. Usage: /edit [INDEX|RANGE|FILTER] [/d DESC] [/$ AMOUNT] [/c CATEGORY] " +
+            "[/dt DATE in DD-MM-YYYY]";
+    public static final String INVALID_FILTER_MESSAGE =
+            "Invalid filter. Use /in <CATEGORY>, /from <DATE>, /to <DATE> or /has <TEXT>, each at most once.";
+    public static final String INVALID_FILTER_DATE_RANGE_MESSAGE =
+            "Invalid filter. The /from date is after the /to date.";
+    public static final String NO_MATCHING_EXPENSES_MESSAGE = "No expenses match the given filter.";
+    public static final String INVALID_QUERY_TERM_MESSAGE =
+            "Invalid query term: %s. Type '/help find' for the supported terms.";
     public static final String EDIT_NO_FIELD_PROVIDED_MSG =
             "Please provide at least one field to edit using /d, /$, /c or /dt.";
 
@@ -89,11 +128,16 @@ public class MessageDisplayer {
     public static final String EMPTY_DATE_MESSAGE = "No date for recurring expense found";
     public static final String WRONG_DATE_FORMAT_MESSAGE = "Please enter the date in the right format";
     public static final String ERROR_LOADING_SUMMARY = "Error loading summary: ";
+    public static final String ERROR_LOADING_STATS = "Error loading statistics: ";
+    public static final String ERROR_LOADING_TREND = "Error loading trend: ";
     public static final String CATEGORY_NOT_FOUND = "Category not found. ";
     public static final String EXCEEDED_BUDGET_MESSAGE =
             "WARNING: You have exceeded your monthly budget of $%.2f by $%.2f";
     public static final String ALMOST_EXCEEDED_BUDGET_MESSAGE =
             "WARNING: You are $%.2f short of reaching your monthly budget of $%.2f";
+    public static final String PROJECTED_TO_EXCEED_BUDGET_MESSAGE =
+            "WARNING: At your current pace of $%.2f/day, you are projected to spend $%.2f this month, " +
+            "exceeding your monthly budget of $%.2f";
     public static final double MAX_AMOUNT = 10000000000D;
     public static final String STRING_OUT_OF_RANGE_FORMAT_MESSAGE =
             "%s too long. Input cannot exceed the length of 100.";
@@ -102,9 +146,39 @@ public class MessageDisplayer {
             "Monthly budget left: $%.2f (%.2f%% remaining)";
     public static final String INVALID_SORT_FIELD = "Invalid sort field.";
     public static final String INVALID_SORT_DIRECTION = "Invalid sort direction.";
+    public static final String TRANSACTION_ALREADY_OPEN_MESSAGE =
+            "A transaction is already in progress. Use /commit or /rollback to end it first.";
+    public static final String NO_TRANSACTION_MESSAGE = "No transaction in progress. Use /begin to start one.";
+    public static final String TRANSACTION_OF_OTHER_CLIENT_MESSAGE =
+            "Another connection has a transaction in progress. Only it can /commit or /rollback it, " +
+            "and /begin works again once it ends.";
+    public static final String NOTHING_TO_UNDO_MESSAGE = "There is nothing to undo.";
+    public static final String NOTHING_TO_REDO_MESSAGE = "There is nothing to redo.";
+    public static final String INVALID_LEDGER_NAME_MESSAGE =
+            "Invalid ledger name. Use 1 to 32 lower-case letters, digits, '-' or '_'.";
+    public static final String INVALID_LEDGER_ARGUMENTS_MESSAGE =
+            "Invalid arguments. Use /ledger to show the ledgers, /ledger switch <NAME> to change ledger, " +
+            "or /ledger stats.";
+    public static final String LEDGER_SWITCH_IN_TRANSACTION_MESSAGE =
+            "Cannot switch ledgers during a transaction. Use /commit or /rollback to end it first.";
 
     // Success Messages
     public static final String ADD_SUCCESS_MESSAGE_TEMPLATE = "Expense added successfully: %s";
+    public static final String BEGIN_SUCCESS_MESSAGE =
+            "Transaction started. Changes will be saved on /commit, or discarded on /rollback.";
+    public static final String COMMIT_SUCCESS_MESSAGE_TEMPLATE = "Transaction committed: %d change(s) saved.";
+    public static final String ROLLBACK_SUCCESS_MESSAGE_TEMPLATE = "Transaction rolled back: %d change(s) discarded.";
+    public static final String UNDO_SUCCESS_MESSAGE_TEMPLATE = "Undone: %s";
+    public static final String REDO_SUCCESS_MESSAGE_TEMPLATE = "Redone: %s";
+    public static final String LEDGER_SWITCH_SUCCESS_MESSAGE_TEMPLATE = "Switched to ledger '%s'.";
+    public static final String LEDGER_OPEN_SUCCESS_MESSAGE_TEMPLATE = "Opened ledger '%s' from %s.";
+    public static final String LEDGER_LIST_MESSAGE_TEMPLATE = "Current ledger: %s\nOpen ledgers: %s";
+    public static final String LEDGER_STATS_MESSAGE_TEMPLATE =
+            "Ledgers in memory: %d (about %.0f KB)\n" +
+            "Hit rate: %.1f%% (%d hits, %d misses), %d evicted\n" +
+            "Loads: %d, average %.1f ms, slowest %.1f ms";
+    public static final String TRANSACTION_DISCARDED_MESSAGE =
+            "Uncommitted transaction rolled back: %d change(s) discarded.";
     public static final String ADD_CATEGORY_SUCCESS_MESSAGE_TEMPLATE = "Category added successfully: %s";
     public static final String SET_BUDGET_SUCCESS_MESSAGE_TEMPLATE =
             "Monthly budget successfully set to $%.2f";
@@ -115,6 +189,15 @@ public class MessageDisplayer {
             "Expense %s deleted successfully. Remaining expenses: %d";
     public static final String DELETE_RECURRING_SUCCESS_MESSAGE_TEMPLATE =
             "Expense %s deleted successfully. Remaining recurring expenses: %d";
+    public static final String BULK_DELETE_SUCCESS_MESSAGE_TEMPLATE =
+            "%d expenses deleted successfully. Remaining expenses: %d";
+    public static final String BULK_DELETE_RECURRING_SUCCESS_MESSAGE_TEMPLATE =
+            "%d expenses deleted successfully. Remaining recurring expenses: %d";
+    public static final String BULK_EDIT_SUCCESS_MESSAGE_TEMPLATE = "%d expenses updated successfully.";
+    public static final String FIND_SUCCESS_MESSAGE_TEMPLATE = "Found %d matching expenses, totalling $%.2f:";
+    public static final String FIND_LIMITED_MESSAGE_TEMPLATE = "\n(Showing the first %d.)";
+    public static final String NO_QUERY_MATCHES_MESSAGE = "No expenses match the query.";
+    public static final String NO_SEARCH_MATCHES_MESSAGE_TEMPLATE = "No expenses found for '%s'.";
     public static final String EDIT_SUCCESS_MESSAGE_FORMAT = "Expense at index %d updated successfully:\n%s";
     public static final String TOTAL_SUCCESS_MESSAGE_TEMPLATE = "Total expenses: %.2f";
     public static final String TOTAL_RECURRING_SUCCESS_MESSAGE_TEMPLATE = "Total expenses: %.2f";
@@ -125,6 +208,7 @@ public class MessageDisplayer {
     public static final String LIST_RECURRING_SUCCESS_MESSAGE_TEMPLATE = "List of recurring expenses: %s";
     public static final String INSERTING_EXPENSE_MESSAGE_TEMPLATE = "Inserting regular expense at index %d: %s";
     public static final String REMOVED_EXPENSE_MESSAGE_TEMPLATE = "Removed regular expense at index %d: %s";
+    public static final String REMOVED_EXPENSES_MESSAGE_TEMPLATE = "Removed %d expenses in one pass";
     public static final String CANNOT_BE_NULL_MESSAGE_TEMPLATE = "%s cannot be null";
     public static final String ADD_RECURRING_SUCCESS_MESSAGE_TEMPLATE = "Recurring expense added successfully: %s";
     public static final String LIST_SUMMARY_SUCCESS_MESSAGE_TEMPLATE = "Summary of expenses: %s";
@@ -135,6 +219,23 @@ public class MessageDisplayer {
     public static final String CAT_AMT_FORMAT = "\n%-17s: $%.2f";
     public static final String GRAND_TOTAL_FORMAT = "\n%-17s: $%.2f";
     public static final String SUMMARY_GRAND_TOTAL = "GRAND TOTAL";
+    public static final String STATS_SUCCESS_MESSAGE_TEMPLATE = "Statistics of expenses: %s";
+    public static final String STATS_RECURRING_SUCCESS_MESSAGE_TEMPLATE = "Statistics of recurring expenses: %s";
+    public static final String STATS_LINE_FORMAT =
+            "\n%-17s: %d expense(s), min $%.2f, median $%.2f, p90 $%.2f, p99 $%.2f, max $%.2f%s";
+    public static final String STATS_OVERALL = "OVERALL";
+    public static final String STATS_APPROXIMATE_SUFFIX = " (approx.)";
+    public static final String TREND_SUCCESS_MESSAGE_TEMPLATE = "Monthly spending trend: %s";
+    public static final String TREND_MONTH_FORMAT = "\n%-17s: $%.2f";
+    public static final String TREND_CATEGORY_FORMAT = "\n    %-13s: $%.2f";
+    public static final String FORECAST_SUCCESS_MESSAGE_TEMPLATE =
+            "Projected recurring spending from tomorrow to the end of the next %d month(s): %s";
+    public static final String FORECAST_MONTH_FORMAT = "\n%-17s: $%.2f";
+    public static final String FORECAST_REST_OF_MONTH_LABEL = "%s (rest)";
+    public static final String FORECAST_BUDGET_LEFT_FORMAT = " ($%.2f of the monthly budget left)";
+    public static final String FORECAST_OVER_BUDGET_FORMAT = " (over the monthly budget by $%.2f)";
+    public static final String FORECAST_CATEGORY_FORMAT = "\n    %-13s: $%.2f";
+    public static final String FORECAST_TOTAL_FORMAT = "\nTotal            : $%.2f";
     public static final String SORT_SUCCESS_MESSAGE_TEMPLATE = "Expenses sorted by %s (%s): %s";
     public static final String SORT_RECUR_SUCCESS_MESSAGE_TEMPLATE = "Recurring expenses sorted by %s (%s): %s";
     public static final String LIST_CATEGORIES_MESSAGE_TEMPLATE = """
@@ -187,7 +288,7 @@ public class MessageDisplayer {
         if (RegularExpenseManager.getInstance().getLength() > 0) {
             System.out.println(String.format(
                     MessageDisplayer.LANDING_MESSAGE_NONEMPTY_LIST,
-                    AppServices.REGULAR_REPORTER.listExpenses()) +
+                    AppServices.regularReporter().listExpenses()) +
                     MessageDisplayer.LINE_SEPARATOR);
         } else {
             System.out.println(MessageDisplayer.LANDING_MESSAGE_EMPTY_LIST +
@@ -220,7 +321,7 @@ public class MessageDisplayer {
         if(RecurringExpenseManager.getInstance().getLength() > 0) {
             System.out.println(String.format(
                     MessageDisplayer.LANDING_MESSAGE_NONEMPTY_RECURRING_MSG,
-                    AppServices.RECURRING_REPORTER.listExpenses()) +
+                    AppServices.recurringReporter().listExpenses()) +
                     MessageDisplayer.LINE_SEPARATOR);
             System.out.println(MessageDisplayer.LANDING_MESSAGE_ADDING_RECURRING_MSG +
                     MessageDisplayer.LINE_SEPARATOR);
@@ -2,26 +2,35 @@
 package fintrek.parser;
 
 import fintrek.command.add.AddParseResult;
+import fintrek.expense.core.RecurrenceRule;
 import fintrek.misc.MessageDisplayer;
 import fintrek.util.InputValidator;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Parses the arguments of {@code /add}:
+ * {@code <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>] [/r <RULE>]}.
+ *
+ * <p>The arguments are split by a hand-written scanner rather than a regular expression, but the
+ * split is the one a regex with a lazy description and greedy amount and category would pick: the
+ * description ends at the first {@code $} that leads to a valid split, and the amount and category
+ * are as long as possible. For ordinary input this is a single left-to-right pass. A trailing
+ * {@code /r} and the single token after it are taken off before the scan when the token is a
+ * {@link RecurrenceRule}; a token starting with {@code FREQ=} that is not one is reported as an invalid
+ * rule, and any other token is left to the scan.</p>
+ */
 public class AddArgumentParser implements CommandParser<ParseResult<AddParseResult>> {
 
     public static final String COMMAND_NAME = "add";
     private static final double MIN_AMOUNT = 0;
     private static final double MAX_AMOUNT = 1_000_000_000;
-    private static final String DESC_PATTERN = "(.+?)\\s*";   // Description
-    private static final String AMOUNT_PATTERN = "\\$\\s*(\\S+)";  // Amount
-    private static final String CATEGORY_PATTERN = "(?:\\s*/c\\s*(\\S+))?"; // Category (optional)
-    private static final String DATE_PATTERN = "(?:\\s*/dt\\s+(\\S+))?"; // Date (optional)
-
-    private static final Pattern ADD_PATTERN = Pattern.compile(
-            "^" + DESC_PATTERN + AMOUNT_PATTERN + CATEGORY_PATTERN + DATE_PATTERN + "$");
+    private static final char AMOUNT_MARKER = '$';
+    private static final char FLAG_START = '/';
+    private static final String CATEGORY_FLAG = "/c";
+    private static final String DATE_FLAG = "/dt";
+    private static final String RULE_FLAG = "/r";
+    private static final String RULE_PREFIX = "FREQ=";
 
 
     @Override
@@ -32,16 +41,29 @@ public class AddArgumentParser implements CommandParser<ParseResult<AddParseResu
             );
         }
 
-        Matcher m = ADD_PATTERN.matcher(input.trim());
-        if (!m.matches()) {
+        String trimmed = input.trim();
+        RecurrenceRule recurrence = null;
+        int ruleFlag = findRuleFlag(trimmed);
+        if (ruleFlag >= 0) {
+            String rule = trimmed.substring(ruleFlag + RULE_FLAG.length()).trim();
+            recurrence = RecurrenceRule.parse(rule);
+            if (recurrence != null) {
+                trimmed = trimmed.substring(0, ruleFlag).trim();
+            } else if (rule.regionMatches(true, 0, RULE_PREFIX, 0, RULE_PREFIX.length())) {
+                return ParseResult.failure(MessageDisplayer.INVALID_RECURRENCE_RULE_MESSAGE);
+            }
+        }
+
+        AddTokens tokens = scan(trimmed);
+        if (tokens == null) {
             String message = String.format(MessageDisplayer.INVALID_FORMAT_MESSAGE_TEMPLATE, COMMAND_NAME);
             return ParseResult.failure(message);
         }
 
-        String description = m.group(1);
-        String amountStr = m.group(2);
-        String category = (m.group(3) != null) ? m.group(3).trim() : "UNCATEGORIZED";
-        String dateStr = m.group(4);
+        String description = tokens.description();
+        String amountStr = tokens.amount();
+        String category = (tokens.category() != null) ? tokens.category() : "UNCATEGORIZED";
+        String dateStr = tokens.date();
 
         if (!InputValidator.isValidStringLength(description)) {
             String message = String.format(MessageDisplayer.STRING_OUT_OF_RANGE_FORMAT_MESSAGE, "Description");
@@ -51,12 +73,9 @@ public class AddArgumentParser implements CommandParser<ParseResult<AddParseResu
             return ParseResult.failure(MessageDisplayer.RESERVED_DESC_ERROR);
         }
 
-        if (!InputValidator.isValidAmountInput(amountStr)) {
-            return ParseResult.failure(MessageDisplayer.INVALID_AMT_MESSAGE);
-        }
-        double amount = Double.parseDouble(amountStr);
-
-        if (!InputValidator.isInValidDoubleRange(amount, MIN_AMOUNT, MAX_AMOUNT)) {
+        double amount = InputValidator.parseAmount(amountStr);
+        if (amount == InputValidator.INVALID_NUMBER
+                || !InputValidator.isInValidDoubleRange(amount, MIN_AMOUNT, MAX_AMOUNT)) {
             return ParseResult.failure(MessageDisplayer.INVALID_AMT_MESSAGE);
         }
         if (!InputValidator.isValidStringLength(category)) {
@@ -70,13 +89,13 @@ public class AddArgumentParser implements CommandParser<ParseResult<AddParseResu
 
         LocalDate date = LocalDate.now();
         if (dateStr != null) {
-            if (!InputValidator.isValidDate(dateStr)) {
+            date = InputValidator.parseDate(dateStr);
+            if (date == null) {
                 return ParseResult.failure(MessageDisplayer.INVALID_DATE_MESSAGE);
             }
-            date = extractDate(dateStr);
         }
 
-        return ParseResult.success(new AddParseResult(description, amount, category, date));
+        return ParseResult.success(new AddParseResult(description, amount, category, date, recurrence));
     }
 
     /**
@@ -87,12 +106,153 @@ public class AddArgumentParser implements CommandParser<ParseResult<AddParseResu
      */
     //@@author edwardrl101
     public LocalDate extractDate(String dateStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        return LocalDate.parse(dateStr, formatter);
+        return LocalDate.parse(dateStr, InputValidator.DATE_FORMATTER);
     }
 
     public String getInvalidStringLengthMessage(String input) {
         String messageArg = input.substring(0, 1).toUpperCase() + input.substring(1);
         return String.format(MessageDisplayer.STRING_OUT_OF_RANGE_FORMAT_MESSAGE, messageArg);
     }
+
+    /**
+     * Returns the position of a {@code /r} flag followed by the last token of trimmed input, or -1.
+     */
+    private static int findRuleFlag(String input) {
+        int tokenStart = input.length();
+        while (tokenStart > 0 && !isWhitespace(input.charAt(tokenStart - 1))) {
+            tokenStart--;
+        }
+        int flagEnd = tokenStart;
+        while (flagEnd > 0 && isWhitespace(input.charAt(flagEnd - 1))) {
+            flagEnd--;
+        }
+        int flag = flagEnd - RULE_FLAG.length();
+        if (flagEnd == tokenStart || flag < 1 || !input.startsWith(RULE_FLAG, flag)
+                || !isWhitespace(input.charAt(flag - 1))) {
+            return -1;
+        }
+        return flag;
+    }
+
+    /**
+     * Splits trimmed input into its description, amount, category and date tokens.
+     *
+     * @param input the trimmed arguments
+     * @return the tokens, or null if the input does not follow the add format
+     */
+    static AddTokens scan(String input) {
+        int checkedUpTo = 0;
+        for (int dollar = input.indexOf(AMOUNT_MARKER, 1); dollar >= 0;
+                dollar = input.indexOf(AMOUNT_MARKER, dollar + 1)) {
+            int descriptionEnd = dollar;
+            while (isWhitespace(input.charAt(descriptionEnd - 1))) {
+                descriptionEnd--;
+            }
+            for (int i = checkedUpTo; i < descriptionEnd; i++) {
+                if (isLineTerminator(input.charAt(i))) {
+                    return null; // The description can never span lines, so no later '$' can match either
+                }
+            }
+            checkedUpTo = descriptionEnd;
+            AddTokens tokens = scanFromAmount(input, input.substring(0, descriptionEnd), dollar + 1);
+            if (tokens != null) {
+                return tokens;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the amount after a {@code $}, preferring the longest amount whose remainder is a valid tail.
+     */
+    private static AddTokens scanFromAmount(String input, String description, int from) {
+        int amountStart = skipWhitespace(input, from);
+        int runEnd = skipNonWhitespace(input, amountStart);
+        for (int amountEnd = runEnd; amountEnd > amountStart; amountEnd--) {
+            // A tail can only start at whitespace (the end of the run) or at a flag.
+            if (amountEnd < runEnd && input.charAt(amountEnd) != FLAG_START) {
+                continue;
+            }
+            AddTokens tokens = scanCategoryAndDate(input, amountEnd);
+            if (tokens != null) {
+                return new AddTokens(description, input.substring(amountStart, amountEnd),
+                        tokens.category(), tokens.date());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the optional {@code /c} and {@code /dt} parts, preferring a category when one fits.
+     */
+    private static AddTokens scanCategoryAndDate(String input, int from) {
+        int flag = skipWhitespace(input, from);
+        if (input.startsWith(CATEGORY_FLAG, flag)) {
+            int categoryStart = skipWhitespace(input, flag + CATEGORY_FLAG.length());
+            int runEnd = skipNonWhitespace(input, categoryStart);
+            for (int categoryEnd = runEnd; categoryEnd > categoryStart; categoryEnd--) {
+                if (categoryEnd < runEnd && input.charAt(categoryEnd) != FLAG_START) {
+                    continue;
+                }
+                AddTokens tokens = scanDate(input, categoryEnd, input.substring(categoryStart, categoryEnd));
+                if (tokens != null) {
+                    return tokens;
+                }
+            }
+        }
+        return scanDate(input, from, null);
+    }
+
+    /**
+     * Reads the optional {@code /dt} part, which must be the last token of the input.
+     */
+    private static AddTokens scanDate(String input, int from, String category) {
+        if (from == input.length()) {
+            return new AddTokens(null, null, category, null);
+        }
+        int flag = skipWhitespace(input, from);
+        if (!input.startsWith(DATE_FLAG, flag)) {
+            return null;
+        }
+        int dateStart = skipWhitespace(input, flag + DATE_FLAG.length());
+        if (dateStart == flag + DATE_FLAG.length() || dateStart == input.length()) {
+            return null;
+        }
+        if (skipNonWhitespace(input, dateStart) != input.length()) {
+            return null;
+        }
+        return new AddTokens(null, null, category, input.substring(dateStart));
+    }
+
+    private static int skipWhitespace(String input, int from) {
+        int i = from;
+        while (i < input.length() && isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipNonWhitespace(String input, int from) {
+        int i = from;
+        while (i < input.length() && !isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Matches the characters of the regex class {@code \s}. */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /** Matches the characters the regex {@code .} does not match. */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * The raw tokens of an add command; the category and date are null when absent.
+     */
+    record AddTokens(String description, String amount, String category, String date) {
+    }
 }
@@ -1,16 +1,23 @@
 package fintrek.parser;
 
 import fintrek.command.registry.CommandExecutor;
+import fintrek.command.registry.CommandRegistry;
 import fintrek.command.registry.CommandResult;
+import fintrek.command.registry.CommandTrie;
+import fintrek.expense.service.UndoHistory;
 import fintrek.misc.MessageDisplayer;
 
 import static fintrek.util.InputValidator.isNullOrBlank;
 
 public class CommandRouter {
+    private static final char COMMAND_PREFIX = '/';
 
     /**
      * The function is to route the arguments onto the right command
-     *                  based on the command extracted from the input
+     *                  based on the command extracted from the input.
+     *                  Changes made by the command form one step of the undo history.
+     *                  The command word is scanned and resolved in one pass, and may be
+     *                  abbreviated to a unique prefix or to the initials of its parts
      * @param userInput contains the command and argument which will
      *                  be routed to the parser and respective commands
      * @return a {@code RouteResult} showing whether it is successful
@@ -21,17 +28,28 @@ public class CommandRouter {
             return new RouteResult(false, MessageDisplayer.NO_COMMAND_MESSAGE);
         }
 
-        String[] tokens = userInput.trim().split("\\s+", 2); // [command, arguments]
-        String commandToken = tokens[0];
-
-        if (!commandToken.startsWith("/")) {
+        String input = userInput.trim();
+        if (input.charAt(0) != COMMAND_PREFIX) {
             return new RouteResult(false, MessageDisplayer.NO_COMMAND_MESSAGE);
         }
 
-        String commandName = commandToken.substring(1);
-        String arguments = (tokens.length > 1) ? tokens[1] : null;
+        CommandTrie.Match match = CommandRegistry.matchCommand(input, 1);
+        if (match.name() == null) {
+            return new RouteResult(false, match.candidates().isEmpty()
+                    ? MessageDisplayer.INVALID_COMMAND_MESSAGE
+                    : String.format(MessageDisplayer.AMBIGUOUS_COMMAND_MESSAGE_TEMPLATE,
+                            input.substring(0, match.end()), "/" + String.join(", /", match.candidates())));
+        }
+
+        String commandName = match.name();
+        int argumentsStart = match.end();
+        while (argumentsStart < input.length() && Character.isWhitespace(input.charAt(argumentsStart))) {
+            argumentsStart++;
+        }
+        String arguments = (argumentsStart < input.length()) ? input.substring(argumentsStart) : null;
 
         CommandResult result = CommandExecutor.dispatch(commandName, arguments);
+        UndoHistory.getInstance().endStep(input);
 
         return new RouteResult(result.isSuccess(), result.message());
     }
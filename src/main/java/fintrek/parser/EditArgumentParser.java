@@ -2,30 +2,36 @@ package fintrek.parser;
 
 import fintrek.command.edit.EditExpenseDescriptor;
 import fintrek.command.edit.EditParseResult;
+import fintrek.expense.service.ExpenseSelection;
 import fintrek.misc.MessageDisplayer;
 import fintrek.util.InputValidator;
 
+import java.time.LocalDate;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Parses user input for the /edit command into a structured EditParseResult.
  * This parser supports editing any subset of the fields: description, amount,
- * category, and date of an existing expense entry, indexed by the user.
+ * category, and date of the expenses chosen by the user, given as an index, a list of ranges
+ * or a filter (see {@link SelectionParser}).
  */
 public class EditArgumentParser implements CommandParser<ParseResult<EditParseResult>> {
     private static final double MAX_AMOUNT = 1_000_000_000;
     private static final double MIN_AMOUNT = 0;
-    private static final String INDEX_PATTERN = "(\\d+)";
+    private static final Set<String> FIELD_FLAGS = Set.of("/d", "/$", "/c", "/dt");
     private static final String DESC_PATTERN = "(?:\\s+/d\\s+([^/$]+))?";
     private static final String AMOUNT_PATTERN = "(?:\\s+/\\$\\s+(\\S+))?";
     private static final String CATEGORY_PATTERN = "(?:\\s+/c\\s+(\\S+))?";
     private static final String DATE_PATTERN = "(?:\\s+/dt\\s+(\\S+))?";
 
-    private static final Pattern EDIT_PATTERN = Pattern.compile(
-            "^" + INDEX_PATTERN + DESC_PATTERN + AMOUNT_PATTERN + CATEGORY_PATTERN + DATE_PATTERN + "$"
+    private static final Pattern FIELDS_PATTERN = Pattern.compile(
+            "^" + DESC_PATTERN + AMOUNT_PATTERN + CATEGORY_PATTERN + DATE_PATTERN + "$"
     );
 
+    private final SelectionParser selectionParser = new SelectionParser();
+
     /**
      * Parses a raw input string for the /edit command.
      * Extracts the index and fields to edit, validates them,
@@ -43,13 +49,20 @@ public class EditArgumentParser implements CommandParser<ParseResult<EditParseRe
             );
         }
 
-        Matcher matcher = EDIT_PATTERN.matcher(input.trim());
+        String trimmed = input.trim();
+        int fieldsStart = findFieldsStart(trimmed);
+        String target = trimmed.substring(0, fieldsStart);
+        ParseResult<ExpenseSelection> selectionResult = selectionParser.parse(target);
+        if (!selectionResult.isSuccess()) {
+            return ParseResult.failure(target.startsWith("/")
+                    ? selectionResult.getError() : MessageDisplayer.EDIT_FORMAT_HINT);
+        }
+
+        Matcher matcher = FIELDS_PATTERN.matcher(trimmed.substring(fieldsStart));
         if (!matcher.matches()) {
             return ParseResult.failure(MessageDisplayer.EDIT_FORMAT_HINT);
         }
 
-        int zeroBaseIndex = Integer.parseInt(matcher.group(1)) - 1;
-
         ParseResult<EditExpenseDescriptor> descriptorResult = extractDescriptor(matcher);
         if (!descriptorResult.isSuccess()) {
             return ParseResult.failure(descriptorResult.getError());
@@ -60,14 +73,35 @@ public class EditArgumentParser implements CommandParser<ParseResult<EditParseRe
             return ParseResult.failure(MessageDisplayer.EDIT_NO_FIELD_PROVIDED_MSG);
         }
 
-        return ParseResult.success(new EditParseResult(zeroBaseIndex, descriptor));
+        return ParseResult.success(new EditParseResult(selectionResult.getResult(), descriptor));
+    }
+
+    /**
+     * Returns the position of the whitespace before the first field flag, which is where the
+     * target ends, or the length of the input if it has no field flag.
+     */
+    private static int findFieldsStart(String input) {
+        int i = 0;
+        while (i < input.length()) {
+            int tokenStart = i;
+            while (i < input.length() && !Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (tokenStart > 0 && FIELD_FLAGS.contains(input.substring(tokenStart, i))) {
+                return tokenStart - 1;
+            }
+            while (i < input.length() && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+        }
+        return input.length();
     }
 
     /**
      * Extracts and validates each editable field (description, amount,
      * category, date) from the regex matcher.
      *
-     * @param matcher the regex matcher with parsed groups
+     * @param matcher the regex matcher with parsed field groups
      * @return a successful ParseResult containing EditExpenseDescriptor if valid,
      *         or a failed ParseResult with an error message if any field is invalid
      */
@@ -76,22 +110,22 @@ public class EditArgumentParser implements CommandParser<ParseResult<EditParseRe
 
         ParseResult<?> result;
 
-        result = trySetDescription(descriptor, matcher.group(2));
+        result = trySetDescription(descriptor, matcher.group(1));
         if (!result.isSuccess()) {
             return ParseResult.failure(result.getError());
         }
 
-        result = trySetAmount(descriptor, matcher.group(3));
+        result = trySetAmount(descriptor, matcher.group(2));
         if (!result.isSuccess()) {
             return ParseResult.failure(result.getError());
         }
 
-        result = trySetCategory(descriptor, matcher.group(4));
+        result = trySetCategory(descriptor, matcher.group(3));
         if (!result.isSuccess()) {
             return ParseResult.failure(result.getError());
         }
 
-        result = trySetDate(descriptor, matcher.group(5));
+        result = trySetDate(descriptor, matcher.group(4));
         if (!result.isSuccess()) {
             return ParseResult.failure(result.getError());
         }
@@ -129,10 +163,11 @@ public class EditArgumentParser implements CommandParser<ParseResult<EditParseRe
         if (amountStr == null) {
             return ParseResult.success(null);
         }
-        if (!InputValidator.isValidAmountInput(amountStr)) {
+        double amount = InputValidator.parseAmount(amountStr);
+        if (amount == InputValidator.INVALID_NUMBER) {
             return ParseResult.failure(MessageDisplayer.INVALID_AMT_MESSAGE);
         }
-        descriptor.setAmount(amountStr);
+        descriptor.setAmount(amount);
         if (!InputValidator.isInValidDoubleRange(descriptor.getAmount(), MIN_AMOUNT, MAX_AMOUNT)) {
             return ParseResult.failure(MessageDisplayer.INVALID_AMT_MESSAGE);
         }
@@ -173,10 +208,11 @@ public class EditArgumentParser implements CommandParser<ParseResult<EditParseRe
         if (dateStr == null) {
             return ParseResult.success(null);
         }
-        if (!InputValidator.isValidDate(dateStr)) {
+        LocalDate date = InputValidator.parseDate(dateStr);
+        if (date == null) {
             return ParseResult.failure(MessageDisplayer.INVALID_DATE_MESSAGE);
         }
-        descriptor.setDate(dateStr);
+        descriptor.setDate(date);
         return ParseResult.success(null);
     }
 }
@@ -3,19 +3,30 @@ package fintrek.parser;
 import fintrek.budget.core.BudgetManager;
 import fintrek.expense.core.CategoryManager;
 import fintrek.expense.core.Expense;
+import fintrek.expense.core.Occurrence;
 import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.RecurrenceRule;
 import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.RecurringScheduler;
 import fintrek.misc.MessageDisplayer;
 import fintrek.util.InputValidator;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Parses saved expense file data into an Expense object.
  */
 public class FileDataParser implements CommandParser<ParseResult<Void>> {
 
+    public static final String RECURRING_CHECKED_PREFIX = "Recurring Expenses Checked: ";
+    public static final String ID_PREFIX = "ID=";
+    public static final String SOURCE_PREFIX = "FROM=";
+
+    private static final String RECURRING_MARKER = "R";
+    private static final char SOURCE_DATE_SEPARATOR = '@';
+    private static final int HEX_RADIX = 16;
+
     private static final FileDataParser INSTANCE = new FileDataParser(); // singleton
 
     /**
@@ -37,10 +48,10 @@ public class FileDataParser implements CommandParser<ParseResult<Void>> {
      */
     public ParseResult<Void> parseBudgetFromLine(String line) {
         String budgetStr = line.substring("Monthly Budget: $".length()).trim();
-        if(!InputValidator.isValidPositiveDouble(budgetStr)) {
+        double budget = InputValidator.parseAmount(budgetStr);
+        if (budget <= 0) {
             return ParseResult.failure(MessageDisplayer.INVALID_LOAD_BUDGET_AMOUNT_MESSAGE);
         }
-        double budget = Double.parseDouble(budgetStr);
         BudgetManager.getInstance().setBudget(budget);
         return ParseResult.success(null);
     }
@@ -87,6 +98,20 @@ public class FileDataParser implements CommandParser<ParseResult<Void>> {
         return line.startsWith("Custom Categories: ");
     }
 
+    /**
+     * Parses the day recurring expenses were last inserted, saved in the .txt file
+     * @param line a line of the format "Recurring Expenses Checked: DATE"
+     * @return ParseResult signifying if the day can be parsed properly
+     */
+    public ParseResult<Void> parseRecurringCheckedFromLine(String line) {
+        LocalDate date = InputValidator.parseDate(line.substring(RECURRING_CHECKED_PREFIX.length()).trim());
+        if (date == null) {
+            return ParseResult.failure(MessageDisplayer.INVALID_DATE_DATA_MESSAGE);
+        }
+        RecurringScheduler.getInstance().setLastRun(date);
+        return ParseResult.success(null);
+    }
+
     /**
      * This function is to parse an expense saved in the .txt file
      * @param fileData the raw input string (e.g. user command arguments)
@@ -105,7 +130,11 @@ public class FileDataParser implements CommandParser<ParseResult<Void>> {
             return parseCategoryFromLine(fileData);
         }
 
-        String[] tokens = fileData.trim().split("\\|", 5);
+        if (fileData.startsWith(RECURRING_CHECKED_PREFIX)) {
+            return parseRecurringCheckedFromLine(fileData);
+        }
+
+        String[] tokens = fileData.trim().split("\\|", 7);
         if (tokens.length < 2) {
             return ParseResult.failure(MessageDisplayer.EMPTY_AMOUNT_DATA_MESSAGE);
         }
@@ -125,7 +154,9 @@ public class FileDataParser implements CommandParser<ParseResult<Void>> {
      * This function process all the variables in the form of an array
      *               needed to create a new expense
      * @param tokens contain the variables such as description, amount,
-     *               category and date
+     *               category and date, followed by the recurrence rule if it is not monthly,
+     *               the id and "R" for a recurring expense, or the occurrence it was inserted for
+     *               for a regular expense
      * @return the ParseResult which depends on whether the processing
      *               is successful or failed
      */
@@ -134,24 +165,50 @@ public class FileDataParser implements CommandParser<ParseResult<Void>> {
         String amountStr = tokens[1].trim().substring(1);
         String category = tokens[2].trim();
         String dateStr = tokens[3].trim();
-        boolean isRecurring = tokens.length == 5 && tokens[4].trim().equals("R");
+        boolean isRecurring = tokens.length >= 5 && tokens[tokens.length - 1].trim().equals(RECURRING_MARKER);
+        int optionsEnd = isRecurring ? tokens.length - 1 : tokens.length;
+        RecurrenceRule recurrence = null;
+        Long id = null;
+        Occurrence source = null;
+        for (int i = 4; i < optionsEnd; i++) {
+            String token = tokens[i].trim();
+            if (isRecurring && id == null && token.startsWith(ID_PREFIX)) {
+                id = parseId(token.substring(ID_PREFIX.length()));
+                if (id == null) {
+                    return ParseResult.failure(MessageDisplayer.INVALID_EXPENSE_ID_DATA_MESSAGE);
+                }
+            } else if (!isRecurring && source == null && token.startsWith(SOURCE_PREFIX)) {
+                source = parseSource(token.substring(SOURCE_PREFIX.length()));
+                if (source == null) {
+                    return ParseResult.failure(MessageDisplayer.INVALID_EXPENSE_ID_DATA_MESSAGE);
+                }
+            } else if (isRecurring && recurrence == null && id == null) {
+                recurrence = RecurrenceRule.parse(token);
+                if (recurrence == null) {
+                    return ParseResult.failure(MessageDisplayer.INVALID_RECURRENCE_RULE_DATA_MESSAGE);
+                }
+            } else {
+                return ParseResult.failure(MessageDisplayer.INVALID_RECURRENCE_RULE_DATA_MESSAGE);
+            }
+        }
 
         if (InputValidator.isNullOrBlank(description)) {
             return ParseResult.failure(MessageDisplayer.EMPTY_DESC_DATA_MESSAGE);
         }
 
-        if (!InputValidator.isValidPositiveDouble(amountStr)) {
+        double amount = InputValidator.parseAmount(amountStr);
+        if (amount <= 0) {
             return ParseResult.failure(MessageDisplayer.INVALID_AMT_DATA_MESSAGE);
         }
 
-        double amount = Double.parseDouble(amountStr);
-
-        if (!InputValidator.isValidDate(dateStr)) {
+        LocalDate date = InputValidator.parseDate(dateStr);
+        if (date == null) {
             return ParseResult.failure(MessageDisplayer.INVALID_DATE_DATA_MESSAGE);
         }
 
-        LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-        Expense newExpense = new Expense(description, amount, category, date);
+        // Recurring expenses saved before they had ids get a new one, which is saved with them next time
+        long expenseId = (id != null) ? id : ThreadLocalRandom.current().nextLong();
+        Expense newExpense = new Expense(description, amount, category, date, recurrence, expenseId, source);
         if(isRecurring) {
             RecurringExpenseManager.getInstance().add(newExpense);
         } else {
@@ -159,4 +216,33 @@ public class FileDataParser implements CommandParser<ParseResult<Void>> {
         }
         return ParseResult.success(null);
     }
+
+    /**
+     * Reads an id saved in hexadecimal.
+     * @return the id, or null if the text is not one
+     */
+    private static Long parseId(String hex) {
+        if (hex.isEmpty() || hex.length() > Long.BYTES * 2) {
+            return null;
+        }
+        try {
+            return Long.parseUnsignedLong(hex, HEX_RADIX);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads an occurrence saved as "ID@DATE".
+     * @return the occurrence, or null if the text is not one
+     */
+    private static Occurrence parseSource(String text) {
+        int separator = text.indexOf(SOURCE_DATE_SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        Long sourceId = parseId(text.substring(0, separator));
+        LocalDate date = InputValidator.parseDate(text.substring(separator + 1));
+        return (sourceId == null || date == null) ? null : new Occurrence(sourceId, date);
+    }
 }
@@ -0,0 +1,185 @@
+package fintrek.parser;
+
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.service.ExpenseQuery;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Parses the arguments of /find into an {@link ExpenseQuery}.
+ *
+ * <p>A query is a whitespace-separated list of terms, each of the form {@code <KEY><OP><VALUE>}:
+ * <ul>
+ *   <li>{@code category=<CATEGORY>}</li>
+ *   <li>{@code amount} and {@code date} with any of {@code =}, {@code >}, {@code >=}, {@code <}
+ *       and {@code <=}, dates being written as DD-MM-YYYY</li>
+ *   <li>{@code desc~<TEXT>} for a description containing the text, or {@code desc=<TEXT>} for an
+ *       exact description, ignoring case</li>
+ *   <li>{@code sort=<KEY>[:asc|:dsc][,<KEY>[:asc|:dsc]...]} with keys amount, date, category and desc</li>
+ *   <li>{@code limit=<N>}</li>
+ * </ul>
+ * Every condition must hold, and category, sort and limit may each be given at most once.
+ * An empty query matches every expense.</p>
+ */
+public class QueryParser implements CommandParser<ParseResult<ExpenseQuery>> {
+    private static final String CATEGORY_KEY = "category";
+    private static final String SORT_KEY = "sort";
+    private static final String LIMIT_KEY = "limit";
+    private static final Set<String> SINGLE_USE_KEYS = Set.of(CATEGORY_KEY, SORT_KEY, LIMIT_KEY);
+    private static final String[] OPERATORS = {">=", "<=", "=", "<", ">", "~"};
+    private static final String SORT_KEY_SEPARATOR = ",";
+    private static final String SORT_DIRECTION_SEPARATOR = ":";
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "dsc";
+
+    /**
+     * Parses a query.
+     *
+     * @param input the raw query, e.g. {@code category=FOOD amount>20 sort=amount:dsc limit=20}
+     * @return a successful ParseResult containing the query,
+     *         or a failed ParseResult with an error message naming the first invalid term
+     */
+    @Override
+    public ParseResult<ExpenseQuery> parse(String input) {
+        ExpenseQuery query = new ExpenseQuery();
+        if (InputValidator.isNullOrBlank(input)) {
+            return ParseResult.success(query);
+        }
+        Set<String> usedKeys = new HashSet<>();
+        for (String term : input.trim().split("\\s+")) {
+            String operator = findOperator(term);
+            if (operator == null) {
+                return invalidTerm(term);
+            }
+            int operatorIndex = term.indexOf(operator);
+            String key = term.substring(0, operatorIndex).toLowerCase();
+            String value = term.substring(operatorIndex + operator.length());
+            if (value.isEmpty() || (SINGLE_USE_KEYS.contains(key) && !usedKeys.add(key))) {
+                return invalidTerm(term);
+            }
+            if (key.equals(CATEGORY_KEY) && !InputValidator.isValidCategory(value)) {
+                return ParseResult.failure(String.format(MessageDisplayer.INVALID_CATEGORY_MESSAGE, value));
+            }
+            boolean isApplied = switch (key) {
+            case CATEGORY_KEY -> operator.equals("=") && setCategory(query, value);
+            case "amount" -> parseAmount(query, operator, value);
+            case "date" -> parseDate(query, operator, value);
+            case "desc" -> parseDescription(query, operator, value);
+            case SORT_KEY -> operator.equals("=") && parseSort(query, value);
+            case LIMIT_KEY -> operator.equals("=") && parseLimit(query, value);
+            default -> false;
+            };
+            if (!isApplied) {
+                return invalidTerm(term);
+            }
+        }
+        return ParseResult.success(query);
+    }
+
+    /**
+     * Returns the first operator in the term, preferring two-character operators at the same position.
+     */
+    private static String findOperator(String term) {
+        for (int i = 1; i < term.length(); i++) {
+            for (String operator : OPERATORS) {
+                if (term.startsWith(operator, i)) {
+                    return operator;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ParseResult<ExpenseQuery> invalidTerm(String term) {
+        return ParseResult.failure(String.format(MessageDisplayer.INVALID_QUERY_TERM_MESSAGE, term));
+    }
+
+    private static boolean setCategory(ExpenseQuery query, String value) {
+        query.setCategoryId(CategoryManager.getCategoryId(value));
+        return true;
+    }
+
+    private static boolean parseAmount(ExpenseQuery query, String operator, String value) {
+        double amount = InputValidator.parseAmount(value);
+        if (amount == InputValidator.INVALID_NUMBER) {
+            return false;
+        }
+        return restrict(operator, Math.round(amount * 100), query::restrictAmountCents);
+    }
+
+    private static boolean parseDate(ExpenseQuery query, String operator, String value) {
+        LocalDate date = InputValidator.parseDate(value);
+        if (date == null) {
+            return false;
+        }
+        return restrict(operator, date.toEpochDay(), query::restrictEpochDays);
+    }
+
+    /**
+     * Turns a comparison against a whole number into an inclusive range.
+     */
+    private static boolean restrict(String operator, long bound, RangeSetter setter) {
+        switch (operator) {
+        case "=" -> setter.restrict(bound, bound);
+        case ">" -> setter.restrict(bound + 1, Long.MAX_VALUE);
+        case ">=" -> setter.restrict(bound, Long.MAX_VALUE);
+        case "<" -> setter.restrict(Long.MIN_VALUE, bound - 1);
+        case "<=" -> setter.restrict(Long.MIN_VALUE, bound);
+        default -> {
+            return false;
+        }
+        }
+        return true;
+    }
+
+    private static boolean parseDescription(ExpenseQuery query, String operator, String value) {
+        if (operator.equals("~")) {
+            query.addDescriptionPart(value);
+            return true;
+        }
+        if (operator.equals("=")) {
+            query.setDescriptionEquals(value);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean parseSort(ExpenseQuery query, String value) {
+        for (String item : value.split(SORT_KEY_SEPARATOR, -1)) {
+            String[] parts = item.split(SORT_DIRECTION_SEPARATOR, -1);
+            if (parts.length > 2) {
+                return false;
+            }
+            ExpenseQuery.SortKey key;
+            try {
+                key = ExpenseQuery.SortKey.valueOf(parts[0].toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            String direction = (parts.length == 2) ? parts[1].toLowerCase() : ASCENDING;
+            if (!direction.equals(ASCENDING) && !direction.equals(DESCENDING)) {
+                return false;
+            }
+            query.addSortKey(key, direction.equals(DESCENDING));
+        }
+        return true;
+    }
+
+    private static boolean parseLimit(ExpenseQuery query, String value) {
+        int limit = InputValidator.parsePositiveInteger(value);
+        if (limit == InputValidator.INVALID_NUMBER) {
+            return false;
+        }
+        query.setLimit(limit);
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface RangeSetter {
+        void restrict(long min, long max);
+    }
+}
@@ -0,0 +1,136 @@
+package fintrek.parser;
+
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.service.ExpenseSelection;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Parses the target of a bulk /delete or /edit into an {@link ExpenseSelection}.
+ *
+ * <p>A target is either a comma-separated list of 1-based indices and inclusive ranges, e.g.
+ * {@code 2}, {@code 3-50} or {@code 1,4,10-12}, or a combination of filters:
+ * {@code /in <CATEGORY>}, {@code /from <DATE>}, {@code /to <DATE>} and {@code /has <TEXT>}.
+ * The text of {@code /has} runs up to the next filter.</p>
+ */
+public class SelectionParser implements CommandParser<ParseResult<ExpenseSelection>> {
+    public static final String CATEGORY_FILTER = "/in";
+    public static final String FROM_FILTER = "/from";
+    public static final String TO_FILTER = "/to";
+    public static final String DESCRIPTION_FILTER = "/has";
+
+    private static final String LIST_SEPARATOR = ",";
+    private static final char RANGE_SEPARATOR = '-';
+    private static final int ANY_CATEGORY = -1;
+
+    /**
+     * Parses a target.
+     *
+     * @param input the raw target, e.g. {@code 3-50} or {@code /in food /from 01-03-2025}
+     * @return a successful ParseResult containing the selection,
+     *         or a failed ParseResult with an error message if the target is invalid
+     */
+    @Override
+    public ParseResult<ExpenseSelection> parse(String input) {
+        if (InputValidator.isNullOrBlank(input)) {
+            return ParseResult.failure(MessageDisplayer.IDX_EMPTY_MESSAGE);
+        }
+        String target = input.trim();
+        return target.startsWith("/") ? parseFilters(target) : parseIndices(target);
+    }
+
+    private ParseResult<ExpenseSelection> parseIndices(String target) {
+        if (InputValidator.containsWhiteSpace(target)) {
+            return ParseResult.failure(MessageDisplayer.INVALID_IDX_FORMAT_MESSAGE);
+        }
+        String[] items = target.split(LIST_SEPARATOR, -1);
+        int[] ranges = new int[2 * items.length];
+        for (int i = 0; i < items.length; i++) {
+            int separator = items[i].indexOf(RANGE_SEPARATOR);
+            int start = InputValidator.parsePositiveInteger(
+                    (separator < 0) ? items[i] : items[i].substring(0, separator));
+            int end = (separator < 0) ? start : InputValidator.parsePositiveInteger(items[i].substring(separator + 1));
+            if (start == InputValidator.INVALID_NUMBER || end == InputValidator.INVALID_NUMBER || start > end) {
+                return ParseResult.failure(MessageDisplayer.INVALID_IDX_FORMAT_MESSAGE);
+            }
+            ranges[2 * i] = start;
+            ranges[2 * i + 1] = end;
+        }
+        return ParseResult.success(ExpenseSelection.ofRanges(ranges));
+    }
+
+    private ParseResult<ExpenseSelection> parseFilters(String target) {
+        String[] tokens = target.split("\\s+");
+        String category = null;
+        String from = null;
+        String to = null;
+        String descriptionPart = null;
+        int i = 0;
+        while (i < tokens.length) {
+            String flag = tokens[i++];
+            int valueStart = i;
+            if (flag.equals(DESCRIPTION_FILTER)) {
+                while (i < tokens.length && !isFilter(tokens[i])) {
+                    i++;
+                }
+            } else if (i < tokens.length && !isFilter(tokens[i])) {
+                i++;
+            }
+            if (i == valueStart) {
+                return ParseResult.failure(MessageDisplayer.INVALID_FILTER_MESSAGE);
+            }
+            String value = String.join(" ", Arrays.copyOfRange(tokens, valueStart, i));
+            if (flag.equals(CATEGORY_FILTER) && category == null) {
+                category = value;
+            } else if (flag.equals(FROM_FILTER) && from == null) {
+                from = value;
+            } else if (flag.equals(TO_FILTER) && to == null) {
+                to = value;
+            } else if (flag.equals(DESCRIPTION_FILTER) && descriptionPart == null) {
+                descriptionPart = value;
+            } else {
+                return ParseResult.failure(MessageDisplayer.INVALID_FILTER_MESSAGE);
+            }
+        }
+        return buildFilter(category, from, to, descriptionPart);
+    }
+
+    private ParseResult<ExpenseSelection> buildFilter(String category, String from, String to,
+            String descriptionPart) {
+        int categoryId = ANY_CATEGORY;
+        if (category != null) {
+            if (!InputValidator.isValidCategory(category)) {
+                return ParseResult.failure(String.format(MessageDisplayer.INVALID_CATEGORY_MESSAGE, category));
+            }
+            categoryId = CategoryManager.getCategoryId(category);
+        }
+        long fromDay = Long.MIN_VALUE;
+        long toDay = Long.MAX_VALUE;
+        if (from != null) {
+            LocalDate date = InputValidator.parseDate(from);
+            if (date == null) {
+                return ParseResult.failure(MessageDisplayer.INVALID_DATE_MESSAGE);
+            }
+            fromDay = date.toEpochDay();
+        }
+        if (to != null) {
+            LocalDate date = InputValidator.parseDate(to);
+            if (date == null) {
+                return ParseResult.failure(MessageDisplayer.INVALID_DATE_MESSAGE);
+            }
+            toDay = date.toEpochDay();
+        }
+        if (fromDay > toDay) {
+            return ParseResult.failure(MessageDisplayer.INVALID_FILTER_DATE_RANGE_MESSAGE);
+        }
+        return ParseResult.success(ExpenseSelection.ofFilter(categoryId, fromDay, toDay, descriptionPart));
+    }
+
+    private static boolean isFilter(String token) {
+        return token.equals(CATEGORY_FILTER) || token.equals(FROM_FILTER) || token.equals(TO_FILTER)
+                || token.equals(DESCRIPTION_FILTER);
+    }
+}
@@ -0,0 +1,426 @@
+package fintrek.ui;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import fintrek.budget.core.BudgetManager;
+import fintrek.data.DataHandler;
+import fintrek.expense.core.Expense;
+import fintrek.expense.service.AppServices;
+import fintrek.expense.service.ExpenseReporter;
+import fintrek.expense.service.ExpenseService;
+import fintrek.expense.service.RecurringScheduler;
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerContext;
+import fintrek.misc.MessageDisplayer;
+import fintrek.parser.CommandRouter;
+import fintrek.parser.RouteResult;
+import fintrek.util.InputValidator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the ledger as JSON over HTTP on the loopback address, using the JDK's built-in server.
+ *
+ * <p>Read endpoints report through {@link ExpenseReporter}:
+ * <ul>
+ *   <li>{@code GET /api/expenses} and {@code GET /api/recurring} list the expenses</li>
+ *   <li>{@code GET /api/total} gives the total, count and average of regular expenses</li>
+ *   <li>{@code GET /api/summary} gives the total of each category</li>
+ *   <li>{@code GET /api/budget-left} gives the monthly budget and what is left of it</li>
+ * </ul>
+ * Write endpoints take a flat JSON object and run the matching command, exactly as if it had been
+ * typed, so they are validated, undoable and saved like any other command:
+ * <ul>
+ *   <li>{@code POST /api/expenses} and {@code POST /api/recurring} add an expense from
+ *       {@code description}, {@code amount} and optionally {@code category} and {@code date}</li>
+ *   <li>{@code PATCH /api/expenses/<INDEX>} edits the given fields of an expense</li>
+ *   <li>{@code DELETE /api/expenses/<INDEX>} deletes an expense</li>
+ * </ul></p>
+ *
+ * <p>Every read response carries an ETag made from the modification counters of the two expense
+ * collections and the budget, so a client polling with {@code If-None-Match} gets an empty
+ * {@code 304 Not Modified} until something changes, without the response being built. As the
+ * counters start over whenever a ledger is loaded, the tag also holds a random number chosen when the
+ * process starts and the {@link Ledger#getInstanceNumber() instance number} of the ledger, so a tag
+ * from before a restart or reload never matches. Responses of
+ * at least {@link #GZIP_MIN_BYTES} bytes are compressed for clients that accept gzip.</p>
+ *
+ * <p>Requests are handled on a pool of threads. Reads run in parallel under the consistency model
+ * of {@link fintrek.expense.core.ExpenseOperation}; writes run one at a time, as do the periodic
+ * insertions of recurring expenses that fall due while the server runs.</p>
+ */
+public class ApiServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final int GZIP_MIN_BYTES = 1024;
+
+    private static final Logger logger = Logger.getLogger(ApiServer.class.getName());
+    private static final String BASE_PATH = "/api/";
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final String GZIP = "gzip";
+    private static final String GZIP_TAG_SUFFIX = "-gzip";
+    private static final int NO_BODY = -1;
+    private static final String PROCESS_TAG = Long.toHexString(new SecureRandom().nextLong());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService recurringTimer = Executors.newSingleThreadScheduledExecutor();
+    private final Runnable saveAction;
+    private final Object writeLock = new Object();
+
+    /**
+     * Creates a server on the given address. It does not accept requests until started.
+     *
+     * @param address the address to listen on
+     * @param saveAction persists the current state after a successful write, e.g. {@link DataHandler#saveData()}
+     * @throws IOException if the address cannot be bound
+     */
+    public ApiServer(InetSocketAddress address, Runnable saveAction) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.saveAction = saveAction;
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Loads the save file and serves it until the process is stopped.
+     *
+     * @param port the port to listen on, or null for {@link #DEFAULT_PORT}
+     */
+    public static void launch(String port) {
+        DataHandler.loadData();
+        RecurringScheduler.getInstance().runDue(LocalDate.now());
+        try {
+            int portNumber = (port == null) ? DEFAULT_PORT : Integer.parseInt(port);
+            ApiServer api = new ApiServer(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), portNumber), DataHandler::saveData);
+            Runtime.getRuntime().addShutdownHook(new Thread(api::stop));
+            api.start();
+            System.out.println(String.format(MessageDisplayer.API_LISTENING_MESSAGE, api.getPort()));
+        } catch (IOException | NumberFormatException e) {
+            System.out.println(MessageDisplayer.SERVER_ERROR_MESSAGE + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts accepting requests in the background.
+     */
+    public void start() {
+        server.start();
+        recurringTimer.scheduleWithFixedDelay(this::runDueRecurringExpenses, RecurringScheduler.CHECK_INTERVAL_MINUTES,
+                RecurringScheduler.CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops accepting requests, letting those in progress finish.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        recurringTimer.shutdown();
+    }
+
+    private void runDueRecurringExpenses() {
+        synchronized (writeLock) {
+            if (RecurringScheduler.getInstance().runDue(LocalDate.now()) > 0) {
+                saveAction.run();
+            }
+        }
+    }
+
+    /**
+     * Returns the port the server listens on, which is useful when it was created on port 0.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "API request failed", e);
+                sendError(exchange, 500, MessageDisplayer.API_INTERNAL_ERROR_MESSAGE);
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().substring(BASE_PATH.length()).split("/", -1);
+        String method = exchange.getRequestMethod();
+        if (path.length == 1 && method.equals("GET")) {
+            handleRead(exchange, path[0]);
+        } else if (path.length == 1 && method.equals("POST") && isCollection(path[0])) {
+            handleAdd(exchange, path[0].equals("recurring"));
+        } else if (path.length == 2 && isCollection(path[0])
+                && (method.equals("PATCH") || method.equals("DELETE"))) {
+            handleChange(exchange, path[0].equals("recurring"), path[1]);
+        } else {
+            sendError(exchange, 404, String.format(MessageDisplayer.API_NOT_FOUND_MESSAGE, method,
+                    exchange.getRequestURI().getPath()));
+        }
+    }
+
+    private static boolean isCollection(String name) {
+        return name.equals("expenses") || name.equals("recurring");
+    }
+
+    private void handleRead(HttpExchange exchange, String resource) throws IOException {
+        ExpenseReporter reporter = AppServices.regularReporter();
+        Supplier<String> body = switch (resource) {
+        case "expenses" -> () -> expensesJson(AppServices.regularService(), false);
+        case "recurring" -> () -> expensesJson(AppServices.recurringService(), true);
+        case "total" -> () -> totalJson(reporter, AppServices.regularService());
+        case "summary" -> () -> summaryJson(reporter);
+        case "budget-left" -> () -> budgetLeftJson(reporter);
+        default -> null;
+        };
+        if (body == null) {
+            sendError(exchange, 404, String.format(MessageDisplayer.API_NOT_FOUND_MESSAGE, "GET",
+                    exchange.getRequestURI().getPath()));
+            return;
+        }
+        String version = getLedgerVersion();
+        if (isNotModified(exchange, version)) {
+            exchange.getResponseHeaders().set("ETag", quoteTag(version, false));
+            // The JDK 17 server drops the connection after a 304; say so, or clients try to reuse it
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(304, NO_BODY);
+            return;
+        }
+        send(exchange, 200, body.get(), version);
+    }
+
+    private static String expensesJson(ExpenseService service, boolean isRecurring) {
+        List<Expense> expenses = service.getAllExpenses();
+        StringBuilder json = new StringBuilder("{\"expenses\":[");
+        for (int i = 0; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"index\":").append(i + 1)
+                    .append(",\"description\":").append(Json.quote(expense.getDescription()))
+                    .append(",\"amount\":").append(Json.cents(expense.getAmountCents()))
+                    .append(",\"category\":").append(Json.quote(expense.getCategory().toUpperCase()))
+                    .append(",\"date\":").append(Json.quote(expense.getDate().format(InputValidator.DATE_FORMATTER)));
+            if (isRecurring) {
+                json.append(",\"rule\":").append(Json.quote(expense.getRecurrence().toString()));
+            }
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String totalJson(ExpenseReporter reporter, ExpenseService service) {
+        return "{\"total\":" + Json.dollars(reporter.getTotal()) + ",\"count\":" + service.countExpenses()
+                + ",\"average\":" + Json.dollars(reporter.getAverage()) + "}";
+    }
+
+    private static String summaryJson(ExpenseReporter reporter) {
+        StringBuilder json = new StringBuilder("{\"categories\":{");
+        String separator = "";
+        for (Map.Entry<String, Double> entry : new TreeMap<>(reporter.getTotalByCategory()).entrySet()) {
+            json.append(separator).append(Json.quote(entry.getKey()))
+                    .append(':').append(Json.dollars(entry.getValue()));
+            separator = ",";
+        }
+        return json.append("},\"total\":").append(Json.dollars(reporter.getTotal())).append('}').toString();
+    }
+
+    private static String budgetLeftJson(ExpenseReporter reporter) {
+        double budget = BudgetManager.getInstance().getBudget();
+        double spent = reporter.getTotal();
+        return "{\"budget\":" + Json.dollars(budget) + ",\"spent\":" + Json.dollars(spent)
+                + ",\"left\":" + Json.dollars(budget - spent) + "}";
+    }
+
+    private void handleAdd(HttpExchange exchange, boolean isRecurring) throws IOException {
+        Map<String, String> fields = readFields(exchange);
+        if (fields == null || !checkFieldValues(exchange, fields)) {
+            return;
+        }
+        for (String required : List.of("description", "amount")) {
+            if (!fields.containsKey(required)) {
+                sendError(exchange, 400, String.format(MessageDisplayer.API_MISSING_FIELD_MESSAGE, required));
+                return;
+            }
+        }
+        String amount = fields.get("amount");
+        StringBuilder command = new StringBuilder(isRecurring ? "/add-recurring " : "/add ")
+                .append(fields.get("description"))
+                .append(amount.startsWith("$") ? " " : " $").append(amount);
+        appendFlag(command, "/c", fields.get("category"));
+        appendFlag(command, "/dt", fields.get("date"));
+        appendFlag(command, "/r", fields.get("rule"));
+        runCommand(exchange, command.toString(), 201);
+    }
+
+    private void handleChange(HttpExchange exchange, boolean isRecurring, String indexStr) throws IOException {
+        int index = InputValidator.parsePositiveInteger(indexStr);
+        if (index == InputValidator.INVALID_NUMBER) {
+            sendError(exchange, 400, String.format(MessageDisplayer.API_INVALID_INDEX_MESSAGE, indexStr));
+            return;
+        }
+        String suffix = isRecurring ? "-recurring " : " ";
+        if (exchange.getRequestMethod().equals("DELETE")) {
+            runCommand(exchange, "/delete" + suffix + index, 200);
+            return;
+        }
+        Map<String, String> fields = readFields(exchange);
+        if (fields == null || !checkFieldValues(exchange, fields)) {
+            return;
+        }
+        StringBuilder command = new StringBuilder("/edit").append(suffix).append(index);
+        appendFlag(command, "/d", fields.get("description"));
+        String amount = fields.get("amount");
+        appendFlag(command, "/$", (amount != null && amount.startsWith("$")) ? amount.substring(1) : amount);
+        appendFlag(command, "/c", fields.get("category"));
+        appendFlag(command, "/dt", fields.get("date"));
+        runCommand(exchange, command.toString(), 200);
+    }
+
+    /**
+     * Answers with an error and returns false if a field value would add flags of its own to the
+     * command it is copied into: a word starting with {@code /}, or a {@code $} other than the one
+     * an amount may start with.
+     */
+    private static boolean checkFieldValues(HttpExchange exchange, Map<String, String> fields) throws IOException {
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String value = field.getValue().trim();
+            if (field.getKey().equals("amount") && value.startsWith("$")) {
+                value = value.substring(1);
+            }
+            boolean hasFlag = Arrays.stream(value.split("\\s+")).anyMatch(word -> word.startsWith("/"));
+            if (hasFlag || value.contains("$")) {
+                sendError(exchange, 400, String.format(MessageDisplayer.API_INVALID_FIELD_MESSAGE, field.getKey()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendFlag(StringBuilder command, String flag, String value) {
+        if (value != null) {
+            command.append(' ').append(flag).append(' ').append(value);
+        }
+    }
+
+    /**
+     * Reads the request body as a flat JSON object whose values fit on one line, or answers with
+     * an error and returns null.
+     */
+    private static Map<String, String> readFields(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            Map<String, String> fields = Json.parseObject(body);
+            if (fields.values().stream().noneMatch(value -> value.contains("\n") || value.contains("\r"))) {
+                return fields;
+            }
+        } catch (IllegalArgumentException e) {
+            logger.log(Level.FINE, "Invalid API request body: " + e.getMessage());
+        }
+        sendError(exchange, 400, MessageDisplayer.API_INVALID_BODY_MESSAGE);
+        return null;
+    }
+
+    private void runCommand(HttpExchange exchange, String command, int successStatus) throws IOException {
+        RouteResult result;
+        synchronized (writeLock) {
+            result = CommandRouter.routeUserInput(command);
+            if (result.isSuccess()) {
+                saveAction.run();
+            }
+        }
+        if (result.isSuccess()) {
+            send(exchange, successStatus, "{\"message\":" + Json.quote(result.outputMessage()) + "}", null);
+        } else {
+            sendError(exchange, 400, result.errorMessage());
+        }
+    }
+
+    /**
+     * Returns a token that changes whenever the current ledger changes, is loaded again, or another
+     * ledger becomes current, and differs between runs of the server.
+     */
+    private static String getLedgerVersion() {
+        Ledger ledger = LedgerContext.current();
+        return PROCESS_TAG + "." + ledger.getName() + "." + ledger.getInstanceNumber() + "." + ledger.getVersion();
+    }
+
+    private static String quoteTag(String version, boolean isGzipped) {
+        return "\"" + version + (isGzipped ? GZIP_TAG_SUFFIX : "") + "\"";
+    }
+
+    /**
+     * Returns whether the client already holds either encoding of the given version.
+     */
+    private static boolean isNotModified(HttpExchange exchange, String version) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(quoteTag(version, false))
+                    || candidate.equals(quoteTag(version, true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":" + Json.quote(message) + "}", null);
+    }
+
+    /**
+     * Sends a JSON body, compressing it if it is large and the client accepts gzip, and tagging it
+     * with the given ledger version if there is one.
+     */
+    private static void send(HttpExchange exchange, int status, String body, String version) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", JSON_TYPE);
+        headers.set("Vary", "Accept-Encoding");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean isGzipped = bytes.length >= GZIP_MIN_BYTES && acceptEncoding != null && acceptEncoding.contains(GZIP);
+        if (isGzipped) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+            try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            headers.set("Content-Encoding", GZIP);
+        }
+        if (version != null) {
+            headers.set("ETag", quoteTag(version, isGzipped));
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,160 @@
+package fintrek.ui;
+
+import fintrek.budget.service.BudgetWarningService;
+import fintrek.data.DataHandler;
+import fintrek.expense.service.RecurringScheduler;
+import fintrek.expense.service.TransactionManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.parser.CommandRouter;
+import fintrek.parser.RouteResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs commands non-interactively, one per line, from a script file or standard input.
+ *
+ * <p>Unlike the interactive loop, which saves after every successful command, a batch saves once
+ * every {@link #CHECKPOINT_INTERVAL} successful commands and once at the end, so ingesting a long
+ * script writes the save file a bounded number of times. Output is buffered, budget warnings are
+ * held back and shown once at the end, and the run finishes with a count of successes and
+ * failures. Blank lines and lines starting with {@code #} are skipped; {@code bye} ends the batch.</p>
+ *
+ * <p>No checkpoint is taken while a transaction is open. A command that fails inside a transaction
+ * rolls the whole transaction back, as does reaching the end of the script without a commit.</p>
+ */
+public class BatchRunner {
+    public static final int CHECKPOINT_INTERVAL = 1_000;
+
+    private static final Logger logger = Logger.getLogger(BatchRunner.class.getName());
+    private static final String COMMENT_PREFIX = "#";
+
+    private final BufferedReader reader;
+    private final PrintWriter out;
+    private final Runnable saveAction;
+    private final int checkpointInterval;
+    private int successCount = 0;
+    private int failureCount = 0;
+    private int unsavedCount = 0;
+
+    /**
+     * Creates a batch runner.
+     *
+     * @param input the commands, one per line
+     * @param output where command results are written
+     * @param saveAction persists the current state, e.g. {@link DataHandler#saveData()}
+     * @param checkpointInterval the number of successful commands after which state is saved
+     */
+    public BatchRunner(Reader input, Writer output, Runnable saveAction, int checkpointInterval) {
+        assert checkpointInterval > 0 : "Checkpoint interval must be positive";
+        this.reader = new BufferedReader(input);
+        this.out = new PrintWriter(new BufferedWriter(output));
+        this.saveAction = saveAction;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Loads the save file, runs the script at the given path (or standard input if the path is null)
+     * against it and saves the result.
+     *
+     * @param path the script file, or null to read standard input
+     * @return the number of commands that failed
+     */
+    public static int launch(String path) {
+        DataHandler.loadData();
+        RecurringScheduler.getInstance().runDue(LocalDate.now());
+        Writer output = new OutputStreamWriter(System.out);
+        try (Reader input = (path == null) ? new InputStreamReader(System.in) : new FileReader(path)) {
+            return new BatchRunner(input, output, DataHandler::saveData, CHECKPOINT_INTERVAL).run();
+        } catch (IOException e) {
+            System.out.println(MessageDisplayer.BATCH_READ_ERROR_MESSAGE + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs every command of the input, then saves and prints deferred warnings and a summary.
+     *
+     * @return the number of commands that failed
+     */
+    public int run() {
+        BudgetWarningService.setDeferringWarnings(true);
+        try {
+            runLines();
+        } catch (IOException e) {
+            out.println(MessageDisplayer.BATCH_READ_ERROR_MESSAGE + e.getMessage());
+        } finally {
+            BudgetWarningService.setDeferringWarnings(false);
+        }
+        rollbackOpenTransaction();
+        if (unsavedCount > 0) {
+            saveAction.run();
+        }
+        printWarnings(LocalDate.now());
+        out.println(String.format(MessageDisplayer.BATCH_SUMMARY_FORMAT, successCount, failureCount));
+        out.flush();
+        return failureCount;
+    }
+
+    private void runLines() throws IOException {
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String userInput = line.trim();
+            if (userInput.isEmpty() || userInput.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+            if (userInput.equals(MessageDisplayer.END_CONVERSATION_MESSAGE)) {
+                break;
+            }
+            runCommand(lineNumber, userInput);
+        }
+    }
+
+    private void runCommand(int lineNumber, String userInput) {
+        RouteResult result = CommandRouter.routeUserInput(userInput);
+        if (!result.isSuccess()) {
+            failureCount++;
+            out.println(String.format(MessageDisplayer.BATCH_LINE_ERROR_FORMAT, lineNumber, result.errorMessage()));
+            logger.log(Level.FINE, "Batch command failed: " + result.errorMessage());
+            rollbackOpenTransaction();
+            return;
+        }
+        successCount++;
+        out.println(result.outputMessage());
+        unsavedCount++;
+        if (unsavedCount >= checkpointInterval && !TransactionManager.getInstance().isActive()) {
+            saveAction.run();
+            unsavedCount = 0;
+            out.println(String.format(MessageDisplayer.BATCH_CHECKPOINT_MESSAGE, successCount));
+        }
+    }
+
+    private void rollbackOpenTransaction() {
+        int count = TransactionManager.getInstance().rollback();
+        if (count >= 0) {
+            out.println(String.format(MessageDisplayer.TRANSACTION_DISCARDED_MESSAGE, count));
+        }
+    }
+
+    private void printWarnings(LocalDate date) {
+        String warning = BudgetWarningService.generateBudgetWarnings(date);
+        if (warning.isEmpty()) {
+            warning = BudgetWarningService.generateProjectionWarning(date);
+        }
+        if (!warning.isEmpty()) {
+            out.println(warning);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package fintrek.ui;
+
+import fintrek.command.registry.CommandRegistry;
+import fintrek.data.DataHandler;
+import fintrek.data.FileLedgerStore;
+import fintrek.expense.service.RecurringScheduler;
+import fintrek.expense.service.TransactionManager;
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerContext;
+import fintrek.ledger.LedgerStore;
+import fintrek.misc.MessageDisplayer;
+import fintrek.parser.CommandRouter;
+import fintrek.parser.RouteResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves the command line to several local clients at once over a TCP port on the loopback
+ * address or a Unix domain socket.
+ *
+ * <p>Each client sends commands one per line, exactly as typed at the prompt, and receives the
+ * output of each command followed by a prompt; {@code bye} ends its session. Every client starts on
+ * the {@link Ledger#DEFAULT_NAME default} ledger, and {@code /ledger switch} only changes the ledger
+ * of the client that sends it: the ledger of a client is made current before each of its commands
+ * runs. Clients on the same ledger share it.</p>
+ *
+ * <p>One selector thread accepts connections and reads from all of them, so an idle connection
+ * costs only its socket and a small record, not a thread. Complete lines are handed to a single
+ * command thread, which runs commands one at a time in the order they arrived, as the command
+ * layer, undo history and transactions are shared. Output is written back by the selector thread
+ * without blocking on slow clients.</p>
+ *
+ * <p>Saves are coalesced: the first successful command after a save schedules the next one
+ * {@link #SAVE_DELAY_MILLIS} later on the command thread, and commands arriving in the meantime
+ * are covered by it, whichever ledgers they changed. No ledger is saved while a transaction on it is
+ * open; a transaction left open when the server stops is rolled back, and pending changes are saved
+ * before it exits.</p>
+ *
+ * <p>A transaction belongs to the connection that began it. Other connections may not begin, commit
+ * or roll back a transaction while it is open, and it is rolled back when its connection closes, so
+ * a client that goes away cannot hold back the saves of the others.</p>
+ *
+ * <p>Every {@link #LEDGER_SWEEP_MINUTES} minute(s) the command thread also lets go of ledgers that
+ * clients have not used for a while, as described in {@link fintrek.ledger.LedgerCache}, and every
+ * {@link RecurringScheduler#CHECK_INTERVAL_MINUTES} minutes it inserts the recurring expenses that
+ * fell due.</p>
+ */
+public class CommandServer {
+    public static final int DEFAULT_PORT = 4242;
+    public static final long SAVE_DELAY_MILLIS = 1_000;
+    public static final long LEDGER_SWEEP_MINUTES = 1;
+
+    private static final Logger logger = Logger.getLogger(CommandServer.class.getName());
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    private static final String LINE_END = "\n";
+    private static final Set<String> TRANSACTION_COMMANDS = Set.of("begin", "commit", "rollback");
+
+    private final ServerSocketChannel serverChannel;
+    private final Runnable saveAction;
+    private final LedgerStore ledgerStore;
+    private final long saveDelayMillis;
+    private final Selector selector;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final ScheduledThreadPoolExecutor commandThread = new ScheduledThreadPoolExecutor(1);
+    private volatile boolean isRunning = true;
+
+    /** Only read and written on the command thread. */
+    private boolean isSavePending = false;
+    /** The connection that began each open transaction. Only used on the command thread. */
+    private final Map<TransactionManager, Connection> transactionOwners = new IdentityHashMap<>();
+
+    /**
+     * Creates a server on an already bound channel, loading and saving ledgers in their save files.
+     *
+     * @param serverChannel the listening channel
+     * @param saveAction persists the changed ledgers, e.g. {@link LedgerContext#saveAll}
+     * @param saveDelayMillis how long after a change the coalesced save runs
+     * @throws IOException if the selector cannot be opened
+     */
+    public CommandServer(ServerSocketChannel serverChannel, Runnable saveAction, long saveDelayMillis)
+            throws IOException {
+        this(serverChannel, saveAction, saveDelayMillis, new FileLedgerStore());
+    }
+
+    /**
+     * Creates a server on an already bound channel.
+     *
+     * @param serverChannel the listening channel
+     * @param saveAction persists the changed ledgers, e.g. {@link LedgerContext#saveAll}
+     * @param saveDelayMillis how long after a change the coalesced save runs
+     * @param ledgerStore loads the ledgers clients use, and saves the ledgers evicted while idle
+     * @throws IOException if the selector cannot be opened
+     */
+    public CommandServer(ServerSocketChannel serverChannel, Runnable saveAction, long saveDelayMillis,
+            LedgerStore ledgerStore) throws IOException {
+        this.serverChannel = serverChannel;
+        this.saveAction = saveAction;
+        this.saveDelayMillis = saveDelayMillis;
+        this.ledgerStore = ledgerStore;
+        this.selector = Selector.open();
+        commandThread.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        commandThread.scheduleWithFixedDelay(() -> LedgerContext.evict(ledgerStore),
+                LEDGER_SWEEP_MINUTES, LEDGER_SWEEP_MINUTES, TimeUnit.MINUTES);
+        commandThread.scheduleWithFixedDelay(this::runDueRecurringExpenses, RecurringScheduler.CHECK_INTERVAL_MINUTES,
+                RecurringScheduler.CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Loads the save file and serves it until the process is stopped.
+     *
+     * @param address a port number for TCP on the loopback address, a path for a Unix domain
+     *      socket, or null for TCP on {@link #DEFAULT_PORT}
+     */
+    public static void launch(String address) {
+        DataHandler.loadData();
+        RecurringScheduler.getInstance().runDue(LocalDate.now());
+        try {
+            ServerSocketChannel channel = bind(address);
+            LedgerStore ledgerStore = new FileLedgerStore();
+            CommandServer server = new CommandServer(channel, () -> LedgerContext.saveAll(ledgerStore),
+                    SAVE_DELAY_MILLIS, ledgerStore);
+            Thread selectorThread = Thread.currentThread();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                try {
+                    selectorThread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            System.out.println(String.format(MessageDisplayer.SERVER_LISTENING_MESSAGE, channel.getLocalAddress()));
+            server.run();
+        } catch (IOException e) {
+            System.out.println(MessageDisplayer.SERVER_ERROR_MESSAGE + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a listening channel on the given address.
+     *
+     * @param address a port number, a socket path, or null for the default port
+     * @return the bound channel
+     * @throws IOException if the address cannot be bound
+     */
+    static ServerSocketChannel bind(String address) throws IOException {
+        if (address == null || address.chars().allMatch(Character::isDigit)) {
+            int port = (address == null) ? DEFAULT_PORT : Integer.parseInt(address);
+            return ServerSocketChannel.open()
+                    .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+        return ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(UnixDomainSocketAddress.of(address));
+    }
+
+    /**
+     * Serves clients on the calling thread until {@link #stop()} is called, then closes every
+     * connection, rolls back an open transaction and saves pending changes.
+     *
+     * @throws IOException if the listening channel fails
+     */
+    public void run() throws IOException {
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        try {
+            while (isRunning) {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    handle(key);
+                }
+                selector.selectedKeys().clear();
+                Connection connection;
+                while ((connection = pendingWrites.poll()) != null) {
+                    connection.flush();
+                }
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Asks the server to stop. Safe to call from any thread.
+     */
+    public void stop() {
+        isRunning = false;
+        selector.wakeup();
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        if (key.isReadable()) {
+            connection.read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            connection.flush();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        logger.log(Level.FINE, "Client connected: " + channel.getRemoteAddress());
+        connection.send(MessageDisplayer.SERVER_WELCOME_MESSAGE + LINE_END + MessageDisplayer.ARROW_FOR_INPUT, false);
+    }
+
+    private void shutdown() throws IOException {
+        SocketAddress address = serverChannel.getLocalAddress();
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        if (address instanceof UnixDomainSocketAddress socketAddress) {
+            Files.deleteIfExists(socketAddress.getPath());
+        }
+        commandThread.execute(() -> {
+            transactionOwners.keySet().forEach(TransactionManager::rollback);
+            transactionOwners.clear();
+            save();
+        });
+        commandThread.shutdown();
+        try {
+            commandThread.awaitTermination(saveDelayMillis + TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs one line from a client on the command thread and queues its output.
+     */
+    private void runLine(Connection connection, String line) {
+        if (connection.isClosing) {
+            return;
+        }
+        String userInput = line.trim();
+        if (userInput.equals(MessageDisplayer.END_CONVERSATION_MESSAGE)) {
+            connection.send(MessageDisplayer.BYE_MESSAGE + LINE_END, true);
+            return;
+        }
+        StringBuilder output = new StringBuilder();
+        if (!userInput.isEmpty()) {
+            LedgerContext.use(connection.ledgerName, ledgerStore);
+            TransactionManager transactions = TransactionManager.getInstance();
+            Connection owner = transactionOwners.get(transactions);
+            if (owner != null && owner != connection && isTransactionCommand(userInput)) {
+                output.append(MessageDisplayer.TRANSACTION_OF_OTHER_CLIENT_MESSAGE);
+            } else {
+                output.append(route(userInput));
+                trackTransactionOwner(transactions, connection);
+                connection.ledgerName = LedgerContext.current().getName();
+            }
+            output.append(LINE_END).append(LINE_END);
+        }
+        connection.send(output.append(MessageDisplayer.ARROW_FOR_INPUT).toString(), false);
+    }
+
+    private String route(String userInput) {
+        RouteResult result = CommandRouter.routeUserInput(userInput);
+        if (!result.isSuccess()) {
+            return result.errorMessage();
+        }
+        scheduleSave();
+        return result.outputMessage();
+    }
+
+    private static boolean isTransactionCommand(String userInput) {
+        return userInput.charAt(0) == '/'
+                && TRANSACTION_COMMANDS.contains(CommandRegistry.matchCommand(userInput, 1).name());
+    }
+
+    /**
+     * Records the connection as the owner of a transaction it just began, or forgets the owner of
+     * a transaction that just ended.
+     */
+    private void trackTransactionOwner(TransactionManager transactions, Connection connection) {
+        if (!transactions.isActive()) {
+            transactionOwners.remove(transactions);
+        } else if (!transactionOwners.containsKey(transactions)) {
+            transactionOwners.put(transactions, connection);
+        }
+    }
+
+    /**
+     * Rolls back the transactions of a connection that closed, and saves what they held back.
+     */
+    private void rollBackTransactionsOf(Connection connection) {
+        for (Iterator<Map.Entry<TransactionManager, Connection>> it = transactionOwners.entrySet().iterator();
+                it.hasNext(); ) {
+            Map.Entry<TransactionManager, Connection> entry = it.next();
+            if (entry.getValue() == connection) {
+                entry.getKey().rollback();
+                it.remove();
+                scheduleSave();
+            }
+        }
+    }
+
+    private void runDueRecurringExpenses() {
+        if (RecurringScheduler.getInstance().runDue(LocalDate.now()) > 0) {
+            scheduleSave();
+        }
+    }
+
+    private void scheduleSave() {
+        if (!isSavePending && !TransactionManager.getInstance().isActive()) {
+            isSavePending = true;
+            commandThread.schedule(this::save, saveDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void save() {
+        if (isSavePending) {
+            isSavePending = false;
+            saveAction.run();
+        }
+    }
+
+    /**
+     * The state of one client connection. Its channel is only touched by the selector thread;
+     * output produced on the command thread is queued and handed over through {@link #pendingWrites}.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream(0);
+        private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+        private final Queue<ByteBuffer> unwritten = new ArrayDeque<>();
+        private SelectionKey key;
+        private volatile boolean isClosing = false;
+        /** The ledger the client works on. Only used on the command thread. */
+        private String ledgerName = Ledger.DEFAULT_NAME;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads what the client has sent and hands every complete line to the command thread.
+         */
+        void read() throws IOException {
+            readBuffer.clear();
+            int count;
+            try {
+                count = channel.read(readBuffer);
+            } catch (IOException e) {
+                count = -1;
+            }
+            if (count < 0) {
+                close();
+                return;
+            }
+            byte[] bytes = readBuffer.array();
+            for (int i = 0; i < count; i++) {
+                if (bytes[i] != '\n') {
+                    partialLine.write(bytes[i]);
+                    continue;
+                }
+                String line = partialLine.toString(StandardCharsets.UTF_8);
+                partialLine.reset();
+                commandThread.execute(() -> runLine(this, line));
+            }
+            if (partialLine.size() > MAX_LINE_BYTES) {
+                close();
+            }
+        }
+
+        /**
+         * Queues output for the client. May be called from any thread.
+         */
+        void send(String text, boolean isLast) {
+            if (isClosing) {
+                return;
+            }
+            output.add(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+            isClosing = isLast;
+            pendingWrites.add(this);
+            selector.wakeup();
+        }
+
+        /**
+         * Writes as much queued output as the client accepts without blocking, and waits for the
+         * channel to become writable if some is left.
+         */
+        void flush() throws IOException {
+            if (!channel.isOpen()) {
+                return;
+            }
+            ByteBuffer buffer;
+            while ((buffer = output.poll()) != null) {
+                unwritten.add(buffer);
+            }
+            try {
+                while (!unwritten.isEmpty()) {
+                    channel.write(unwritten.peek());
+                    if (unwritten.peek().hasRemaining()) {
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    unwritten.poll();
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            if (isClosing) {
+                close();
+            }
+        }
+
+        private void close() throws IOException {
+            if (!channel.isOpen()) {
+                return;
+            }
+            isClosing = true;
+            key.cancel();
+            channel.close();
+            commandThread.execute(() -> rollBackTransactionsOf(this));
+        }
+    }
+}
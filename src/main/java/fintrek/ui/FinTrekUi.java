@@ -1,15 +1,19 @@
 package fintrek.ui;
 
-import fintrek.expense.core.RecurringExpenseManager;
 import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.RecurringScheduler;
+import fintrek.expense.service.TransactionManager;
 import fintrek.misc.MessageDisplayer;
 import fintrek.parser.CommandRouter;
 import fintrek.parser.RouteResult;
-import fintrek.util.RecurringExpenseProcessor;
 import fintrek.data.DataHandler;
 import fintrek.budget.core.BudgetManager;
 
+import java.time.LocalDate;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,10 +21,17 @@ import java.util.logging.Logger;
  * Handles the user interface of the FinTrek application.
  * Responsible for displaying messages to the user, accepting input,
  * processing commands, and showing results.
+ * While it runs, recurring expenses that fall due are inserted in the background, one at a time with commands.
  */
 public class FinTrekUi {
     private static final Logger logger = Logger.getLogger(FinTrekUi.class.getName());
     private final Scanner reader;
+    private final Object commandLock = new Object();
+    private final ScheduledExecutorService recurringTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "recurring-expenses");
+        thread.setDaemon(true);
+        return thread;
+    });
 
 
     /**
@@ -37,6 +48,8 @@ public class FinTrekUi {
     public void start() {
         MessageDisplayer.displayWelcomeMessage();
         loadInitialData();
+        recurringTimer.scheduleWithFixedDelay(this::runDueRecurringExpenses, RecurringScheduler.CHECK_INTERVAL_MINUTES,
+                RecurringScheduler.CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
         runCommandLoop();
     }
 
@@ -63,8 +76,20 @@ public class FinTrekUi {
      * Processes recurring expenses at application startup.
      */
     private void processRecurringExpenses() {
-        RecurringExpenseProcessor.checkAndInsertDueExpenses(
-                RecurringExpenseManager.getInstance(), RegularExpenseManager.getInstance());
+        RecurringScheduler.getInstance().runDue(LocalDate.now());
+    }
+
+    /**
+     * Inserts recurring expenses that fell due since the last check, and saves them unless
+     * a transaction is open.
+     */
+    private void runDueRecurringExpenses() {
+        synchronized (commandLock) {
+            if (RecurringScheduler.getInstance().runDue(LocalDate.now()) > 0
+                    && !TransactionManager.getInstance().isActive()) {
+                DataHandler.saveData();
+            }
+        }
     }
 
     /**
@@ -79,18 +104,33 @@ public class FinTrekUi {
             logger.log(Level.FINE, "Going to start processing");
             logger.log(Level.FINE, "User input received: " + userInput);
 
-            processUserInput(userInput);
+            synchronized (commandLock) {
+                processUserInput(userInput);
+            }
             System.out.println();
             System.out.print(MessageDisplayer.ARROW_FOR_INPUT);
             userInput = reader.nextLine().trim();
         }
 
+        discardOpenTransaction();
         System.out.println(MessageDisplayer.BYE_MESSAGE);
     }
 
+    /**
+     * Rolls back a transaction that is still open on exit. Its changes were never saved,
+     * so this only tells the user that they were discarded.
+     */
+    private void discardOpenTransaction() {
+        int count = TransactionManager.getInstance().rollback();
+        if (count >= 0) {
+            System.out.println(String.format(MessageDisplayer.TRANSACTION_DISCARDED_MESSAGE, count));
+        }
+    }
+
     /**
      * Processes a single user input command, routing it to CommandRouter
-     * and displaying the result.
+     * and displaying the result. Data is saved after every successful command,
+     * except while a transaction is open.
      *
      * @param userInput The command string entered by the user
      */
@@ -99,7 +139,9 @@ public class FinTrekUi {
 
         if (result.isSuccess()) {
             System.out.println(result.outputMessage());
-            DataHandler.saveData();
+            if (!TransactionManager.getInstance().isActive()) {
+                DataHandler.saveData();
+            }
         } else {
             System.out.println(result.errorMessage());
             logger.log(Level.FINE, "Parsing failed: " + result.errorMessage());
@@ -111,6 +153,7 @@ public class FinTrekUi {
      * Should be called when the application is shutting down.
      */
     public void close() {
+        recurringTimer.shutdownNow();
         reader.close();
     }
 }
@@ -0,0 +1,182 @@
+package fintrek.ui;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The small part of JSON that the HTTP API needs: writing strings and amounts, and reading a flat
+ * object whose values are text, numbers, booleans or null.
+ */
+final class Json {
+    private Json() {}
+
+    /**
+     * Returns a string as a quoted JSON string.
+     */
+    static String quote(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '"' -> quoted.append("\\\"");
+            case '\\' -> quoted.append("\\\\");
+            case '\n' -> quoted.append("\\n");
+            case '\r' -> quoted.append("\\r");
+            case '\t' -> quoted.append("\\t");
+            default -> {
+                if (c < ' ') {
+                    quoted.append(String.format("\\u%04x", (int) c));
+                } else {
+                    quoted.append(c);
+                }
+            }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Returns an amount in cents as a JSON number with two decimals, independent of the locale.
+     */
+    static String cents(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    /**
+     * Returns an amount in dollars as a JSON number rounded to whole cents.
+     */
+    static String dollars(double dollars) {
+        return cents(Math.round(dollars * 100));
+    }
+
+    /**
+     * Reads a flat JSON object. Values are returned as their text: strings without quotes, and
+     * numbers and booleans as written. Null values are left out.
+     *
+     * @param text the JSON text
+     * @return the fields in the order they were written
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    static Map<String, String> parseObject(String text) {
+        return new Reader(text).readObject();
+    }
+
+    private static class Reader {
+        private final String text;
+        private int position = 0;
+
+        Reader(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> readObject() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            expect('{');
+            if (!tryRead('}')) {
+                do {
+                    skipWhitespace();
+                    String key = readString();
+                    expect(':');
+                    String value = readValue();
+                    if (value != null) {
+                        fields.put(key, value);
+                    }
+                } while (tryRead(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (position != text.length()) {
+                throw new IllegalArgumentException("Unexpected text after the object");
+            }
+            return fields;
+        }
+
+        private String readValue() {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < text.length() && "+-.eE0123456789truefalsn".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false")) {
+                return literal;
+            }
+            try {
+                new BigDecimal(literal);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value at " + start);
+            }
+            return literal;
+        }
+
+        private String readString() {
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw new IllegalArgumentException("Expected a string at " + position);
+            }
+            position++;
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw new IllegalArgumentException("Invalid escape at " + position);
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid escape at " + position);
+                    }
+                    position += 4;
+                }
+                default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string");
+        }
+
+        private void expect(char c) {
+            if (!tryRead(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + position);
+            }
+        }
+
+        private boolean tryRead(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
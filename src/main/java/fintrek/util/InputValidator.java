@@ -4,20 +4,31 @@ import fintrek.expense.core.CategoryManager;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 public class InputValidator {
+    /** Returned by {@link #parseAmount(String)} and {@link #parsePositiveInteger(String)} for invalid input. */
+    public static final int INVALID_NUMBER = -1;
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private static final int CENTS_PER_DOLLAR = 100;
+    /** Longest digit run that is guaranteed to fit in a {@code long} and convert to a double exactly. */
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final int DATE_LENGTH = "dd-MM-yyyy".length();
+    private static final int MONTH_OFFSET = 3;
+    private static final int YEAR_OFFSET = 6;
+    private static final int MAX_DAY_OF_MONTH = 31;
+    private static final int MONTHS_PER_YEAR = 12;
 
     public static boolean isNullOrBlank(String input) {
         return input == null || input.isBlank();
     }
 
     public static boolean isValidPositiveDouble(String input) {
-        return input.matches("\\d+(\\.\\d+)?") && Double.parseDouble(input.trim()) > 0;
+        return parseAmount(input) > 0;
     }
 
     public static boolean isValidPositiveInteger(String input) {
-        return input.matches("\\d+") && Integer.parseInt(input.trim()) > 0;
+        return parsePositiveInteger(input) != INVALID_NUMBER;
     }
 
     public static boolean isInValidIntRange(int value, int lowerBound, int upperBound) {
@@ -38,18 +49,11 @@ public class InputValidator {
      * @return a {@code Boolean} value indicating whether or not the format is valid
      */
     public static boolean isValidDate(String input) {
-        try {
-            LocalDate.parse(input, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+        return parseDate(input) != null;
     }
 
     public static boolean isValidAmountInput(String input) {
-        String amountFormat = "\\d+(\\.\\d+)?";
-
-        return input.matches(amountFormat);
+        return parseAmount(input) != INVALID_NUMBER;
     }
 
     public static boolean isValidCategory(String input) {
@@ -57,6 +61,119 @@ public class InputValidator {
     }
 
     public static boolean containsWhiteSpace(String input) {
-        return !input.matches("^\\S+$");
+        if (input.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates and parses an amount of the form {@code <digits>[.<digits>]} in one pass.
+     *
+     * <p>Amounts with at most two decimal places are accumulated as whole cents and divided once,
+     * which gives exactly the double that {@link Double#parseDouble(String)} would return.</p>
+     *
+     * @param input the amount string, without a currency symbol or surrounding whitespace
+     * @return the amount (possibly 0), or {@link #INVALID_NUMBER} if the input is not of that form
+     */
+    public static double parseAmount(String input) {
+        int length = input.length();
+        int pointIndex = -1;
+        long cents = 0;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == '.' && pointIndex < 0 && i > 0) {
+                pointIndex = i;
+            } else if (isDigit(c)) {
+                cents = cents * 10 + (c - '0');
+            } else {
+                return INVALID_NUMBER;
+            }
+        }
+        if (length == 0 || pointIndex == length - 1) {
+            return INVALID_NUMBER;
+        }
+        int decimals = (pointIndex < 0) ? 0 : length - pointIndex - 1;
+        int digits = (pointIndex < 0) ? length : length - 1;
+        if (decimals > 2 || digits - decimals + 2 > MAX_EXACT_DIGITS) {
+            return Double.parseDouble(input);
+        }
+        for (int i = decimals; i < 2; i++) {
+            cents *= 10;
+        }
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Validates and parses a positive whole number made up of digits only.
+     *
+     * @param input the number string
+     * @return the number, or {@link #INVALID_NUMBER} if it is not a positive {@code int}
+     */
+    public static int parsePositiveInteger(String input) {
+        if (input.isEmpty()) {
+            return INVALID_NUMBER;
+        }
+        long value = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!isDigit(c)) {
+                return INVALID_NUMBER;
+            }
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                return INVALID_NUMBER;
+            }
+        }
+        return (value > 0) ? (int) value : INVALID_NUMBER;
+    }
+
+    /**
+     * Validates and parses a date in the format "dd-MM-yyyy" without throwing on invalid input.
+     *
+     * <p>Gives the same result as {@link LocalDate#parse(CharSequence, DateTimeFormatter)} with
+     * {@link #DATE_FORMATTER}, which also moves a day of 29 to 31 back to the last day of a shorter month.</p>
+     *
+     * @param input the date string
+     * @return the date, or {@code null} if the input is not a valid date in that format
+     */
+    public static LocalDate parseDate(String input) {
+        if (input.length() != DATE_LENGTH
+                || input.charAt(MONTH_OFFSET - 1) != '-' || input.charAt(YEAR_OFFSET - 1) != '-') {
+            return null;
+        }
+        int day = parseDigits(input, 0, MONTH_OFFSET - 1);
+        int month = parseDigits(input, MONTH_OFFSET, YEAR_OFFSET - 1);
+        int year = parseDigits(input, YEAR_OFFSET, DATE_LENGTH);
+        if (day < 1 || day > MAX_DAY_OF_MONTH || month < 1 || month > MONTHS_PER_YEAR || year < 1) {
+            return null;
+        }
+        LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+        return firstOfMonth.withDayOfMonth(Math.min(day, firstOfMonth.lengthOfMonth()));
+    }
+
+    /**
+     * Returns the value of the digits in {@code [from, to)}, or -1 if any character is not a digit.
+     */
+    private static int parseDigits(String input, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 }
@@ -0,0 +1,247 @@
+package fintrek.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A mergeable streaming quantile sketch in the style of KLL (Karnin, Lang and Liberty).
+ *
+ * <p>Values are added to level 0. When a level outgrows its capacity it is sorted and every
+ * other item is promoted to the next level, where each item stands for twice as many values.
+ * Capacities shrink geometrically towards the lower levels, so memory stays around
+ * {@code 3k} items no matter how many values are added, and rank error stays around
+ * {@code 1/k}.</p>
+ *
+ * <p>Until the first compaction the sketch holds every value, and quantiles are then answered
+ * exactly by selection. Minimum, maximum and count are always exact.</p>
+ */
+public class QuantileSketch {
+    public static final int DEFAULT_K = 256;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> levelSizes = new ArrayList<>();
+    private long count = 0;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    /** Alternates the kept half on each compaction so that errors cancel out instead of drifting. */
+    private boolean keepOdd = false;
+
+    /**
+     * Creates a sketch with the default accuracy parameter.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a sketch whose top level keeps up to {@code k} items.
+     *
+     * @param k the accuracy parameter; larger values use more memory and give smaller errors
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY);
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    /**
+     * Adds a single value to the sketch.
+     *
+     * @param value the value to add
+     */
+    public void update(double value) {
+        append(0, value);
+        count++;
+        min = (count == 1) ? value : Math.min(min, value);
+        max = (count == 1) ? value : Math.max(max, value);
+        compressIfFull();
+    }
+
+    /**
+     * Folds all values summarised by another sketch into this one. The other sketch is not modified.
+     *
+     * @param other the sketch to merge in
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.size() < other.levels.size()) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levels.size(); h++) {
+            double[] items = other.levels.get(h);
+            for (int i = 0; i < other.levelSizes.get(h); i++) {
+                append(h, items[i]);
+            }
+        }
+        min = (count == 0) ? other.min : Math.min(min, other.min);
+        max = (count == 0) ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compressIfFull();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns whether the sketch still holds every value, so that quantiles are exact.
+     *
+     * @return true if no compaction has happened yet
+     */
+    public boolean isExact() {
+        return levels.size() == 1;
+    }
+
+    /**
+     * Returns the value of the given nearest rank, i.e. the smallest value {@code v} such that at
+     * least {@code ceil(fraction * count)} of the values are less than or equal to {@code v}.
+     *
+     * @param fraction the quantile to query, between 0 and 1 inclusive
+     * @return the (estimated) quantile, or {@code NaN} if the sketch is empty
+     */
+    public double getQuantile(double fraction) {
+        assert fraction >= 0 && fraction <= 1 : "Quantile fraction must be within [0, 1]";
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        if (isExact()) {
+            double[] copy = Arrays.copyOf(levels.get(0), levelSizes.get(0));
+            return select(copy, (int) rank - 1);
+        }
+        return weightedQuantile(rank);
+    }
+
+    private double weightedQuantile(long rank) {
+        int retained = 0;
+        for (int size : levelSizes) {
+            retained += size;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            double[] items = levels.get(h);
+            for (int i = 0; i < levelSizes.get(h); i++) {
+                values[n] = items[i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long cumulative = 0;
+        for (int i : order) {
+            cumulative += weights[i];
+            if (cumulative >= rank) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    private void addLevel() {
+        levels.add(new double[MIN_LEVEL_CAPACITY]);
+        levelSizes.add(0);
+    }
+
+    private void append(int level, double value) {
+        double[] items = levels.get(level);
+        int size = levelSizes.get(level);
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            levels.set(level, items);
+        }
+        items[size] = value;
+        levelSizes.set(level, size + 1);
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void compressIfFull() {
+        for (int h = 0; h < levels.size(); h++) {
+            if (levelSizes.get(h) >= capacity(h)) {
+                compact(h);
+            }
+        }
+    }
+
+    /**
+     * Sorts a level and promotes every other item to the level above, keeping one item behind
+     * when the level holds an odd number of items.
+     */
+    private void compact(int level) {
+        if (level + 1 == levels.size()) {
+            addLevel();
+        }
+        double[] items = levels.get(level);
+        int size = levelSizes.get(level);
+        Arrays.sort(items, 0, size);
+        int leftover = size % 2;
+        int start = keepOdd ? leftover + 1 : leftover;
+        keepOdd = !keepOdd;
+        for (int i = start; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        levelSizes.set(level, leftover);
+    }
+
+    /**
+     * Returns the {@code index}-th smallest value (0-based) using in-place quickselect.
+     */
+    private static double select(double[] values, int index) {
+        int lo = 0;
+        int hi = values.length - 1;
+        while (lo < hi) {
+            double pivot = values[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (index <= j) {
+                hi = j;
+            } else if (index >= i) {
+                lo = i;
+            } else {
+                return values[index];
+            }
+        }
+        return values[lo];
+    }
+}
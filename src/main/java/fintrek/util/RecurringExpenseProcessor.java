@@ -1,30 +1,18 @@
 //@@author Charly2312
 package fintrek.util;
 
-import fintrek.expense.core.Expense;
 import fintrek.expense.core.ExpenseOperation;
+import fintrek.expense.service.RecurringScheduler;
 
 import java.time.LocalDate;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
+/**
+ * Inserts the occurrences of recurring expenses that fall due today, without remembering earlier runs.
+ * Ledgers use their own {@link RecurringScheduler}, which also catches up on missed days.
+ */
 public class RecurringExpenseProcessor {
-    private static final Logger logger = Logger.getLogger(RecurringExpenseProcessor.class.getName());
-
     public static void checkAndInsertDueExpenses(ExpenseOperation recurringManager,
                                                  ExpenseOperation regularManager) {
-        logger.log(Level.FINE, "Checking for recurring expenses to insert...");
-        LocalDate today = LocalDate.now();
-
-        for (Expense expense : recurringManager.getAll()) {
-            LocalDate date = expense.getDate();
-            if (date.getDayOfMonth() == today.getDayOfMonth()
-                    && date.getMonthValue() <= today.getMonthValue()
-                    && date.getYear() <= today.getYear()
-                    && !regularManager.getAll().contains(expense)) {
-                logger.log(Level.FINE, "Recurring expense is due: " + expense);
-                regularManager.add(expense);
-            }
-        }
+        new RecurringScheduler(recurringManager, regularManager).runDue(LocalDate.now());
     }
 }
@@ -0,0 +1,78 @@
+package fintrek.util;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Helpers for guarding shared state with a {@link StampedLock}.
+ *
+ * <p>Reads are first attempted optimistically, without blocking writers, and kept only if no write
+ * started in the meantime; otherwise they are repeated under the read lock. Because an optimistic
+ * read can observe a write in progress, the reader must be free of side effects on shared state,
+ * and an exception it throws is discarded when the read turns out to have raced with a write.</p>
+ */
+public final class StampedLocks {
+    private StampedLocks() {}
+
+    /**
+     * Runs a read-only action, optimistically if possible.
+     *
+     * @param lock the lock guarding the state that is read
+     * @param reader the action, which may be run more than once
+     * @param <T> the type of the result
+     * @return the result of a run that saw no concurrent write
+     */
+    public static <T> T read(StampedLock lock, Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs an action while holding the write lock.
+     *
+     * @param lock the lock guarding the state that is changed
+     * @param writer the action
+     * @param <T> the type of the result
+     * @return the result of the action
+     */
+    public static <T> T write(StampedLock lock, Supplier<T> writer) {
+        long stamp = lock.writeLock();
+        try {
+            return writer.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs an action that returns nothing while holding the write lock.
+     *
+     * @param lock the lock guarding the state that is changed
+     * @param writer the action
+     */
+    public static void write(StampedLock lock, Runnable writer) {
+        long stamp = lock.writeLock();
+        try {
+            writer.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
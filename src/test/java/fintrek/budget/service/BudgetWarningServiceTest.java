@@ -0,0 +1,65 @@
+package fintrek.budget.service;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.expense.core.Expense;
+import fintrek.expense.service.AppServices;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BudgetWarningServiceTest {
+    // First day of next month, so that most of the month is still ahead.
+    private static final LocalDate FIRST_OF_MONTH = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+    private static final double SPENT = 100.00;
+
+    private double previousBudget;
+
+    @BeforeEach
+    void setUp() {
+        previousBudget = BudgetManager.getInstance().getBudget();
+        AppServices.regularService().clearExpenses();
+        AppServices.regularService().addExpense(new Expense("groceries", SPENT, "food", FIRST_OF_MONTH));
+    }
+
+    @AfterEach
+    void tearDown() {
+        BudgetManager.getInstance().setBudget(previousBudget);
+        AppServices.regularService().clearExpenses();
+    }
+
+    @Test
+    void generateProjectionWarning_paceExceedsBudget_returnsProjectionWarning() {
+        double budget = 400;
+        BudgetManager.getInstance().setBudget(budget);
+
+        double velocity = SPENT / BudgetWarningService.SHORT_AVERAGE_DAYS;
+        double projected = SPENT + velocity * (FIRST_OF_MONTH.lengthOfMonth() - 1);
+        String expected = String.format(MessageDisplayer.PROJECTED_TO_EXCEED_BUDGET_MESSAGE,
+                velocity, projected, budget);
+        assertEquals(expected, BudgetWarningService.generateProjectionWarning(FIRST_OF_MONTH));
+    }
+
+    @Test
+    void generateProjectionWarning_paceWithinBudget_returnsNoWarning() {
+        BudgetManager.getInstance().setBudget(1000);
+        assertEquals("", BudgetWarningService.generateProjectionWarning(FIRST_OF_MONTH));
+    }
+
+    @Test
+    void generateBudgetWarnings_paceExceedsBudget_returnsNoThresholdWarning() {
+        BudgetManager.getInstance().setBudget(400);
+        assertEquals("", BudgetWarningService.generateBudgetWarnings(FIRST_OF_MONTH));
+    }
+
+    @Test
+    void getDailyVelocity_usesHigherMovingAverage() {
+        assertEquals(SPENT / BudgetWarningService.SHORT_AVERAGE_DAYS,
+                BudgetWarningService.getDailyVelocity(FIRST_OF_MONTH), TestUtils.DELTA);
+    }
+}
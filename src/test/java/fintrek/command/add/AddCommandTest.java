@@ -1,9 +1,13 @@
 package fintrek.command.add;
 
 import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurrenceRule;
+import fintrek.expense.core.RecurringExpenseManager;
 import fintrek.expense.core.RegularExpenseManager;
 import fintrek.expense.service.ExpenseService;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -11,7 +15,7 @@ import fintrek.misc.MessageDisplayer;
 import fintrek.util.TestUtils;
 
 
-import static fintrek.expense.service.AppServices.REGULAR_SERVICE;
+import static fintrek.expense.service.AppServices.regularService;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class AddCommandTest {
@@ -24,7 +28,7 @@ public class AddCommandTest {
     @BeforeEach
     public void setUp() {
         RegularExpenseManager.getInstance().clear();
-        service = REGULAR_SERVICE;
+        service = regularService();
         TestUtils.addConstantExpenses();
     }
 
@@ -63,6 +67,28 @@ public class AddCommandTest {
                 String.format(MessageDisplayer.INVALID_FORMAT_MESSAGE_TEMPLATE, COMMAND_NAME));
     }
 
+    /**
+     * Tests that a recurring expense keeps the rule given after /r, and that a regular expense cannot have one
+     */
+    @Test
+    public void testAddCommandRecurrenceRule() {
+        RecurringExpenseManager.getInstance().clear();
+        String input = "gym $15 /c health /dt 06-01-2025 /r FREQ=WEEKLY;INTERVAL=2";
+        CommandResult result = new AddCommand(true).execute(input);
+
+        TestUtils.assertCommandSuccess(result, input);
+        Expense added = RecurringExpenseManager.getInstance().get(0);
+        assertEquals(RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2"), added.getRecurrence());
+        assertEquals("gym | $15.00 | HEALTH | 06-01-2025 | FREQ=WEEKLY;INTERVAL=2", added.toString());
+        RecurringExpenseManager.getInstance().clear();
+
+        TestUtils.assertCommandMessage(new AddCommand(false).execute(input), input,
+                MessageDisplayer.RECURRENCE_RULE_NOT_RECURRING_MESSAGE);
+        String invalid = "gym $15 /r FREQ=FORTNIGHTLY";
+        TestUtils.assertCommandMessage(new AddCommand(true).execute(invalid), invalid,
+                MessageDisplayer.INVALID_RECURRENCE_RULE_MESSAGE);
+    }
+
     /**
      * Tests the AddCommand for invalid expense amounts
      *
@@ -164,11 +190,13 @@ public class AddCommandTest {
         String formatString;
         String exampleString;
         if (isRecurring) {
-            formatString = "Format: /add-recurring <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>]";
+            formatString = "Format: /add-recurring <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>] [/r <RULE>]";
             exampleString = """
                     Example: /add-recurring concert tickets $35.80 /c LEISURE /dt 03-05-2025 -
                              adds a recurring expense with description 'concert tickets' with the amount $35.80,
-                             category 'LEISURE' and date '03-05-2025'.""";
+                             category 'LEISURE' and date '03-05-2025'.
+                    Example: /add-recurring gym $20 /dt 06-01-2025 /r FREQ=WEEKLY;INTERVAL=2;COUNT=10 -
+                             adds a recurring expense 'gym' of $20.00 every two weeks, ten times.""";
         } else {
             formatString = "Format: /add <DESCRIPTION> $<AMOUNT> [/c <CATEGORY>] [/dt <DATE>]";
             exampleString = """
@@ -181,6 +209,8 @@ public class AddCommandTest {
                 AMOUNT must be a positive number greater than 0.
                 CATEGORY is an optional argument.
                 DATE is an optional argument which must be in the form dd-MM-yyyy.
+                RULE is an optional argument for recurring expenses, which repeat monthly by default.
+                It has the form FREQ=<DAILY|WEEKLY|MONTHLY|YEARLY>[;INTERVAL=<N>][;UNTIL=<DATE>|;COUNT=<N>].
                 """
                 + exampleString.trim();
 
@@ -12,7 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import static fintrek.expense.service.AppServices.REGULAR_SERVICE;
+import static fintrek.expense.service.AppServices.regularService;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class DeleteCommandTest {
@@ -24,7 +24,7 @@ public class DeleteCommandTest {
     @BeforeEach
     public void setUp() {
         RegularExpenseManager.getInstance().clear();
-        service = REGULAR_SERVICE;
+        service = regularService();
         TestUtils.addConstantExpenses();
     }
 
@@ -94,6 +94,56 @@ public class DeleteCommandTest {
         assert expectedSize == service.countExpenses();
     }
 
+    @Test
+    public void testDeleteCommand_rangeAndList_removesAllSelected() {
+        DeleteCommand deleteCommand = new DeleteCommand(false);
+        CommandResult result = deleteCommand.execute("1,3-4,6");
+
+        String expectedMessage = String.format(MessageDisplayer.BULK_DELETE_SUCCESS_MESSAGE_TEMPLATE, 4, 2);
+        TestUtils.assertCommandMessage(result, "1,3-4,6", expectedMessage);
+        assertEquals("taxi", service.getExpense(0).getDescription());
+        assertEquals("train", service.getExpense(1).getDescription());
+    }
+
+    @Test
+    public void testDeleteCommand_filter_removesMatchingOnly() {
+        DeleteCommand deleteCommand = new DeleteCommand(false);
+        CommandResult result = deleteCommand.execute("/in FOOD /has N");
+
+        TestUtils.assertCommandSuccess(result, "/in FOOD /has N");
+        assertEquals(4, service.countExpenses());
+        assertEquals("taxi", service.getExpense(0).getDescription());
+        assertEquals("ice cream", service.getExpense(1).getDescription());
+    }
+
+    @Test
+    public void testDeleteCommand_filterWithoutMatches_fails() {
+        DeleteCommand deleteCommand = new DeleteCommand(false);
+        CommandResult result = deleteCommand.execute("/from 01-01-2000 /to 31-12-2000");
+
+        TestUtils.assertCommandMessage(result, "/from 01-01-2000", MessageDisplayer.NO_MATCHING_EXPENSES_MESSAGE);
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, service.countExpenses());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/in", "/in food /in food", "/when today", "/from 31-12-2025 /to 01-01-2025"})
+    public void testDeleteCommand_invalidFilter_fails(String input) {
+        DeleteCommand deleteCommand = new DeleteCommand(false);
+        CommandResult result = deleteCommand.execute(input);
+
+        TestUtils.assertCommandFailure(result, input);
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, service.countExpenses());
+    }
+
+    @Test
+    public void testDeleteCommand_rangeOutOfBound_removesNothing() {
+        DeleteCommand deleteCommand = new DeleteCommand(false);
+        CommandResult result = deleteCommand.execute("2-7");
+
+        TestUtils.assertCommandMessage(result, "2-7", MessageDisplayer.IDX_OUT_OF_BOUND_MESSAGE);
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, service.countExpenses());
+    }
+
     /**
      * Tests the description of the delete command.
      * Verifies the command returns the correct description.
@@ -114,6 +164,8 @@ public class DeleteCommandTest {
         String expectedDescription = formatString + "\n" +
                 """
                 INDEX must be a positive integer > 0.
+                INDEX may also be a list of ranges such as 1,3-5, or a filter made of
+                /in <CATEGORY>, /from <DATE>, /to <DATE> and /has <TEXT> to delete every matching expense.
                 """
                 + exampleString;
 
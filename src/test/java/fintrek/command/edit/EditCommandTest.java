@@ -195,6 +195,35 @@ public class EditCommandTest {
         TestUtils.assertCorrectRecurringDesc(0, input, "RecurringTest");
     }
 
+    @Test
+    public void testEditFilter_updatesEveryMatchInPlace() {
+        TestUtils.addConstantExpenses();
+        EditCommand editCommand = new EditCommand(false);
+        String input = "/in transport /c food";
+        CommandResult result = editCommand.execute(input);
+
+        TestUtils.assertCommandMessage(result, input,
+                String.format(MessageDisplayer.BULK_EDIT_SUCCESS_MESSAGE_TEMPLATE, 2));
+        assertEquals("taxi", service.getExpense(1).getDescription());
+        assertEquals("FOOD", service.getExpense(1).getCategory());
+        assertEquals("FOOD", service.getExpense(4).getCategory());
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, service.countExpenses());
+    }
+
+    @Test
+    public void testEditRange_updatesSelectedOnly() {
+        TestUtils.addConstantExpenses();
+        EditCommand editCommand = new EditCommand(false);
+        String input = "2-3 /$ 1";
+        CommandResult result = editCommand.execute(input);
+
+        TestUtils.assertCommandSuccess(result, input);
+        assertEquals(5.50, service.getExpense(0).getAmount());
+        assertEquals(1, service.getExpense(1).getAmount());
+        assertEquals(1, service.getExpense(2).getAmount());
+        assertEquals(2.50, service.getExpense(3).getAmount());
+    }
+
     /**
      * Tests the description of the edit command.
      * Verifies the command returns the correct description.
@@ -222,6 +251,8 @@ public class EditCommandTest {
         String expectedDescription = formatString + "\n" +
                 """
                 INDEX is the position of the expense in the list (from /list or /list-recurring).
+                INDEX may also be a list of ranges such as 1,3-5, or a filter made of
+                /in <CATEGORY>, /from <DATE>, /to <DATE> and /has <TEXT> to edit every matching expense.
                 DESCRIPTION, AMOUNT, CATEGORY, DATE are optional arguments, but at least one field is required.
                 """
                 + exampleString;
@@ -0,0 +1,64 @@
+package fintrek.command.find;
+
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FindCommandTest {
+
+    /**
+     * Resets the regular expenses to the constant test expenses before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        TestUtils.addConstantExpenses();
+    }
+
+    /**
+     * Verifies that a limited query reports every match but lists only the first rows,
+     * numbered by their index in the full list.
+     */
+    @Test
+    public void testFindCommandSortedAndLimited() {
+        String input = "category=food sort=amount:dsc limit=1";
+        CommandResult result = new FindCommand(false).execute(input);
+
+        TestUtils.assertCommandSuccess(result, input);
+        String expectedHeader = String.format(MessageDisplayer.FIND_SUCCESS_MESSAGE_TEMPLATE,
+                TestUtils.FOOD_EXPENSE_COUNT, TestUtils.FOOD_TOTAL);
+        assertTrue(result.message().startsWith(expectedHeader), result.message());
+        assertTrue(result.message().endsWith(String.format(MessageDisplayer.FIND_LIMITED_MESSAGE_TEMPLATE, 1)));
+    }
+
+    /**
+     * Verifies that a query without matches succeeds with a message saying so.
+     */
+    @Test
+    public void testFindCommandNoMatches() {
+        String input = "amount>100000";
+        CommandResult result = new FindCommand(false).execute(input);
+
+        TestUtils.assertCommandSuccess(result, input);
+        TestUtils.assertCommandMessage(result, input, MessageDisplayer.NO_QUERY_MATCHES_MESSAGE);
+    }
+
+    /**
+     * Verifies that an invalid term fails and is named in the error message.
+     */
+    @Test
+    public void testFindCommandInvalidTerm() {
+        String input = "amount=>5";
+        CommandResult result = new FindCommand(false).execute(input);
+
+        TestUtils.assertCommandFailure(result, input);
+        TestUtils.assertCommandMessage(result, input,
+                String.format(MessageDisplayer.INVALID_QUERY_TERM_MESSAGE, input));
+    }
+}
@@ -0,0 +1,98 @@
+package fintrek.command.find;
+
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static fintrek.expense.service.AppServices.regularService;
+
+public class SearchCommandTest {
+    private static final LocalDate DATE = LocalDate.of(2025, 4, 5);
+
+    /**
+     * Resets the regular expenses before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        regularService().addExpense(new Expense("Netflix subscription", 15.98, "entertainment", DATE));
+        regularService().addExpense(new Expense("Chicken rice", 4.50, "food", DATE));
+        regularService().addExpense(new Expense("Netflix gift card", 20.00, "entertainment", DATE));
+    }
+
+    /**
+     * Verifies that every expense containing the words is listed with its index and the total.
+     */
+    @Test
+    public void testSearchCommandListsMatches() {
+        String input = "netflix";
+        CommandResult result = new SearchCommand(false).execute(input);
+
+        TestUtils.assertCommandSuccess(result, input);
+        String expected = String.format(MessageDisplayer.FIND_SUCCESS_MESSAGE_TEMPLATE, 2, 35.98)
+                + String.format(MessageDisplayer.LIST_EXPENSE_FORMAT, 1, regularService().getExpense(0))
+                + String.format(MessageDisplayer.LIST_EXPENSE_FORMAT, 3, regularService().getExpense(2));
+        TestUtils.assertCommandMessage(result, input, expected);
+    }
+
+    /**
+     * Verifies that the index follows a deletion made after it was built.
+     */
+    @Test
+    public void testSearchCommandAfterDelete() {
+        regularService().getDescriptionIndex();
+        regularService().removeExpense(0);
+        String input = "NETFLIX card";
+        CommandResult result = new SearchCommand(false).execute(input);
+
+        String expected = String.format(MessageDisplayer.FIND_SUCCESS_MESSAGE_TEMPLATE, 1, 20.00)
+                + String.format(MessageDisplayer.LIST_EXPENSE_FORMAT, 2, regularService().getExpense(1));
+        TestUtils.assertCommandMessage(result, input, expected);
+    }
+
+    /**
+     * Verifies that /sub matches text inside words and /fuzzy tolerates a typo.
+     */
+    @Test
+    public void testSearchCommandSubstringAndFuzzy() {
+        String expected = String.format(MessageDisplayer.FIND_SUCCESS_MESSAGE_TEMPLATE, 1, 4.50)
+                + String.format(MessageDisplayer.LIST_EXPENSE_FORMAT, 2, regularService().getExpense(1));
+        TestUtils.assertCommandMessage(new SearchCommand(false).execute("/sub KEN RI"), "/sub KEN RI", expected);
+        TestUtils.assertCommandMessage(new SearchCommand(false).execute("/fuzzy chiken"), "/fuzzy chiken", expected);
+
+        CommandResult result = new SearchCommand(false).execute("/fuzzy");
+        TestUtils.assertCommandFailure(result, "/fuzzy");
+    }
+
+    /**
+     * Verifies that a search without matches succeeds with a message saying so.
+     */
+    @Test
+    public void testSearchCommandNoMatches() {
+        String input = "spotify";
+        CommandResult result = new SearchCommand(false).execute(input);
+
+        TestUtils.assertCommandSuccess(result, input);
+        TestUtils.assertCommandMessage(result, input,
+                String.format(MessageDisplayer.NO_SEARCH_MATCHES_MESSAGE_TEMPLATE, input));
+    }
+
+    /**
+     * Verifies that a search without words fails.
+     */
+    @Test
+    public void testSearchCommandEmpty() {
+        CommandResult result = new SearchCommand(false).execute(" ");
+
+        TestUtils.assertCommandFailure(result, " ");
+        TestUtils.assertCommandMessage(result, " ",
+                String.format(MessageDisplayer.ARG_EMPTY_MESSAGE_TEMPLATE, "search"));
+    }
+}
@@ -1,7 +1,9 @@
 package fintrek.command.help;
 
+import fintrek.command.registry.CommandRegistrar;
 import fintrek.command.registry.CommandRegistry;
 import fintrek.command.registry.CommandResult;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -647,6 +649,19 @@ public class HelpCommandTest {
         TestUtils.assertCommandErrorMessage(result, input, expectedMessage);
     }
 
+    /**
+     * Tests that the pre-rendered help of every registered command matches its description.
+     */
+    @Test
+    public void testHelpCommand_everyRegisteredCommand_success() {
+        HelpCommand helpCommand = new HelpCommand(false);
+        CommandRegistrar.registerAll().forEach((name, command) -> {
+            CommandResult result = helpCommand.execute(name);
+            TestUtils.assertCommandSuccess(result, name);
+            TestUtils.assertCommandMessage(result, name, command.getDescription());
+        });
+    }
+
     /**
      * Tests the description of help command.
      * Verifies the command returns the correct description.
@@ -0,0 +1,53 @@
+package fintrek.command.ledger;
+
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.service.TransactionManager;
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerContext;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LedgerCommandTest {
+    private final LedgerCommand command = new LedgerCommand(false);
+
+    @Test
+    public void testLedgerCommandNoArguments() {
+        CommandResult result = command.execute("  ");
+
+        TestUtils.assertCommandSuccess(result, "");
+        TestUtils.assertCommandMessage(result, "", String.format(MessageDisplayer.LEDGER_LIST_MESSAGE_TEMPLATE,
+                Ledger.DEFAULT_NAME, String.join(", ", LedgerContext.getOpenNames())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"switch", "open trip", "switch trip extra"})
+    public void testLedgerCommandInvalidArguments(String input) {
+        TestUtils.assertCommandErrorMessage(command.execute(input), input,
+                MessageDisplayer.INVALID_LEDGER_ARGUMENTS_MESSAGE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"switch ../data", "switch -trip", "switch trip.txt"})
+    public void testLedgerCommandInvalidName(String input) {
+        TestUtils.assertCommandErrorMessage(command.execute(input), input,
+                MessageDisplayer.INVALID_LEDGER_NAME_MESSAGE);
+    }
+
+    @Test
+    public void testLedgerCommandDuringTransaction() {
+        TransactionManager transactions = TransactionManager.getInstance();
+        transactions.begin();
+        try {
+            TestUtils.assertCommandErrorMessage(command.execute("switch trip"), "switch trip",
+                    MessageDisplayer.LEDGER_SWITCH_IN_TRANSACTION_MESSAGE);
+            assertEquals(Ledger.DEFAULT_NAME, LedgerContext.current().getName());
+        } finally {
+            transactions.rollback();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package fintrek.command.registry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandTrieTest {
+    private final CommandTrie trie = new CommandTrie(List.of("add", "add-recurring", "average-recurring",
+            "list", "list-sort", "list-sort-recurring", "search-recurring", "stats-recurring", "help"));
+
+    /**
+     * Verifies that full names, unique prefixes and initials resolve, ignoring case.
+     */
+    @ParameterizedTest
+    @CsvSource({"add, add", "add-recurring, add-recurring", "add-r, add-recurring", "he, help",
+        "HELP, help", "ls, list-sort", "lsr, list-sort-recurring", "ave, average-recurring",
+        "list-sort, list-sort"})
+    public void testMatch_validWord_resolvesCommand(String word, String expected) {
+        CommandTrie.Match match = trie.match("/" + word + " 5", 1);
+        assertEquals(expected, match.name());
+        assertEquals(word.length() + 1, match.end());
+        assertTrue(match.candidates().isEmpty());
+    }
+
+    /**
+     * Verifies that words matching no command are rejected without candidates.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"/hell", "/x", "/", "/ add", "/adds"})
+    public void testMatch_unknownWord_noMatch(String input) {
+        CommandTrie.Match match = trie.match(input, 1);
+        assertNull(match.name());
+        assertTrue(match.candidates().isEmpty());
+    }
+
+    /**
+     * Verifies that a word shared by several commands lists the commands it could stand for.
+     */
+    @Test
+    public void testMatch_ambiguousWord_listsCandidates() {
+        assertEquals(List.of("search-recurring", "stats-recurring"), trie.match("/s", 1).candidates());
+        assertEquals(List.of("add-recurring", "average-recurring"), trie.match("/ar", 1).candidates());
+        assertNull(trie.match("/ar", 1).name());
+    }
+
+    /**
+     * Verifies that completion returns the full names starting with a prefix.
+     */
+    @Test
+    public void testComplete_prefix_returnsSortedNames() {
+        assertEquals(List.of("list", "list-sort", "list-sort-recurring"), trie.complete("li"));
+        assertEquals(List.of("add", "add-recurring", "average-recurring", "help", "list", "list-sort",
+                "list-sort-recurring", "search-recurring", "stats-recurring"), trie.complete(""));
+        assertEquals(List.of(), trie.complete("z"));
+    }
+}
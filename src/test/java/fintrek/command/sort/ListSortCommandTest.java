@@ -1,6 +1,7 @@
 package fintrek.command.sort;
 
 import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.Expense;
 import fintrek.expense.service.ExpenseService;
 import fintrek.misc.MessageDisplayer;
 import fintrek.util.TestUtils;
@@ -9,8 +10,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import static fintrek.expense.service.AppServices.RECURRING_SERVICE;
-import static fintrek.expense.service.AppServices.REGULAR_SERVICE;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static fintrek.expense.service.AppServices.recurringService;
+import static fintrek.expense.service.AppServices.regularService;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class ListSortCommandTest {
@@ -46,9 +51,9 @@ public class ListSortCommandTest {
         ListSortCommand listSortCommand = new ListSortCommand(isRecurring);
         ExpenseService service;
         if (isRecurring) {
-            service = RECURRING_SERVICE;
+            service = recurringService();
         } else {
-            service = REGULAR_SERVICE;
+            service = regularService();
         }
         int initialSize = service.countExpenses();
         CommandResult result = listSortCommand.execute(input);
@@ -182,4 +187,35 @@ public class ListSortCommandTest {
         assertEquals(expectedDescription, listSortCommand.getDescription(),
                 MessageDisplayer.ASSERT_COMMAND_EXPECTED_OUTPUT + MessageDisplayer.ASSERT_GET_DESC);
     }
+
+    /**
+     * Verifies that sorting by amount, category or date lists the expenses in the same order as a stable
+     * comparator sort, including the relative order of expenses with equal keys.
+     * @param input String containing a valid sort field and sort direction.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"amount asc", "amount dsc", "category asc", "category dsc", "date asc", "date dsc"})
+    public void testListSortCommand_keyedFields_matchStableComparatorOrder(String input) {
+        LocalDate today = LocalDate.now();
+        regularService().addExpense(new Expense("snack", 5.50, "food", today.minusDays(3)));
+        regularService().addExpense(new Expense("rent", 900, "housing", today.minusYears(60)));
+        regularService().addExpense(new Expense("bus", 1.66, "transport", today.plusDays(1)));
+
+        String[] args = input.toUpperCase().split(" ");
+        Comparator<Expense> comparator = switch (args[0]) {
+        case "AMOUNT" -> Comparator.comparingDouble(Expense::getAmount);
+        case "CATEGORY" -> Comparator.comparing(Expense::getCategory);
+        default -> Comparator.comparing(Expense::getDate);
+        };
+        if (args[1].equals("DSC")) {
+            comparator = comparator.reversed();
+        }
+        List<Expense> expected = regularService().getAllExpenses();
+        expected.sort(comparator);
+
+        CommandResult result = new ListSortCommand(false).execute(input);
+        String expectedMessage = String.format(MessageDisplayer.SORT_SUCCESS_MESSAGE_TEMPLATE, args[0], args[1],
+                TestUtils.regularReporter.listExpenseBuilder(expected));
+        TestUtils.assertCommandMessage(result, input, expectedMessage);
+    }
 }
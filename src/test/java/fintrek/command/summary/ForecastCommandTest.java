@@ -0,0 +1,89 @@
+package fintrek.command.summary;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.service.AppServices;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForecastCommandTest {
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MM-yyyy");
+
+    private double previousBudget;
+
+    @BeforeEach
+    public void setUp() {
+        RecurringExpenseManager.getInstance().clear();
+        previousBudget = BudgetManager.getInstance().getBudget();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RecurringExpenseManager.getInstance().clear();
+        BudgetManager.getInstance().setBudget(previousBudget);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "121", "-1", "two", "1.5", "1000000000000"})
+    public void testForecastCommand_invalidMonths_failure(String input) {
+        CommandResult result = new ForecastCommand(false).execute(input);
+
+        TestUtils.assertCommandFailure(result, input);
+        TestUtils.assertCommandMessage(result, input,
+                String.format(MessageDisplayer.INVALID_FORECAST_MONTHS_MESSAGE, 120));
+    }
+
+    @Test
+    public void testForecastCommand_occurrenceLaterThisMonth_counted() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        AppServices.recurringService().addExpense(new Expense("phone", 30, "utilities", tomorrow));
+
+        CommandResult result = new ForecastCommand(false).execute("1");
+
+        TestUtils.assertCommandSuccess(result, "1");
+        // tomorrow, and a month later if that is still within next month
+        LocalDate endOfNextMonth = YearMonth.now().plusMonths(1).atEndOfMonth();
+        double expectedTotal = tomorrow.plusMonths(1).isAfter(endOfNextMonth) ? 30 : 60;
+        assertTrue(result.message().endsWith(String.format(MessageDisplayer.FORECAST_TOTAL_FORMAT, expectedTotal)));
+    }
+
+    @Test
+    public void testForecastCommand_withBudget_showsBudgetLeftEachMonth() {
+        YearMonth next = YearMonth.now().plusMonths(1);
+        AppServices.recurringService().addExpense(new Expense("rent", 400, "housing", next.atDay(1)));
+        BudgetManager.getInstance().setBudget(300);
+
+        CommandResult result = new ForecastCommand(false).execute(" 2 ");
+        // The rest of this month, unless today is its last day, holds no rent and is not set against the budget
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        String rest = tomorrow.getMonth().equals(LocalDate.now().getMonth())
+                ? String.format(MessageDisplayer.FORECAST_MONTH_FORMAT, String.format(
+                        MessageDisplayer.FORECAST_REST_OF_MONTH_LABEL, YearMonth.now().format(MONTH_FORMATTER)), 0.0)
+                : "";
+        String month = String.format(MessageDisplayer.FORECAST_MONTH_FORMAT, next.format(MONTH_FORMATTER), 400.00)
+                + String.format(MessageDisplayer.FORECAST_OVER_BUDGET_FORMAT, 100.00)
+                + String.format(MessageDisplayer.FORECAST_CATEGORY_FORMAT, "HOUSING", 400.00);
+        String following = String.format(MessageDisplayer.FORECAST_MONTH_FORMAT,
+                next.plusMonths(1).format(MONTH_FORMATTER), 400.00)
+                + String.format(MessageDisplayer.FORECAST_OVER_BUDGET_FORMAT, 100.00)
+                + String.format(MessageDisplayer.FORECAST_CATEGORY_FORMAT, "HOUSING", 400.00);
+        String expectedMessage = String.format(MessageDisplayer.FORECAST_SUCCESS_MESSAGE_TEMPLATE, 2,
+                rest + month + following + String.format(MessageDisplayer.FORECAST_TOTAL_FORMAT, 800.00));
+
+        TestUtils.assertCommandSuccess(result, "2");
+        TestUtils.assertCommandMessage(result, "2", expectedMessage);
+    }
+}
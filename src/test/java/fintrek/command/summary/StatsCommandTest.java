@@ -0,0 +1,73 @@
+package fintrek.command.summary;
+
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatsCommandTest {
+
+    @BeforeEach
+    public void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        RecurringExpenseManager.getInstance().clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testStatsCommand_emptyList_success(boolean isRecurring) {
+        CommandResult result = new StatsCommand(isRecurring).execute("");
+        String expectedMessage = (isRecurring)
+                ? String.format(MessageDisplayer.STATS_RECURRING_SUCCESS_MESSAGE_TEMPLATE,
+                        MessageDisplayer.EMPTY_RECURRING_LIST_MESSAGE)
+                : String.format(MessageDisplayer.STATS_SUCCESS_MESSAGE_TEMPLATE, MessageDisplayer.EMPTY_LIST_MESSAGE);
+
+        TestUtils.assertCommandSuccess(result, MessageDisplayer.ASSERT_EMPTY_LIST);
+        TestUtils.assertCommandMessage(result, MessageDisplayer.ASSERT_EMPTY_LIST, expectedMessage);
+    }
+
+    @Test
+    public void testStatsCommand_filledList_reportsOverallAndCategories() {
+        TestUtils.addConstantExpenses();
+        CommandResult result = new StatsCommand(false).execute(null);
+        String expectedOverall = String.format(MessageDisplayer.STATS_LINE_FORMAT, MessageDisplayer.STATS_OVERALL,
+                6, 1.66, 5.50, 256.00, 256.00, 256.00, "");
+        String expectedFood = String.format(MessageDisplayer.STATS_LINE_FORMAT, TestUtils.CATEGORY_FOOD,
+                3, 2.50, 5.50, 9.80, 9.80, 9.80, "");
+
+        TestUtils.assertCommandSuccess(result, MessageDisplayer.ASSERT_FILLED_LIST);
+        assertTrue(result.message().contains(expectedOverall));
+        assertTrue(result.message().contains(expectedFood));
+    }
+
+    @Test
+    public void testStatsCommand_afterDelete_reflectsRemoval() {
+        TestUtils.addConstantExpenses();
+        new StatsCommand(false).execute(null);
+        TestUtils.regularService.removeExpense(5); // concert, the only ENTERTAINMENT expense
+
+        CommandResult result = new StatsCommand(false).execute(TestUtils.CATEGORY_ENTERTAINMENT);
+        TestUtils.assertCommandFailure(result, TestUtils.CATEGORY_ENTERTAINMENT);
+        TestUtils.assertCommandErrorMessage(result, TestUtils.CATEGORY_ENTERTAINMENT,
+                MessageDisplayer.ERROR_LOADING_STATS + MessageDisplayer.CATEGORY_NOT_FOUND);
+    }
+
+    @Test
+    public void testStatsCommand_singleCategory_success() {
+        TestUtils.addConstantExpenses();
+        CommandResult result = new StatsCommand(false).execute(TestUtils.CATEGORY_LOWER_CASE);
+        String expectedMessage = String.format(MessageDisplayer.STATS_SUCCESS_MESSAGE_TEMPLATE,
+                String.format(MessageDisplayer.STATS_LINE_FORMAT, TestUtils.CATEGORY_FOOD,
+                        3, 2.50, 5.50, 9.80, 9.80, 9.80, ""));
+
+        TestUtils.assertCommandSuccess(result, TestUtils.CATEGORY_LOWER_CASE);
+        TestUtils.assertCommandMessage(result, TestUtils.CATEGORY_LOWER_CASE, expectedMessage);
+    }
+}
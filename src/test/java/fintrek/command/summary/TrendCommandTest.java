@@ -0,0 +1,69 @@
+package fintrek.command.summary;
+
+import fintrek.command.registry.CommandResult;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+public class TrendCommandTest {
+
+    @BeforeEach
+    public void setUp() {
+        RegularExpenseManager.getInstance().clear();
+    }
+
+    @Test
+    public void testTrendCommand_emptyList_success() {
+        CommandResult result = new TrendCommand(false).execute(null);
+        String expectedMessage = String.format(MessageDisplayer.TREND_SUCCESS_MESSAGE_TEMPLATE,
+                MessageDisplayer.EMPTY_LIST_MESSAGE);
+
+        TestUtils.assertCommandSuccess(result, MessageDisplayer.ASSERT_EMPTY_LIST);
+        TestUtils.assertCommandMessage(result, MessageDisplayer.ASSERT_EMPTY_LIST, expectedMessage);
+    }
+
+    @Test
+    public void testTrendCommand_multipleYears_success() {
+        TestUtils.regularService.addExpense(new Expense("coffee", 5.00, "food", LocalDate.of(2024, 12, 1)));
+        TestUtils.regularService.addExpense(new Expense("bus", 1.20, "transport", LocalDate.of(2025, 1, 2)));
+        TestUtils.regularService.addExpense(new Expense("lunch", 7.30, "food", LocalDate.of(2025, 1, 3)));
+
+        CommandResult result = new TrendCommand(false).execute("");
+        String expectedMessage = String.format(MessageDisplayer.TREND_SUCCESS_MESSAGE_TEMPLATE,
+                String.format(MessageDisplayer.TREND_MONTH_FORMAT, "12-2024", 5.00)
+                + String.format(MessageDisplayer.TREND_CATEGORY_FORMAT, "FOOD", 5.00)
+                + String.format(MessageDisplayer.TREND_MONTH_FORMAT, "01-2025", 8.50)
+                + String.format(MessageDisplayer.TREND_CATEGORY_FORMAT, "FOOD", 7.30)
+                + String.format(MessageDisplayer.TREND_CATEGORY_FORMAT, "TRANSPORT", 1.20));
+
+        TestUtils.assertCommandSuccess(result, MessageDisplayer.ASSERT_FILLED_LIST);
+        TestUtils.assertCommandMessage(result, MessageDisplayer.ASSERT_FILLED_LIST, expectedMessage);
+    }
+
+    @Test
+    public void testTrendCommand_singleCategory_success() {
+        TestUtils.regularService.addExpense(new Expense("coffee", 5.00, "food", LocalDate.of(2024, 12, 1)));
+        TestUtils.regularService.addExpense(new Expense("bus", 1.20, "transport", LocalDate.of(2025, 1, 2)));
+
+        CommandResult result = new TrendCommand(false).execute("transport");
+        String expectedMessage = String.format(MessageDisplayer.TREND_SUCCESS_MESSAGE_TEMPLATE,
+                String.format(MessageDisplayer.TREND_MONTH_FORMAT, "01-2025", 1.20));
+
+        TestUtils.assertCommandMessage(result, "transport", expectedMessage);
+    }
+
+    @Test
+    public void testTrendCommand_unknownCategory_fail() {
+        TestUtils.regularService.addExpense(new Expense("coffee", 5.00, "food", LocalDate.of(2024, 12, 1)));
+
+        CommandResult result = new TrendCommand(false).execute("gifts");
+        TestUtils.assertCommandFailure(result, "gifts");
+        TestUtils.assertCommandErrorMessage(result, "gifts",
+                MessageDisplayer.ERROR_LOADING_TREND + MessageDisplayer.CATEGORY_NOT_FOUND);
+    }
+}
@@ -15,6 +15,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ExpenseTest {
@@ -83,6 +84,22 @@ class ExpenseTest {
         assertEquals(MessageDisplayer.INVALID_AMOUNT, exception.getMessage());
     }
 
+    /**
+     * Verifies that expenses with the same description, amount, category and date are equal,
+     * as an expense read back from the save file must equal the one that was saved.
+     */
+    @Test
+    public void testEquals_sameValues_equalAndSameHashCode() {
+        LocalDate date = LocalDate.of(2025, 3, 5);
+        Expense expense = new Expense("rent", 1000.0, "housing", date);
+        Expense copy = new Expense("rent", 1000.00, "HOUSING", date);
+
+        assertEquals(expense, copy);
+        assertEquals(expense.hashCode(), copy.hashCode());
+        assertNotEquals(expense, new Expense("rent", 1000.0, "housing", date.plusMonths(1)));
+        assertNotEquals(expense, new Expense("rent", 999.99, "housing", date));
+    }
+
     /**
      * Tests whether the toString() method for the Expense class
      * effectively converts it to a string format of form
@@ -155,7 +172,9 @@ class ExpenseTest {
 
         TestUtils.assertCommandSuccess(result, input);
 
-        RecurringExpenseManager.getInstance().get(0).updateDate(dateToday);
+        Expense added = RecurringExpenseManager.getInstance().remove(0);
+        RecurringExpenseManager.getInstance().add(new Expense(added.getDescription(), added.getAmount(),
+                added.getCategory(), dateToday));
         RecurringExpenseProcessor.checkAndInsertDueExpenses(RecurringExpenseManager.getInstance(),
                 RegularExpenseManager.getInstance());
 
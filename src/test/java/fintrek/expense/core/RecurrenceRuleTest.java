@@ -0,0 +1,82 @@
+package fintrek.expense.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecurrenceRuleTest {
+    private static final LocalDate JAN_31 = LocalDate.of(2025, 1, 31);
+
+    @Test
+    void parse_allParts_roundTrips() {
+        RecurrenceRule rule = RecurrenceRule.parse("freq=weekly; interval=2 ;until=30-06-2025");
+
+        assertEquals(new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, LocalDate.of(2025, 6, 30), 0), rule);
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;UNTIL=30-06-2025", rule.toString());
+        assertEquals(rule, RecurrenceRule.parse(rule.toString()));
+        assertEquals(RecurrenceRule.MONTHLY, RecurrenceRule.parse("FREQ=MONTHLY"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "WEEKLY", "FREQ=HOURLY", "INTERVAL=2", "FREQ=DAILY;INTERVAL=0",
+        "FREQ=DAILY;INTERVAL=-1", "FREQ=DAILY;COUNT=x", "FREQ=DAILY;FREQ=WEEKLY", "FREQ=DAILY;UNTIL=2025-01-01",
+        "FREQ=DAILY;UNTIL=01-01-2025;COUNT=2", "FREQ=DAILY;", "FREQ=DAILY;BYDAY=MO", "FREQ=DAILY;INTERVAL=1001"})
+    void parse_invalidRule_returnsNull(String text) {
+        assertNull(RecurrenceRule.parse(text));
+    }
+
+    @Test
+    void nextOccurrenceAfter_shortMonth_clampsToMonthEnd() {
+        RecurrenceRule monthly = RecurrenceRule.MONTHLY;
+
+        assertEquals(JAN_31, monthly.nextOccurrenceAfter(JAN_31, LocalDate.of(2025, 1, 1)));
+        assertEquals(LocalDate.of(2025, 2, 28), monthly.nextOccurrenceAfter(JAN_31, JAN_31));
+        assertEquals(LocalDate.of(2025, 3, 31), monthly.nextOccurrenceAfter(JAN_31, LocalDate.of(2025, 2, 28)));
+        assertEquals(LocalDate.of(2025, 4, 30), monthly.nextOccurrenceAfter(JAN_31, LocalDate.of(2025, 3, 31)));
+    }
+
+    @Test
+    void nextOccurrenceAfter_yearlyFromLeapDay_fallsOnLastDayOfFebruary() {
+        RecurrenceRule yearly = RecurrenceRule.parse("FREQ=YEARLY");
+        LocalDate leapDay = LocalDate.of(2024, 2, 29);
+
+        assertEquals(LocalDate.of(2025, 2, 28), yearly.nextOccurrenceAfter(leapDay, leapDay));
+        assertEquals(LocalDate.of(2028, 2, 29), yearly.nextOccurrenceAfter(leapDay, LocalDate.of(2027, 2, 28)));
+    }
+
+    @Test
+    void nextOccurrenceAfter_farFuture_jumpsDirectlyWithInterval() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3");
+        LocalDate start = LocalDate.of(2025, 1, 1);
+
+        assertEquals(start.plusDays(3L * 1_000_000), rule.nextOccurrenceAfter(start, start.plusDays(2_999_999)));
+    }
+
+    @Test
+    void nextOccurrenceAfter_ruleEnded_returnsNull() {
+        LocalDate start = LocalDate.of(2025, 1, 6);
+
+        assertEquals(LocalDate.of(2025, 1, 20),
+                RecurrenceRule.parse("FREQ=WEEKLY;COUNT=3").nextOccurrenceAfter(start, LocalDate.of(2025, 1, 13)));
+        assertNull(RecurrenceRule.parse("FREQ=WEEKLY;COUNT=3").nextOccurrenceAfter(start, LocalDate.of(2025, 1, 20)));
+        assertNull(RecurrenceRule.parse("FREQ=WEEKLY;UNTIL=26-01-2025").nextOccurrenceAfter(start,
+                LocalDate.of(2025, 1, 20)));
+    }
+
+    @Test
+    void occurrencesBetween_window_expandsOnlyOccurrencesInside() {
+        List<LocalDate> occurrences = RecurrenceRule.MONTHLY
+                .occurrencesBetween(JAN_31, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 5, 30)).toList();
+
+        assertEquals(List.of(LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30)),
+                occurrences);
+        assertEquals(List.of(JAN_31, LocalDate.of(2025, 2, 28)), RecurrenceRule.parse("FREQ=MONTHLY;COUNT=2")
+                .occurrencesBetween(JAN_31, LocalDate.of(2020, 1, 1), LocalDate.of(2030, 1, 1)).toList());
+    }
+}
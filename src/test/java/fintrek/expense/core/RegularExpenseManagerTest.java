@@ -5,7 +5,14 @@ import fintrek.util.TestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 class RegularExpenseManagerTest {
     private RegularExpenseManager manager;
 
@@ -71,4 +78,98 @@ class RegularExpenseManagerTest {
         manager.insertAt(0, inserted);
         assertEquals(TestUtils.INSERTED_DESC, manager.get(0).getDescription());
     }
+
+    /**
+     * Verifies that a cursor visits every expense in list order and exposes its fields as primitives.
+     */
+    @Test
+    void cursor_afterAddingConstantExpenses_readsRowsInPlace() {
+        TestUtils.addConstantExpenses();
+        ExpenseCursor cursor = manager.cursor();
+        long totalCents = 0;
+        while (cursor.next()) {
+            Expense expense = manager.get(cursor.position());
+            assertSame(expense, cursor.expense());
+            assertEquals(expense.getDescription(), cursor.description());
+            assertEquals(expense.getDate().toEpochDay(), cursor.epochDay());
+            assertEquals(expense.getCategoryId(), cursor.categoryId());
+            totalCents += cursor.amountCents();
+        }
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, cursor.position());
+        assertEquals(Math.round(TestUtils.TOTAL_TEST_EXPENSE_SUM * 100), totalCents);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        cursor.next();
+        assertEquals(TestUtils.FIRST_TEST_DESC, cursor.description());
+    }
+
+    /**
+     * Verifies that removing several positions at once keeps the remaining expenses in order.
+     */
+    @Test
+    void removeAt_severalIndices_compactsInOrder() {
+        TestUtils.addConstantExpenses();
+        List<Expense> before = manager.getAll();
+        int modificationCount = manager.getModificationCount();
+
+        List<Expense> removed = manager.removeAt(new int[] {1, 2, 5});
+
+        assertEquals(List.of(before.get(1), before.get(2), before.get(5)), removed);
+        assertEquals(List.of(before.get(0), before.get(3), before.get(4)), manager.getAll());
+        assertEquals(modificationCount + 1, manager.getModificationCount());
+    }
+
+    /**
+     * Verifies that replacing an expense leaves its neighbours in place.
+     */
+    @Test
+    void replace_validIndex_swapsInPlace() {
+        TestUtils.addConstantExpenses();
+        Expense inserted = new Expense(TestUtils.INSERTED_DESC, TestUtils.INSERTED_AMOUNT,
+                TestUtils.INSERTED_CATEGORY, TestUtils.VALID_DATE);
+
+        Expense replaced = manager.replace(2, inserted);
+
+        assertEquals("dinner", replaced.getDescription());
+        assertSame(inserted, manager.get(2));
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, manager.getLength());
+    }
+
+    /**
+     * Verifies that scans running alongside writers on other threads always see a whole number of
+     * completed changes, and that no change is lost.
+     */
+    @Test
+    void read_concurrentWriters_seesConsistentSnapshots() throws InterruptedException {
+        int writerCount = 2;
+        int addsPerWriter = 2000;
+        LocalDate today = LocalDate.now();
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < writerCount; w++) {
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < addsPerWriter; i++) {
+                    manager.add(new Expense("coffee", 1.00, "food", today));
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        boolean isConsistent = true;
+        while (writers.stream().anyMatch(Thread::isAlive)) {
+            long[] countAndCents = manager.read(cursor -> {
+                long cents = 0;
+                while (cursor.next()) {
+                    cents += cursor.amountCents();
+                }
+                return new long[]{cursor.size(), cents};
+            });
+            isConsistent &= countAndCents[1] == 100 * countAndCents[0];
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertTrue(isConsistent);
+        assertEquals(writerCount * addsPerWriter, manager.getLength());
+        assertEquals(writerCount * addsPerWriter, manager.getAll().size());
+    }
 }
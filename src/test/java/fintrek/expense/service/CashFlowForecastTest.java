@@ -0,0 +1,73 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurrenceRule;
+import fintrek.expense.core.RecurringExpenseManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CashFlowForecastTest {
+    private static final YearMonth JANUARY = YearMonth.of(2026, 1);
+
+    private final ExpenseService recurring = new ExpenseService(new RecurringExpenseManager());
+
+    @Test
+    void project_mixedRules_bucketsOccurrencesByMonthAndCategory() {
+        recurring.addExpense(new Expense("rent", 1000, "housing", LocalDate.of(2025, 6, 30)));
+        recurring.addExpense(new Expense("gym", 15, "health", LocalDate.of(2026, 1, 5),
+                RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2")));
+        recurring.addExpense(new Expense("insurance", 300, "health", LocalDate.of(2024, 3, 1),
+                RecurrenceRule.parse("FREQ=YEARLY")));
+        recurring.addExpense(new Expense("course", 50, "education", LocalDate.of(2025, 12, 10),
+                RecurrenceRule.parse("FREQ=MONTHLY;COUNT=2")));
+
+        CashFlowForecast forecast = CashFlowForecast.project(recurring, JANUARY.atDay(1), 3);
+
+        assertEquals(3, forecast.getMonths().size());
+        // rent on 31-01, gym on 05-01 and 19-01, the course's last occurrence on 10-01
+        assertEquals(1080.00, forecast.getMonthTotal(JANUARY), 1e-9);
+        assertEquals(Map.of("EDUCATION", 50.00, "HEALTH", 30.00, "HOUSING", 1000.00),
+                forecast.getCategoryTotals(JANUARY));
+        // rent on 28-02, gym on 02-02 and 16-02
+        assertEquals(1030.00, forecast.getMonthTotal(JANUARY.plusMonths(1)), 1e-9);
+        // rent on 31-03, gym on 02-03, 16-03 and 30-03, insurance on 01-03
+        assertEquals(1345.00, forecast.getMonthTotal(JANUARY.plusMonths(2)), 1e-9);
+        assertEquals(3455.00, forecast.getTotal(), 1e-9);
+        assertEquals(0, forecast.getMonthTotal(JANUARY.plusMonths(3)));
+    }
+
+    @Test
+    void project_fromMiddleOfMonth_leavesOutEarlierOccurrences() {
+        recurring.addExpense(new Expense("rent", 1000, "housing", LocalDate.of(2025, 6, 30)));
+        recurring.addExpense(new Expense("gym", 15, "health", LocalDate.of(2026, 1, 5),
+                RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2")));
+
+        CashFlowForecast forecast = CashFlowForecast.project(recurring, LocalDate.of(2026, 1, 20), 2);
+
+        assertEquals(2, forecast.getMonths().size());
+        // rent on 31-01; gym on 05-01 and 19-01 is before the range
+        assertEquals(1000.00, forecast.getMonthTotal(JANUARY), 1e-9);
+        // rent on 28-02, gym on 02-02 and 16-02
+        assertEquals(1030.00, forecast.getMonthTotal(JANUARY.plusMonths(1)), 1e-9);
+    }
+
+    @Test
+    void project_tenYearsOfManyRules_sumsEveryOccurrence() {
+        for (int i = 0; i < 300; i++) {
+            recurring.addExpense(new Expense("daily " + i, 1, "misc", LocalDate.of(2025, 1, 1),
+                    RecurrenceRule.parse("FREQ=DAILY")));
+        }
+
+        CashFlowForecast forecast = CashFlowForecast.project(recurring, JANUARY.atDay(1), 120);
+
+        long days = JANUARY.atDay(1).until(JANUARY.plusMonths(120).atDay(1), ChronoUnit.DAYS);
+        assertEquals(300.0 * days, forecast.getTotal(), 1e-6);
+        assertEquals(300.0 * 28, forecast.getMonthTotal(YearMonth.of(2027, 2)), 1e-9);
+    }
+}
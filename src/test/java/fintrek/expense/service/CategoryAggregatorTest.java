@@ -0,0 +1,56 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CategoryAggregatorTest {
+    private static final String[] CATEGORIES = {"food", "transport", "health", "gifts", "utilities"};
+    private static final int LARGE_LEDGER_SIZE = 200_000;
+
+    private static Expense[] randomLedger(int size) {
+        Random random = new Random(2113);
+        LocalDate date = LocalDate.of(2025, 3, 3);
+        Expense[] expenses = new Expense[size];
+        for (int i = 0; i < size; i++) {
+            double amount = (1 + random.nextInt(100_000)) / 100.0;
+            expenses[i] = new Expense("item" + i, amount, CATEGORIES[random.nextInt(CATEGORIES.length)], date);
+        }
+        return expenses;
+    }
+
+    @Test
+    void totalByCategory_parallelMatchesSequentialExactly() {
+        Expense[] expenses = randomLedger(LARGE_LEDGER_SIZE);
+        Map<String, Double> sequential = CategoryAggregator.totalByCategory(expenses, Integer.MAX_VALUE);
+        Map<String, Double> parallel = CategoryAggregator.totalByCategory(expenses, 0);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void totalByCategory_matchesBoxedGroupingBy() {
+        Expense[] expenses = randomLedger(LARGE_LEDGER_SIZE);
+        Map<String, Double> expected = Stream.of(expenses)
+                .collect(Collectors.groupingBy(Expense::getCategory, Collectors.summingDouble(Expense::getAmount)));
+        Map<String, Double> actual = CategoryAggregator.totalByCategory(expenses);
+
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()), TestUtils.DELTA);
+        }
+    }
+
+    @Test
+    void totalByCategory_emptyLedger_returnsEmptyMap() {
+        assertTrue(CategoryAggregator.totalByCategory(new Expense[0], 0).isEmpty());
+    }
+}
@@ -0,0 +1,55 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DailySpendingWindowTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private DailySpendingWindow window;
+
+    @BeforeEach
+    void setUp() {
+        window = new DailySpendingWindow();
+        window.rebuild(List.of(
+                new Expense("lunch", 10.00, "food", TODAY),
+                new Expense("bus", 20.00, "transport", TODAY.minusDays(3)),
+                new Expense("shoes", 40.00, "shopping", TODAY.minusDays(10)),
+                new Expense("laptop", 80.00, "shopping", TODAY.minusDays(40)),
+                new Expense("tickets", 5.00, "entertainment", TODAY.plusDays(2))));
+    }
+
+    @Test
+    void getTotal_sumsOnlyDaysInsidePeriod() {
+        assertEquals(10.00, window.getTotal(TODAY, 1), TestUtils.DELTA);
+        assertEquals(30.00, window.getTotal(TODAY, 7), TestUtils.DELTA);
+        assertEquals(70.00, window.getTotal(TODAY, 30), TestUtils.DELTA);
+        assertEquals(30.00 / 7, window.getDailyAverage(TODAY, 7), TestUtils.DELTA);
+    }
+
+    @Test
+    void onInsertAndOnRemove_updateDailyTotals() {
+        Expense snack = new Expense("snack", 2.50, "food", TODAY.minusDays(1));
+        window.onInsert(0, snack);
+        assertEquals(32.50, window.getTotal(TODAY, 7), TestUtils.DELTA);
+
+        window.onRemove(0, snack);
+        window.onRemove(0, new Expense("bus", 20.00, "transport", TODAY.minusDays(3)));
+        assertEquals(10.00, window.getTotal(TODAY, 7), TestUtils.DELTA);
+    }
+
+    @Test
+    void getTotal_laterDay_slidesWindowAndFoldsInFutureExpenses() {
+        LocalDate later = TODAY.plusDays(2);
+        assertEquals(5.00, window.getTotal(later, 1), TestUtils.DELTA);
+        assertEquals(75.00, window.getTotal(later, 30), TestUtils.DELTA);
+        assertEquals(0.00, window.getTotal(TODAY.plusDays(45), 30), TestUtils.DELTA);
+    }
+}
@@ -0,0 +1,105 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DescriptionIndexTest {
+    private static final String[] WORDS = {"coffee", "grab", "ride", "netflix", "lunch", "rice", "chicken"};
+
+    private DescriptionIndex index;
+    private List<Expense> expenses;
+
+    private static Expense expense(String description) {
+        return new Expense(description, 1.00, "food", LocalDate.of(2025, 3, 1));
+    }
+
+    /**
+     * Finds the expected matches by reading every description.
+     */
+    private int[] scan(String query) {
+        List<String> words = DescriptionIndex.words(query);
+        return IntStream.range(0, expenses.size())
+                .filter(i -> !words.isEmpty()
+                        && DescriptionIndex.words(expenses.get(i).getDescription()).containsAll(words))
+                .toArray();
+    }
+
+    @BeforeEach
+    void setUp() {
+        expenses = new ArrayList<>(List.of(expense("Netflix subscription"), expense("GRAB*RIDE 12345"),
+                expense("Chicken rice"), expense("coffee, coffee and more coffee"), expense("Grab ride home")));
+        index = new DescriptionIndex();
+        index.rebuild(expenses);
+    }
+
+    @Test
+    void words_splitsOnNonAlphanumericsAndLowerCases() {
+        assertEquals(List.of("grab", "ride", "12345"), DescriptionIndex.words("GRAB*RIDE 12345"));
+        assertEquals(List.of("coffee", "and", "more"), DescriptionIndex.words("coffee, coffee and more coffee"));
+        assertEquals(List.of(), DescriptionIndex.words("  *** "));
+    }
+
+    @Test
+    void search_intersectsEveryWord() {
+        assertArrayEquals(new int[] {0}, index.search("NETFLIX"));
+        assertArrayEquals(new int[] {1, 4}, index.search("ride grab"));
+        assertArrayEquals(new int[] {4}, index.search("grab home"));
+        assertArrayEquals(new int[0], index.search("grab rice"));
+        assertArrayEquals(new int[0], index.search("taxi"));
+        assertArrayEquals(new int[0], index.search("--"));
+    }
+
+    @Test
+    void onInsertAndOnRemove_keepPositionsInStep() {
+        Expense taxi = expense("Grab taxi");
+        assertEquals(true, index.onInsert(1, taxi));
+        expenses.add(1, taxi);
+        assertArrayEquals(new int[] {1, 2, 5}, index.search("grab"));
+
+        assertEquals(true, index.onRemove(0, expenses.remove(0)));
+        assertArrayEquals(new int[] {0, 1, 4}, index.search("grab"));
+        assertArrayEquals(new int[0], index.search("netflix"));
+    }
+
+    @Test
+    void randomChanges_matchFullScan() {
+        Random random = new Random(38);
+        for (int step = 0; step < 2000; step++) {
+            int action = random.nextInt(3);
+            if (action == 0 || expenses.isEmpty()) {
+                int at = random.nextInt(expenses.size() + 1);
+                Expense added = expense(WORDS[random.nextInt(WORDS.length)] + " "
+                        + WORDS[random.nextInt(WORDS.length)]);
+                expenses.add(at, added);
+                if (!index.onInsert(at, added)) {
+                    index.rebuild(expenses);
+                }
+            } else if (action == 1) {
+                int at = random.nextInt(expenses.size());
+                if (!index.onRemove(at, expenses.remove(at))) {
+                    index.rebuild(expenses);
+                }
+            } else {
+                int at = random.nextInt(expenses.size());
+                Expense edited = expense(WORDS[random.nextInt(WORDS.length)]);
+                boolean isApplied = index.onRemove(at, expenses.get(at)) && index.onInsert(at, edited);
+                expenses.set(at, edited);
+                if (!isApplied) {
+                    index.rebuild(expenses);
+                }
+            }
+            String query = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            assertArrayEquals(scan(query), index.search(query), "step " + step + ": " + query);
+        }
+    }
+}
@@ -21,9 +21,9 @@ public class ExpenseReporterTest {
      */
     @BeforeEach
     void setUp() {
-        AppServices.REGULAR_SERVICE.clearExpenses();
+        AppServices.regularService().clearExpenses();
         TestUtils.addConstantExpenses();
-        reporter = AppServices.REGULAR_REPORTER;
+        reporter = AppServices.regularReporter();
     }
 
     @Test
@@ -95,8 +95,8 @@ public class ExpenseReporterTest {
 
     @Test
     void testEmptyReporterReturnsSafeDefaults() {
-        AppServices.REGULAR_SERVICE.clearExpenses();
-        reporter = AppServices.REGULAR_REPORTER;
+        AppServices.regularService().clearExpenses();
+        reporter = AppServices.regularReporter();
 
         StringBuilder list = new StringBuilder();
         Map<String, Double> categoryTotals = reporter.getTotalByCategory();
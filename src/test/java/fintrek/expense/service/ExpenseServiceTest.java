@@ -21,8 +21,8 @@ class ExpenseServiceTest {
         RegularExpenseManager.getInstance().clear();
         RecurringExpenseManager.getInstance().clear();
 
-        regularService = AppServices.REGULAR_SERVICE;
-        recurringService = AppServices.RECURRING_SERVICE;
+        regularService = AppServices.regularService();
+        recurringService = AppServices.recurringService();
     }
 
     @Test
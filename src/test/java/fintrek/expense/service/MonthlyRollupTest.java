@@ -0,0 +1,89 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.core.Expense;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MonthlyRollupTest {
+    private static final YearMonth MARCH_2024 = YearMonth.of(2024, 3);
+    private static final YearMonth APRIL_2025 = YearMonth.of(2025, 4);
+
+    @BeforeEach
+    void setUp() {
+        AppServices.regularService().clearExpenses();
+        AppServices.regularService().addExpense(new Expense("coffee", 5.00, "food", LocalDate.of(2024, 3, 1)));
+        AppServices.regularService().addExpense(new Expense("bus", 1.20, "transport", LocalDate.of(2024, 3, 15)));
+        AppServices.regularService().addExpense(new Expense("dinner", 25.80, "food", LocalDate.of(2025, 4, 5)));
+    }
+
+    @Test
+    void rollup_tracksMonthAndCategoryTotals() {
+        MonthlyRollup rollup = AppServices.regularService().getMonthlyRollup();
+        assertEquals(List.of(MARCH_2024, APRIL_2025), rollup.getMonths());
+        assertEquals(6.20, rollup.getMonthTotal(MARCH_2024), TestUtils.DELTA);
+        assertEquals(Map.of("FOOD", 5.00, "TRANSPORT", 1.20), rollup.getCategoryTotals(MARCH_2024));
+        assertEquals(25.80, rollup.getMonthTotal(APRIL_2025), TestUtils.DELTA);
+    }
+
+    @Test
+    void getExpenseCount_boundsAndCategory_countsMatchingMonths() {
+        MonthlyRollup rollup = AppServices.regularService().getMonthlyRollup();
+        int foodId = CategoryManager.getCategoryId("food");
+        assertEquals(3, rollup.getExpenseCount(null, null, -1));
+        assertEquals(2, rollup.getExpenseCount(null, null, foodId));
+        assertEquals(1, rollup.getExpenseCount(APRIL_2025, null, foodId));
+        assertEquals(2, rollup.getExpenseCount(null, MARCH_2024, -1));
+        assertEquals(0, rollup.getExpenseCount(YearMonth.of(2024, 4), YearMonth.of(2025, 3), -1));
+    }
+
+    @Test
+    void rollup_followsEditAndDelete() {
+        MonthlyRollup rollup = AppServices.regularService().getMonthlyRollup();
+        Expense moved = new Expense("bus", 1.20, "transport", LocalDate.of(2025, 4, 15));
+        AppServices.regularService().popExpense(1);
+        AppServices.regularService().insertExpenseAt(1, moved);
+        AppServices.regularService().removeExpense(2);
+
+        assertEquals(List.of(MARCH_2024, APRIL_2025), rollup.getMonths());
+        assertEquals(Map.of("FOOD", 5.00), rollup.getCategoryTotals(MARCH_2024));
+        assertEquals(Map.of("TRANSPORT", 1.20), rollup.getCategoryTotals(APRIL_2025));
+        assertEquals(rollup, AppServices.regularService().getMonthlyRollup());
+    }
+
+    @Test
+    void rollup_roundTripsThroughLines() {
+        List<String> lines = AppServices.regularService().getMonthlyRollup().toLines();
+        MonthlyRollup restored = new MonthlyRollup();
+
+        assertTrue(restored.load(lines));
+        assertEquals(3, restored.getExpenseCount());
+        assertEquals(lines, restored.toLines());
+    }
+
+    @Test
+    void restoreMonthlyRollup_countMismatch_rejected() {
+        List<String> lines = AppServices.regularService().getMonthlyRollup().toLines();
+        AppServices.regularService().removeExpense(0);
+
+        assertFalse(AppServices.regularService().restoreMonthlyRollup(lines));
+        assertEquals(1.20, AppServices.regularService().getMonthlyRollup().getMonthTotal(MARCH_2024), TestUtils.DELTA);
+    }
+
+    @Test
+    void load_malformedLines_rejected() {
+        MonthlyRollup rollup = new MonthlyRollup();
+        assertFalse(rollup.load(List.of("Expenses: 1", "2024-03 | FOOD | abc | 1")));
+        assertTrue(rollup.getMonths().isEmpty());
+    }
+}
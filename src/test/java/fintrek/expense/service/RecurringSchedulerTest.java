@@ -0,0 +1,117 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurrenceRule;
+import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.RegularExpenseManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecurringSchedulerTest {
+    private final RecurringExpenseManager recurring = new RecurringExpenseManager();
+    private final RegularExpenseManager regular = new RegularExpenseManager();
+    private final RecurringScheduler scheduler = new RecurringScheduler(recurring, regular);
+
+    @Test
+    void runDue_firstRun_insertsOnlyOccurrencesDueToday() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        recurring.add(new Expense("gym", 50, "health", LocalDate.of(2025, 1, 6)));
+
+        assertEquals(1, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        assertEquals(LocalDate.of(2025, 4, 5), regular.get(0).getDate());
+        assertEquals(LocalDate.of(2025, 4, 5), scheduler.getLastRun());
+    }
+
+    @Test
+    void runDue_sameDayTwice_insertsOnce() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+
+        assertEquals(1, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        assertEquals(0, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        assertEquals(1, regular.getLength());
+    }
+
+    @Test
+    void runDue_missedMonths_catchesUpInDateOrder() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        recurring.add(new Expense("gym", 50, "health", LocalDate.of(2025, 1, 20)));
+        scheduler.setLastRun(LocalDate.of(2025, 1, 31));
+
+        assertEquals(5, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        List<LocalDate> dates = regular.getAll().stream().map(Expense::getDate).toList();
+        assertEquals(List.of(LocalDate.of(2025, 2, 5), LocalDate.of(2025, 2, 20), LocalDate.of(2025, 3, 5),
+                LocalDate.of(2025, 3, 20), LocalDate.of(2025, 4, 5)), dates);
+    }
+
+    @Test
+    void runDue_lastRunLost_skipsOccurrencesAlreadyInserted() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        scheduler.setLastRun(LocalDate.of(2025, 1, 31));
+        scheduler.runDue(LocalDate.of(2025, 3, 5));
+
+        // e.g. the save file was restored from a copy made before the previous run
+        RecurringScheduler restarted = new RecurringScheduler(recurring, regular);
+        restarted.setLastRun(LocalDate.of(2025, 1, 31));
+
+        assertEquals(1, restarted.runDue(LocalDate.of(2025, 4, 5)));
+        assertEquals(3, regular.getLength());
+    }
+
+    @Test
+    void runDue_identicalRecurringExpenses_insertsEach() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+
+        assertEquals(2, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        assertEquals(2, regular.getLength());
+    }
+
+    @Test
+    void runDue_manualExpenseWithSameValues_stillInsertsOccurrence() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        regular.add(new Expense("rent", 1000, "HOUSING", LocalDate.of(2025, 4, 5)));
+
+        assertEquals(1, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        assertEquals(2, regular.getLength());
+    }
+
+    @Test
+    void runDue_lastRunLostAfterOccurrenceEdited_skipsEditedOccurrence() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        scheduler.setLastRun(LocalDate.of(2025, 3, 31));
+        scheduler.runDue(LocalDate.of(2025, 4, 5));
+        Expense inserted = regular.remove(0);
+        regular.add(inserted.withValues("rent (late)", 1020, "housing", LocalDate.of(2025, 4, 8)));
+
+        RecurringScheduler restarted = new RecurringScheduler(recurring, regular);
+        restarted.setLastRun(LocalDate.of(2025, 3, 31));
+
+        assertEquals(0, restarted.runDue(LocalDate.of(2025, 4, 10)));
+        assertEquals(1, regular.getLength());
+    }
+
+    @Test
+    void runDue_recurringExpenseAdded_picksUpNewExpense() {
+        recurring.add(new Expense("rent", 1000, "housing", LocalDate.of(2025, 1, 5)));
+        scheduler.runDue(LocalDate.of(2025, 4, 4));
+        recurring.add(new Expense("gym", 50, "health", LocalDate.of(2025, 1, 5)));
+
+        assertEquals(2, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+    }
+
+    @Test
+    void runDue_weeklyRuleWithEnd_stopsAfterLastOccurrence() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;COUNT=3");
+        recurring.add(new Expense("gym", 15, "health", LocalDate.of(2025, 1, 6), rule));
+        scheduler.setLastRun(LocalDate.of(2025, 1, 1));
+
+        assertEquals(3, scheduler.runDue(LocalDate.of(2025, 4, 5)));
+        List<LocalDate> dates = regular.getAll().stream().map(Expense::getDate).toList();
+        assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 3)), dates);
+        assertEquals(0, scheduler.runDue(LocalDate.of(2025, 12, 31)));
+    }
+}
@@ -0,0 +1,101 @@
+package fintrek.expense.service;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionManagerTest {
+    private final TransactionManager transactions = TransactionManager.getInstance();
+    private final ExpenseService regularService = AppServices.regularService();
+    private final ExpenseService recurringService = AppServices.recurringService();
+    private double previousBudget;
+
+    @BeforeEach
+    void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        RecurringExpenseManager.getInstance().clear();
+        previousBudget = BudgetManager.getInstance().getBudget();
+        TestUtils.addConstantExpenses();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactions.rollback();
+        BudgetManager.getInstance().setBudget(previousBudget);
+        RegularExpenseManager.getInstance().clear();
+        RecurringExpenseManager.getInstance().clear();
+    }
+
+    @Test
+    void begin_whileOpen_fails() {
+        assertTrue(transactions.begin());
+        assertTrue(transactions.isActive());
+        assertFalse(transactions.begin());
+    }
+
+    @Test
+    void commitAndRollback_withoutTransaction_returnMinusOne() {
+        assertEquals(-1, transactions.commit());
+        assertEquals(-1, transactions.rollback());
+    }
+
+    @Test
+    void commit_keepsChanges() {
+        transactions.begin();
+        regularService.addExpense(new Expense("taxi", 15, "transport", TestUtils.VALID_DATE));
+        regularService.removeExpense(0);
+
+        assertEquals(2, transactions.commit());
+        assertFalse(transactions.isActive());
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT, regularService.countExpenses());
+        assertEquals("taxi", regularService.getExpense(regularService.countExpenses() - 1).getDescription());
+    }
+
+    @Test
+    void rollback_mixedChanges_restoresBothCollectionsAndBudget() {
+        List<Expense> before = new ArrayList<>(regularService.getAllExpenses());
+        double totalBefore = regularService.getMonthlyRollup().getMonthTotal(
+                YearMonth.from(TestUtils.VALID_DATE));
+        BudgetManager.getInstance().setBudget(300);
+
+        transactions.begin();
+        regularService.addExpense(new Expense("taxi", 15, "transport", TestUtils.VALID_DATE));
+        Expense edited = regularService.popExpense(2);
+        regularService.insertExpenseAt(2, new Expense("edited", 1, "food", LocalDate.of(2025, 1, 1)));
+        regularService.removeExpense(0);
+        recurringService.addExpense(new Expense("rent", 900, "housing", TestUtils.VALID_DATE));
+        BudgetManager.getInstance().setBudget(50);
+
+        assertEquals(5, transactions.rollback());
+        assertFalse(transactions.isActive());
+        assertEquals(before, regularService.getAllExpenses());
+        assertEquals(edited, regularService.getExpense(2));
+        assertEquals(0, recurringService.countExpenses());
+        assertEquals(300, BudgetManager.getInstance().getBudget());
+        assertEquals(totalBefore, regularService.getMonthlyRollup().getMonthTotal(
+                YearMonth.from(TestUtils.VALID_DATE)), 1e-9);
+    }
+
+    @Test
+    void changesOutsideTransaction_areNotRecorded() {
+        regularService.addExpense(new Expense("taxi", 15, "transport", TestUtils.VALID_DATE));
+        transactions.begin();
+
+        assertEquals(0, transactions.rollback());
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT + 1, regularService.countExpenses());
+    }
+}
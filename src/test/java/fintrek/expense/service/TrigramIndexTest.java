@@ -0,0 +1,137 @@
+package fintrek.expense.service;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RegularExpenseManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static fintrek.expense.service.AppServices.regularService;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrigramIndexTest {
+    private static final String[] PARTS = {"GRAB*RIDE", "grab food", "Netflix", "netflx", "coffee", "cofee",
+        "12345", "ride", "bus", "taxi"};
+
+    private static Expense expense(String description) {
+        return new Expense(description, 1.00, "food", LocalDate.of(2025, 3, 1));
+    }
+
+    /**
+     * Edit distance between the pattern and the closest substring of the text, tried one substring at a time.
+     */
+    private static int bruteForceDistance(String pattern, String text) {
+        int best = pattern.length();
+        for (int start = 0; start <= text.length(); start++) {
+            for (int end = start; end <= text.length(); end++) {
+                best = Math.min(best, editDistance(pattern, text.substring(start, end)));
+            }
+        }
+        return best;
+    }
+
+    private static int editDistance(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                    table[i][j] = Math.min(table[i - 1][j - 1] + cost,
+                            Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+
+    private static int[] scan(String text, boolean isFuzzy) {
+        String part = text.toLowerCase();
+        int typos = isFuzzy ? TrigramIndex.maxTypos(part.length()) : 0;
+        List<Expense> expenses = regularService().getAllExpenses();
+        return IntStream.range(0, expenses.size())
+                .filter(i -> bruteForceDistance(part, expenses.get(i).getDescription().toLowerCase()) <= typos)
+                .toArray();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        for (String description : List.of("GRAB*RIDE 12345", "Netflix subscription", "Coffee beans", "Grab food")) {
+            regularService().addExpense(expense(description));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RegularExpenseManager.getInstance().clear();
+    }
+
+    @Test
+    void isWithinDistance_matchesBruteForce() {
+        String[] texts = {"grab*ride 12345", "netflix subscription", "", "ab", "coffee beans"};
+        for (String pattern : new String[] {"ride", "netflx", "grab ride", "cofee bean", "xyz", "a"}) {
+            for (String text : texts) {
+                for (int distance = 0; distance <= 2; distance++) {
+                    assertEquals(bruteForceDistance(pattern, text) <= distance,
+                            TrigramIndex.isWithinDistance(pattern, text, distance), pattern + " in " + text);
+                }
+            }
+        }
+    }
+
+    @Test
+    void searchSubstring_findsTextInsideWords() {
+        TrigramIndex index = regularService().getTrigramIndex();
+        assertArrayEquals(new int[] {0}, index.searchSubstring("b*ri", regularService()));
+        assertArrayEquals(new int[] {0, 3}, index.searchSubstring("GRAB", regularService()));
+        assertArrayEquals(new int[] {1, 2}, index.searchSubstring("s", regularService()));
+        assertArrayEquals(new int[0], index.searchSubstring("grab ride", regularService()));
+    }
+
+    @Test
+    void searchFuzzy_toleratesTyposByLength() {
+        TrigramIndex index = regularService().getTrigramIndex();
+        assertArrayEquals(new int[] {1}, index.searchFuzzy("netflx", regularService()));
+        assertArrayEquals(new int[] {0}, index.searchFuzzy("grab ride", regularService()));
+        assertArrayEquals(new int[0], index.searchFuzzy("bus", regularService()));
+        assertEquals(0, TrigramIndex.maxTypos(3));
+        assertEquals(1, TrigramIndex.maxTypos(7));
+        assertEquals(2, TrigramIndex.maxTypos(8));
+    }
+
+    @Test
+    void searchFuzzy_queryWhoseTyposMayBreakEveryTrigram_stillFindsMatches() {
+        TrigramIndex index = regularService().getTrigramIndex();
+        assertArrayEquals(new int[] {0, 3}, index.searchFuzzy("grob", regularService()));
+        assertArrayEquals(new int[] {3}, index.searchFuzzy("grxb fxo", regularService()));
+    }
+
+    @Test
+    void randomChangesThroughService_matchFullScan() {
+        Random random = new Random(39);
+        for (int step = 0; step < 300; step++) {
+            int count = regularService().countExpenses();
+            String description = PARTS[random.nextInt(PARTS.length)] + " " + PARTS[random.nextInt(PARTS.length)];
+            int action = random.nextInt(3);
+            if (action == 0 || count == 0) {
+                regularService().insertExpenseAt(random.nextInt(count + 1), expense(description));
+            } else if (action == 1) {
+                regularService().removeExpense(random.nextInt(count));
+            } else {
+                regularService().replaceExpenses(new int[] {random.nextInt(count)}, List.of(expense(description)));
+            }
+            String query = PARTS[random.nextInt(PARTS.length)];
+            TrigramIndex index = regularService().getTrigramIndex();
+            assertArrayEquals(scan(query, false), index.searchSubstring(query, regularService()), "step " + step);
+            assertArrayEquals(scan(query, true), index.searchFuzzy(query, regularService()), "step " + step);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package fintrek.expense.service;
+
+import fintrek.command.registry.CommandRegistrar;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurringExpenseManager;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.parser.CommandRouter;
+import fintrek.parser.RouteResult;
+import fintrek.util.TestCommandRegistry;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UndoHistoryTest {
+    private final UndoHistory history = UndoHistory.getInstance();
+    private final ExpenseService regularService = AppServices.regularService();
+
+    private RouteResult run(String input) {
+        return CommandRouter.routeUserInput(input);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Other tests may have replaced commands with fakes
+        CommandRegistrar.registerAll().forEach(TestCommandRegistry::register);
+        RegularExpenseManager.getInstance().clear();
+        RecurringExpenseManager.getInstance().clear();
+        TestUtils.addConstantExpenses();
+        history.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        history.setDepth(UndoHistory.DEFAULT_DEPTH);
+        history.clear();
+        RegularExpenseManager.getInstance().clear();
+        RecurringExpenseManager.getInstance().clear();
+    }
+
+    @Test
+    void undoRedo_deleteAndEdit_restoreExactLists() {
+        List<Expense> original = new ArrayList<>(regularService.getAllExpenses());
+        assertTrue(run("/delete 2").isSuccess());
+        List<Expense> afterDelete = new ArrayList<>(regularService.getAllExpenses());
+        assertTrue(run("/edit 1 /$ 99").isSuccess());
+
+        RouteResult undoEdit = run("/undo");
+        assertEquals(String.format(MessageDisplayer.UNDO_SUCCESS_MESSAGE_TEMPLATE, "/edit 1 /$ 99"),
+                undoEdit.outputMessage());
+        assertEquals(afterDelete, regularService.getAllExpenses());
+        assertTrue(run("/undo").isSuccess());
+        assertEquals(original, regularService.getAllExpenses());
+
+        assertTrue(run("/redo").isSuccess());
+        assertEquals(afterDelete, regularService.getAllExpenses());
+        assertTrue(run("/redo").isSuccess());
+        assertEquals(99, regularService.getExpense(0).getAmount(), 1e-9);
+        assertFalse(run("/redo").isSuccess());
+    }
+
+    @Test
+    void undo_recurringAdd_removesIt() {
+        assertTrue(run("/add-recurring rent $900 /dt 01-05-2025").isSuccess());
+        assertEquals(1, AppServices.recurringService().countExpenses());
+
+        assertTrue(run("/undo").isSuccess());
+        assertEquals(0, AppServices.recurringService().countExpenses());
+    }
+
+    @Test
+    void undo_readOnlyAndFailedCommands_areSkipped() {
+        assertTrue(run("/add taxi $15").isSuccess());
+        run("/list");
+        run("/delete 99");
+
+        assertEquals(String.format(MessageDisplayer.UNDO_SUCCESS_MESSAGE_TEMPLATE, "/add taxi $15"),
+                run("/undo").outputMessage());
+        assertEquals(MessageDisplayer.NOTHING_TO_UNDO_MESSAGE, run("/undo").errorMessage());
+    }
+
+    @Test
+    void newChange_clearsRedo() {
+        run("/add taxi $15");
+        run("/undo");
+        run("/add bus $2");
+
+        assertNull(history.redo());
+    }
+
+    @Test
+    void setDepth_keepsOnlyNewestSteps() {
+        history.setDepth(2);
+        run("/add a $1");
+        run("/add b $1");
+        run("/add c $1");
+
+        assertEquals("/add c $1", history.undo());
+        assertEquals("/add b $1", history.undo());
+        assertNull(history.undo());
+        assertEquals(TestUtils.EXPECTED_TEST_EXPENSE_COUNT + 1, regularService.countExpenses());
+    }
+
+    @Test
+    void undo_bulkDeleteAndEdit_restoresEveryRow() {
+        List<Expense> original = new ArrayList<>(regularService.getAllExpenses());
+        assertTrue(run("/edit /in food /$ 1").isSuccess());
+        assertTrue(run("/delete 1,3-5").isSuccess());
+        assertEquals(2, regularService.countExpenses());
+
+        run("/undo");
+        run("/undo");
+        assertEquals(original, regularService.getAllExpenses());
+        assertEquals(TestUtils.TOTAL_TEST_EXPENSE_SUM,
+                regularService.getMonthlyRollup().getMonthTotal(YearMonth.now()), 1e-9);
+    }
+}
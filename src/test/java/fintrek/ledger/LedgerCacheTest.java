@@ -0,0 +1,104 @@
+package fintrek.ledger;
+
+import fintrek.expense.core.Expense;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerCacheTest {
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private final LedgerContextTest.MemoryLedgerStore store = new LedgerContextTest.MemoryLedgerStore();
+
+    private static Ledger cleanLedger(String name, int expenseCount) {
+        Ledger ledger = new Ledger(name);
+        for (int i = 0; i < expenseCount; i++) {
+            ledger.getRegularManager().add(new Expense("item " + i, 1, "food", LocalDate.of(2025, 3, 3)));
+        }
+        ledger.markSaved(ledger.getVersion());
+        return ledger;
+    }
+
+    @Test
+    public void evict_idleLedgers_evictsAllButPinned() {
+        LedgerCache cache = new LedgerCache(Long.MAX_VALUE, IDLE_NANOS, now::get);
+        Ledger pinned = cleanLedger("pinned", 0);
+        cache.put(pinned);
+        cache.put(cleanLedger("idle", 0));
+        now.addAndGet(IDLE_NANOS / 2);
+        cache.put(cleanLedger("recent", 0));
+        now.addAndGet(IDLE_NANOS / 2 + 1);
+
+        assertEquals(List.of("idle"), cache.evict(pinned, store));
+        assertEquals(List.of("pinned", "recent"), cache.getNames());
+        assertTrue(store.saved.isEmpty());
+    }
+
+    @Test
+    public void evict_overSizeLimit_evictsLeastRecentlyUsedFirst() {
+        Ledger sizeProbe = cleanLedger("probe", 10);
+        LedgerCache cache = new LedgerCache(2 * sizeProbe.estimateHeapBytes(), IDLE_NANOS, now::get);
+        Ledger first = cleanLedger("first", 10);
+        cache.put(first);
+        cache.put(cleanLedger("second", 10));
+        cache.put(cleanLedger("third", 10));
+        cache.get("first");
+
+        assertEquals(List.of("second"), cache.evict(first, store));
+        assertEquals(List.of("third", "first"), cache.getNames());
+        assertNull(cache.get("second"));
+        assertSame(first, cache.get("first"));
+    }
+
+    @Test
+    public void evict_dirtyLedger_savesItFirstAndKeepsItIfSavingFails() {
+        LedgerCache cache = new LedgerCache(Long.MAX_VALUE, IDLE_NANOS, now::get);
+        Ledger pinned = cleanLedger("pinned", 0);
+        Ledger dirty = cleanLedger("dirty", 1);
+        dirty.getBudgetManager().setBudget(100);
+        cache.put(pinned);
+        cache.put(dirty);
+        now.addAndGet(IDLE_NANOS + 1);
+
+        LedgerStore failingStore = new LedgerStore() {
+            @Override
+            public void load(Ledger ledger) {
+            }
+
+            @Override
+            public void save(Ledger ledger) {
+            }
+        };
+        assertEquals(List.of(), cache.evict(pinned, failingStore));
+        assertEquals(List.of("dirty"), cache.evict(pinned, store));
+        assertEquals(List.of("dirty"), store.saved);
+    }
+
+    @Test
+    public void getStats_hitsMissesAndLoads_reportsRatesAndLatency() {
+        LedgerCache cache = new LedgerCache(Long.MAX_VALUE, IDLE_NANOS, now::get);
+        cache.put(cleanLedger("held", 2));
+        cache.get("held");
+        cache.get("held");
+        cache.get("held");
+        cache.get("cold");
+        cache.recordLoad(TimeUnit.MILLISECONDS.toNanos(4));
+        cache.recordLoad(TimeUnit.MILLISECONDS.toNanos(2));
+
+        LedgerCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.size());
+        assertEquals(0.75, stats.hitRate(), 1e-9);
+        assertEquals(3.0, stats.averageLoadMillis(), 1e-9);
+        assertEquals(4.0, stats.maxLoadMillis(), 1e-9);
+        assertEquals(cleanLedger("other", 2).estimateHeapBytes(), stats.estimatedBytes());
+    }
+}
@@ -0,0 +1,167 @@
+package fintrek.ledger;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.expense.core.CategoryManager;
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RecurrenceRule;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.AppServices;
+import fintrek.expense.service.TransactionManager;
+import fintrek.expense.service.UndoHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerContextTest {
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 3);
+
+    /** Keeps ledgers in memory only, counting loads and saves. */
+    static class MemoryLedgerStore implements LedgerStore {
+        final AtomicInteger loadCount = new AtomicInteger();
+        final List<String> saved = new ArrayList<>();
+
+        @Override
+        public void load(Ledger ledger) {
+            assertSame(ledger, LedgerContext.current());
+            loadCount.incrementAndGet();
+            ledger.markSaved(ledger.getVersion());
+        }
+
+        @Override
+        public void save(Ledger ledger) {
+            saved.add(ledger.getName());
+            ledger.markSaved(ledger.getVersion());
+        }
+    }
+
+    private final MemoryLedgerStore store = new MemoryLedgerStore();
+
+    @AfterEach
+    void tearDown() {
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, store);
+    }
+
+    @Test
+    void switchTo_newLedger_isolatesExpensesBudgetAndCategories() {
+        int defaultCount = AppServices.regularService().countExpenses();
+        double defaultBudget = BudgetManager.getInstance().getBudget();
+
+        assertTrue(LedgerContext.switchTo("isolated", store));
+        assertEquals("isolated", LedgerContext.current().getName());
+        assertEquals(0, AppServices.regularService().countExpenses());
+        AppServices.regularService().addExpense(new Expense("taxi", 20, "transport", DATE));
+        BudgetManager.getInstance().setBudget(defaultBudget + 100);
+        CategoryManager.addCustomCategory("souvenirs");
+        assertTrue(CategoryManager.isValid("souvenirs"));
+
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, store);
+        assertEquals(defaultCount, AppServices.regularService().countExpenses());
+        assertEquals(defaultBudget, BudgetManager.getInstance().getBudget());
+        assertFalse(CategoryManager.isValid("souvenirs"));
+
+        LedgerContext.switchTo("isolated", store);
+        assertEquals(1, AppServices.regularService().countExpenses());
+        assertEquals(defaultBudget + 100, BudgetManager.getInstance().getBudget());
+    }
+
+    @Test
+    void switchTo_openLedger_reusesItWithoutLoading() {
+        assertTrue(LedgerContext.switchTo("reused", store));
+        Ledger reused = LedgerContext.current();
+
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, store);
+        assertFalse(LedgerContext.switchTo("reused", store));
+
+        assertSame(reused, LedgerContext.current());
+        assertEquals(1, store.loadCount.get());
+        List<String> names = LedgerContext.getOpenNames();
+        assertEquals("reused", names.get(names.size() - 1));
+        assertTrue(names.contains(Ledger.DEFAULT_NAME));
+    }
+
+    @Test
+    void switchTo_dirtyLedger_savesItBeforeLeaving() {
+        LedgerContext.switchTo("flushed", store);
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, store);
+        assertFalse(store.saved.contains("flushed"));
+
+        LedgerContext.switchTo("flushed", store);
+        AppServices.regularService().addExpense(new Expense("hotel", 120, "uncategorized", DATE));
+        assertTrue(LedgerContext.current().isDirty());
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, store);
+
+        assertEquals(List.of("flushed"), store.saved.stream().filter("flushed"::equals).toList());
+    }
+
+    @Test
+    void switchTo_openLedger_insertsRecurringExpensesDueWhileAway() {
+        LocalDate today = LocalDate.now();
+        LedgerContext.switchTo("caught-up", store);
+        Ledger ledger = LedgerContext.current();
+        AppServices.recurringService().addExpense(new Expense("bus pass", 2, "transport", today.minusDays(3),
+                RecurrenceRule.parse("FREQ=DAILY")));
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, store);
+        // e.g. the ledger was last current three days ago
+        ledger.getRecurringScheduler().setLastRun(today.minusDays(3));
+
+        assertFalse(LedgerContext.switchTo("caught-up", store));
+        assertEquals(3, AppServices.regularService().countExpenses());
+        assertEquals(today, ledger.getRecurringScheduler().getLastRun());
+    }
+
+    @Test
+    void switchTo_loadFails_keepsPreviousLedgerForEveryThread() throws Exception {
+        Ledger previous = LedgerContext.current();
+        List<Ledger> seenByOtherThread = new ArrayList<>();
+        LedgerStore failingStore = new MemoryLedgerStore() {
+            @Override
+            public void load(Ledger ledger) {
+                super.load(ledger);
+                AppServices.regularService().addExpense(new Expense("half", 1, "uncategorized", DATE));
+                Thread reader = new Thread(() -> seenByOtherThread.add(LedgerContext.current()));
+                reader.start();
+                try {
+                    reader.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Corrupt save file");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> LedgerContext.switchTo("broken", failingStore));
+
+        assertEquals(List.of(previous), seenByOtherThread);
+        assertSame(previous, LedgerContext.current());
+        assertFalse(LedgerContext.getOpenNames().contains("broken"));
+    }
+
+    @Test
+    void getInstance_afterSwitch_resolvesToCurrentLedger() {
+        LedgerContext.switchTo("resolved", store);
+        Ledger ledger = LedgerContext.current();
+
+        assertSame(ledger.getRegularManager(), RegularExpenseManager.getInstance());
+        assertSame(ledger.getUndoHistory(), UndoHistory.getInstance());
+        assertSame(ledger.getTransactionManager(), TransactionManager.getInstance());
+        assertNotEquals(Ledger.DEFAULT_DATA_FILE, ledger.getDataFile());
+    }
+
+    @Test
+    void ledger_invalidName_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new Ledger("../data"));
+        assertThrows(IllegalArgumentException.class, () -> new Ledger("Trip"));
+        assertThrows(IllegalArgumentException.class, () -> new Ledger(""));
+    }
+}
@@ -0,0 +1,144 @@
+package fintrek.parser;
+
+import fintrek.command.add.AddParseResult;
+import fintrek.expense.core.RecurrenceRule;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.InputValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AddArgumentParserTest {
+    private static final String ALPHABET = " \t$$//ccddtt01.5-aB\n";
+    private static final int RANDOM_INPUT_COUNT = 20_000;
+    private static final int MAX_RANDOM_LENGTH = 24;
+
+    private final AddArgumentParser parser = new AddArgumentParser();
+
+    private static void assertSameResult(String input) {
+        ParseResult<AddParseResult> expected = RegexAddArgumentParser.parse(input);
+        ParseResult<AddParseResult> actual = new AddArgumentParser().parse(input);
+        assertEquals(expected.isSuccess(), actual.isSuccess(), "Success differs for: '" + input + "'");
+        assertEquals(expected.getError(), actual.getError(), "Error differs for: '" + input + "'");
+        assertEquals(expected.getResult(), actual.getResult(), "Result differs for: '" + input + "'");
+    }
+
+    /**
+     * Verifies that the scanner and the original regular expression agree on typical and tricky inputs.
+     * @param input raw arguments of an add command
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "bus $1", "bus $ 1 /c transport", "bus $1/ctransport", "bus $1 /c transport /dt 01-02-2025",
+        "bus $1/c food/dt 01-02-2025", "bus $1 /dt 01-02-2025", "bus $1 /dt01-02-2025", "bus $1 /c /dt 01-02-2025",
+        "a $ b $5", "a $ b", "$5", "bus $", "bus $1 /c", "bus $1 /category food", "bus $1.50.2 /c food",
+        "lunch at $5 place $6", "bus $1 /c food /dt", "bus $1 /c food /dt 01-02-2025 extra", "a\n$5", "a\nb $5",
+        "bus $1 /c food /c drink", "bus $1/dt/dt 01-02-2025", "bus $$5", "bus $1 /c/dt 01-02-2025",
+        "lunch /r $5", "bus $1 /r weekly", "bus $1 /c /r"
+    })
+    public void parse_sameAsRegexParser(String input) {
+        assertSameResult(input);
+    }
+
+    /**
+     * Verifies that the scanner and the original regular expression agree on random inputs built from the
+     * characters that are significant to the add grammar.
+     */
+    @Test
+    public void parse_randomInputs_sameAsRegexParser() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < RANDOM_INPUT_COUNT; i++) {
+            builder.setLength(0);
+            int length = 1 + random.nextInt(MAX_RANDOM_LENGTH);
+            for (int j = 0; j < length; j++) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertSameResult(builder.toString());
+        }
+    }
+
+    @Test
+    public void parse_allParts_extractsTokens() {
+        ParseResult<AddParseResult> result = parser.parse("  bubble tea $ 4.50 /c food /dt 03-04-2025 ");
+        assertEquals(new AddParseResult("bubble tea", 4.50, "food", LocalDate.of(2025, 4, 3), null),
+                result.getResult());
+    }
+
+    @Test
+    public void parse_ruleFlag_takesOffOnlyRules() {
+        assertEquals(new AddParseResult("gym", 15, "UNCATEGORIZED", LocalDate.of(2025, 1, 6),
+                RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2")),
+                parser.parse("gym $15 /dt 06-01-2025 /r FREQ=WEEKLY;INTERVAL=2").getResult());
+        assertEquals("lunch /r", parser.parse("lunch /r $5").getResult().desc());
+        assertEquals(MessageDisplayer.INVALID_RECURRENCE_RULE_MESSAGE,
+                parser.parse("gym $15 /r freq=FORTNIGHTLY").getError());
+    }
+
+    @Test
+    public void parse_reservedSymbolInDescription_returnsError() {
+        assertEquals(MessageDisplayer.RESERVED_DESC_ERROR, parser.parse("a $ b $5").getError());
+    }
+
+    /**
+     * The regular-expression implementation of {@link AddArgumentParser#parse(String)} that the scanner replaced.
+     */
+    private static class RegexAddArgumentParser {
+        private static final Pattern ADD_PATTERN = Pattern.compile(
+                "^(.+?)\\s*\\$\\s*(\\S+)(?:\\s*/c\\s*(\\S+))?(?:\\s*/dt\\s+(\\S+))?$");
+
+        static ParseResult<AddParseResult> parse(String input) {
+            if (InputValidator.isNullOrBlank(input)) {
+                return ParseResult.failure(String.format(MessageDisplayer.ARG_EMPTY_MESSAGE_TEMPLATE,
+                        AddArgumentParser.COMMAND_NAME));
+            }
+            Matcher m = ADD_PATTERN.matcher(input.trim());
+            if (!m.matches()) {
+                return ParseResult.failure(String.format(MessageDisplayer.INVALID_FORMAT_MESSAGE_TEMPLATE,
+                        AddArgumentParser.COMMAND_NAME));
+            }
+            String description = m.group(1);
+            String amountStr = m.group(2);
+            String category = (m.group(3) != null) ? m.group(3).trim() : "UNCATEGORIZED";
+            String dateStr = m.group(4);
+
+            if (!InputValidator.isValidStringLength(description)) {
+                return ParseResult.failure(
+                        String.format(MessageDisplayer.STRING_OUT_OF_RANGE_FORMAT_MESSAGE, "Description"));
+            }
+            if (description.contains("$") || description.contains(" /c ") || description.contains(" /dt ")) {
+                return ParseResult.failure(MessageDisplayer.RESERVED_DESC_ERROR);
+            }
+            if (!InputValidator.isValidAmountInput(amountStr)) {
+                return ParseResult.failure(MessageDisplayer.INVALID_AMT_MESSAGE);
+            }
+            double amount = Double.parseDouble(amountStr);
+            if (!InputValidator.isInValidDoubleRange(amount, 0, 1_000_000_000)) {
+                return ParseResult.failure(MessageDisplayer.INVALID_AMT_MESSAGE);
+            }
+            if (!InputValidator.isValidStringLength(category)) {
+                return ParseResult.failure(
+                        String.format(MessageDisplayer.STRING_OUT_OF_RANGE_FORMAT_MESSAGE, "Category"));
+            }
+            if (!InputValidator.isValidCategory(category)) {
+                return ParseResult.failure(String.format(MessageDisplayer.INVALID_CATEGORY_MESSAGE, category));
+            }
+            LocalDate date = LocalDate.now();
+            if (dateStr != null) {
+                if (!InputValidator.isValidDate(dateStr)) {
+                    return ParseResult.failure(MessageDisplayer.INVALID_DATE_MESSAGE);
+                }
+                date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+            }
+            return ParseResult.success(new AddParseResult(description, amount, category, date, null));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import fintrek.misc.MessageDisplayer;
 import fintrek.util.TestCommandUtils;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -57,4 +58,24 @@ public class CommandRouterTest {
         assertTrue(result.isSuccess());
         assertNull(result.errorMessage());
     }
+
+    /**
+     * Verifies that a command can be abbreviated to a prefix no other command shares.
+     */
+    @Test
+    void parseAbbreviatedCommand_returnsTrue() {
+        RouteResult result = CommandRouter.routeUserInput("/he");
+        assertTrue(result.isSuccess());
+    }
+
+    /**
+     * Verifies that an abbreviation shared by several commands fails and lists them.
+     */
+    @Test
+    void parseAmbiguousCommand_returnsCandidates() {
+        RouteResult result = CommandRouter.routeUserInput("/tot 5");
+        assertFalse(result.isSuccess());
+        assertEquals(String.format(MessageDisplayer.AMBIGUOUS_COMMAND_MESSAGE_TEMPLATE, "/tot",
+                "/total, /total-recurring"), result.errorMessage());
+    }
 }
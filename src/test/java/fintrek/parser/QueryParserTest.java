@@ -0,0 +1,105 @@
+package fintrek.parser;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.AppServices;
+import fintrek.expense.service.ExpenseQuery;
+import fintrek.expense.service.QueryResult;
+import fintrek.misc.MessageDisplayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryParserTest {
+    private final QueryParser parser = new QueryParser();
+
+    private QueryResult find(String input) {
+        ParseResult<ExpenseQuery> result = parser.parse(input);
+        assertTrue(result.isSuccess(), input + ": " + result.getError());
+        return result.getResult().execute(AppServices.regularService());
+    }
+
+    private List<Integer> positions(QueryResult result) {
+        return result.rows().stream().map(ExpenseQuery.Match::position).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        for (int day = 1; day <= 10; day++) {
+            String category = (day % 2 == 0) ? "food" : "transport";
+            String description = (day % 3 == 0) ? "Coffee " + day : "item " + day;
+            AppServices.regularService().addExpense(
+                    new Expense(description, day * 5, category, LocalDate.of(2025, 3, day)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RegularExpenseManager.getInstance().clear();
+    }
+
+    @Test
+    void parse_emptyQuery_matchesEverythingInListOrder() {
+        QueryResult result = find("");
+        assertEquals(10, result.matchCount());
+        assertEquals(27500, result.totalCents());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), positions(result));
+    }
+
+    @Test
+    void parse_comparisons_matchInclusiveAndExclusiveBounds() {
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), positions(find("amount>20")));
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), positions(find("amount>=20")));
+        assertEquals(List.of(0, 1), positions(find("amount<15")));
+        assertEquals(List.of(4), positions(find("amount=25.00")));
+        assertEquals(List.of(2, 3), positions(find("date>=03-03-2025 date<05-03-2025")));
+        assertEquals(List.of(), positions(find("amount>30 amount<10")));
+    }
+
+    @Test
+    void parse_categoryAndDescription_combineConditions() {
+        assertEquals(List.of(5), positions(find("category=FOOD desc~coffee")));
+        assertEquals(List.of(2, 8), positions(find("category=transport desc~COFFEE")));
+        assertEquals(List.of(), positions(find("desc=coffee")));
+        assertEquals(0, find("category=food date>01-04-2025").matchCount());
+    }
+
+    @Test
+    void parse_sortAndLimit_returnBestRowsButCountAll() {
+        QueryResult result = find("category=food sort=amount:dsc limit=2");
+        assertEquals(List.of(9, 7), positions(result));
+        assertEquals(5, result.matchCount());
+        assertEquals(15000, result.totalCents());
+
+        assertEquals(List.of(0, 1, 2), positions(find("limit=3")));
+        assertEquals(List.of(1, 3, 5, 7, 9, 0, 2, 4, 6, 8), positions(find("sort=category")));
+        assertEquals(List.of(8, 6, 4), positions(find("sort=category:dsc,date:dsc limit=3")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"amount", "amount>", "amount~5", "amount>abc", "date>32-01-2025", "colour=red",
+        "category>food", "desc<abc", "sort=price", "sort=amount:up", "limit=0", "limit=2 limit=3",
+        "sort=date sort=amount"})
+    void parse_invalidTerm_fails(String input) {
+        ParseResult<ExpenseQuery> result = parser.parse(input);
+        assertFalse(result.isSuccess(), input);
+        assertTrue(result.getError().startsWith("Invalid query term: "), result.getError());
+    }
+
+    @Test
+    void parse_unknownCategory_failsWithCategoryMessage() {
+        ParseResult<ExpenseQuery> result = parser.parse("category=nosuch");
+        assertFalse(result.isSuccess());
+        assertEquals(String.format(MessageDisplayer.INVALID_CATEGORY_MESSAGE, "nosuch"), result.getError());
+    }
+}
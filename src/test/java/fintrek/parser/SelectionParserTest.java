@@ -0,0 +1,87 @@
+package fintrek.parser;
+
+import fintrek.expense.core.Expense;
+import fintrek.expense.core.RegularExpenseManager;
+import fintrek.expense.service.AppServices;
+import fintrek.expense.service.ExpenseSelection;
+import fintrek.misc.MessageDisplayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SelectionParserTest {
+    private final SelectionParser parser = new SelectionParser();
+
+    private int[] select(String input) {
+        ParseResult<ExpenseSelection> result = parser.parse(input);
+        assertTrue(result.isSuccess(), input + ": " + result.getError());
+        return result.getResult().resolve(AppServices.regularService());
+    }
+
+    @BeforeEach
+    void setUp() {
+        RegularExpenseManager.getInstance().clear();
+        for (int day = 1; day <= 10; day++) {
+            String category = (day % 2 == 0) ? "food" : "transport";
+            AppServices.regularService().addExpense(
+                    new Expense("item " + day, day, category, LocalDate.of(2025, 3, day)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RegularExpenseManager.getInstance().clear();
+    }
+
+    @Test
+    void parse_indicesAndRanges_resolveSortedWithoutDuplicates() {
+        assertArrayEquals(new int[] {1}, select("2"));
+        assertArrayEquals(new int[] {2, 3, 4}, select("3-5"));
+        assertArrayEquals(new int[] {0, 2, 3, 4, 8}, select("9,3-5,1,4-4"));
+        assertTrue(parser.parse("2").getResult().isSingleIndex());
+        assertFalse(parser.parse("2-3").getResult().isSingleIndex());
+    }
+
+    @Test
+    void resolve_rangePastEnd_returnsNull() {
+        assertNull(select("5-11"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "3-", "-3", "5-3", "1,,2", "1, 2", "a-b", "2."})
+    void parse_malformedIndices_fails(String input) {
+        ParseResult<ExpenseSelection> result = parser.parse(input);
+        assertFalse(result.isSuccess(), input);
+        assertEquals(MessageDisplayer.INVALID_IDX_FORMAT_MESSAGE, result.getError());
+    }
+
+    @Test
+    void parse_filters_combineWithAnd() {
+        assertArrayEquals(new int[] {1, 3, 5, 7, 9}, select("/in FOOD"));
+        assertArrayEquals(new int[] {2, 3, 4}, select("/from 03-03-2025 /to 05-03-2025"));
+        assertArrayEquals(new int[] {3}, select("/to 05-03-2025 /in food /from 03-03-2025"));
+        assertArrayEquals(new int[] {0, 9}, select("/has ITEM 1"));
+        assertArrayEquals(new int[] {}, select("/has item 1 /in food /to 09-03-2025"));
+    }
+
+    @Test
+    void parse_invalidFilterValues_reportCause() {
+        assertEquals(MessageDisplayer.INVALID_DATE_MESSAGE, parser.parse("/from 32-01-2025").getError());
+        assertEquals(String.format(MessageDisplayer.INVALID_CATEGORY_MESSAGE, "nope"),
+                parser.parse("/in nope").getError());
+        assertEquals(MessageDisplayer.INVALID_FILTER_MESSAGE, parser.parse("/has").getError());
+        assertEquals(MessageDisplayer.INVALID_FILTER_MESSAGE, parser.parse("/to 01-01-2025 /to 02-01-2025").getError());
+        assertEquals(MessageDisplayer.INVALID_FILTER_DATE_RANGE_MESSAGE,
+                parser.parse("/from 02-01-2025 /to 01-01-2025").getError());
+    }
+}
@@ -0,0 +1,147 @@
+package fintrek.ui;
+
+import fintrek.command.registry.CommandRegistrar;
+import fintrek.util.TestCommandRegistry;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApiServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ApiServer server;
+    private int saveCount;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Other tests may have replaced commands with fakes
+        CommandRegistrar.registerAll().forEach(TestCommandRegistry::register);
+        TestUtils.regularService.clearExpenses();
+        saveCount = 0;
+        server = new ApiServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), () -> saveCount++);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        TestUtils.regularService.clearExpenses();
+    }
+
+    private HttpResponse<byte[]> request(String method, String path, String body, String... headers)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getPort() + "/api/" + path));
+        builder.method(method, (body == null)
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        if (headers.length > 0) {
+            builder.headers(headers);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String text(HttpResponse<byte[]> response) {
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void writes_addEditDelete_runCommandsAndSave() throws Exception {
+        HttpResponse<byte[]> added = request("POST", "expenses",
+                "{\"description\": \"coffee\", \"amount\": 3.5, \"category\": \"food\"}");
+        assertEquals(201, added.statusCode());
+        assertTrue(text(added).contains("coffee | $3.50 | FOOD"));
+
+        HttpResponse<byte[]> edited = request("PATCH", "expenses/1", "{\"amount\": \"$4\"}");
+        assertEquals(200, edited.statusCode());
+        assertEquals("{\"expenses\":[{\"index\":1,\"description\":\"coffee\",\"amount\":4.00,\"category\":\"FOOD\","
+                + "\"date\":\"" + TestUtils.regularService.getExpense(0).getDate()
+                .format(fintrek.util.InputValidator.DATE_FORMATTER) + "\"}]}",
+                text(request("GET", "expenses", null)));
+
+        assertEquals(200, request("DELETE", "expenses/1", null).statusCode());
+        assertEquals(0, TestUtils.regularService.countExpenses());
+        assertEquals(3, saveCount);
+    }
+
+    @Test
+    public void writes_invalidInput_returnBadRequest() throws Exception {
+        assertEquals(400, request("POST", "expenses", "{\"description\": \"coffee\"").statusCode());
+        assertEquals(400, request("POST", "expenses", "{\"description\": \"coffee\"}").statusCode());
+        assertEquals(400, request("POST", "expenses", "{\"description\": \"a\\nb\", \"amount\": 1}").statusCode());
+        assertEquals(400, request("DELETE", "expenses/9", null).statusCode());
+        assertEquals(404, request("GET", "nothing", null).statusCode());
+        assertEquals(0, saveCount);
+    }
+
+    @Test
+    public void writes_flagsInFieldsOrRangeIndex_rejectedWithoutChanges() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            request("POST", "expenses", "{\"description\": \"coffee\", \"amount\": 3.5}");
+        }
+
+        assertEquals(400, request("PATCH", "expenses/1", "{\"description\": \"zz /$ 999\"}").statusCode());
+        assertEquals(400, request("PATCH", "expenses/1", "{\"category\": \"food $9\"}").statusCode());
+        assertEquals(400, request("POST", "expenses", "{\"description\": \"tea\", \"amount\": \"1 /c food\"}")
+                .statusCode());
+        assertEquals(3.50, TestUtils.regularService.getExpense(0).getAmount());
+        assertEquals("coffee", TestUtils.regularService.getExpense(0).getDescription());
+
+        assertEquals(400, request("DELETE", "expenses/1-3", null).statusCode());
+        assertEquals(400, request("DELETE", "expenses/0", null).statusCode());
+        assertEquals(400, request("PATCH", "expenses/%201", "{\"amount\": 2}").statusCode());
+        assertEquals(3, TestUtils.regularService.countExpenses());
+        assertEquals(3, saveCount);
+    }
+
+    @Test
+    public void reads_unchangedLedger_answerNotModified() throws Exception {
+        request("POST", "expenses", "{\"description\": \"bus\", \"amount\": 2, \"category\": \"transport\"}");
+        HttpResponse<byte[]> first = request("GET", "summary", null);
+        assertEquals(200, first.statusCode());
+        assertEquals("{\"categories\":{\"TRANSPORT\":2.00},\"total\":2.00}", text(first));
+        String tag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> cached = request("GET", "summary", null, "If-None-Match", tag);
+        assertEquals(304, cached.statusCode());
+        assertEquals(0, cached.body().length);
+
+        request("POST", "expenses", "{\"description\": \"train\", \"amount\": 3}");
+        HttpResponse<byte[]> changed = request("GET", "summary", null, "If-None-Match", tag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(tag, changed.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    public void reads_largeListing_gzippedWhenAccepted() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            request("POST", "expenses", "{\"description\": \"item " + i + "\", \"amount\": 1}");
+        }
+        HttpResponse<byte[]> plain = request("GET", "expenses", null);
+        assertFalse(plain.headers().firstValue("Content-Encoding").isPresent());
+        assertTrue(plain.body().length >= ApiServer.GZIP_MIN_BYTES);
+
+        HttpResponse<byte[]> compressed = request("GET", "expenses", null, "Accept-Encoding", "gzip");
+        assertEquals("gzip", compressed.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(compressed.body().length < plain.body().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.body()))) {
+            assertEquals(text(plain), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
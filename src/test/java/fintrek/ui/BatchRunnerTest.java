@@ -0,0 +1,121 @@
+package fintrek.ui;
+
+import fintrek.budget.core.BudgetManager;
+import fintrek.command.registry.CommandRegistrar;
+import fintrek.expense.service.TransactionManager;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestCommandRegistry;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchRunnerTest {
+    private int saveCount;
+    private double previousBudget;
+
+    private String runBatch(String script, int checkpointInterval, int expectedFailures) {
+        StringWriter output = new StringWriter();
+        BatchRunner runner = new BatchRunner(new StringReader(script), output, () -> saveCount++, checkpointInterval);
+        assertEquals(expectedFailures, runner.run());
+        return output.toString();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Other tests may have replaced commands with fakes
+        CommandRegistrar.registerAll().forEach(TestCommandRegistry::register);
+        saveCount = 0;
+        previousBudget = BudgetManager.getInstance().getBudget();
+        BudgetManager.getInstance().setBudget(0);
+        TestUtils.regularService.clearExpenses();
+    }
+
+    @AfterEach
+    void tearDown() {
+        BudgetManager.getInstance().setBudget(previousBudget);
+        TestUtils.regularService.clearExpenses();
+    }
+
+    @Test
+    public void run_validAndInvalidLines_reportsFailuresWithLineNumbers() {
+        String script = "# nightly import\n/add coffee $3.50\n\n/add $\n/add bus $1.20 /c transport\n";
+        String output = runBatch(script, BatchRunner.CHECKPOINT_INTERVAL, 1);
+
+        assertEquals(2, TestUtils.regularService.countExpenses());
+        assertEquals(1, saveCount);
+        assertTrue(output.contains(String.format(MessageDisplayer.BATCH_LINE_ERROR_FORMAT, 4,
+                String.format(MessageDisplayer.INVALID_FORMAT_MESSAGE_TEMPLATE, "add"))));
+        assertTrue(output.endsWith(String.format(MessageDisplayer.BATCH_SUMMARY_FORMAT, 2, 1)
+                + System.lineSeparator()));
+    }
+
+    @Test
+    public void run_manyCommands_savesOnlyAtCheckpointsAndEnd() {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            script.append("/add item").append(i).append(" $1\n");
+        }
+        runBatch(script.toString(), 10, 0);
+
+        assertEquals(25, TestUtils.regularService.countExpenses());
+        assertEquals(3, saveCount);
+    }
+
+    @Test
+    public void run_stopsAtByeAndSkipsSaveWithoutChanges() {
+        runBatch("/add\nbye\n/add coffee $3.50\n", BatchRunner.CHECKPOINT_INTERVAL, 1);
+
+        assertEquals(0, TestUtils.regularService.countExpenses());
+        assertEquals(0, saveCount);
+    }
+
+    @Test
+    public void run_committedTransaction_skipsCheckpointsUntilCommit() {
+        String script = "/begin\n/add a $1\n/add b $1\n/add c $1\n/commit\n/add d $1\n";
+        String output = runBatch(script, 2, 0);
+
+        assertEquals(4, TestUtils.regularService.countExpenses());
+        assertEquals(2, saveCount);
+        assertFalse(output.contains(String.format(MessageDisplayer.BATCH_CHECKPOINT_MESSAGE, 2)));
+        assertTrue(output.contains(String.format(MessageDisplayer.BATCH_CHECKPOINT_MESSAGE, 5)));
+        assertTrue(output.contains(String.format(MessageDisplayer.COMMIT_SUCCESS_MESSAGE_TEMPLATE, 3)));
+    }
+
+    @Test
+    public void run_failureInsideTransaction_rollsBackWholeTransaction() {
+        String script = "/add a $1\n/begin\n/add b $1\n/add c\n/add d $1\n/commit\n";
+        String output = runBatch(script, BatchRunner.CHECKPOINT_INTERVAL, 2);
+
+        assertEquals(2, TestUtils.regularService.countExpenses());
+        assertEquals("a", TestUtils.regularService.getExpense(0).getDescription());
+        assertEquals("d", TestUtils.regularService.getExpense(1).getDescription());
+        assertTrue(output.contains(String.format(MessageDisplayer.TRANSACTION_DISCARDED_MESSAGE, 1)));
+    }
+
+    @Test
+    public void run_uncommittedTransactionAtEnd_isRolledBack() {
+        runBatch("/begin\n/add a $1\n", BatchRunner.CHECKPOINT_INTERVAL, 0);
+
+        assertEquals(0, TestUtils.regularService.countExpenses());
+        assertFalse(TransactionManager.getInstance().isActive());
+    }
+
+    @Test
+    public void run_budgetExceeded_warnsOnceAtEnd() {
+        BudgetManager.getInstance().setBudget(10);
+        String output = runBatch("/add lunch $8\n/add dinner $9\n/add snack $2\n", BatchRunner.CHECKPOINT_INTERVAL, 0);
+
+        String warning = String.format(MessageDisplayer.EXCEEDED_BUDGET_MESSAGE, 10.0, 9.0);
+        assertTrue(output.contains(warning));
+        assertEquals(output.indexOf(warning), output.lastIndexOf(warning));
+        assertFalse(output.contains("short of reaching"));
+    }
+}
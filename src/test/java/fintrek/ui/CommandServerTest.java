@@ -0,0 +1,194 @@
+package fintrek.ui;
+
+import fintrek.command.registry.CommandRegistrar;
+import fintrek.expense.service.AppServices;
+import fintrek.ledger.Ledger;
+import fintrek.ledger.LedgerContext;
+import fintrek.ledger.LedgerStore;
+import fintrek.misc.MessageDisplayer;
+import fintrek.util.TestCommandRegistry;
+import fintrek.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandServerTest {
+    private static final long SAVE_DELAY_MILLIS = 400;
+
+    /** Keeps ledgers in memory only. */
+    private static final LedgerStore MEMORY_STORE = new LedgerStore() {
+        @Override
+        public void load(Ledger ledger) {
+            ledger.markSaved(ledger.getVersion());
+        }
+
+        @Override
+        public void save(Ledger ledger) {
+            ledger.markSaved(ledger.getVersion());
+        }
+    };
+
+    private final AtomicInteger saveCount = new AtomicInteger();
+    private CommandServer server;
+    private Thread serverThread;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Other tests may have replaced commands with fakes
+        CommandRegistrar.registerAll().forEach(TestCommandRegistry::register);
+        TestUtils.regularService.clearExpenses();
+        ServerSocketChannel channel = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        server = new CommandServer(channel, saveCount::incrementAndGet, SAVE_DELAY_MILLIS, MEMORY_STORE);
+        serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.stop();
+        serverThread.join();
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, MEMORY_STORE);
+        TestUtils.regularService.clearExpenses();
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setSoTimeout(5_000);
+        assertTrue(readUntil(socket, MessageDisplayer.ARROW_FOR_INPUT).startsWith(
+                MessageDisplayer.SERVER_WELCOME_MESSAGE));
+        return socket;
+    }
+
+    private static String send(Socket socket, String line, String terminator) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return readUntil(socket, terminator);
+    }
+
+    private static String readUntil(Socket socket, String terminator) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder text = new StringBuilder();
+        while (!text.toString().endsWith(terminator)) {
+            int next = in.read();
+            if (next < 0) {
+                break;
+            }
+            text.append((char) next);
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void run_twoClients_shareLedgerAndCoalesceSaves() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            send(first, "/add coffee $3.50", MessageDisplayer.ARROW_FOR_INPUT);
+            send(second, "/add bagel $2", MessageDisplayer.ARROW_FOR_INPUT);
+            String listing = send(second, "/list", MessageDisplayer.ARROW_FOR_INPUT);
+
+            assertTrue(listing.contains("coffee"));
+            assertTrue(listing.contains("bagel"));
+            String bye = send(first, MessageDisplayer.END_CONVERSATION_MESSAGE, "\n");
+            assertEquals(MessageDisplayer.BYE_MESSAGE + "\n", bye);
+            assertEquals(-1, first.getInputStream().read());
+        }
+        Thread.sleep(3 * SAVE_DELAY_MILLIS);
+        assertEquals(2, TestUtils.regularService.countExpenses());
+        assertEquals(1, saveCount.get());
+    }
+
+    @Test
+    public void run_transactionOfOtherClient_refusedAndRolledBackOnDisconnect() throws Exception {
+        try (Socket second = connect()) {
+            try (Socket first = connect()) {
+                send(first, "/begin", MessageDisplayer.ARROW_FOR_INPUT);
+                send(first, "/add coffee $3.50", MessageDisplayer.ARROW_FOR_INPUT);
+
+                assertTrue(send(second, "/commit", MessageDisplayer.ARROW_FOR_INPUT)
+                        .startsWith(MessageDisplayer.TRANSACTION_OF_OTHER_CLIENT_MESSAGE));
+                assertTrue(send(second, "/rollback", MessageDisplayer.ARROW_FOR_INPUT)
+                        .startsWith(MessageDisplayer.TRANSACTION_OF_OTHER_CLIENT_MESSAGE));
+                assertTrue(send(second, "/begin", MessageDisplayer.ARROW_FOR_INPUT)
+                        .startsWith(MessageDisplayer.TRANSACTION_OF_OTHER_CLIENT_MESSAGE));
+                assertEquals(1, TestUtils.regularService.countExpenses());
+            }
+            Thread.sleep(SAVE_DELAY_MILLIS);
+            send(second, "/add bagel $2", MessageDisplayer.ARROW_FOR_INPUT);
+
+            assertTrue(send(second, "/begin", MessageDisplayer.ARROW_FOR_INPUT)
+                    .startsWith(MessageDisplayer.BEGIN_SUCCESS_MESSAGE));
+            send(second, "/commit", MessageDisplayer.ARROW_FOR_INPUT);
+        }
+        Thread.sleep(3 * SAVE_DELAY_MILLIS);
+        assertEquals(1, TestUtils.regularService.countExpenses());
+        assertEquals("bagel", TestUtils.regularService.getExpense(0).getDescription());
+        assertTrue(saveCount.get() >= 1);
+    }
+
+    @Test
+    public void run_ledgerSwitch_onlyMovesClientThatSwitched() throws Exception {
+        // Held in memory beforehand, so that /ledger switch does not read or write a save file
+        LedgerContext.switchTo("served", MEMORY_STORE);
+        AppServices.regularService().clearExpenses();
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, MEMORY_STORE);
+
+        try (Socket first = connect(); Socket second = connect()) {
+            send(first, "/ledger switch served", MessageDisplayer.ARROW_FOR_INPUT);
+            send(first, "/add taxi $20", MessageDisplayer.ARROW_FOR_INPUT);
+            send(second, "/add bagel $2", MessageDisplayer.ARROW_FOR_INPUT);
+
+            assertTrue(send(second, "/ledger", MessageDisplayer.ARROW_FOR_INPUT)
+                    .startsWith(String.format(MessageDisplayer.LEDGER_LIST_MESSAGE_TEMPLATE, Ledger.DEFAULT_NAME, "")));
+            assertFalse(send(second, "/list", MessageDisplayer.ARROW_FOR_INPUT).contains("taxi"));
+            String listing = send(first, "/list", MessageDisplayer.ARROW_FOR_INPUT);
+            assertTrue(listing.contains("taxi"));
+            assertFalse(listing.contains("bagel"));
+        }
+        LedgerContext.switchTo(Ledger.DEFAULT_NAME, MEMORY_STORE);
+        assertEquals(1, TestUtils.regularService.countExpenses());
+    }
+
+    @Test
+    public void run_manyIdleClients_stillServesCommands() throws IOException {
+        List<Socket> idle = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                idle.add(new Socket(InetAddress.getLoopbackAddress(), port));
+            }
+            try (Socket active = connect()) {
+                String output = send(active, "/hello", MessageDisplayer.ARROW_FOR_INPUT);
+                assertTrue(output.startsWith(MessageDisplayer.INVALID_COMMAND_MESSAGE));
+            }
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+        }
+        assertEquals(0, saveCount.get());
+    }
+}
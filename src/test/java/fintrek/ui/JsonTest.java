@@ -0,0 +1,33 @@
+package fintrek.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonTest {
+    @Test
+    public void parseObject_flatObject_readsValuesAsText() {
+        Map<String, String> fields = Json.parseObject(
+                " { \"description\" : \"say \\\"hi\\\" \\u0041\", \"amount\": 3.50, \"ok\": true, \"date\": null } ");
+        assertEquals(Map.of("description", "say \"hi\" A", "amount", "3.50", "ok", "true"), fields);
+        assertEquals(Map.of(), Json.parseObject("{}"));
+    }
+
+    @Test
+    public void parseObject_invalidText_throwsException() {
+        for (String text : new String[]{"", "[]", "{\"a\": }", "{\"a\": 1", "{\"a\": 1} x", "{\"a\": \"b}",
+            "{\"a\": {\"b\": 1}}"}) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parseObject(text), text);
+        }
+    }
+
+    @Test
+    public void quote_specialCharacters_escaped() {
+        assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", Json.quote("a\"b\\c\nd\u0001"));
+        assertEquals("3.50", Json.cents(350));
+        assertEquals("0.10", Json.dollars(0.1));
+    }
+}
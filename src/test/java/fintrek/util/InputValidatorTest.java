@@ -0,0 +1,102 @@
+package fintrek.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InputValidatorTest {
+
+    private static LocalDate parseWithFormatter(String input) {
+        try {
+            return LocalDate.parse(input, InputValidator.DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Verifies that valid amounts parse to exactly the double {@link Double#parseDouble(String)} returns.
+     * @param input an amount in the accepted format
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "1", "0.1", "0.29", "4.5", "007.07", "19.99", "999999999999.99",
+        "1.005", "1234567890123456789", "0.123456789"})
+    public void parseAmount_validInput_sameAsParseDouble(String input) {
+        assertEquals(Double.parseDouble(input), InputValidator.parseAmount(input));
+        assertTrue(InputValidator.isValidAmountInput(input));
+    }
+
+    @Test
+    public void parseAmount_allTwoDecimalAmountsUpToHundred_sameAsParseDouble() {
+        for (int cents = 0; cents <= 10_000; cents++) {
+            String input = String.format("%d.%02d", cents / 100, cents % 100);
+            assertEquals(Double.parseDouble(input), InputValidator.parseAmount(input), input);
+        }
+    }
+
+    /**
+     * Verifies that inputs outside of {@code <digits>[.<digits>]} are rejected.
+     * @param input an amount in an invalid format
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"", ".5", "5.", "5.5.5", "-1", "+1", "1e3", " 1", "1 ", "1,000", "abc", "NaN"})
+    public void parseAmount_invalidInput_returnsInvalid(String input) {
+        assertEquals(InputValidator.INVALID_NUMBER, InputValidator.parseAmount(input));
+        assertFalse(InputValidator.isValidAmountInput(input));
+    }
+
+    /**
+     * Verifies the parsing of positive whole numbers, including rejection of zero and overflow.
+     * @param input a candidate index string
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"1", "42", "0042", "2147483647", "0", "", "-1", "1.0", " 1", "2147483648"})
+    public void parsePositiveInteger_matchesDigitRegexAndParseInt(String input) {
+        int expected = InputValidator.INVALID_NUMBER;
+        if (input.matches("\\d+") && input.length() <= 10 && Long.parseLong(input) <= Integer.MAX_VALUE
+                && Integer.parseInt(input) > 0) {
+            expected = Integer.parseInt(input);
+        }
+        assertEquals(expected, InputValidator.parsePositiveInteger(input));
+    }
+
+    @Test
+    public void parseDate_everyDayAndMonthCombination_sameAsFormatter() {
+        for (int year : new int[] {1, 1900, 2024, 2025, 9999}) {
+            for (int month = 0; month <= 13; month++) {
+                for (int day = 0; day <= 32; day++) {
+                    String input = String.format("%02d-%02d-%04d", day, month, year);
+                    assertEquals(parseWithFormatter(input), InputValidator.parseDate(input), input);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that malformed dates are rejected, as the formatter would reject them.
+     * @param input a date string in the wrong format
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1-01-2025", "01-1-2025", "01-01-25", "01-01-20255", "01/01/2025", "2025-01-01",
+        "01-01-0000", "aa-01-2025", "01-01-+202", " 01-01-2025"})
+    public void parseDate_invalidFormat_returnsNull(String input) {
+        assertNull(parseWithFormatter(input));
+        assertNull(InputValidator.parseDate(input));
+        assertFalse(InputValidator.isValidDate(input));
+    }
+
+    @Test
+    public void containsWhiteSpace_sameAsNonWhitespaceRegex() {
+        for (String input : new String[] {"", "food", "fast food", "tab\there", "line\n", " "}) {
+            assertEquals(!input.matches("^\\S+$"), InputValidator.containsWhiteSpace(input), input);
+        }
+    }
+}
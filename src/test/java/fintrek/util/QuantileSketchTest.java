@@ -0,0 +1,82 @@
+package fintrek.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuantileSketchTest {
+    private static final int LARGE_COUNT = 100_000;
+    /** Allowed rank error as a fraction of the count. */
+    private static final double RANK_TOLERANCE = 0.02;
+
+    @Test
+    void getQuantile_smallInput_isExactNearestRank() {
+        QuantileSketch sketch = new QuantileSketch();
+        double[] values = {9.80, 5.50, 256.00, 1.66, 11.20, 2.50};
+        for (double value : values) {
+            sketch.update(value);
+        }
+        assertTrue(sketch.isExact());
+        assertEquals(5.50, sketch.getQuantile(0.5));
+        assertEquals(256.00, sketch.getQuantile(0.9));
+        assertEquals(1.66, sketch.getMin());
+        assertEquals(256.00, sketch.getMax());
+        assertEquals(6, sketch.getCount());
+    }
+
+    @Test
+    void getQuantile_largeInput_withinRankTolerance() {
+        Random random = new Random(42);
+        double[] values = new double[LARGE_COUNT];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < LARGE_COUNT; i++) {
+            values[i] = Math.abs(random.nextGaussian()) * 100;
+            sketch.update(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertFalse(sketch.isExact());
+        for (double fraction : new double[] {0.5, 0.9, 0.99}) {
+            assertRankWithinTolerance(values, fraction, sketch.getQuantile(fraction));
+        }
+    }
+
+    @Test
+    void merge_matchesSingleSketchBounds() {
+        Random random = new Random(7);
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        double[] values = new double[LARGE_COUNT];
+        for (int i = 0; i < LARGE_COUNT; i++) {
+            values[i] = random.nextDouble() * 1000;
+            (i % 2 == 0 ? left : right).update(values[i]);
+        }
+        QuantileSketch merged = new QuantileSketch();
+        merged.merge(left);
+        merged.merge(right);
+        Arrays.sort(values);
+
+        assertEquals(LARGE_COUNT, merged.getCount());
+        assertEquals(values[0], merged.getMin());
+        assertEquals(values[LARGE_COUNT - 1], merged.getMax());
+        assertRankWithinTolerance(values, 0.5, merged.getQuantile(0.5));
+        assertEquals(LARGE_COUNT / 2, left.getCount());
+    }
+
+    @Test
+    void getQuantile_emptySketch_returnsNaN() {
+        assertTrue(Double.isNaN(new QuantileSketch().getQuantile(0.5)));
+    }
+
+    private static void assertRankWithinTolerance(double[] sorted, double fraction, double estimate) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        assertTrue(rank >= 0, "estimate must be one of the inserted values");
+        double error = Math.abs(rank - fraction * sorted.length) / sorted.length;
+        assertTrue(error <= RANK_TOLERANCE, "rank error " + error + " for quantile " + fraction);
+    }
+}
@@ -13,7 +13,7 @@ import fintrek.misc.MessageDisplayer;
 import java.time.LocalDate;
 import java.util.List;
 
-import static fintrek.expense.service.AppServices.REGULAR_REPORTER;
+import static fintrek.expense.service.AppServices.regularReporter;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,10 +24,10 @@ public class TestUtils {
     public static final double TEN_BILLION = ONE_BILLION * 10;
 
     // ==== REGULAREXPENSEMANAGER AND RECURRINGEXPENSEMANAGER FOR TESTS ====
-    public static ExpenseReporter regularReporter = AppServices.REGULAR_REPORTER;
-    public static ExpenseService regularService = AppServices.REGULAR_SERVICE;
-    public static ExpenseReporter recurringReporter = AppServices.RECURRING_REPORTER;
-    public static ExpenseService recurringService = AppServices.RECURRING_SERVICE;
+    public static ExpenseReporter regularReporter = AppServices.regularReporter();
+    public static ExpenseService regularService = AppServices.regularService();
+    public static ExpenseReporter recurringReporter = AppServices.recurringReporter();
+    public static ExpenseService recurringService = AppServices.recurringService();
 
     // ==== SHARED TEST CONSTANTS ====
     public static final int EXPECTED_TEST_EXPENSE_COUNT = 6;
@@ -208,7 +208,7 @@ public class TestUtils {
         assertCommandSuccess(addCommandResult, input);
 
         String successMessage = String.format(MessageDisplayer.ADD_SUCCESS_MESSAGE_TEMPLATE, newExpense);
-        double totalInMonth = REGULAR_REPORTER.getTotalByMonthOfYear(today.getYear(), today.getMonthValue());
+        double totalInMonth = regularReporter().getTotalByMonthOfYear(today.getYear(), today.getMonthValue());
         String budgetWarning = String.format(expectedWarningMessageFormat, budget, Math.abs(budget - totalInMonth));
         String expectedMessage = budgetWarning + MessageDisplayer.LINE_SEPARATOR + successMessage;
 